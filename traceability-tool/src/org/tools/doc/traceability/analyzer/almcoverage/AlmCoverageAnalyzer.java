@@ -6,22 +6,26 @@ package org.tools.doc.traceability.analyzer.almcoverage;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 
+import org.tools.doc.traceability.analyzer.almcoverage.helper.AlmExtractStreamReader;
+import org.tools.doc.traceability.analyzer.almcoverage.helper.IAlmStepTestDataHandler;
+import org.tools.doc.traceability.analyzer.almcoverage.model.AlmExtractColumn;
+import org.tools.doc.traceability.analyzer.almcoverage.model.AlmExtractColumnMapping;
 import org.tools.doc.traceability.analyzer.almcoverage.model.AlmStepTestData;
 import org.tools.doc.traceability.analyzer.almcoverage.model.AlmWorkbookSheetRowContents;
 import org.tools.doc.traceability.common.exceptions.AbstractTraceabilityException;
 import org.tools.doc.traceability.common.exceptions.ExecutorExecutionException;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
 import org.tools.doc.traceability.common.exceptions.InvalidParameterException;
 import org.tools.doc.traceability.common.executor.AbstractExecutor;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
@@ -45,6 +49,12 @@ public class AlmCoverageAnalyzer extends AbstractExecutor<AlmCoverageAnalyserRes
      */
     private File inpuAlmExtractFile;
 
+    /**
+     * Flag indicating whether the ALM extract is read in a streaming way (see
+     * {@link AlmExtractStreamReader}) or by loading the whole workbook.
+     */
+    private boolean streamingReading;
+
     /**
      * The result object.
      */
@@ -60,9 +70,28 @@ public class AlmCoverageAnalyzer extends AbstractExecutor<AlmCoverageAnalyserRes
             final ExecutorExecutionStatus<AlmCoverageAnalyserResult> pExecutionStatus) {
         super(pExecutionStatus);
         inpuAlmExtractFile = pInpuAlmExtractFile;
+        streamingReading = true;
         resultObject = null;
     }
 
+    /**
+     * Setter of the flag indicating whether the ALM extract is read in a
+     * streaming way.
+     * <p>
+     * The streaming reading (default) reads the sheets of the extract with POI
+     * event model and converts each row as soon as it has been read, so that
+     * the memory used does not depend on the number of rows. Otherwise, the
+     * whole workbook is loaded with the POI object model (this is also done
+     * when the extract is not an OOXML workbook).
+     * </p>
+     * 
+     * @param pStreamingReading <tt>true</tt> to read the ALM extract in a
+     * streaming way, <tt>false</tt> to load the whole workbook.
+     */
+    public void setStreamingReading(final boolean pStreamingReading) {
+        streamingReading = pStreamingReading;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -90,6 +119,53 @@ public class AlmCoverageAnalyzer extends AbstractExecutor<AlmCoverageAnalyserRes
     private void readAlmTestFile() throws ExecutorExecutionException {
         setCurrentOperation("Reading the contents of the input file " + inpuAlmExtractFile.getAbsolutePath(), 5.);
 
+        boolean lWorkbookToLoad = !streamingReading;
+        if (streamingReading) {
+            try {
+                streamAlmTestFile();
+            } catch (NotOfficeXmlFileException e) {
+                LOGGER.info("File " + inpuAlmExtractFile.getAbsolutePath()
+                        + " is not an OOXML workbook : loading it as a whole");
+                lWorkbookToLoad = true;
+            }
+        }
+
+        if (lWorkbookToLoad) {
+            loadAlmTestFile();
+        }
+    }
+
+    /**
+     * Read the input file containing the extract from ALM tests in a streaming
+     * way.
+     * 
+     * @throws ExecutorExecutionException if an error occurs.
+     */
+    private void streamAlmTestFile() throws ExecutorExecutionException {
+        try {
+            new AlmExtractStreamReader().readAlmSteps(inpuAlmExtractFile, new IAlmStepTestDataHandler() {
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void handleAlmStepTestData(final AlmStepTestData pAlmStepTestData) {
+                    resultObject.addAlmStepData(pAlmStepTestData);
+                }
+            });
+        } catch (FileReadingException e) {
+            LOGGER.error("Error reading file " + inpuAlmExtractFile.getAbsolutePath() + " : " + e.getMessage());
+            throw new ExecutorExecutionException("Could not read input file (" + e.getMessage() + ")");
+        }
+    }
+
+    /**
+     * Read the input file containing the extract from ALM tests by loading the
+     * whole workbook.
+     * 
+     * @throws ExecutorExecutionException if an error occurs.
+     */
+    private void loadAlmTestFile() throws ExecutorExecutionException {
         FileInputStream lFis = null;
 
         // Try and open an input stream on the file
@@ -135,6 +211,10 @@ public class AlmCoverageAnalyzer extends AbstractExecutor<AlmCoverageAnalyserRes
 
     /**
      * Extract the test data from the given sheet.
+     * <p>
+     * The position of the needed columns is resolved from the first row of
+     * the sheet : then only these cells are read in the following rows.
+     * </p>
      * 
      * @param pSheet the sheet from which to try and read.
      * @throws ExecutorExecutionException if an error occurs during the
@@ -145,21 +225,27 @@ public class AlmCoverageAnalyzer extends AbstractExecutor<AlmCoverageAnalyserRes
         Iterator<Row> lRowIt = pSheet.rowIterator();
 
         if (lRowIt.hasNext()) {
-            Row lHeaderRow = lRowIt.next();
+            AlmExtractColumnMapping lColumnMapping = getColumnMapping(lRowIt.next());
 
-            if (isHeaderRow(lHeaderRow)) {
+            if (lColumnMapping.isComplete()) {
 
                 // Process all the next lines
+                AlmExtractColumn[] lColumns = AlmExtractColumn.values();
+                AlmWorkbookSheetRowContents lRowContents = new AlmWorkbookSheetRowContents();
                 Row lDataRow;
-                List<String> lCellValues;
-                AlmWorkbookSheetRowContents lRowContents;
+                Cell lCell;
                 AlmStepTestData lAlmStepTestData;
 
                 while (lRowIt.hasNext()) {
                     lDataRow = lRowIt.next();
 
-                    lCellValues = getRowCellValues(lDataRow);
-                    lRowContents = new AlmWorkbookSheetRowContents(lCellValues);
+                    lRowContents.clear();
+                    for (AlmExtractColumn lColumn : lColumns) {
+                        lCell = lDataRow.getCell(lColumnMapping.getColumnIndex(lColumn));
+                        if (lCell != null) {
+                            lRowContents.setValue(lColumn, getCellValue(lCell));
+                        }
+                    }
                     lAlmStepTestData = lRowContents.toAlmStepTestData();
 
                     // Prevent adding empty elements
@@ -172,50 +258,44 @@ public class AlmCoverageAnalyzer extends AbstractExecutor<AlmCoverageAnalyserRes
     }
 
     /**
-     * Check whether the given header row corresponds to the first line of a
-     * sheet generated by ALM.
+     * Resolve the position of the needed columns from the given header row.
      * 
      * @param pHeaderRow the header row to consider.
-     * @return true if this header row matches the one generated by ALM, false
-     * if not.
+     * @return the column mapping (complete only if this header row matches
+     * the one generated by ALM).
      */
-    private boolean isHeaderRow(final Row pHeaderRow) {
+    private AlmExtractColumnMapping getColumnMapping(final Row pHeaderRow) {
+        AlmExtractColumnMapping lColumnMapping = new AlmExtractColumnMapping();
 
-        List<String> lHeaderCellValues = getRowCellValues(pHeaderRow);
-
-        AlmWorkbookSheetRowContents lRowContents = new AlmWorkbookSheetRowContents(lHeaderCellValues);
+        Iterator<Cell> lCellIterator = pHeaderRow.cellIterator();
+        while (lCellIterator.hasNext()) {
+            Cell lCell = lCellIterator.next();
+            lColumnMapping.addHeaderCell(lCell.getColumnIndex(), getCellValue(lCell));
+        }
 
-        return lRowContents.isHeader();
+        return lColumnMapping;
     }
 
     /**
-     * Extract the values from each cell of the row and return them.
+     * Extract the value of the given cell.
      * 
-     * @param pRow the row to consider.
-     * @return the list of cell values.
+     * @param pCell the cell to consider.
+     * @return the cell value (the integer part of the number for a numeric
+     * cell).
      */
-    private List<String> getRowCellValues(final Row pRow) {
-        List<String> lRowCellValues = new ArrayList<String>();
-
-        Iterator<Cell> lCellIterator = pRow.cellIterator();
-
-        while (lCellIterator.hasNext()) {
-            Cell lCell = lCellIterator.next();
-            String lCellContents;
-            switch (lCell.getCellType()) {
-                case NUMERIC:
-                    long lNumVal = (long) lCell.getNumericCellValue();
-                    lCellContents = Long.toString(lNumVal);
-                    break;
-                case STRING:
-                default:
-                    lCellContents = lCell.getRichStringCellValue().getString();
-                    break;
-            }
-            lRowCellValues.add(lCellContents);
+    private String getCellValue(final Cell pCell) {
+        String lCellContents;
+        switch (pCell.getCellType()) {
+            case NUMERIC:
+                long lNumVal = (long) pCell.getNumericCellValue();
+                lCellContents = Long.toString(lNumVal);
+                break;
+            case STRING:
+            default:
+                lCellContents = pCell.getRichStringCellValue().getString();
+                break;
         }
-
-        return lRowCellValues;
+        return lCellContents;
     }
 
     /**
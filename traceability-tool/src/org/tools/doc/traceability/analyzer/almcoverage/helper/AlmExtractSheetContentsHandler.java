@@ -0,0 +1,143 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.almcoverage.helper;
+
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.tools.doc.traceability.analyzer.almcoverage.model.AlmExtractColumn;
+import org.tools.doc.traceability.analyzer.almcoverage.model.AlmExtractColumnMapping;
+import org.tools.doc.traceability.analyzer.almcoverage.model.AlmStepTestData;
+import org.tools.doc.traceability.analyzer.almcoverage.model.AlmWorkbookSheetRowContents;
+
+/**
+ * Receives the rows of a sheet of an extract of HP ALM tests, read in a
+ * streaming way, and gives the test steps they contain to an
+ * {@link IAlmStepTestDataHandler}.
+ * <p>
+ * The first row of the sheet must be the header generated by ALM : the
+ * position of the needed columns is resolved from it (see
+ * {@link AlmExtractColumnMapping}), otherwise the whole sheet is ignored. For
+ * each following row, only the cells of the resolved columns are kept, and
+ * the row is converted as soon as it ends.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class AlmExtractSheetContentsHandler implements SheetContentsHandler {
+
+    /**
+     * The handler receiving the test steps.
+     */
+    private final IAlmStepTestDataHandler almStepTestDataHandler;
+
+    /**
+     * The position of the columns, resolved from the first row.
+     */
+    private final AlmExtractColumnMapping columnMapping;
+
+    /**
+     * The contents of the current row (reused from one row to the next).
+     */
+    private final AlmWorkbookSheetRowContents rowContents;
+
+    /**
+     * Whether the current row is the first one of the sheet.
+     */
+    private boolean firstRow;
+
+    /**
+     * Whether the first row of the sheet is the ALM header.
+     */
+    private boolean almSheet;
+
+    /**
+     * The column index of the last cell received in the current row.
+     */
+    private int lastColumnIndex;
+
+    /**
+     * Constructor.
+     * 
+     * @param pAlmStepTestDataHandler the handler receiving the test steps.
+     */
+    public AlmExtractSheetContentsHandler(final IAlmStepTestDataHandler pAlmStepTestDataHandler) {
+        almStepTestDataHandler = pAlmStepTestDataHandler;
+        columnMapping = new AlmExtractColumnMapping();
+        rowContents = new AlmWorkbookSheetRowContents();
+        firstRow = true;
+        almSheet = false;
+        lastColumnIndex = -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void startRow(final int pRowNum) {
+        rowContents.clear();
+        lastColumnIndex = -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cell(final String pCellReference, final String pFormattedValue, final XSSFComment pComment) {
+        // Only the first row and the rows of an ALM sheet are of interest
+        if (firstRow || almSheet) {
+            int lColumnIndex = lastColumnIndex + 1;
+            if (pCellReference != null) {
+                lColumnIndex = getColumnIndex(pCellReference);
+            }
+            lastColumnIndex = lColumnIndex;
+
+            if (firstRow) {
+                columnMapping.addHeaderCell(lColumnIndex, pFormattedValue);
+            } else {
+                AlmExtractColumn lColumn = columnMapping.getColumnAt(lColumnIndex);
+                if (lColumn != null) {
+                    rowContents.setValue(lColumn, pFormattedValue);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void endRow(final int pRowNum) {
+        if (firstRow) {
+            firstRow = false;
+            almSheet = columnMapping.isComplete();
+        } else if (almSheet) {
+            AlmStepTestData lAlmStepTestData = rowContents.toAlmStepTestData();
+
+            // Prevent adding empty elements
+            if (lAlmStepTestData.isDefined()) {
+                almStepTestDataHandler.handleAlmStepTestData(lAlmStepTestData);
+            }
+        }
+    }
+
+    /**
+     * Get the index of the column of the given cell reference.
+     * 
+     * @param pCellReference the cell reference (like <tt>AB12</tt>).
+     * @return the index of the column (first is 0).
+     */
+    private static int getColumnIndex(final String pCellReference) {
+        int lColumnNumber = 0;
+
+        int lIdx = 0;
+        while ((lIdx < pCellReference.length()) && Character.isLetter(pCellReference.charAt(lIdx))) {
+            lColumnNumber = lColumnNumber * ('Z' - 'A' + 1) + (Character.toUpperCase(pCellReference.charAt(lIdx))
+                    - 'A' + 1);
+            lIdx++;
+        }
+
+        return lColumnNumber - 1;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.almcoverage.helper;
+
+import java.io.File;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+import org.tools.doc.traceability.common.worksheet.ISheetContentsHandlerFactory;
+import org.tools.doc.traceability.common.worksheet.SheetStreamReader;
+
+/**
+ * Reads the test steps of an extract of HP ALM tests (<tt>.xlsx</tt> or
+ * <tt>.xlsm</tt> file) in a streaming way.
+ * <p>
+ * The sheets are streamed by {@link SheetStreamReader} instead of loading the
+ * whole workbook object model, and each row is converted into a test step as
+ * soon as it has been read (see {@link AlmExtractSheetContentsHandler}).
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class AlmExtractStreamReader {
+
+    /**
+     * Constructor.
+     */
+    public AlmExtractStreamReader() {
+    }
+
+    /**
+     * Read the given ALM extract file and give the test steps of its sheets to
+     * the given handler.
+     * 
+     * @param pAlmExtractFile the ALM extract file to read.
+     * @param pAlmStepTestDataHandler the handler receiving the test steps.
+     * @throws FileReadingException if the file could not be read.
+     */
+    public void readAlmSteps(final File pAlmExtractFile, final IAlmStepTestDataHandler pAlmStepTestDataHandler)
+            throws FileReadingException {
+        SheetStreamReader.readSheets(pAlmExtractFile, new AlmExtractDataFormatter(),
+                new ISheetContentsHandlerFactory() {
+                    @Override
+                    public SheetContentsHandler createSheetContentsHandler(final String pSheetName) {
+                        return new AlmExtractSheetContentsHandler(pAlmStepTestDataHandler);
+                    }
+                });
+    }
+
+    /**
+     * Formatter of the cell values giving the numeric values the same way as
+     * the workbook object model reading did : as the integer part of the
+     * number, whatever the cell format.
+     */
+    private static final class AlmExtractDataFormatter extends DataFormatter {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String formatRawCellContents(final double pValue, final int pFormatIndex, final String pFormatString,
+                final boolean pUse1904Windowing) {
+            return Long.toString((long) pValue);
+        }
+    }
+}
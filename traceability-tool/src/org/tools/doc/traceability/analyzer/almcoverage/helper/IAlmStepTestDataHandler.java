@@ -0,0 +1,26 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.almcoverage.helper;
+
+import org.tools.doc.traceability.analyzer.almcoverage.model.AlmStepTestData;
+
+/**
+ * Receives the test steps read from an extract of HP ALM tests.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public interface IAlmStepTestDataHandler {
+
+    /**
+     * Handle a test step read from a data row of the extract.
+     * <p>
+     * Only the defined steps (see {@link AlmStepTestData#isDefined()}) are
+     * given.
+     * </p>
+     * 
+     * @param pAlmStepTestData the test step.
+     */
+    void handleAlmStepTestData(AlmStepTestData pAlmStepTestData);
+}
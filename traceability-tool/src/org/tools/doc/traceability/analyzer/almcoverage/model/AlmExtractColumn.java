@@ -0,0 +1,95 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.almcoverage.model;
+
+/**
+ * Models the columns of a sheet of a workbook produced by HP ALM for extracting
+ * test data that are needed to build an {@link AlmStepTestData}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public enum AlmExtractColumn {
+
+    /**
+     * The column giving the name of the test suite.
+     */
+    TestSuite("Test Suite"),
+
+    /**
+     * The column giving the number of the test case.
+     */
+    TestNumber("TC No"),
+
+    /**
+     * The column giving the title of the test case.
+     */
+    TestCaseTitle("Test Case Title"),
+
+    /**
+     * The column giving the name of the step.
+     */
+    StepName("Step Name"),
+
+    /**
+     * The column giving the action to play in the step.
+     */
+    Action("Action"),
+
+    /**
+     * The column giving the expected result of the step.
+     */
+    ExpectedResult("Expected Result"),
+
+    ;
+
+    /**
+     * The text of the header cell of the column.
+     */
+    private final String headerText;
+
+    /**
+     * Constructor.
+     * 
+     * @param pHeaderText the text of the header cell of the column.
+     */
+    AlmExtractColumn(final String pHeaderText) {
+        headerText = pHeaderText;
+    }
+
+    /**
+     * Getter of the text of the header cell of the column.
+     * 
+     * @return the headerText
+     */
+    public String getHeaderText() {
+        return headerText;
+    }
+
+    /**
+     * Get the column whose header is the given text.
+     * <p>
+     * The surrounding blanks and the case are ignored.
+     * </p>
+     * 
+     * @param pHeaderText the text of a header cell.
+     * @return the column with this header, or <tt>null</tt> if the text is not
+     * the header of one of the columns.
+     */
+    public static AlmExtractColumn fromHeaderText(final String pHeaderText) {
+        AlmExtractColumn lColumn = null;
+
+        if (pHeaderText != null) {
+            String lTrimmedHeaderText = pHeaderText.trim();
+            AlmExtractColumn[] lCandidates = values();
+            for (int i = 0; (lColumn == null) && (i < lCandidates.length); i++) {
+                if (lCandidates[i].headerText.equalsIgnoreCase(lTrimmedHeaderText)) {
+                    lColumn = lCandidates[i];
+                }
+            }
+        }
+
+        return lColumn;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.almcoverage.model;
+
+import java.util.Arrays;
+
+/**
+ * Position of the {@link AlmExtractColumn} in a sheet of a workbook produced by
+ * HP ALM, resolved once from the header row of the sheet.
+ * <p>
+ * The columns are found by their header text, wherever they are in the row :
+ * other columns can be present before, between or after them. If a header text
+ * is present more than once, its first column is used.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class AlmExtractColumnMapping {
+
+    /**
+     * Value of a column index that is not resolved.
+     */
+    private static final int UNRESOLVED = -1;
+
+    /**
+     * The index (first is 0) of each column in the sheet, by ordinal of
+     * {@link AlmExtractColumn}.
+     */
+    private final int[] columnIndexes;
+
+    /**
+     * The column found at each index of the sheet (<tt>null</tt> for the other
+     * columns).
+     */
+    private AlmExtractColumn[] columnsByIndex;
+
+    /**
+     * The number of resolved columns.
+     */
+    private int resolvedColumnCount;
+
+    /**
+     * Constructor of a mapping where no column is resolved yet.
+     */
+    public AlmExtractColumnMapping() {
+        columnIndexes = new int[AlmExtractColumn.values().length];
+        Arrays.fill(columnIndexes, UNRESOLVED);
+        columnsByIndex = new AlmExtractColumn[columnIndexes.length];
+        resolvedColumnCount = 0;
+    }
+
+    /**
+     * Consider a cell of the header row.
+     * 
+     * @param pColumnIndex the index of the column of the cell (first is 0).
+     * @param pHeaderText the text of the cell.
+     */
+    public void addHeaderCell(final int pColumnIndex, final String pHeaderText) {
+        AlmExtractColumn lColumn = AlmExtractColumn.fromHeaderText(pHeaderText);
+
+        if ((lColumn != null) && (columnIndexes[lColumn.ordinal()] == UNRESOLVED)) {
+            columnIndexes[lColumn.ordinal()] = pColumnIndex;
+            if (pColumnIndex >= columnsByIndex.length) {
+                columnsByIndex = Arrays.copyOf(columnsByIndex, pColumnIndex + 1);
+            }
+            columnsByIndex[pColumnIndex] = lColumn;
+            resolvedColumnCount++;
+        }
+    }
+
+    /**
+     * Checks whether all the columns have been found in the header row, i.e.
+     * whether the header row is the one generated by ALM.
+     * 
+     * @return <tt>true</tt> if all the columns are resolved, <tt>false</tt>
+     * otherwise.
+     */
+    public boolean isComplete() {
+        return resolvedColumnCount == columnIndexes.length;
+    }
+
+    /**
+     * Get the index of the given column in the sheet.
+     * 
+     * @param pColumn the column.
+     * @return the index of the column (first is 0), or -1 if it was not found
+     * in the header row.
+     */
+    public int getColumnIndex(final AlmExtractColumn pColumn) {
+        return columnIndexes[pColumn.ordinal()];
+    }
+
+    /**
+     * Get the column located at the given index of the sheet.
+     * 
+     * @param pColumnIndex the index of a column of the sheet (first is 0).
+     * @return the column found at this index in the header row, or
+     * <tt>null</tt> if it is not one of the needed columns.
+     */
+    public AlmExtractColumn getColumnAt(final int pColumnIndex) {
+        AlmExtractColumn lColumn = null;
+        if ((pColumnIndex >= 0) && (pColumnIndex < columnsByIndex.length)) {
+            lColumn = columnsByIndex[pColumnIndex];
+        }
+        return lColumn;
+    }
+}
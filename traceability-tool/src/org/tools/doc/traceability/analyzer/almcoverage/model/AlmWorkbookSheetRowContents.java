@@ -3,11 +3,17 @@
  */
 package org.tools.doc.traceability.analyzer.almcoverage.model;
 
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Models the contents of a row in a sheet of a workbook produced by HP ALM for
  * extracting test data.
+ * <p>
+ * Only the values of the {@link AlmExtractColumn} are kept : the reader of the
+ * sheet gives each of them as soon as it reads the cell located at the column
+ * index resolved from the header row (see {@link AlmExtractColumnMapping}).
+ * The same instance can be reused for all the rows of a sheet.
+ * </p>
  * 
  * @author Yann Leglise
  *
@@ -15,145 +21,48 @@ import java.util.List;
 public class AlmWorkbookSheetRowContents {
 
     /**
-     * The value of the "Test Suite" column.
+     * The trimmed value of each column, by ordinal of {@link AlmExtractColumn}.
      */
-    private String testSuite;
+    private final String[] values;
 
     /**
-     * The value of the "TC No" column.
+     * Constructor of an empty row.
      */
-    private String testNumber;
-
-    /**
-     * The value of the "Test Case Title" column.
-     */
-    private String testCaseTitle;
-
-    /**
-     * The value of the "Step Name" column.
-     */
-    private String stepName;
-
-    /**
-     * The value of the "Action" column.
-     */
-    private String action;
-
-    /**
-     * The value of the "Expected Result" column.
-     */
-    private String expectedResult;
-
-    /**
-     * Constructor.
-     * 
-     * @param pRowCellContents the list of cell contents read from the row.
-     */
-    public AlmWorkbookSheetRowContents(final List<String> pRowCellContents) {
-        testSuite = "";
-        testNumber = "";
-        testCaseTitle = "";
-        stepName = "";
-        action = "";
-        expectedResult = "";
-        if (pRowCellContents != null) {
-            int lCellNum = pRowCellContents.size();
-            if (lCellNum > 0) {
-                testSuite = pRowCellContents.get(0).trim();
-                if (lCellNum > 1) {
-                    testNumber = pRowCellContents.get(1).trim();
-                    if (lCellNum > 2) {
-                        testCaseTitle = pRowCellContents.get(2).trim();
-                        if (lCellNum > 3) {
-                            stepName = pRowCellContents.get(3).trim();
-                            if (lCellNum > 4) {
-                                action = pRowCellContents.get(4).trim();
-                                if (lCellNum > 5) {
-                                    expectedResult = pRowCellContents.get(5).trim();
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * Getter of the test suite.
-     * 
-     * @return the testSuite
-     */
-    public String getTestSuite() {
-        return testSuite;
+    public AlmWorkbookSheetRowContents() {
+        values = new String[AlmExtractColumn.values().length];
+        clear();
     }
 
     /**
-     * Getter of the test number.
-     * 
-     * @return the testNumber
+     * Empty all the values, before reading a new row.
      */
-    public String getTestNumber() {
-        return testNumber;
+    public void clear() {
+        Arrays.fill(values, "");
     }
 
     /**
-     * Getter of the test case title.
+     * Set the value of the given column.
      * 
-     * @return the testCaseTitle
+     * @param pColumn the column.
+     * @param pCellValue the value of the cell of the column (can be
+     * <tt>null</tt> for an empty cell).
      */
-    public String getTestCaseTitle() {
-        return testCaseTitle;
-    }
-
-    /**
-     * Getter of the step name.
-     * 
-     * @return the stepName
-     */
-    public String getStepName() {
-        return stepName;
-    }
-
-    /**
-     * Getter of the action.
-     * 
-     * @return the action
-     */
-    public String getAction() {
-        return action;
-    }
-
-    /**
-     * Getter of the expected result.
-     * 
-     * @return the expectedResult
-     */
-    public String getExpectedResult() {
-        return expectedResult;
+    public void setValue(final AlmExtractColumn pColumn, final String pCellValue) {
+        String lValue = "";
+        if (pCellValue != null) {
+            lValue = pCellValue.trim();
+        }
+        values[pColumn.ordinal()] = lValue;
     }
 
     /**
-     * Checks whether this row correspond to the header.
+     * Get the value of the given column.
      * 
-     * @return true if it is a header, false otherwise.
+     * @param pColumn the column.
+     * @return the trimmed value (empty if the cell was empty or missing).
      */
-    public boolean isHeader() {
-        boolean lIsheader = false;
-
-        if (testSuite.compareTo("Test Suite") == 0) {
-            if (testNumber.compareTo("TC No") == 0) {
-                if (testCaseTitle.compareTo("Test Case Title") == 0) {
-                    if (stepName.compareTo("Step Name") == 0) {
-                        if (action.compareTo("Action") == 0) {
-                            lIsheader = expectedResult.compareTo("Expected Result") == 0;
-                        }
-                    }
-                }
-            }
-        }
-
-        return lIsheader;
+    public String getValue(final AlmExtractColumn pColumn) {
+        return values[pColumn.ordinal()];
     }
 
     /**
@@ -166,13 +75,14 @@ public class AlmWorkbookSheetRowContents {
         int lTestCaseNumber = 0;
 
         try {
-            lTestCaseNumber = Integer.parseInt(testNumber);
+            lTestCaseNumber = Integer.parseInt(getValue(AlmExtractColumn.TestNumber));
         } catch (NumberFormatException nfe) {
             lTestCaseNumber = 0;
         }
 
-        AlmStepTestData lAlmStepTestData = new AlmStepTestData(testSuite, lTestCaseNumber, testCaseTitle, stepName,
-                action, expectedResult);
+        AlmStepTestData lAlmStepTestData = new AlmStepTestData(getValue(AlmExtractColumn.TestSuite),
+                lTestCaseNumber, getValue(AlmExtractColumn.TestCaseTitle), getValue(AlmExtractColumn.StepName),
+                getValue(AlmExtractColumn.Action), getValue(AlmExtractColumn.ExpectedResult));
 
         return lAlmStepTestData;
     }
@@ -6,6 +6,7 @@ package org.tools.doc.traceability.analyzer.cucumbertests;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,6 +15,7 @@ import org.tools.doc.traceability.analyzer.cucumbertests.helper.TestingScenarioB
 import org.tools.doc.traceability.analyzer.cucumbertests.helper.TestingScenarioPart;
 import org.tools.doc.traceability.analyzer.cucumbertests.model.CucumberTestData;
 import org.tools.doc.traceability.analyzer.cucumbertests.model.CucumberTestsFileData;
+import org.tools.doc.traceability.common.StringDeduplicator;
 import org.tools.doc.traceability.common.exceptions.AbstractTraceabilityException;
 import org.tools.doc.traceability.common.exceptions.ExecutorExecutionException;
 import org.tools.doc.traceability.common.exceptions.FileReadingException;
@@ -23,9 +25,11 @@ import org.tools.doc.traceability.common.exceptions.InvalidGherkinContentsExcept
 import org.tools.doc.traceability.common.exceptions.InvalidParameterException;
 import org.tools.doc.traceability.common.executor.AbstractExecutor;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.executor.ITaskCompletionListener;
+import org.tools.doc.traceability.common.executor.ParallelTaskRunner;
 import org.tools.doc.traceability.common.filesearch.FileSearchFilterSet;
 import org.tools.doc.traceability.common.filesearch.FileSearcher;
-import org.tools.doc.traceability.common.gerkhin.GherkinConstants;
+import org.tools.doc.traceability.common.gerkhin.GherkinFeatureCache;
 import org.tools.doc.traceability.common.gerkhin.GherkinParser;
 import org.tools.doc.traceability.common.gerkhin.model.GherkinFeatureFileContents;
 import org.tools.doc.traceability.common.gerkhin.model.container.GherkinBackground;
@@ -35,8 +39,6 @@ import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinEx
 import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinExamplesOrScenariosElement;
 import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinScenarioOutlineOrTemplateElement;
 import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinStep;
-import org.tools.doc.traceability.common.gerkhin.model.general.GherkinDataTable;
-import org.tools.doc.traceability.common.gerkhin.model.general.GherkinDocString;
 import org.tools.doc.traceability.common.model.Requirement;
 
 /**
@@ -54,15 +56,15 @@ public class CucumberTestCoverageAnalyser extends AbstractExecutor<CucumberTestC
     private static final Logger LOGGER = LogManager.getLogger(CucumberTestCoverageAnalyser.class);
 
     /**
-     * Gherking feature file parser.
+     * Gherking feature file parser of each worker thread.
      */
-    private GherkinParser gherkinParser;
+    private final ThreadLocal<GherkinParser> gherkinParsers;
 
     /**
      * The utility that breaks down a list of steps into action/expected result
-     * parts.
+     * parts, for each worker thread (it holds compiled patterns).
      */
-    private GherkinStepBreakdownManager stepBreakdownManager;
+    private final ThreadLocal<GherkinStepBreakdownManager> stepBreakdownManagers;
 
     /**
      * The result object.
@@ -74,6 +76,35 @@ public class CucumberTestCoverageAnalyser extends AbstractExecutor<CucumberTestC
      */
     private final FileSearchFilterSet featureFileSearchFilterSet;
 
+    /**
+     * The maximum number of feature files processed at the same time.
+     */
+    private int workerCount;
+
+    /**
+     * The directory where the parsed contents of each feature file is cached
+     * (<tt>null</tt> if no cache is used).
+     */
+    private File cacheDirectory;
+
+    /**
+     * The cache of the parsed feature files, during the analysis
+     * (<tt>null</tt> if no cache is used).
+     */
+    private GherkinFeatureCache featureCache;
+
+    /**
+     * Whether the equal texts of the parsed features (that the produced test
+     * data refer to) share the same instance.
+     */
+    private boolean stringDeduplication;
+
+    /**
+     * The table making the equal texts share the same instance, during the
+     * analysis (<tt>null</tt> if the texts are not deduplicated).
+     */
+    private StringDeduplicator stringDeduplicator;
+
     /**
      * Constructor.
      * 
@@ -86,10 +117,74 @@ public class CucumberTestCoverageAnalyser extends AbstractExecutor<CucumberTestC
         super(pExecutionStatus);
         featureFileSearchFilterSet = pFeatureFileSearchFilterSet;
 
-        gherkinParser = new GherkinParser();
-        stepBreakdownManager = new GherkinStepBreakdownManager();
+        gherkinParsers = new ThreadLocal<GherkinParser>() {
+            @Override
+            protected GherkinParser initialValue() {
+                return new GherkinParser();
+            }
+        };
+        stepBreakdownManagers = new ThreadLocal<GherkinStepBreakdownManager>() {
+            @Override
+            protected GherkinStepBreakdownManager initialValue() {
+                return new GherkinStepBreakdownManager();
+            }
+        };
 
         resultObject = null;
+        workerCount = ParallelTaskRunner.getDefaultWorkerCount();
+        cacheDirectory = null;
+        featureCache = null;
+        stringDeduplication = true;
+        stringDeduplicator = null;
+    }
+
+    /**
+     * Setter of the directory where the parsed contents of each feature file
+     * is cached.
+     * <p>
+     * When set, a feature file whose contents did not change since it was
+     * last parsed (by the same version of the parser) is not parsed again.
+     * By default, no cache is used.
+     * </p>
+     * 
+     * @param pCacheDirectory the cache directory (it is created if needed), or
+     * <tt>null</tt> to not use any cache.
+     */
+    public void setCacheDirectory(final File pCacheDirectory) {
+        cacheDirectory = pCacheDirectory;
+    }
+
+    /**
+     * Setter of whether the equal texts of the parsed features and of the
+     * produced test data share the same instance.
+     * <p>
+     * By default, they do : the step texts, DataTable and DocString lines of
+     * all the parsed features go through a table shared by all the workers,
+     * so that a step repeated in many scenarios or in many feature files is
+     * stored once. The table itself is released at the end of the analysis.
+     * Whatever the value, the result is the same.
+     * </p>
+     * 
+     * @param pStringDeduplication whether the texts are deduplicated.
+     */
+    public void setStringDeduplication(final boolean pStringDeduplication) {
+        stringDeduplication = pStringDeduplication;
+    }
+
+    /**
+     * Setter of the maximum number of feature files processed at the same time.
+     * <p>
+     * By default, it is the number of available processors. With 1, the
+     * feature files are processed one after the other. Whatever the value, the
+     * result is the same (the data of the feature files are added in the order
+     * of the searched file list).
+     * </p>
+     * 
+     * @param pWorkerCount the maximum number of feature files processed at the
+     * same time (values lower than 1 are considered as 1).
+     */
+    public void setWorkerCount(final int pWorkerCount) {
+        workerCount = Math.max(1, pWorkerCount);
     }
 
     /**
@@ -109,7 +204,10 @@ public class CucumberTestCoverageAnalyser extends AbstractExecutor<CucumberTestC
     /**
      * Search for cucumber test files, and parse them.
      * <p>
-     * Set the test result.
+     * Set the test result. The feature files are processed concurrently. A
+     * feature file that cannot be read or whose contents is invalid does not
+     * stop the processing of the others : it is reported in the result as a
+     * failed feature file.
      * </p>
      * 
      * @throws ExecutorExecutionException if an error occurs during the
@@ -119,39 +217,95 @@ public class CucumberTestCoverageAnalyser extends AbstractExecutor<CucumberTestC
 
         resultObject = new CucumberTestCoverageAnalyzerResult();
 
-        double lCurrentPercentage = 5.0;
+        final double lCurrentPercentage = 5.0;
         setCurrentOperation("Searching for feature files in " + featureFileSearchFilterSet.toString(),
                 lCurrentPercentage);
 
         // First search for the feature files under the cucumber test root
         // directory
         FileSearcher lFileSearcher = new FileSearcher(featureFileSearchFilterSet);
-        List<File> lFeatureFileList;
+        final List<File> lFeatureFileList;
         try {
             lFeatureFileList = lFileSearcher.search();
+        } catch (FileSearchException e) {
+            LOGGER.error("Error searching file .feature files : " + e.getMessage());
+            throw new ExecutorExecutionException("Error searching file .feature files : " + e.getMessage());
+        }
+
+        final double lPercentagePerFile = 70. / lFeatureFileList.size();
 
-            double lPercentagePerFile = 70. / lFeatureFileList.size();
-            // Iterate on each of them
-            for (File lFeatureFile : lFeatureFileList) {
-                // Process this file
-                setCurrentOperation("Processing cucumber test result file " + lFeatureFile.getAbsolutePath(),
-                        lCurrentPercentage);
+        if (cacheDirectory == null) {
+            featureCache = null;
+        } else {
+            featureCache = new GherkinFeatureCache(cacheDirectory);
+        }
+        if (stringDeduplication) {
+            stringDeduplicator = new StringDeduplicator();
+        } else {
+            stringDeduplicator = null;
+        }
 
-                CucumberTestsFileData lCucumberTestsFileData = new CucumberTestsFileData(lFeatureFile);
-                processFeatureFile(lCucumberTestsFileData);
+        // The failure description of each feature file (null if processed
+        // successfully), each task only writing its own slot
+        final String[] lFailureDescriptions = new String[lFeatureFileList.size()];
+
+        // Process the feature files concurrently (each file is independent)
+        List<Callable<CucumberTestsFileData>> lTasks = new ArrayList<Callable<CucumberTestsFileData>>();
+        for (int i = 0; i < lFeatureFileList.size(); i++) {
+            final int lFileIdx = i;
+            lTasks.add(new Callable<CucumberTestsFileData>() {
+                @Override
+                public CucumberTestsFileData call() {
+                    CucumberTestsFileData lCucumberTestsFileData = new CucumberTestsFileData(
+                            lFeatureFileList.get(lFileIdx));
+                    try {
+                        processFeatureFile(lCucumberTestsFileData);
+                    } catch (ExecutorExecutionException e) {
+                        LOGGER.error(e.getMessage());
+                        lFailureDescriptions[lFileIdx] = e.getMessage();
+                        lCucumberTestsFileData = null;
+                    }
+                    return lCucumberTestsFileData;
+                }
+            });
+        }
 
-                // Add it to the result object
+        ParallelTaskRunner<CucumberTestsFileData> lTaskRunner = new ParallelTaskRunner<CucumberTestsFileData>(
+                workerCount, "cucumber-analyser");
+        List<CucumberTestsFileData> lFileDataList = lTaskRunner.runAll(lTasks, new ITaskCompletionListener() {
+            @Override
+            public void taskCompleted(final int pTaskIndex, final int pCompletedTaskCount) {
+                setCurrentOperation("Processed cucumber test result file "
+                        + lFeatureFileList.get(pTaskIndex).getAbsolutePath(),
+                        lCurrentPercentage + lPercentagePerFile * pCompletedTaskCount);
+            }
+        });
+
+        // Add the results in the searched file order, so that the result does
+        // not depend on the order in which the files were processed
+        for (int i = 0; i < lFileDataList.size(); i++) {
+            CucumberTestsFileData lCucumberTestsFileData = lFileDataList.get(i);
+            if (lCucumberTestsFileData == null) {
+                resultObject.addFailedFeatureFile(lFeatureFileList.get(i), lFailureDescriptions[i]);
+            } else {
                 resultObject.addCucumberTestFileData(lCucumberTestsFileData);
-
-                lCurrentPercentage += lPercentagePerFile;
             }
+        }
 
-            setExecutionResult(resultObject);
-        } catch (FileSearchException e) {
-            LOGGER.error("Error searching file .feature files : " + e.getMessage());
-            throw new ExecutorExecutionException("Error searching file .feature files : " + e.getMessage());
+        if (featureCache != null) {
+            resultObject.setCacheHitCount(featureCache.getHitCount());
+            resultObject.setCacheMissCount(featureCache.getMissCount());
+            LOGGER.info(resultObject.getCacheHitCount() + " feature file(s) loaded from cache, "
+                    + resultObject.getCacheMissCount() + " feature file(s) not in cache");
+        }
+        if (stringDeduplicator != null) {
+            LOGGER.debug(stringDeduplicator.getDistinctStringCount() + " distinct text(s), "
+                    + stringDeduplicator.getDeduplicatedStringCount() + " duplicate(s) shared");
+            // The kept texts are referenced by the result
+            stringDeduplicator = null;
         }
 
+        setExecutionResult(resultObject);
     }
 
     /**
@@ -167,8 +321,12 @@ public class CucumberTestCoverageAnalyser extends AbstractExecutor<CucumberTestC
         LOGGER.debug("Analyzing file " + lFeatureFile.getAbsolutePath() + " ...");
 
         try {
-            // Parse the Gherkin file to get its contents
-            GherkinFeatureFileContents lFeatureFileContents = gherkinParser.parseFile(lFeatureFile);
+            // Parse the Gherkin file to get its contents (or load it from the
+            // cache of the current analysis)
+            GherkinParser lGherkinParser = gherkinParsers.get();
+            lGherkinParser.setFeatureCache(featureCache);
+            lGherkinParser.setStringDeduplicator(stringDeduplicator);
+            GherkinFeatureFileContents lFeatureFileContents = lGherkinParser.parseFile(lFeatureFile);
 
             // Extract the found scenario
             GherkinFeature lFeature = lFeatureFileContents.getFeature();
@@ -255,7 +413,7 @@ public class CucumberTestCoverageAnalyser extends AbstractExecutor<CucumberTestC
         lSteps.addAll(pExampleOrScenario.getSteps());
 
         // Break down the steps into parts
-        TestingScenarioBreakdown lBreakdown = stepBreakdownManager.breakDownSteps(lSteps);
+        TestingScenarioBreakdown lBreakdown = stepBreakdownManagers.get().breakDownSteps(lSteps);
         List<TestingScenarioPart> lParts = lBreakdown.getTestingScenarioParts();
 
         // Iterate on the parts
@@ -291,78 +449,40 @@ public class CucumberTestCoverageAnalyser extends AbstractExecutor<CucumberTestC
         lSteps.addAll(pBackgroundSteps);
         lSteps.addAll(pScenarioOutlineOrTemplate.getSteps());
 
-        // Extract the description of the Examples or Scenarios
-        AbstractGherkinExamplesOrScenariosElement lExamplesOrScenarios = pScenarioOutlineOrTemplate
-                .getExamplesOrScenariosElement();
-
-        StringBuilder lExamplesOrScenariosDescriptionSb = new StringBuilder(lExamplesOrScenarios.getContainerLine());
-        GherkinDataTable lDataTable = lExamplesOrScenarios.getDataTable();
-        for (String lTextLine : lDataTable.getTextLines()) {
-            lExamplesOrScenariosDescriptionSb.append("\n\t");
-            lExamplesOrScenariosDescriptionSb.append(lTextLine);
-        }
-
         // Break down the steps into parts
-        TestingScenarioBreakdown lBreakdown = stepBreakdownManager.breakDownSteps(lSteps);
+        TestingScenarioBreakdown lBreakdown = stepBreakdownManagers.get().breakDownSteps(lSteps);
         List<TestingScenarioPart> lParts = lBreakdown.getTestingScenarioParts();
 
         // Iterate on the parts
         for (TestingScenarioPart lPart : lParts) {
             CucumberTestData lAutomaticTestData = createCucumberTestData(pFeature.getContainerDescription(),
                     pScenarioOutlineOrTemplate.getContainerDescription(), lPart,
-                    lExamplesOrScenariosDescriptionSb.toString());
+                    pScenarioOutlineOrTemplate.getExamplesOrScenariosElement());
             pAutomaticTestsFileData.getCucumberTestDataList().add(lAutomaticTestData);
         }
     }
 
     /**
      * Builds an cucumber test data from the given arguments.
+     * <p>
+     * The test data only references the steps of the part : its descriptions
+     * are rendered when they are needed.
+     * </p>
      * 
      * @param pFeatureName The feature name.
      * @param pScenarioName The scenario name.
      * @param pTestingScenarioPart the testing scenario part.
-     * @param pAdditionalActionText some potential additional text to complete
-     * the action part (a '\n' will be automatically prepended). Can be
-     * <tt>null</tt> if not needed.
+     * @param pExamplesOrScenarios the potential Examples/Scenarios element
+     * completing the action part. Can be <tt>null</tt> if not needed.
      * @return the cucumber test data created from the arguments.
      */
     private CucumberTestData createCucumberTestData(final String pFeatureName, final String pScenarioName,
-            final TestingScenarioPart pTestingScenarioPart, final String pAdditionalActionText) {
-        // Create the action description
-        StringBuilder lActionDescriptionSb = new StringBuilder();
-        boolean lIsFrst = true;
-        for (AbstractGherkinStep lActionStep : pTestingScenarioPart.getActionSteps()) {
-            if (lIsFrst) {
-                lIsFrst = false;
-            } else {
-                lActionDescriptionSb.append("\n");
-            }
-            addStepDescription(lActionStep, lActionDescriptionSb);
-        }
-
-        if (pAdditionalActionText != null) {
-            lActionDescriptionSb.append("\n");
-            lActionDescriptionSb.append(pAdditionalActionText);
-        }
-
-        // Create the expected result description
-        StringBuilder lExpectedResultDescriptionSb = new StringBuilder();
-        lIsFrst = true;
-        for (AbstractGherkinStep lExpectedResultStep : pTestingScenarioPart.getExpectedResultSteps()) {
-            // If not a step referencing SD requirements, just add its
-            // description
-            if (lIsFrst) {
-                lIsFrst = false;
-            } else {
-                lExpectedResultDescriptionSb.append("\n");
-            }
-            addStepDescription(lExpectedResultStep, lExpectedResultDescriptionSb);
-        }
-
+            final TestingScenarioPart pTestingScenarioPart,
+            final AbstractGherkinExamplesOrScenariosElement pExamplesOrScenarios) {
         // Create the cucumber test data
         CucumberTestData lCucumberTestData = new CucumberTestData(pFeatureName, pScenarioName,
-                pTestingScenarioPart.getPartIdentifier(), lActionDescriptionSb.toString(),
-                lExpectedResultDescriptionSb.toString());
+                pTestingScenarioPart.getPartIdentifier(), pTestingScenarioPart.getActionSteps(),
+                pTestingScenarioPart.getExpectedResultSteps(), pExamplesOrScenarios);
 
         // Add the potential covered requirements
         for (Requirement lReq : pTestingScenarioPart.getCoveredRequirements()) {
@@ -372,39 +492,6 @@ public class CucumberTestCoverageAnalyser extends AbstractExecutor<CucumberTestC
         return lCucumberTestData;
     }
 
-    /**
-     * Writes the description of the given step in the description string
-     * builder.
-     * 
-     * @param pStep the step to consider.
-     * @param pDescriptionSb the destination StringBuilder.
-     */
-    private void addStepDescription(final AbstractGherkinStep pStep, final StringBuilder pDescriptionSb) {
-        pDescriptionSb.append(pStep.getStepLine());
-
-        // Append the data table contents, if any
-        if (pStep.hasAssociatedDataTable()) {
-            GherkinDataTable lDataTable = pStep.getAssociatedDataTable();
-            for (String lDataTableLine : lDataTable.getTextLines()) {
-                pDescriptionSb.append("\n\t");
-                pDescriptionSb.append(lDataTableLine);
-            }
-        }
-
-        // Append the doc string contents, if any
-        if (pStep.hasAssociatedDocString()) {
-            GherkinDocString lDocString = pStep.getAssociatedDocString();
-            pDescriptionSb.append("\n\t");
-            pDescriptionSb.append(GherkinConstants.DOC_STRING_KEYWORD);
-            for (String lDocStringLine : lDocString.getTextLines()) {
-                pDescriptionSb.append("\n\t");
-                pDescriptionSb.append(lDocStringLine);
-            }
-            pDescriptionSb.append("\n\t");
-            pDescriptionSb.append(GherkinConstants.DOC_STRING_KEYWORD);
-        }
-    }
-
     /**
      * Checks the provided arguments and throw an exception if one is invalid.
      * 
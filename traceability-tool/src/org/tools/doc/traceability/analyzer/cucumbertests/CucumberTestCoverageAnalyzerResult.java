@@ -3,8 +3,11 @@
  */
 package org.tools.doc.traceability.analyzer.cucumbertests;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.tools.doc.traceability.analyzer.cucumbertests.model.CucumberTestsFileData;
 import org.tools.doc.traceability.common.executor.AbtsractExecutionResultObject;
@@ -22,11 +25,32 @@ public class CucumberTestCoverageAnalyzerResult extends AbtsractExecutionResultO
      */
     private final List<CucumberTestsFileData> cucumberTestsFileDataList;
 
+    /**
+     * The feature files that could not be processed, associated with the
+     * description of the failure (in the searched file order).
+     */
+    private final Map<File, String> failedFeatureFiles;
+
+    /**
+     * The number of feature files whose parsed contents was loaded from the
+     * cache.
+     */
+    private int cacheHitCount;
+
+    /**
+     * The number of feature files that were parsed because they were not in
+     * the cache (or no cache was used).
+     */
+    private int cacheMissCount;
+
     /**
      * Constructor.
      */
     public CucumberTestCoverageAnalyzerResult() {
         cucumberTestsFileDataList = new ArrayList<CucumberTestsFileData>();
+        failedFeatureFiles = new LinkedHashMap<File, String>();
+        cacheHitCount = 0;
+        cacheMissCount = 0;
     }
 
     /**
@@ -48,4 +72,64 @@ public class CucumberTestCoverageAnalyzerResult extends AbtsractExecutionResultO
         return cucumberTestsFileDataList;
     }
 
+    /**
+     * Add a feature file that could not be processed.
+     * 
+     * @param pFeatureFile the feature file.
+     * @param pFailureDescription the description of the failure.
+     */
+    public void addFailedFeatureFile(final File pFeatureFile, final String pFailureDescription) {
+        failedFeatureFiles.put(pFeatureFile, pFailureDescription);
+    }
+
+    /**
+     * Getter of the feature files that could not be processed.
+     * 
+     * @return the failed feature files associated with the description of the
+     * failure.
+     */
+    public Map<File, String> getFailedFeatureFiles() {
+        return failedFeatureFiles;
+    }
+
+    /**
+     * Getter of the number of feature files whose parsed contents was loaded
+     * from the cache.
+     * 
+     * @return the number of cache hits.
+     */
+    public int getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    /**
+     * Setter of the number of feature files whose parsed contents was loaded
+     * from the cache.
+     * 
+     * @param pCacheHitCount the number of cache hits.
+     */
+    public void setCacheHitCount(final int pCacheHitCount) {
+        cacheHitCount = pCacheHitCount;
+    }
+
+    /**
+     * Getter of the number of feature files that were parsed because they
+     * were not in the cache.
+     * 
+     * @return the number of cache misses.
+     */
+    public int getCacheMissCount() {
+        return cacheMissCount;
+    }
+
+    /**
+     * Setter of the number of feature files that were parsed because they
+     * were not in the cache.
+     * 
+     * @param pCacheMissCount the number of cache misses.
+     */
+    public void setCacheMissCount(final int pCacheMissCount) {
+        cacheMissCount = pCacheMissCount;
+    }
+
 }
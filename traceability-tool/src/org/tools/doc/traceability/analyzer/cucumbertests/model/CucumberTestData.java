@@ -6,15 +6,26 @@ package org.tools.doc.traceability.analyzer.cucumbertests.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.tools.doc.traceability.common.gerkhin.GherkinConstants;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinExamplesOrScenariosElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinStep;
+import org.tools.doc.traceability.common.gerkhin.model.general.GherkinDataTable;
+import org.tools.doc.traceability.common.gerkhin.model.general.GherkinDocString;
 import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.model.TestCaseDescriptionRenderer;
 
 /**
  * A class containing the data about cucumber tests.
+ * <p>
+ * The action and expected result descriptions are not stored : they are
+ * rendered from the steps of the test each time they are requested, as they
+ * are only needed when the VTP rows are written.
+ * </p>
  * 
  * @author Yann Leglise
  *
  */
-public class CucumberTestData {
+public class CucumberTestData implements TestCaseDescriptionRenderer {
 
     /**
      * The associated feature name.
@@ -32,14 +43,20 @@ public class CucumberTestData {
     private final String scenarioPartIdentifier;
 
     /**
-     * The description of the actions to perform.
+     * The steps describing the actions to perform.
      */
-    private final String actionDescription;
+    private final List<AbstractGherkinStep> actionSteps;
 
     /**
-     * The expected results description.
+     * The steps describing the expected results.
      */
-    private final String expectedResultDescription;
+    private final List<AbstractGherkinStep> expectedResultSteps;
+
+    /**
+     * The Examples/Scenarios element completing the actions (<tt>null</tt> if
+     * the test does not come from a Scenario Outline/Scenario Template).
+     */
+    private final AbstractGherkinExamplesOrScenariosElement examplesOrScenarios;
 
     /**
      * The list of covered requirements.
@@ -53,17 +70,22 @@ public class CucumberTestData {
      * @param pScenarioName The associated scenario name.
      * @param pScenarioPartIdentifier The identifier of the part in the
      * scenario.
-     * @param pActionDescription The description of the actions to perform.
-     * @param pExpectedResultDescription The expected results description.
+     * @param pActionSteps The steps describing the actions to perform.
+     * @param pExpectedResultSteps The steps describing the expected results.
+     * @param pExamplesOrScenarios The Examples/Scenarios element completing the
+     * actions (<tt>null</tt> if the test does not come from a Scenario
+     * Outline/Scenario Template).
      */
     public CucumberTestData(final String pFeatureName, final String pScenarioName,
-            final String pScenarioPartIdentifier, final String pActionDescription,
-            final String pExpectedResultDescription) {
+            final String pScenarioPartIdentifier, final List<AbstractGherkinStep> pActionSteps,
+            final List<AbstractGherkinStep> pExpectedResultSteps,
+            final AbstractGherkinExamplesOrScenariosElement pExamplesOrScenarios) {
         featureName = pFeatureName;
         scenarioName = pScenarioName;
         scenarioPartIdentifier = pScenarioPartIdentifier;
-        actionDescription = pActionDescription;
-        expectedResultDescription = pExpectedResultDescription;
+        actionSteps = pActionSteps;
+        expectedResultSteps = pExpectedResultSteps;
+        examplesOrScenarios = pExamplesOrScenarios;
         coveredRequirements = new ArrayList<Requirement>();
     }
 
@@ -111,21 +133,140 @@ public class CucumberTestData {
     }
 
     /**
-     * Getter of the description of the action.
+     * Getter of the steps describing the actions to perform.
+     * 
+     * @return the actionSteps
+     */
+    public List<AbstractGherkinStep> getActionSteps() {
+        return actionSteps;
+    }
+
+    /**
+     * Getter of the steps describing the expected results.
      * 
-     * @return the actionDescription
+     * @return the expectedResultSteps
+     */
+    public List<AbstractGherkinStep> getExpectedResultSteps() {
+        return expectedResultSteps;
+    }
+
+    /**
+     * Computes the description of the action.
+     * 
+     * @return the action description.
      */
     public String getActionDescription() {
-        return actionDescription;
+        StringBuilder lDescriptionSb = new StringBuilder();
+        appendActionDescription(lDescriptionSb);
+        return lDescriptionSb.toString();
     }
 
     /**
-     * Getter of the expected result description.
+     * Computes the expected result description.
      * 
-     * @return the expectedResultDescription
+     * @return the expected result description.
      */
     public String getExpectedResultDescription() {
-        return expectedResultDescription;
+        StringBuilder lDescriptionSb = new StringBuilder();
+        appendExpectedResultDescription(lDescriptionSb);
+        return lDescriptionSb.toString();
+    }
+
+    /**
+     * Writes the description of the action in the given StringBuilder.
+     * 
+     * @param pDescriptionSb the destination StringBuilder.
+     */
+    public void appendActionDescription(final StringBuilder pDescriptionSb) {
+        appendStepDescriptions(actionSteps, pDescriptionSb);
+
+        // Add the potential Examples/Scenarios with their data table
+        if (examplesOrScenarios != null) {
+            pDescriptionSb.append("\n");
+            pDescriptionSb.append(examplesOrScenarios.getContainerLine());
+            for (String lTextLine : examplesOrScenarios.getDataTable().getTextLines()) {
+                pDescriptionSb.append("\n\t");
+                pDescriptionSb.append(lTextLine);
+            }
+        }
+    }
+
+    /**
+     * Writes the expected result description in the given StringBuilder.
+     * 
+     * @param pDescriptionSb the destination StringBuilder.
+     */
+    public void appendExpectedResultDescription(final StringBuilder pDescriptionSb) {
+        appendStepDescriptions(expectedResultSteps, pDescriptionSb);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendProcedureDescription(final StringBuilder pDescriptionSb) {
+        appendActionDescription(pDescriptionSb);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void appendExpectedResults(final StringBuilder pDescriptionSb) {
+        appendExpectedResultDescription(pDescriptionSb);
+    }
+
+    /**
+     * Writes the descriptions of the given steps, one per line, in the
+     * description string builder.
+     * 
+     * @param pSteps the steps to consider.
+     * @param pDescriptionSb the destination StringBuilder.
+     */
+    private static void appendStepDescriptions(final List<AbstractGherkinStep> pSteps,
+            final StringBuilder pDescriptionSb) {
+        boolean lIsFirst = true;
+        for (AbstractGherkinStep lStep : pSteps) {
+            if (lIsFirst) {
+                lIsFirst = false;
+            } else {
+                pDescriptionSb.append("\n");
+            }
+            appendStepDescription(lStep, pDescriptionSb);
+        }
+    }
+
+    /**
+     * Writes the description of the given step in the description string
+     * builder.
+     * 
+     * @param pStep the step to consider.
+     * @param pDescriptionSb the destination StringBuilder.
+     */
+    private static void appendStepDescription(final AbstractGherkinStep pStep, final StringBuilder pDescriptionSb) {
+        pStep.appendStepLine(pDescriptionSb);
+
+        // Append the data table contents, if any
+        if (pStep.hasAssociatedDataTable()) {
+            GherkinDataTable lDataTable = pStep.getAssociatedDataTable();
+            for (String lDataTableLine : lDataTable.getTextLines()) {
+                pDescriptionSb.append("\n\t");
+                pDescriptionSb.append(lDataTableLine);
+            }
+        }
+
+        // Append the doc string contents, if any
+        if (pStep.hasAssociatedDocString()) {
+            GherkinDocString lDocString = pStep.getAssociatedDocString();
+            pDescriptionSb.append("\n\t");
+            pDescriptionSb.append(GherkinConstants.DOC_STRING_KEYWORD);
+            for (String lDocStringLine : lDocString.getTextLines()) {
+                pDescriptionSb.append("\n\t");
+                pDescriptionSb.append(lDocStringLine);
+            }
+            pDescriptionSb.append("\n\t");
+            pDescriptionSb.append(GherkinConstants.DOC_STRING_KEYWORD);
+        }
     }
 
     /**
@@ -149,9 +290,9 @@ public class CucumberTestData {
         sb.append("\n\tscenario part ID:\t");
         sb.append(scenarioPartIdentifier);
         sb.append("\n\tsteps description:\n\t\t");
-        sb.append(actionDescription.replaceAll("\n", "\n\t\t"));
+        sb.append(getActionDescription().replaceAll("\n", "\n\t\t"));
         sb.append("\n\texpected:\n\t\t");
-        sb.append(expectedResultDescription.replaceAll("\n", "\n\t\t"));
+        sb.append(getExpectedResultDescription().replaceAll("\n", "\n\t\t"));
 
         if (coveredRequirements.isEmpty()) {
             sb.append("\n\tNo covered reqs");
@@ -8,6 +8,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -16,9 +17,12 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import org.tools.doc.traceability.analyzer.justifircation.helper.INotCoveredRequirementJustificationHandler;
+import org.tools.doc.traceability.analyzer.justifircation.helper.JustificationFileStreamReader;
 import org.tools.doc.traceability.analyzer.justifircation.model.NotCoveredRequirementJustification;
 import org.tools.doc.traceability.common.exceptions.AbstractTraceabilityException;
 import org.tools.doc.traceability.common.exceptions.ExecutorExecutionException;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
 import org.tools.doc.traceability.common.exceptions.InvalidParameterException;
 import org.tools.doc.traceability.common.executor.AbstractExecutor;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
@@ -43,6 +47,13 @@ public class JustificationFileAnalyzer extends AbstractExecutor<JustificationFil
      */
     private final File justificationFile;
 
+    /**
+     * Flag indicating whether the justification file is read in a streaming
+     * way (see {@link JustificationFileStreamReader}) or by loading the whole
+     * workbook.
+     */
+    private boolean streamingReading;
+
     /**
      * The result object.
      */
@@ -58,10 +69,29 @@ public class JustificationFileAnalyzer extends AbstractExecutor<JustificationFil
             final ExecutorExecutionStatus<JustificationFileAnalyzerResult> pExecutionStatus) {
         super(pExecutionStatus);
         justificationFile = pJustificationFile;
+        streamingReading = true;
 
         resultObject = null;
     }
 
+    /**
+     * Setter of the flag indicating whether the justification file is read in
+     * a streaming way.
+     * <p>
+     * The streaming reading (default) reads the sheets with POI event model,
+     * skips the sheets that are not justification sheets right after their
+     * header row and converts each row as soon as it has been read, so that the
+     * memory used does not depend on the size of the file. Otherwise, the whole
+     * workbook is loaded with the POI object model.
+     * </p>
+     * 
+     * @param pStreamingReading <tt>true</tt> to read the justification file in
+     * a streaming way, <tt>false</tt> to load the whole workbook.
+     */
+    public void setStreamingReading(final boolean pStreamingReading) {
+        streamingReading = pStreamingReading;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -74,6 +104,20 @@ public class JustificationFileAnalyzer extends AbstractExecutor<JustificationFil
 
         // Parse the justifification file
         parseJustificationFile();
+
+        // Report the requirements justified more than once
+        reportDuplicatedJustifications();
+    }
+
+    /**
+     * Log a warning for each requirement justified more than once in the
+     * justification file.
+     */
+    private void reportDuplicatedJustifications() {
+        for (Map.Entry<Requirement, Integer> lEntry : resultObject.getDuplicatedJustifications().entrySet()) {
+            LOGGER.warn("Warning : requirement \"" + lEntry.getKey() + "\" is justified " + lEntry.getValue()
+                    + " times in " + justificationFile.getAbsolutePath() + " (only the first justification is used)");
+        }
     }
 
     /**
@@ -86,6 +130,49 @@ public class JustificationFileAnalyzer extends AbstractExecutor<JustificationFil
     private void parseJustificationFile() throws ExecutorExecutionException {
         resultObject = new JustificationFileAnalyzerResult();
 
+        if (streamingReading) {
+            streamJustificationFile();
+        } else {
+            loadJustificationFile();
+        }
+
+        setExecutionResult(resultObject);
+    }
+
+    /**
+     * Reads the justification file in a streaming way.
+     * 
+     * @throws ExecutorExecutionException if an error occurs during the
+     * extraction.
+     */
+    private void streamJustificationFile() throws ExecutorExecutionException {
+        try {
+            new JustificationFileStreamReader().readJustifications(justificationFile,
+                    new INotCoveredRequirementJustificationHandler() {
+
+                        /**
+                         * {@inheritDoc}
+                         */
+                        @Override
+                        public void handleNotCoveredRequirementJustification(
+                                final NotCoveredRequirementJustification pNotCoveredRequirementJustification) {
+                            resultObject.addNotCoveredRequirementJustification(pNotCoveredRequirementJustification);
+                        }
+                    });
+        } catch (FileReadingException e) {
+            LOGGER.error("Error reading justification file " + justificationFile.getAbsolutePath() + " : "
+                    + e.getMessage());
+            throw new ExecutorExecutionException("Justification file could not be read properly : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the justification file by loading the whole workbook.
+     * 
+     * @throws ExecutorExecutionException if an error occurs during the
+     * extraction.
+     */
+    private void loadJustificationFile() throws ExecutorExecutionException {
         FileInputStream lJustifFis = null;
 
         try {
@@ -217,8 +304,6 @@ public class JustificationFileAnalyzer extends AbstractExecutor<JustificationFil
                 }
             }
         }
-
-        setExecutionResult(resultObject);
     }
 
     /**
@@ -4,13 +4,24 @@
 package org.tools.doc.traceability.analyzer.justifircation;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.tools.doc.traceability.analyzer.justifircation.model.NotCoveredRequirementJustification;
 import org.tools.doc.traceability.common.executor.AbtsractExecutionResultObject;
+import org.tools.doc.traceability.common.model.Requirement;
 
 /**
  * The result produced by the Justification file analyzer tool.
+ * <p>
+ * Besides the list of justifications in the order of the file, the result
+ * indexes them by requirement. When a requirement is justified more than once,
+ * the first justification is kept in the index and the requirement is
+ * reported as duplicated.
+ * </p>
  * 
  * @author Yann Leglise
  *
@@ -23,11 +34,24 @@ public class JustificationFileAnalyzerResult extends AbtsractExecutionResultObje
      */
     private final List<NotCoveredRequirementJustification> notCoveredRequirementJustificationList;
 
+    /**
+     * The first justification found for each requirement.
+     */
+    private final Map<Requirement, NotCoveredRequirementJustification> justificationByRequirement;
+
+    /**
+     * The dictionary giving the number of justifications of the requirements
+     * that are justified more than once.
+     */
+    private final Map<Requirement, Integer> duplicatedJustifications;
+
     /**
      * Constructor.
      */
     public JustificationFileAnalyzerResult() {
         notCoveredRequirementJustificationList = new ArrayList<NotCoveredRequirementJustification>();
+        justificationByRequirement = new HashMap<Requirement, NotCoveredRequirementJustification>();
+        duplicatedJustifications = new LinkedHashMap<Requirement, Integer>();
     }
 
     /**
@@ -39,6 +63,37 @@ public class JustificationFileAnalyzerResult extends AbtsractExecutionResultObje
         return notCoveredRequirementJustificationList;
     }
 
+    /**
+     * Get the view of the justifications indexed by requirement.
+     * 
+     * @return the unmodifiable map giving the first justification found for
+     * each requirement.
+     */
+    public Map<Requirement, NotCoveredRequirementJustification> getJustificationByRequirement() {
+        return Collections.unmodifiableMap(justificationByRequirement);
+    }
+
+    /**
+     * Get the justification of the given requirement.
+     * 
+     * @param pRequirement the requirement.
+     * @return the first justification found for this requirement, or
+     * <tt>null</tt> if it is not justified.
+     */
+    public NotCoveredRequirementJustification getJustificationFor(final Requirement pRequirement) {
+        return justificationByRequirement.get(pRequirement);
+    }
+
+    /**
+     * Getter of the map giving the requirements justified more than once, with
+     * their number of justifications (in the order they were detected).
+     * 
+     * @return the duplicatedJustifications
+     */
+    public Map<Requirement, Integer> getDuplicatedJustifications() {
+        return duplicatedJustifications;
+    }
+
     /**
      * Add a not covered requirement justification to the result.
      * 
@@ -48,5 +103,19 @@ public class JustificationFileAnalyzerResult extends AbtsractExecutionResultObje
     public void addNotCoveredRequirementJustification(
             final NotCoveredRequirementJustification pNotCoveredRequirementJustification) {
         notCoveredRequirementJustificationList.add(pNotCoveredRequirementJustification);
+
+        Requirement lRequirement = pNotCoveredRequirementJustification.getRequirement();
+        if (justificationByRequirement.containsKey(lRequirement)) {
+            // Keep the first justification, but keep track of the number of
+            // justifications for this requirement
+            Integer lPreviousCount = duplicatedJustifications.get(lRequirement);
+            int lCount = 2;
+            if (lPreviousCount != null) {
+                lCount = lPreviousCount.intValue() + 1;
+            }
+            duplicatedJustifications.put(lRequirement, lCount);
+        } else {
+            justificationByRequirement.put(lRequirement, pNotCoveredRequirementJustification);
+        }
     }
 }
@@ -0,0 +1,28 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.justifircation.helper;
+
+import org.tools.doc.traceability.analyzer.justifircation.model.NotCoveredRequirementJustification;
+
+/**
+ * Receives the not covered requirement justifications read from a
+ * justification file.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public interface INotCoveredRequirementJustificationHandler {
+
+    /**
+     * Handle a justification read from a data row of a justification sheet.
+     * <p>
+     * Only the defined justifications (see
+     * {@link NotCoveredRequirementJustification#isDefined()}) are given.
+     * </p>
+     * 
+     * @param pNotCoveredRequirementJustification the justification.
+     */
+    void handleNotCoveredRequirementJustification(
+            NotCoveredRequirementJustification pNotCoveredRequirementJustification);
+}
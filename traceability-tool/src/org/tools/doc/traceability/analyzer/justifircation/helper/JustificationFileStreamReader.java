@@ -0,0 +1,53 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.justifircation.helper;
+
+import java.io.File;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+import org.tools.doc.traceability.common.worksheet.ISheetContentsHandlerFactory;
+import org.tools.doc.traceability.common.worksheet.SheetStreamReader;
+
+/**
+ * Reads the not covered requirement justifications of a justification file
+ * (<tt>.xlsx</tt> file) in a streaming way.
+ * <p>
+ * The sheets are streamed by {@link SheetStreamReader} instead of loading the
+ * whole workbook object model : each row is converted into a justification as
+ * soon as it has been read, and the parsing of a sheet stops right after its
+ * first row if it is not a justification sheet (see
+ * {@link JustificationSheetContentsHandler}).
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class JustificationFileStreamReader {
+
+    /**
+     * Constructor.
+     */
+    public JustificationFileStreamReader() {
+    }
+
+    /**
+     * Read the given justification file and give the justifications of its
+     * justification sheets to the given handler.
+     * 
+     * @param pJustificationFile the justification file to read.
+     * @param pJustificationHandler the handler receiving the justifications.
+     * @throws FileReadingException if the file could not be read.
+     */
+    public void readJustifications(final File pJustificationFile,
+            final INotCoveredRequirementJustificationHandler pJustificationHandler) throws FileReadingException {
+        SheetStreamReader.readSheets(pJustificationFile, new DataFormatter(), new ISheetContentsHandlerFactory() {
+            @Override
+            public SheetContentsHandler createSheetContentsHandler(final String pSheetName) {
+                return new JustificationSheetContentsHandler(pJustificationHandler);
+            }
+        });
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.justifircation.helper;
+
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.tools.doc.traceability.analyzer.justifircation.model.NotCoveredRequirementJustification;
+import org.tools.doc.traceability.common.model.Requirement;
+
+/**
+ * Receives the rows of a sheet of a justification file, read in a streaming
+ * way, and gives the justifications they contain to an
+ * {@link INotCoveredRequirementJustificationHandler}.
+ * <p>
+ * The first two cells of the first row of the sheet must be the
+ * <tt>req</tt> and <tt>justification</tt> headers (spaces and case ignored).
+ * Otherwise, a {@link NotJustificationSheetException} is thrown as soon as the
+ * first row ends, so that the rest of the sheet is not parsed. For each
+ * following row, the first two cells give the requirement and its
+ * justification.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class JustificationSheetContentsHandler implements SheetContentsHandler {
+
+    /**
+     * The expected text of the first header cell.
+     */
+    private static final String REQUIREMENT_HEADER = "req";
+
+    /**
+     * The expected text of the second header cell.
+     */
+    private static final String JUSTIFICATION_HEADER = "justification";
+
+    /**
+     * The handler receiving the justifications.
+     */
+    private final INotCoveredRequirementJustificationHandler justificationHandler;
+
+    /**
+     * Whether the current row is the first one of the sheet.
+     */
+    private boolean firstRow;
+
+    /**
+     * The number of cells received in the current row.
+     */
+    private int cellCount;
+
+    /**
+     * The text of the first cell of the current row.
+     */
+    private String firstCellText;
+
+    /**
+     * The text of the second cell of the current row.
+     */
+    private String secondCellText;
+
+    /**
+     * Constructor.
+     * 
+     * @param pJustificationHandler the handler receiving the justifications.
+     */
+    public JustificationSheetContentsHandler(final INotCoveredRequirementJustificationHandler pJustificationHandler) {
+        justificationHandler = pJustificationHandler;
+        firstRow = true;
+        cellCount = 0;
+        firstCellText = null;
+        secondCellText = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void startRow(final int pRowNum) {
+        cellCount = 0;
+        firstCellText = null;
+        secondCellText = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cell(final String pCellReference, final String pFormattedValue, final XSSFComment pComment) {
+        // Only the first two cells of the row are of interest
+        if (cellCount == 0) {
+            firstCellText = getNonNullText(pFormattedValue);
+        } else if (cellCount == 1) {
+            secondCellText = getNonNullText(pFormattedValue);
+        }
+        cellCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void endRow(final int pRowNum) {
+        if (firstRow) {
+            firstRow = false;
+            if (!isHeader(firstCellText, REQUIREMENT_HEADER) || !isHeader(secondCellText, JUSTIFICATION_HEADER)) {
+                throw new NotJustificationSheetException();
+            }
+        } else if (secondCellText != null) {
+            // Create the not covered requirement justification item
+            NotCoveredRequirementJustification lNcrJustif = new NotCoveredRequirementJustification(new Requirement(
+                    firstCellText.trim()), secondCellText.trim());
+
+            // Give the element to the handler (if defined)
+            if (lNcrJustif.isDefined()) {
+                justificationHandler.handleNotCoveredRequirementJustification(lNcrJustif);
+            }
+        }
+    }
+
+    /**
+     * Get the text of a cell, an empty string if it has no value.
+     * 
+     * @param pFormattedValue the formatted value of the cell.
+     * @return the text of the cell (never <tt>null</tt>).
+     */
+    private static String getNonNullText(final String pFormattedValue) {
+        String lText = "";
+        if (pFormattedValue != null) {
+            lText = pFormattedValue;
+        }
+        return lText;
+    }
+
+    /**
+     * Check whether the given header cell text is the expected one, ignoring
+     * spaces and case.
+     * 
+     * @param pCellText the text of the header cell (can be <tt>null</tt> if
+     * the cell is missing).
+     * @param pExpectedHeader the expected header, in lower case with no space.
+     * @return <tt>true</tt> if the text is the expected header, <tt>false</tt>
+     * otherwise.
+     */
+    private static boolean isHeader(final String pCellText, final String pExpectedHeader) {
+        return (pCellText != null) && pCellText.replace(" ", "").toLowerCase().contentEquals(pExpectedHeader);
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.justifircation.helper;
+
+import org.tools.doc.traceability.common.worksheet.SheetSkippedException;
+import org.tools.doc.traceability.common.worksheet.SheetStreamReader;
+
+/**
+ * Thrown by {@link JustificationSheetContentsHandler} to stop the parsing of a
+ * sheet whose first row is not the header of a justification sheet.
+ * <p>
+ * It is caught by {@link SheetStreamReader} which then goes on with the next
+ * sheet.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class NotJustificationSheetException extends SheetSkippedException {
+
+    /**
+     * Serial ID.
+     */
+    private static final long serialVersionUID = 4215930488760735419L;
+
+    /**
+     * Constructor.
+     */
+    public NotJustificationSheetException() {
+        super("Not a justification sheet");
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.unittests.common;
+
+import java.util.List;
+
+/**
+ * The analysis result of a unit test file, as stored in a
+ * {@link UnitTestAnalysisCache}.
+ * <p>
+ * A file may have produced no unit test file data at all (for instance a java
+ * file without valid documented test), which is cached too so that it is not
+ * analyzed again.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class CachedUnitTestFileData {
+
+    /**
+     * Flag indicating whether the analysis produced unit test file data.
+     */
+    private final boolean dataProduced;
+
+    /**
+     * The label of the unit test file data (e.g. the C# assembly name), or
+     * <tt>null</tt> if there is none.
+     */
+    private final String label;
+
+    /**
+     * The unit test data of the file (empty if no data was produced).
+     */
+    private final List<UnitTestCaseData> unitTestDataList;
+
+    /**
+     * Constructor.
+     * 
+     * @param pDataProduced whether the analysis produced unit test file data.
+     * @param pLabel the label of the unit test file data (can be
+     * <tt>null</tt>).
+     * @param pUnitTestDataList the unit test data of the file.
+     */
+    public CachedUnitTestFileData(final boolean pDataProduced, final String pLabel,
+            final List<UnitTestCaseData> pUnitTestDataList) {
+        dataProduced = pDataProduced;
+        label = pLabel;
+        unitTestDataList = pUnitTestDataList;
+    }
+
+    /**
+     * Check whether the analysis of the file produced unit test file data.
+     * 
+     * @return <tt>true</tt> if data was produced, <tt>false</tt> otherwise.
+     */
+    public boolean isDataProduced() {
+        return dataProduced;
+    }
+
+    /**
+     * Getter of the label of the unit test file data.
+     * 
+     * @return the label (can be <tt>null</tt>).
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Getter of the unit test data of the file.
+     * 
+     * @return the unit test data list.
+     */
+    public List<UnitTestCaseData> getUnitTestDataList() {
+        return unitTestDataList;
+    }
+}
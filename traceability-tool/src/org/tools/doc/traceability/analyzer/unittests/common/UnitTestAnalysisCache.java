@@ -0,0 +1,221 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.unittests.common;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.tools.doc.traceability.common.io.CacheEntryFileStore;
+import org.tools.doc.traceability.common.io.ContentHasher;
+import org.tools.doc.traceability.common.io.FileFingerprint;
+import org.tools.doc.traceability.common.io.ICacheEntryPayloadReader;
+import org.tools.doc.traceability.common.io.ICacheEntryPayloadWriter;
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.sregex.SimpleRegex;
+
+/**
+ * On-disk cache of the unit test data extracted from unit test files (java
+ * sources, C# XML documentation files).
+ * <p>
+ * It works like the cache of the requirements extracted from the SD files :
+ * one entry file is stored per unit test file, managed by a
+ * {@link CacheEntryFileStore}, and is used as long as the contents of the file
+ * did not change.
+ * </p>
+ * <p>
+ * Each entry also records a signature of the analysis configuration (the kind
+ * of analysis, the version of the analysis logic and the simple regular
+ * expression that test method names shall match), so that all the entries are
+ * invalidated when it changes.
+ * </p>
+ * <p>
+ * The cache never makes the analysis fail : any error reading or writing an
+ * entry is logged and the file is simply analyzed again. Different files can
+ * be looked up and stored concurrently.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class UnitTestAnalysisCache {
+
+    /**
+     * The version of the entry file format (to change each time the format
+     * changes).
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * The extension of the entry files.
+     */
+    private static final String ENTRY_FILE_EXTENSION = ".utcache";
+
+    /**
+     * The length written for a <tt>null</tt> string.
+     */
+    private static final int NULL_STRING_LENGTH = -1;
+
+    /**
+     * The reader and writer of the entry payloads.
+     */
+    private static final UnitTestPayloadSerializer PAYLOAD_SERIALIZER = new UnitTestPayloadSerializer();
+
+    /**
+     * The store of the entry files.
+     */
+    private final CacheEntryFileStore<CachedUnitTestFileData> entryFileStore;
+
+    /**
+     * Constructor.
+     * 
+     * @param pCacheDirectory the directory where to store the entry files (it
+     * is created if needed).
+     * @param pAnalysisName the name of the kind of analysis (to distinguish
+     * caches that would share the same directory).
+     * @param pAnalyzerVersion the version of the analysis logic producing the
+     * cached results.
+     * @param pTestNameRegexp the simple regular expression that test method
+     * names shall match.
+     */
+    public UnitTestAnalysisCache(final File pCacheDirectory, final String pAnalysisName,
+            final int pAnalyzerVersion, final SimpleRegex pTestNameRegexp) {
+        entryFileStore = new CacheEntryFileStore<CachedUnitTestFileData>(pCacheDirectory, ENTRY_FILE_EXTENSION,
+                FORMAT_VERSION, ContentHasher.hashText("analysis=" + pAnalysisName + "\nversion="
+                        + pAnalyzerVersion + "\nmethodRegexp=" + pTestNameRegexp.getSimpleRegexValue()),
+                PAYLOAD_SERIALIZER);
+    }
+
+    /**
+     * Get the cache directory.
+     * 
+     * @return the cacheDirectory
+     */
+    public File getCacheDirectory() {
+        return entryFileStore.getCacheDirectory();
+    }
+
+    /**
+     * Load the analysis result of the given unit test file from the cache.
+     * 
+     * @param pFile the unit test file.
+     * @return the cached analysis result, or <tt>null</tt> if there is no valid
+     * entry for the file.
+     */
+    public CachedUnitTestFileData load(final File pFile) {
+        return entryFileStore.load(pFile, PAYLOAD_SERIALIZER);
+    }
+
+    /**
+     * Store the analysis result of a unit test file in the cache.
+     * 
+     * @param pFingerprint the fingerprint of the unit test file, taken before
+     * the analysis (nothing is stored if it is <tt>null</tt>).
+     * @param pCachedData the analysis result to store.
+     */
+    public void store(final FileFingerprint pFingerprint, final CachedUnitTestFileData pCachedData) {
+        entryFileStore.store(pFingerprint, pCachedData);
+    }
+
+    /**
+     * Reader and writer of the entry payloads : the flag indicating whether
+     * data was produced, the label and the unit test data of the file.
+     */
+    private static final class UnitTestPayloadSerializer implements
+            ICacheEntryPayloadReader<CachedUnitTestFileData>, ICacheEntryPayloadWriter<CachedUnitTestFileData> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(final DataOutputStream pDos, final CachedUnitTestFileData pCachedData) throws IOException {
+            pDos.writeBoolean(pCachedData.isDataProduced());
+            writeString(pDos, pCachedData.getLabel());
+            pDos.writeInt(pCachedData.getUnitTestDataList().size());
+            for (UnitTestCaseData lUnitTestData : pCachedData.getUnitTestDataList()) {
+                writeString(pDos, lUnitTestData.getTestCaseIdentifier());
+                writeString(pDos, lUnitTestData.getTestCaseName());
+                writeString(pDos, lUnitTestData.getActionDescription());
+                writeString(pDos, lUnitTestData.getExpectedResult());
+
+                pDos.writeInt(lUnitTestData.getCoveredRequirements().size());
+                for (Requirement lRequirement : lUnitTestData.getCoveredRequirements()) {
+                    writeString(pDos, lRequirement.toString());
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public CachedUnitTestFileData read(final DataInputStream pDis, final File pFile) throws IOException {
+            boolean lDataProduced = pDis.readBoolean();
+            String lLabel = readString(pDis);
+
+            int lUnitTestCount = pDis.readInt();
+            List<UnitTestCaseData> lUnitTestDataList = new ArrayList<UnitTestCaseData>();
+            for (int i = 0; i < lUnitTestCount; i++) {
+                UnitTestCaseData lUnitTestData = new UnitTestCaseData(readString(pDis), readString(pDis),
+                        readString(pDis), readString(pDis));
+
+                int lRequirementCount = pDis.readInt();
+                for (int j = 0; j < lRequirementCount; j++) {
+                    lUnitTestData.addCoveredRequirement(new Requirement(readString(pDis)));
+                }
+
+                lUnitTestDataList.add(lUnitTestData);
+            }
+
+            return new CachedUnitTestFileData(lDataProduced, lLabel, lUnitTestDataList);
+        }
+
+        /**
+         * Write a string that can be <tt>null</tt> or longer than what
+         * {@link DataOutputStream#writeUTF(String)} supports (descriptions can
+         * be long).
+         * 
+         * @param pDos the stream on the entry file.
+         * @param pString the string to write.
+         * @throws IOException if the string could not be written.
+         */
+        private static void writeString(final DataOutputStream pDos, final String pString) throws IOException {
+            if (pString == null) {
+                pDos.writeInt(NULL_STRING_LENGTH);
+            } else {
+                byte[] lBytes = pString.getBytes(StandardCharsets.UTF_8);
+                pDos.writeInt(lBytes.length);
+                pDos.write(lBytes);
+            }
+        }
+
+        /**
+         * Read a string written by
+         * {@link #writeString(DataOutputStream, String)}.
+         * 
+         * @param pDis the stream on the entry file.
+         * @return the read string (can be <tt>null</tt>).
+         * @throws IOException if the string could not be read.
+         */
+        private static String readString(final DataInputStream pDis) throws IOException {
+            String lString = null;
+
+            int lLength = pDis.readInt();
+            if (lLength != NULL_STRING_LENGTH) {
+                if ((lLength < 0) || (lLength > pDis.available())) {
+                    throw new IOException("Invalid string length " + lLength);
+                }
+                byte[] lBytes = new byte[lLength];
+                pDis.readFully(lBytes);
+                lString = new String(lBytes, StandardCharsets.UTF_8);
+            }
+
+            return lString;
+        }
+    }
+}
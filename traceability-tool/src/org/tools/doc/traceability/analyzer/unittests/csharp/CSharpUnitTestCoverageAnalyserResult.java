@@ -1,7 +1,7 @@
 package org.tools.doc.traceability.analyzer.unittests.csharp;
 
 import java.io.File;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.tools.doc.traceability.analyzer.unittests.csharp.model.CSharpUnitTestFileData;
@@ -17,15 +17,28 @@ public class CSharpUnitTestCoverageAnalyserResult extends AbtsractExecutionResul
 
     /**
      * A map associating to each analyzed XML file the list of extracted unit
-     * test data.
+     * test data (in the order the files were added).
      */
     private Map<File, CSharpUnitTestFileData> fileUnitTestDataMap;
 
+    /**
+     * The number of XML files whose analysis result was loaded from the cache.
+     */
+    private int cacheHitCount;
+
+    /**
+     * The number of XML files that were analyzed because they were not in the
+     * cache (or no cache was used).
+     */
+    private int cacheMissCount;
+
     /**
      * Constructor.
      */
     public CSharpUnitTestCoverageAnalyserResult() {
-        fileUnitTestDataMap = new HashMap<File, CSharpUnitTestFileData>();
+        fileUnitTestDataMap = new LinkedHashMap<File, CSharpUnitTestFileData>();
+        cacheHitCount = 0;
+        cacheMissCount = 0;
     }
 
     /**
@@ -55,6 +68,46 @@ public class CSharpUnitTestCoverageAnalyserResult extends AbtsractExecutionResul
         return fileUnitTestDataMap;
     }
 
+    /**
+     * Getter of the number of XML files whose analysis result was loaded from
+     * the cache.
+     * 
+     * @return the number of cache hits.
+     */
+    public int getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    /**
+     * Setter of the number of XML files whose analysis result was loaded from
+     * the cache.
+     * 
+     * @param pCacheHitCount the number of cache hits.
+     */
+    public void setCacheHitCount(final int pCacheHitCount) {
+        cacheHitCount = pCacheHitCount;
+    }
+
+    /**
+     * Getter of the number of XML files that were analyzed because they were
+     * not in the cache.
+     * 
+     * @return the number of cache misses.
+     */
+    public int getCacheMissCount() {
+        return cacheMissCount;
+    }
+
+    /**
+     * Setter of the number of XML files that were analyzed because they were
+     * not in the cache.
+     * 
+     * @param pCacheMissCount the number of cache misses.
+     */
+    public void setCacheMissCount(final int pCacheMissCount) {
+        cacheMissCount = pCacheMissCount;
+    }
+
     /**
      * Computes the number of found tests.
      * 
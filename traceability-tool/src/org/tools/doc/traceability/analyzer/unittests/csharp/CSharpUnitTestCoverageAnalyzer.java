@@ -1,36 +1,31 @@
 package org.tools.doc.traceability.analyzer.unittests.csharp;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.w3c.dom.Attr;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.w3c.dom.Text;
-import org.xml.sax.SAXException;
-
+import org.tools.doc.traceability.analyzer.unittests.common.CachedUnitTestFileData;
+import org.tools.doc.traceability.analyzer.unittests.common.UnitTestAnalysisCache;
 import org.tools.doc.traceability.analyzer.unittests.common.UnitTestCaseData;
+import org.tools.doc.traceability.analyzer.unittests.csharp.helper.CSharpXmlDocReader;
 import org.tools.doc.traceability.analyzer.unittests.csharp.model.CSharpUnitTestFileData;
 import org.tools.doc.traceability.common.exceptions.AbstractTraceabilityException;
 import org.tools.doc.traceability.common.exceptions.ExecutorExecutionException;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
 import org.tools.doc.traceability.common.exceptions.FileSearchException;
 import org.tools.doc.traceability.common.exceptions.InvalidFileSearchFilterException;
 import org.tools.doc.traceability.common.exceptions.InvalidParameterException;
 import org.tools.doc.traceability.common.executor.AbstractExecutor;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.executor.ITaskCompletionListener;
+import org.tools.doc.traceability.common.executor.ParallelTaskRunner;
 import org.tools.doc.traceability.common.filesearch.FileSearchFilterSet;
 import org.tools.doc.traceability.common.filesearch.FileSearcher;
-import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.io.FileFingerprint;
 import org.tools.doc.traceability.common.sregex.SimpleRegex;
 
 /**
@@ -50,6 +45,14 @@ public class CSharpUnitTestCoverageAnalyzer extends AbstractExecutor<CSharpUnitT
      */
     private static final Logger LOGGER = LogManager.getLogger(CSharpUnitTestCoverageAnalyzer.class);
 
+    /**
+     * The version of the analysis logic, stored with the cached analysis
+     * results (to change each time a change of the analysis gives a different
+     * result for the same XML file, so that the results cached by the former
+     * version are dropped).
+     */
+    public static final int ANALYZER_VERSION = 1;
+
     /**
      * The set of XML file search filter.
      */
@@ -61,15 +64,27 @@ public class CSharpUnitTestCoverageAnalyzer extends AbstractExecutor<CSharpUnitT
     private final SimpleRegex testNameRegexp;
 
     /**
-     * The XML document parser.
+     * The XML documentation file readers (one per worker thread, as a reader
+     * is not thread-safe).
      */
-    private DocumentBuilder docBuilder;
+    private ThreadLocal<CSharpXmlDocReader> xmlDocReaders;
 
     /**
      * The result object.
      */
     private CSharpUnitTestCoverageAnalyserResult resultObject;
 
+    /**
+     * The directory where the analysis result of each XML file is cached
+     * (<tt>null</tt> if no cache is used).
+     */
+    private File cacheDirectory;
+
+    /**
+     * The maximum number of XML files processed at the same time.
+     */
+    private int workerCount;
+
     /**
      * Constructor.
      * 
@@ -85,8 +100,10 @@ public class CSharpUnitTestCoverageAnalyzer extends AbstractExecutor<CSharpUnitT
         super(pExecutionStatus);
         xmlFileSearchFilterSet = pXmlFileSearchFilterSet;
         testNameRegexp = pTestNameRegexp;
-        docBuilder = null;
+        xmlDocReaders = null;
         resultObject = null;
+        cacheDirectory = null;
+        workerCount = ParallelTaskRunner.getDefaultWorkerCount();
     }
 
     /**
@@ -103,7 +120,7 @@ public class CSharpUnitTestCoverageAnalyzer extends AbstractExecutor<CSharpUnitT
             final SimpleRegex pTestNameRegexp,
             final ExecutorExecutionStatus<CSharpUnitTestCoverageAnalyserResult> pExecutionStatus) {
         super(pExecutionStatus);
-        docBuilder = null;
+        xmlDocReaders = null;
         resultObject = null;
 
         FileSearchFilterSet lXmlFileSearchFilterSet = new FileSearchFilterSet();
@@ -117,6 +134,40 @@ public class CSharpUnitTestCoverageAnalyzer extends AbstractExecutor<CSharpUnitT
         xmlFileSearchFilterSet = lXmlFileSearchFilterSet;
 
         testNameRegexp = pTestNameRegexp;
+        cacheDirectory = null;
+        workerCount = ParallelTaskRunner.getDefaultWorkerCount();
+    }
+
+    /**
+     * Setter of the directory where the analysis result of each XML file is
+     * cached.
+     * <p>
+     * When set, an XML file whose contents did not change since the previous
+     * analysis (with the same test name regular expression) is not parsed
+     * again. By default, no cache is used.
+     * </p>
+     * 
+     * @param pCacheDirectory the cache directory (it is created if needed), or
+     * <tt>null</tt> to not use any cache.
+     */
+    public void setCacheDirectory(final File pCacheDirectory) {
+        cacheDirectory = pCacheDirectory;
+    }
+
+    /**
+     * Setter of the maximum number of XML files processed at the same time.
+     * <p>
+     * By default, it is the number of available processors. With 1, the XML
+     * files are processed one after the other. Whatever the value, the result
+     * is the same (the results of the XML files are added in the order of the
+     * searched file list).
+     * </p>
+     * 
+     * @param pWorkerCount the maximum number of XML files processed at the same
+     * time (values lower than 1 are considered as 1).
+     */
+    public void setWorkerCount(final int pWorkerCount) {
+        workerCount = Math.max(1, pWorkerCount);
     }
 
     /**
@@ -135,19 +186,20 @@ public class CSharpUnitTestCoverageAnalyzer extends AbstractExecutor<CSharpUnitT
     }
 
     /**
-     * Initializes the XML parser if not done yet.
-     * 
-     * @throws ExecutorExecutionException if an error occurs.
+     * Initializes the XML parsers if not done yet.
+     * <p>
+     * Each worker thread lazily creates its own parser the first time it
+     * processes an XML file.
+     * </p>
      */
-    protected void initializeXmlPareer() throws ExecutorExecutionException {
-        if (docBuilder == null) {
-            DocumentBuilderFactory lDocFactory = DocumentBuilderFactory.newInstance();
-            try {
-                docBuilder = lDocFactory.newDocumentBuilder();
-            } catch (ParserConfigurationException pce) {
-                LOGGER.error("Could not initialize the XML parser : " + pce.getMessage());
-                throw new ExecutorExecutionException("Could not initialize an XML parser");
-            }
+    protected void initializeXmlPareer() {
+        if (xmlDocReaders == null) {
+            xmlDocReaders = new ThreadLocal<CSharpXmlDocReader>() {
+                @Override
+                protected CSharpXmlDocReader initialValue() {
+                    return new CSharpXmlDocReader(testNameRegexp);
+                }
+            };
         }
     }
 
@@ -184,7 +236,7 @@ public class CSharpUnitTestCoverageAnalyzer extends AbstractExecutor<CSharpUnitT
      */
     private void analyzeTestResults() throws ExecutorExecutionException {
 
-        double lCurrentPercentage = 5.0;
+        final double lCurrentPercentage = 5.0;
         setCurrentOperation("Searching for XML files in " + xmlFileSearchFilterSet.toString(), lCurrentPercentage);
 
         // First search for the XML files
@@ -198,303 +250,160 @@ public class CSharpUnitTestCoverageAnalyzer extends AbstractExecutor<CSharpUnitT
 
         resultObject = new CSharpUnitTestCoverageAnalyserResult();
 
-        double lPercentagePerFile = 70. / lXmlFileList.size();
-        // Iterate on each of them
-        for (File lXmlFile : lXmlFileList) {
-            // Process this file
-            setCurrentOperation("Processing C# unit test result file " + lXmlFile.getAbsolutePath(), lCurrentPercentage);
-
-            processXmlFile(lXmlFile);
-
-            lCurrentPercentage += lPercentagePerFile;
-        }
-
-        // Set the result object
-        setExecutionResult(resultObject);
-    }
-
-    /**
-     * Try and process the given XML file.
-     * 
-     * @param lXmlFile the XML file to process.
-     * @throws ExecutorExecutionException if an error occurs.
-     */
-    /**
-     * @param lXmlFile the XML file to process.
-     * @throws ExecutorExecutionException if an error occurs during the
-     * execution.
-     */
-    private void processXmlFile(final File lXmlFile) throws ExecutorExecutionException {
-        LOGGER.debug("Processing C# unit test result file " + lXmlFile.getAbsolutePath());
-
-        // Load the XML contents in memory as a DOM document
-        Document lXmlDomDoc = null;
-        try {
-            lXmlDomDoc = docBuilder.parse(lXmlFile);
-        } catch (SAXException | IOException e) {
-            LOGGER.error("Could not parse " + lXmlFile.getAbsolutePath() + " : " + e.getMessage());
-            lXmlDomDoc = null;
+        final UnitTestAnalysisCache lAnalysisCache;
+        if (cacheDirectory == null) {
+            lAnalysisCache = null;
+        } else {
+            lAnalysisCache = new UnitTestAnalysisCache(cacheDirectory, "csharp", ANALYZER_VERSION,
+                    testNameRegexp);
         }
+        final AtomicInteger lCacheHitCount = new AtomicInteger();
+        final AtomicInteger lCacheMissCount = new AtomicInteger();
+
+        final List<File> lSearchedXmlFileList = lXmlFileList;
+        final double lPercentagePerFile = 70. / lXmlFileList.size();
+
+        // Process the XML files concurrently (each file is independent)
+        List<Callable<CSharpUnitTestFileData>> lTasks = new ArrayList<Callable<CSharpUnitTestFileData>>();
+        for (final File lXmlFile : lXmlFileList) {
+            lTasks.add(new Callable<CSharpUnitTestFileData>() {
+                @Override
+                public CSharpUnitTestFileData call() {
+                    CSharpUnitTestFileData lUnitTestFileData;
+                    CachedUnitTestFileData lCachedData = null;
+                    if (lAnalysisCache != null) {
+                        lCachedData = lAnalysisCache.load(lXmlFile);
+                    }
 
-        if (lXmlDomDoc != null) {
-
-            // Ensure that the root element is "doc"
-            Element lRootElement = lXmlDomDoc.getDocumentElement();
-
-            if (lRootElement.getNodeName().toLowerCase().equals("doc")) {
-
-                String lAssemblyName = null;
-                List<UnitTestCaseData> lUnitTestDataList = null;
+                    if (lCachedData == null) {
+                        if (lAnalysisCache != null) {
+                            lCacheMissCount.incrementAndGet();
+                        }
 
-                // Get the nodes at level 1
-                NodeList lLevel1NodeList = lRootElement.getChildNodes();
-                for (int lIdx = 0; lIdx < lLevel1NodeList.getLength(); lIdx++) {
-                    Node lLevel1Node = lLevel1NodeList.item(lIdx);
+                        try {
+                            FileFingerprint lFingerprint = null;
+                            if (lAnalysisCache != null) {
+                                lFingerprint = FileFingerprint.take(lXmlFile);
+                            }
 
-                    if (lLevel1Node.getNodeType() == Node.ELEMENT_NODE) {
-                        Element lElement = (Element) lLevel1Node;
-                        if (lElement.getNodeName().toLowerCase().equals("assembly")) {
-                            // Process the assembly element to extract the name
-                            // sub-node value
-                            lAssemblyName = getNameFromAssemblyElement(lElement);
-                        } else if (lElement.getNodeName().toLowerCase().equals("members")) {
-                            // Process the members sub-nodes to extract the unit
-                            // test data
-                            lUnitTestDataList = getUnitTestDataFromMembersElement(lElement);
-                        }
-                    }
-                }
+                            lUnitTestFileData = processXmlFile(lXmlFile);
 
-                // If the assembly name was found
-                if (lAssemblyName != null) {
-                    // Create a file data instance
-                    CSharpUnitTestFileData lUnitTestFileData = new CSharpUnitTestFileData(lAssemblyName);
-                    // If some unit test data were found
-                    if (lUnitTestDataList != null) {
-                        // Add them to the instance
-                        for (UnitTestCaseData lUnitTestData : lUnitTestDataList) {
-                            lUnitTestFileData.addUnitTestData(lUnitTestData);
+                            if (lAnalysisCache != null) {
+                                storeInCache(lAnalysisCache, lFingerprint, lUnitTestFileData);
+                            }
+                        } catch (FileReadingException e) {
+                            // Not stored in the cache, so that the file is read
+                            // (and the error reported) again next time
+                            LOGGER.error(e.getMessage());
+                            lUnitTestFileData = null;
                         }
+                    } else {
+                        lCacheHitCount.incrementAndGet();
+                        lUnitTestFileData = toUnitTestFileData(lCachedData);
                     }
 
-                    // Add the association to the result object
-                    resultObject.addResult(lXmlFile, lUnitTestFileData);
-
-                    LOGGER.debug("Unit test file " + lXmlFile.getName() + " (corresponding to assembly "
-                            + lUnitTestFileData.getAssemblyName() + ") covers "
-                            + lUnitTestFileData.getReferencedRequirementCount() + " requirement(s)");
+                    return lUnitTestFileData;
                 }
+            });
+        }
 
-            } else {
-                LOGGER.debug("Ignoring file " + lXmlFile.getAbsolutePath() + " as the root node is "
-                        + lRootElement.getNodeName());
+        ParallelTaskRunner<CSharpUnitTestFileData> lTaskRunner = new ParallelTaskRunner<CSharpUnitTestFileData>(
+                workerCount, "csharp-ut-analyser");
+        List<CSharpUnitTestFileData> lFileDataList = lTaskRunner.runAll(lTasks, new ITaskCompletionListener() {
+            @Override
+            public void taskCompleted(final int pTaskIndex, final int pCompletedTaskCount) {
+                setCurrentOperation("Processed C# unit test result file "
+                        + lSearchedXmlFileList.get(pTaskIndex).getAbsolutePath(),
+                        lCurrentPercentage + lPercentagePerFile * pCompletedTaskCount);
+            }
+        });
+
+        // Add the results in the searched file order, so that the result does
+        // not depend on the order in which the files were processed
+        for (int i = 0; i < lFileDataList.size(); i++) {
+            CSharpUnitTestFileData lUnitTestFileData = lFileDataList.get(i);
+            if (lUnitTestFileData != null) {
+                // Add the association to the result object
+                resultObject.addResult(lXmlFileList.get(i), lUnitTestFileData);
             }
         }
-    }
-
-    /**
-     * Process the members element to extract the unit test data.
-     * 
-     * @param pMembersElement the member XML element.
-     * @return the list of found unit test data.
-     */
-    private List<UnitTestCaseData> getUnitTestDataFromMembersElement(final Element pMembersElement) {
-        List<UnitTestCaseData> lUnitTestDataList = new ArrayList<UnitTestCaseData>();
-
-        NodeList lSubNodeList = pMembersElement.getChildNodes();
-        for (int lNodeIdx = 0; lNodeIdx < lSubNodeList.getLength(); lNodeIdx++) {
-            Node lSubNode = lSubNodeList.item(lNodeIdx);
 
-            if (lSubNode.getNodeType() == Node.ELEMENT_NODE) {
-                Element lSubElement = (Element) lSubNode;
-
-                if (lSubElement.getNodeName().toLowerCase().equals("member")) {
-                    // We found a member node
-                    UnitTestCaseData lUnitTestData = extractUnitTestDataFromMemberElt(lSubElement);
-
-                    if (lUnitTestData != null) {
-                        // Add it to the list
-                        lUnitTestDataList.add(lUnitTestData);
-                    }
-                }
-            }
+        resultObject.setCacheHitCount(lCacheHitCount.get());
+        resultObject.setCacheMissCount(lCacheMissCount.get());
+        if (lAnalysisCache != null) {
+            LOGGER.info(lCacheHitCount.get() + " XML file(s) loaded from cache, " + lCacheMissCount.get()
+                    + " XML file(s) not in cache");
         }
 
-        return lUnitTestDataList;
+        // Set the result object
+        setExecutionResult(resultObject);
     }
 
     /**
-     * Analyze the given member node, and if the name matches the test name
-     * regexp create an return a {@link UnitTestCaseData} form the contained
-     * information.
+     * Store the analysis result of the given XML file in the cache.
      * 
-     * @param pMemberElement the member XML element.
-     * @return the unit test data if the name of the member matched the regexp,
-     * null otherwise.
+     * @param pAnalysisCache the cache.
+     * @param pFingerprint the fingerprint of the XML file, taken before its
+     * analysis.
+     * @param pUnitTestFileData the unit test data of the file (<tt>null</tt> if
+     * the file is not a valid documentation file).
      */
-    private UnitTestCaseData extractUnitTestDataFromMemberElt(final Element pMemberElement) {
-        UnitTestCaseData lUnitTestData = null;
-
-        Attr lNameAttribute = pMemberElement.getAttributeNode("name");
-
-        if (lNameAttribute != null) {
-            // Get the name attribute value
-            String lName = lNameAttribute.getTextContent();
-
-            // Extract the method name (after the last dot)
-
-            // First extract the part corresponding to the method parameters in
-            // parenthesis
-            int lLastOpeningParIdx = lName.lastIndexOf('(');
-            String lNameWithoutParameters;
-            if (lLastOpeningParIdx == -1) {
-                lNameWithoutParameters = lName;
-            } else {
-                lNameWithoutParameters = lName.substring(0, lLastOpeningParIdx);
-            }
-
-            String lMethodName = null;
-            try {
-                lMethodName = lNameWithoutParameters.substring(lNameWithoutParameters.lastIndexOf('.') + 1);
-
-                // Check if the method name matches the regexp
-                if (testNameRegexp.matches(lMethodName)) {
-                    // We can go on searching for the summary node
-                    NodeList lSubNodeList = pMemberElement.getChildNodes();
-                    for (int lSubnodeIdx = 0; lSubnodeIdx < lSubNodeList.getLength(); lSubnodeIdx++) {
-                        Node lSubNode = lSubNodeList.item(lSubnodeIdx);
-
-                        if (lSubNode.getNodeType() == Node.ELEMENT_NODE) {
-                            Element lSubElement = (Element) lSubNode;
-
-                            if (lSubElement.getNodeName().toLowerCase().equals("summary")) {
-
-                                // Extract the unit test data from it
-                                lUnitTestData = extractUnitTestDataFromSummaryElt(lSubElement, lMethodName);
-                            }
-                        }
-                    }
-                }
-            } catch (IndexOutOfBoundsException ioobe) {
-                System.err.println("Fuck : " + ioobe);
-            }
+    private static void storeInCache(final UnitTestAnalysisCache pAnalysisCache,
+            final FileFingerprint pFingerprint, final CSharpUnitTestFileData pUnitTestFileData) {
+        if (pUnitTestFileData == null) {
+            pAnalysisCache.store(pFingerprint, new CachedUnitTestFileData(false, null,
+                    new ArrayList<UnitTestCaseData>()));
+        } else {
+            pAnalysisCache.store(pFingerprint, new CachedUnitTestFileData(true, pUnitTestFileData.getAssemblyName(),
+                    pUnitTestFileData.getUnitTestDataList()));
         }
-
-        return lUnitTestData;
     }
 
     /**
-     * Extract the data from the given summary element and build and return the
-     * associated unit test data.
+     * Build the unit test data of an XML file from its cached analysis result.
      * 
-     * @param pSummaryElement the summary XML element.
-     * @param pTestName the test name.
-     * @return the associated {@link UnitTestCaseData}, or null if it could not
-     * be created
+     * @param pCachedData the cached analysis result.
+     * @return the unit test data of the file (<tt>null</tt> if the file is not
+     * a valid documentation file).
      */
-    private UnitTestCaseData extractUnitTestDataFromSummaryElt(final Element pSummaryElement, final String pTestName) {
-        UnitTestCaseData lUnitTestData = null;
-
-        StringBuilder lDescriptionSb = new StringBuilder();
-        StringBuilder lExpectedResultSb = new StringBuilder();
-        String lTestIdentifier = null;
-        String lCoveredReqs = null;
-
-        NodeList lSubNodeList = pSummaryElement.getChildNodes();
-        for (int lSubnodeIdx = 0; lSubnodeIdx < lSubNodeList.getLength(); lSubnodeIdx++) {
-            Node lSubNode = lSubNodeList.item(lSubnodeIdx);
-
-            if (lSubNode.getNodeType() == Node.ELEMENT_NODE) {
-                Element lSubElement = (Element) lSubNode;
-
-                if (lSubElement.getNodeName().toLowerCase().equals("para")) {
-                    String lParaText = lSubElement.getTextContent().trim();
-
-                    // Split on the first found ':' character
-                    int lFirstColonCharIdx = lParaText.indexOf(':');
-
-                    if (lFirstColonCharIdx != -1) {
-                        String lParaType = lParaText.substring(0, lFirstColonCharIdx);
-                        String lParaTypeNormalized = lParaType.replace(" ", "").toLowerCase();
-
-                        if (lParaTypeNormalized.startsWith("testid")) {
-                            lTestIdentifier = lParaText.substring(lFirstColonCharIdx + 1, lParaText.length()).trim();
-                        } else if (lParaTypeNormalized.startsWith("coveredreq")) {
-                            lCoveredReqs = lParaText.substring(lFirstColonCharIdx + 1, lParaText.length()).trim();
-                        } else if (lParaTypeNormalized.startsWith("expectedresult")) {
-                            if (lParaText.length() > 0) {
-                                if (lExpectedResultSb.length() > 0) {
-                                    lExpectedResultSb.append("\n");
-                                }
-                                lExpectedResultSb.append(lParaText);
-                            }
-                        } else {
-                            if (lParaText.length() > 0) {
-                                if (lDescriptionSb.length() > 0) {
-                                    lDescriptionSb.append('\n');
-                                }
-                                lDescriptionSb.append(lParaText);
-                            }
-                        }
-                    }
-
-                }
-            } else if (lSubNode.getNodeType() == Node.TEXT_NODE) {
-                Text lText = (Text) lSubNode;
-                String lTrimmedText = lText.getTextContent().trim();
-                if (lTrimmedText.length() > 0) {
-                    if (lDescriptionSb.length() > 0) {
-                        lDescriptionSb.append('\n');
-                    }
-                    lDescriptionSb.append(lTrimmedText);
-                }
-            }
-        }
+    private static CSharpUnitTestFileData toUnitTestFileData(final CachedUnitTestFileData pCachedData) {
+        CSharpUnitTestFileData lUnitTestFileData = null;
 
-        if ((lTestIdentifier != null) && (lCoveredReqs != null)) {
-            lUnitTestData = new UnitTestCaseData(lTestIdentifier, pTestName, lDescriptionSb.toString(),
-                    lExpectedResultSb.toString());
-            // Get he covered requirements
-            String[] lCoveredReqElts = lCoveredReqs.split(",");
-            for (int lReqEltIdx = 0; lReqEltIdx < lCoveredReqElts.length; lReqEltIdx++) {
-                String lRequirementName = lCoveredReqElts[lReqEltIdx].trim();
-                if (lRequirementName.length() > 0) {
-                    Requirement lRequirement = new Requirement(lRequirementName);
-                    lUnitTestData.addCoveredRequirement(lRequirement);
-                }
+        if (pCachedData.isDataProduced()) {
+            lUnitTestFileData = new CSharpUnitTestFileData(pCachedData.getLabel());
+            for (UnitTestCaseData lUnitTestData : pCachedData.getUnitTestDataList()) {
+                lUnitTestFileData.addUnitTestData(lUnitTestData);
             }
         }
 
-        return lUnitTestData;
+        return lUnitTestFileData;
     }
 
     /**
-     * Process the assembly element to extract the name sub-node value..
+     * Try and process the given XML file.
      * <p>
-     * We search for the name sub-node.
+     * It uses the XML parser of the current thread, so that several files can
+     * be processed at the same time.
      * </p>
      * 
-     * @param pElement the XML element for assembly (not null).
-     * @return the value of the name sub-node, or null if not found.
+     * @param lXmlFile the XML file to process.
+     * @return the unit test data of the file, or <tt>null</tt> if it is not a
+     * valid documentation file.
+     * @throws FileReadingException if the file could not be read or parsed.
      */
-    private String getNameFromAssemblyElement(final Element pElement) {
-        String lNameSubNodeValue = null;
-
-        NodeList lAssemblySubNodeList = pElement.getChildNodes();
-        for (int lIdx = 0; lIdx < lAssemblySubNodeList.getLength(); lIdx++) {
-            Node lSubNode = lAssemblySubNodeList.item(lIdx);
+    private CSharpUnitTestFileData processXmlFile(final File lXmlFile) throws FileReadingException {
+        LOGGER.debug("Processing C# unit test result file " + lXmlFile.getAbsolutePath());
 
-            if (lSubNode.getNodeType() == Node.ELEMENT_NODE) {
-                Element lSubElement = (Element) lSubNode;
+        // Stream the XML contents, only keeping the documentation of the
+        // test methods
+        CSharpUnitTestFileData lUnitTestFileData = xmlDocReaders.get().read(lXmlFile);
 
-                if (lSubElement.getNodeName().toLowerCase().equals("name")) {
-                    // We found the name node
-                    lNameSubNodeValue = lSubElement.getTextContent();
-                    break;
-                }
-            }
+        if (lUnitTestFileData != null) {
+            LOGGER.debug("Unit test file " + lXmlFile.getName() + " (corresponding to assembly "
+                    + lUnitTestFileData.getAssemblyName() + ") covers "
+                    + lUnitTestFileData.getReferencedRequirementCount() + " requirement(s)");
         }
 
-        return lNameSubNodeValue;
+        return lUnitTestFileData;
     }
 }
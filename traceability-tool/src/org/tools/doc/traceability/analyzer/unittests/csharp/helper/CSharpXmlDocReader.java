@@ -0,0 +1,562 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.unittests.csharp.helper;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.tools.doc.traceability.analyzer.unittests.common.UnitTestCaseData;
+import org.tools.doc.traceability.analyzer.unittests.csharp.model.CSharpUnitTestFileData;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.sregex.SimpleRegex;
+
+/**
+ * Streaming reader of the XML documentation files generated for C# unit test
+ * assemblies.
+ * <p>
+ * The file is read with StAX, without building any DOM. Only the following
+ * parts are materialized :
+ * <ul>
+ * <li>the text of the <tt>doc/assembly/name</tt> element,
+ * <li>the <tt>summary</tt> of the <tt>doc/members/member</tt> elements whose
+ * method name matches the test name simple regular expression.
+ * </ul>
+ * All the other elements (typically the documentation of every other member of
+ * the assembly) are skipped.
+ * </p>
+ * <p>
+ * A reader is not thread-safe : use one reader per thread.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class CSharpXmlDocReader {
+
+    /**
+     * Logger for the class.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(CSharpXmlDocReader.class);
+
+    /**
+     * The property of the JDK StAX implementation making it report the CDATA
+     * sections as such (instead of merging them with the surrounding text).
+     */
+    private static final String REPORT_CDATA_PROPERTY = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+    /**
+     * The factory of the StAX readers.
+     */
+    private final XMLInputFactory xmlInputFactory;
+
+    /**
+     * The simple regexp to match method names.
+     */
+    private final SimpleRegex testNameRegexp;
+
+    /**
+     * Constructor.
+     * 
+     * @param pTestNameRegexp the simple regular expression that test methods
+     * must comply to in order for them to be taken into account.
+     */
+    public CSharpXmlDocReader(final SimpleRegex pTestNameRegexp) {
+        xmlInputFactory = XMLInputFactory.newInstance();
+        // CDATA sections directly in a summary are not part of the description
+        if (xmlInputFactory.isPropertySupported(REPORT_CDATA_PROPERTY)) {
+            xmlInputFactory.setProperty(REPORT_CDATA_PROPERTY, Boolean.TRUE);
+        }
+        testNameRegexp = pTestNameRegexp;
+    }
+
+    /**
+     * Read the given XML documentation file.
+     * 
+     * @param pXmlFile the XML file to read.
+     * @return the unit test data of the file, or <tt>null</tt> if it is not a
+     * documentation file (the root element is not <tt>doc</tt> or there is no
+     * assembly name).
+     * @throws FileReadingException if the file could not be read or parsed.
+     */
+    public CSharpUnitTestFileData read(final File pXmlFile) throws FileReadingException {
+        CSharpUnitTestFileData lUnitTestFileData = null;
+
+        InputStream lInputStream = null;
+        XMLStreamReader lReader = null;
+        try {
+            lInputStream = new BufferedInputStream(new FileInputStream(pXmlFile));
+            lReader = xmlInputFactory.createXMLStreamReader(lInputStream);
+
+            // Move to the root element
+            while (lReader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+                lReader.next();
+            }
+
+            if (isElement(lReader, "doc")) {
+                lUnitTestFileData = readDocElement(lReader);
+            } else {
+                LOGGER.debug("Ignoring file " + pXmlFile.getAbsolutePath() + " as the root node is "
+                        + getElementName(lReader));
+            }
+        } catch (FileNotFoundException e) {
+            throw new FileReadingException("File " + pXmlFile.getAbsolutePath() + " does not exist");
+        } catch (XMLStreamException e) {
+            throw new FileReadingException("Could not parse " + pXmlFile.getAbsolutePath() + " : " + e.getMessage(),
+                    e);
+        } finally {
+            if (lReader != null) {
+                try {
+                    lReader.close();
+                } catch (XMLStreamException e) {
+                    // No consequence on result, so just log
+                    LOGGER.warn("Error closing XML reader on " + pXmlFile.getAbsolutePath() + " : " + e.getMessage());
+                }
+            }
+            if (lInputStream != null) {
+                try {
+                    lInputStream.close();
+                } catch (IOException e) {
+                    // No consequence on result, so just log
+                    LOGGER.warn("Error closing input stream on " + pXmlFile.getAbsolutePath() + " : "
+                            + e.getMessage());
+                }
+            }
+        }
+
+        return lUnitTestFileData;
+    }
+
+    /**
+     * Read the root <tt>doc</tt> element.
+     * 
+     * @param pReader the reader, positioned on the start of the element.
+     * @return the unit test data of the file, or <tt>null</tt> if there is no
+     * assembly name.
+     * @throws XMLStreamException if the XML could not be parsed.
+     */
+    private CSharpUnitTestFileData readDocElement(final XMLStreamReader pReader) throws XMLStreamException {
+        CSharpUnitTestFileData lUnitTestFileData = null;
+
+        String lAssemblyName = null;
+        List<UnitTestCaseData> lUnitTestDataList = null;
+
+        while (nextChildElement(pReader)) {
+            if (isElement(pReader, "assembly")) {
+                // Process the assembly element to extract the name sub-node
+                // value
+                lAssemblyName = readAssemblyElement(pReader);
+            } else if (isElement(pReader, "members")) {
+                // Process the members sub-nodes to extract the unit test data
+                lUnitTestDataList = readMembersElement(pReader);
+            } else {
+                skipElement(pReader);
+            }
+        }
+
+        // If the assembly name was found
+        if (lAssemblyName != null) {
+            // Create a file data instance
+            lUnitTestFileData = new CSharpUnitTestFileData(lAssemblyName);
+            // If some unit test data were found
+            if (lUnitTestDataList != null) {
+                // Add them to the instance
+                for (UnitTestCaseData lUnitTestData : lUnitTestDataList) {
+                    lUnitTestFileData.addUnitTestData(lUnitTestData);
+                }
+            }
+        }
+
+        return lUnitTestFileData;
+    }
+
+    /**
+     * Read the <tt>assembly</tt> element to extract the value of its first
+     * <tt>name</tt> sub-element.
+     * 
+     * @param pReader the reader, positioned on the start of the element.
+     * @return the value of the name sub-element, or <tt>null</tt> if not found.
+     * @throws XMLStreamException if the XML could not be parsed.
+     */
+    private static String readAssemblyElement(final XMLStreamReader pReader) throws XMLStreamException {
+        String lName = null;
+
+        while (nextChildElement(pReader)) {
+            if ((lName == null) && isElement(pReader, "name")) {
+                lName = readTextContent(pReader);
+            } else {
+                skipElement(pReader);
+            }
+        }
+
+        return lName;
+    }
+
+    /**
+     * Read the <tt>members</tt> element to extract the unit test data.
+     * 
+     * @param pReader the reader, positioned on the start of the element.
+     * @return the list of found unit test data.
+     * @throws XMLStreamException if the XML could not be parsed.
+     */
+    private List<UnitTestCaseData> readMembersElement(final XMLStreamReader pReader) throws XMLStreamException {
+        List<UnitTestCaseData> lUnitTestDataList = new ArrayList<UnitTestCaseData>();
+
+        while (nextChildElement(pReader)) {
+            if (isElement(pReader, "member")) {
+                // We found a member node
+                UnitTestCaseData lUnitTestData = readMemberElement(pReader);
+
+                if (lUnitTestData != null) {
+                    // Add it to the list
+                    lUnitTestDataList.add(lUnitTestData);
+                }
+            } else {
+                skipElement(pReader);
+            }
+        }
+
+        return lUnitTestDataList;
+    }
+
+    /**
+     * Read a <tt>member</tt> element and, if its method name matches the test
+     * name regexp, build the unit test data from its summary.
+     * 
+     * @param pReader the reader, positioned on the start of the element.
+     * @return the unit test data if the method name matched the regexp,
+     * <tt>null</tt> otherwise.
+     * @throws XMLStreamException if the XML could not be parsed.
+     */
+    private UnitTestCaseData readMemberElement(final XMLStreamReader pReader) throws XMLStreamException {
+        UnitTestCaseData lUnitTestData = null;
+
+        String lMethodName = getMethodName(getAttributeValue(pReader, "name"));
+        boolean lIsTestMethod = (lMethodName != null) && testNameRegexp.matches(lMethodName);
+
+        while (nextChildElement(pReader)) {
+            if (lIsTestMethod && isElement(pReader, "summary")) {
+                // Extract the unit test data from it
+                lUnitTestData = readSummaryElement(pReader, lMethodName);
+            } else {
+                skipElement(pReader);
+            }
+        }
+
+        return lUnitTestData;
+    }
+
+    /**
+     * Extract the method name from the name of a member (the part after the
+     * last dot, without the parameters).
+     * 
+     * @param pMemberName the member name (can be <tt>null</tt>).
+     * @return the method name, or <tt>null</tt> if the member name is
+     * <tt>null</tt>.
+     */
+    private static String getMethodName(final String pMemberName) {
+        String lMethodName = null;
+
+        if (pMemberName != null) {
+            // First remove the part corresponding to the method parameters in
+            // parenthesis
+            int lLastOpeningParIdx = pMemberName.lastIndexOf('(');
+            String lNameWithoutParameters;
+            if (lLastOpeningParIdx == -1) {
+                lNameWithoutParameters = pMemberName;
+            } else {
+                lNameWithoutParameters = pMemberName.substring(0, lLastOpeningParIdx);
+            }
+
+            lMethodName = lNameWithoutParameters.substring(lNameWithoutParameters.lastIndexOf('.') + 1);
+        }
+
+        return lMethodName;
+    }
+
+    /**
+     * Read a <tt>summary</tt> element and build the associated unit test data.
+     * <p>
+     * The text directly in the summary and the <tt>para</tt> sub-elements are
+     * processed in the document order.
+     * </p>
+     * 
+     * @param pReader the reader, positioned on the start of the element.
+     * @param pTestName the test name.
+     * @return the associated {@link UnitTestCaseData}, or <tt>null</tt> if it
+     * could not be created.
+     * @throws XMLStreamException if the XML could not be parsed.
+     */
+    private static UnitTestCaseData readSummaryElement(final XMLStreamReader pReader, final String pTestName)
+            throws XMLStreamException {
+        SummaryContents lSummaryContents = new SummaryContents();
+
+        StringBuilder lTextSb = new StringBuilder();
+        int lEventType = pReader.next();
+        while (lEventType != XMLStreamConstants.END_ELEMENT) {
+            if ((lEventType == XMLStreamConstants.CHARACTERS) || (lEventType == XMLStreamConstants.SPACE)) {
+                lTextSb.append(pReader.getText());
+            } else {
+                // Any other node ends the current text node
+                lSummaryContents.addText(lTextSb.toString());
+                lTextSb.setLength(0);
+
+                if (lEventType == XMLStreamConstants.START_ELEMENT) {
+                    if (isElement(pReader, "para")) {
+                        lSummaryContents.addPara(readTextContent(pReader).trim());
+                    } else {
+                        skipElement(pReader);
+                    }
+                }
+            }
+            lEventType = pReader.next();
+        }
+        lSummaryContents.addText(lTextSb.toString());
+
+        return lSummaryContents.toUnitTestData(pTestName);
+    }
+
+    /**
+     * Move to the start of the next child element of the current element.
+     * 
+     * @param pReader the reader, positioned on the start of the current
+     * element or on the end of one of its child elements.
+     * @return <tt>true</tt> if the reader is positioned on the start of a child
+     * element, <tt>false</tt> if it is positioned on the end of the current
+     * element.
+     * @throws XMLStreamException if the XML could not be parsed.
+     */
+    private static boolean nextChildElement(final XMLStreamReader pReader) throws XMLStreamException {
+        int lEventType = pReader.next();
+
+        while ((lEventType != XMLStreamConstants.START_ELEMENT) && (lEventType != XMLStreamConstants.END_ELEMENT)) {
+            lEventType = pReader.next();
+        }
+
+        return lEventType == XMLStreamConstants.START_ELEMENT;
+    }
+
+    /**
+     * Skip the current element and all its contents.
+     * 
+     * @param pReader the reader, positioned on the start of the element. It is
+     * positioned on its end when the method returns.
+     * @throws XMLStreamException if the XML could not be parsed.
+     */
+    private static void skipElement(final XMLStreamReader pReader) throws XMLStreamException {
+        int lDepth = 1;
+
+        while (lDepth > 0) {
+            int lEventType = pReader.next();
+            if (lEventType == XMLStreamConstants.START_ELEMENT) {
+                lDepth++;
+            } else if (lEventType == XMLStreamConstants.END_ELEMENT) {
+                lDepth--;
+            }
+        }
+    }
+
+    /**
+     * Read the text content of the current element, i.e. the concatenation of
+     * the text of all its descendants.
+     * 
+     * @param pReader the reader, positioned on the start of the element. It is
+     * positioned on its end when the method returns.
+     * @return the text content.
+     * @throws XMLStreamException if the XML could not be parsed.
+     */
+    private static String readTextContent(final XMLStreamReader pReader) throws XMLStreamException {
+        StringBuilder lTextSb = new StringBuilder();
+        int lDepth = 1;
+
+        while (lDepth > 0) {
+            int lEventType = pReader.next();
+            if (lEventType == XMLStreamConstants.START_ELEMENT) {
+                lDepth++;
+            } else if (lEventType == XMLStreamConstants.END_ELEMENT) {
+                lDepth--;
+            } else if ((lEventType == XMLStreamConstants.CHARACTERS) || (lEventType == XMLStreamConstants.CDATA)
+                    || (lEventType == XMLStreamConstants.SPACE)) {
+                lTextSb.append(pReader.getText());
+            }
+        }
+
+        return lTextSb.toString();
+    }
+
+    /**
+     * Check whether the current element has the given name (case is ignored).
+     * 
+     * @param pReader the reader, positioned on the start of an element.
+     * @param pExpectedName the expected name, in lower case.
+     * @return <tt>true</tt> if the element has this name, <tt>false</tt>
+     * otherwise.
+     */
+    private static boolean isElement(final XMLStreamReader pReader, final String pExpectedName) {
+        return getElementName(pReader).toLowerCase().equals(pExpectedName);
+    }
+
+    /**
+     * Get the qualified name of the current element, as written in the file.
+     * 
+     * @param pReader the reader, positioned on the start of an element.
+     * @return the element name.
+     */
+    private static String getElementName(final XMLStreamReader pReader) {
+        String lName = pReader.getLocalName();
+
+        String lPrefix = pReader.getPrefix();
+        if ((lPrefix != null) && !lPrefix.isEmpty()) {
+            lName = lPrefix + ":" + lName;
+        }
+
+        return lName;
+    }
+
+    /**
+     * Get the value of the attribute of the current element with the given
+     * qualified name.
+     * 
+     * @param pReader the reader, positioned on the start of an element.
+     * @param pAttributeName the attribute name.
+     * @return the attribute value, or <tt>null</tt> if the element has no such
+     * attribute.
+     */
+    private static String getAttributeValue(final XMLStreamReader pReader, final String pAttributeName) {
+        String lValue = null;
+
+        for (int i = 0; (i < pReader.getAttributeCount()) && (lValue == null); i++) {
+            String lPrefix = pReader.getAttributePrefix(i);
+            if (((lPrefix == null) || lPrefix.isEmpty())
+                    && pReader.getAttributeLocalName(i).equals(pAttributeName)) {
+                lValue = pReader.getAttributeValue(i);
+            }
+        }
+
+        return lValue;
+    }
+
+    /**
+     * The contents of a summary, gathered while it is read.
+     */
+    private static final class SummaryContents {
+
+        /**
+         * The description of the test.
+         */
+        private final StringBuilder descriptionSb;
+
+        /**
+         * The expected result of the test.
+         */
+        private final StringBuilder expectedResultSb;
+
+        /**
+         * The test identifier.
+         */
+        private String testIdentifier;
+
+        /**
+         * The covered requirements (comma separated).
+         */
+        private String coveredReqs;
+
+        /**
+         * Constructor.
+         */
+        private SummaryContents() {
+            descriptionSb = new StringBuilder();
+            expectedResultSb = new StringBuilder();
+            testIdentifier = null;
+            coveredReqs = null;
+        }
+
+        /**
+         * Add a text located directly in the summary, which is part of the
+         * description.
+         * 
+         * @param pText the text.
+         */
+        private void addText(final String pText) {
+            String lTrimmedText = pText.trim();
+            if (lTrimmedText.length() > 0) {
+                if (descriptionSb.length() > 0) {
+                    descriptionSb.append('\n');
+                }
+                descriptionSb.append(lTrimmedText);
+            }
+        }
+
+        /**
+         * Add the text of a <tt>para</tt> element, whose type is given before
+         * the first colon character.
+         * 
+         * @param pParaText the trimmed text of the para element.
+         */
+        private void addPara(final String pParaText) {
+            // Split on the first found ':' character
+            int lFirstColonCharIdx = pParaText.indexOf(':');
+
+            if (lFirstColonCharIdx != -1) {
+                String lParaType = pParaText.substring(0, lFirstColonCharIdx);
+                String lParaTypeNormalized = lParaType.replace(" ", "").toLowerCase();
+
+                if (lParaTypeNormalized.startsWith("testid")) {
+                    testIdentifier = pParaText.substring(lFirstColonCharIdx + 1, pParaText.length()).trim();
+                } else if (lParaTypeNormalized.startsWith("coveredreq")) {
+                    coveredReqs = pParaText.substring(lFirstColonCharIdx + 1, pParaText.length()).trim();
+                } else if (lParaTypeNormalized.startsWith("expectedresult")) {
+                    if (expectedResultSb.length() > 0) {
+                        expectedResultSb.append("\n");
+                    }
+                    expectedResultSb.append(pParaText);
+                } else {
+                    if (descriptionSb.length() > 0) {
+                        descriptionSb.append('\n');
+                    }
+                    descriptionSb.append(pParaText);
+                }
+            }
+        }
+
+        /**
+         * Build the unit test data from the summary contents.
+         * 
+         * @param pTestName the test name.
+         * @return the unit test data, or <tt>null</tt> if the test identifier
+         * or the covered requirements are missing.
+         */
+        private UnitTestCaseData toUnitTestData(final String pTestName) {
+            UnitTestCaseData lUnitTestData = null;
+
+            if ((testIdentifier != null) && (coveredReqs != null)) {
+                lUnitTestData = new UnitTestCaseData(testIdentifier, pTestName, descriptionSb.toString(),
+                        expectedResultSb.toString());
+                // Get the covered requirements
+                String[] lCoveredReqElts = coveredReqs.split(",");
+                for (int lReqEltIdx = 0; lReqEltIdx < lCoveredReqElts.length; lReqEltIdx++) {
+                    String lRequirementName = lCoveredReqElts[lReqEltIdx].trim();
+                    if (lRequirementName.length() > 0) {
+                        lUnitTestData.addCoveredRequirement(new Requirement(lRequirementName));
+                    }
+                }
+            }
+
+            return lUnitTestData;
+        }
+    }
+}
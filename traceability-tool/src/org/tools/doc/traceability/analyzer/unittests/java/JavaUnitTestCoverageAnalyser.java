@@ -5,13 +5,20 @@ package org.tools.doc.traceability.analyzer.unittests.java;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.tools.doc.traceability.analyzer.unittests.common.CachedUnitTestFileData;
+import org.tools.doc.traceability.analyzer.unittests.common.UnitTestAnalysisCache;
 import org.tools.doc.traceability.analyzer.unittests.common.UnitTestCaseData;
+import org.tools.doc.traceability.analyzer.unittests.java.helper.IJavaTestMethodHandler;
+import org.tools.doc.traceability.analyzer.unittests.java.helper.JavaTestMethodScanner;
 import org.tools.doc.traceability.analyzer.unittests.java.model.JUnitMethodData;
 import org.tools.doc.traceability.analyzer.unittests.java.model.JavaUnitTestFileData;
 import org.tools.doc.traceability.common.Constants;
@@ -23,8 +30,12 @@ import org.tools.doc.traceability.common.exceptions.InvalidFileSearchFilterExcep
 import org.tools.doc.traceability.common.exceptions.InvalidParameterException;
 import org.tools.doc.traceability.common.executor.AbstractExecutor;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.executor.ITaskCompletionListener;
+import org.tools.doc.traceability.common.executor.ParallelTaskRunner;
 import org.tools.doc.traceability.common.filesearch.FileSearchFilterSet;
 import org.tools.doc.traceability.common.filesearch.FileSearcher;
+import org.tools.doc.traceability.common.io.FileFingerprint;
+import org.tools.doc.traceability.common.io.FileKeywordFilter;
 import org.tools.doc.traceability.common.io.FileLinesReader;
 import org.tools.doc.traceability.common.model.Requirement;
 import org.tools.doc.traceability.common.sregex.SimpleRegex;
@@ -47,29 +58,12 @@ public class JavaUnitTestCoverageAnalyser extends AbstractExecutor<JavaUnitTestC
     private static final Logger LOGGER = LogManager.getLogger(JavaUnitTestCoverageAnalyser.class);
 
     /**
-     * The regexp to capture a JUnit method with leading javadoc.
-     * <p>
-     * If it matches, there are the following groups captured:
-     * <ol>
-     * <li>Javadco contents
-     * <li>Potential "public " modifier for JUnit method
-     * <li>Method name
-     * <li>The rest of the class contents after the opening curly brace.
-     * </ol>
-     * </p>
+     * The version of the analysis logic, stored with the cached analysis
+     * results (to change each time a change of the analysis gives a different
+     * result for the same java file, so that the results cached by the former
+     * version are dropped).
      */
-    private static final String JAVADOC_METHOD_REGEXP = //
-            ".*?" // Anything (reluctant)
-            + "\\/\\*\\*" // Opening javadoc comment
-            + "(.+?)" // Contents of the javadoc comment (reluctant)
-            + "\\*\\/" // Closing of javadoc comment
-            + "[\\s\\n]*" // Further spaces and line returns
-            + "@Test" // The JUnit annotation for testing method
-            + "[\\s\\n]*" // Further spaces or line breaks
-            + "(public\\s)?\\s*void\\s\\s*([A-Za-z_][A-Za-z0-9_]*)\\(\\s*\\)[^{]*"
-            // Standard JUnit method signature
-            + "\\{" // Opening method curly brace
-            + "(.*)"; // Remaining part
+    public static final int ANALYZER_VERSION = 1;
 
     /**
      * Regexp to extract the useful part of a javadoc line, i.e. that gets rid
@@ -80,6 +74,16 @@ public class JavaUnitTestCoverageAnalyser extends AbstractExecutor<JavaUnitTestC
      */
     private static final String JAVADOC_LINE_ACTUAL_CONTENTS_REGEXP = "[\\s*]*(.*)";
 
+    /**
+     * The keywords that a java file shall all contain to be analyzed.
+     * <p>
+     * They are the ones required for a documented test to be valid (see
+     * {@link JUnitMethodData#isValid()}), so that no file with a valid test
+     * can be skipped.
+     * </p>
+     */
+    private static final List<String> REQUIRED_KEYWORDS = Arrays.asList("@Test", "@testId", "@expectedResult");
+
     /**
      * Regexp to match the test identifier.
      * <p>
@@ -125,9 +129,38 @@ public class JavaUnitTestCoverageAnalyser extends AbstractExecutor<JavaUnitTestC
     private JavaUnitTestCoverageAnalyserResult resultObject;
 
     /**
-     * The pattern to match JUnit methods with javadoc.
+     * The maximum number of java files processed at the same time.
+     */
+    private int workerCount;
+
+    /**
+     * The filter discarding the java files that cannot contain any documented
+     * test, before reading them as text.
+     */
+    private final FileKeywordFilter requiredKeywordFilter;
+
+    /**
+     * The directory where the analysis result of each java file is cached
+     * (<tt>null</tt> if no cache is used).
+     */
+    private File cacheDirectory;
+
+    /**
+     * The cache of the analysis results of the java files, during the analysis
+     * (<tt>null</tt> if no cache is used).
+     */
+    private UnitTestAnalysisCache analysisCache;
+
+    /**
+     * The number of java files whose analysis result was loaded from the
+     * cache.
      */
-    private Pattern javadocMethodRegexp;
+    private final AtomicInteger cacheHitCount;
+
+    /**
+     * The number of java files that were analyzed and stored in the cache.
+     */
+    private final AtomicInteger cacheMissCount;
 
     /**
      * The pattern to capture the useful part of a javadoc line.
@@ -170,10 +203,48 @@ public class JavaUnitTestCoverageAnalyser extends AbstractExecutor<JavaUnitTestC
         super(pExecutionStatus);
         javaFileSearchFilterSet = pJavaFileSearchFilterSet;
         testMethodNameRegexpValue = pTestMethodNameRegexpValue;
+        workerCount = ParallelTaskRunner.getDefaultWorkerCount();
+        requiredKeywordFilter = new FileKeywordFilter(REQUIRED_KEYWORDS);
+        cacheDirectory = null;
+        analysisCache = null;
+        cacheHitCount = new AtomicInteger();
+        cacheMissCount = new AtomicInteger();
 
         resultObject = null;
     }
 
+    /**
+     * Setter of the directory where the analysis result of each java file is
+     * cached.
+     * <p>
+     * When set, a java file whose contents did not change since the previous
+     * analysis (with the same test method name regular expression) is not
+     * analyzed again. By default, no cache is used.
+     * </p>
+     * 
+     * @param pCacheDirectory the cache directory (it is created if needed), or
+     * <tt>null</tt> to not use any cache.
+     */
+    public void setCacheDirectory(final File pCacheDirectory) {
+        cacheDirectory = pCacheDirectory;
+    }
+
+    /**
+     * Setter of the maximum number of java files processed at the same time.
+     * <p>
+     * By default, it is the number of available processors. With 1, the java
+     * files are processed one after the other. Whatever the value, the result
+     * is the same (the results of the java files are added in the order of
+     * the searched file list).
+     * </p>
+     * 
+     * @param pWorkerCount the maximum number of java files processed at the
+     * same time (values lower than 1 are considered as 1).
+     */
+    public void setWorkerCount(final int pWorkerCount) {
+        workerCount = Math.max(1, pWorkerCount);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -197,10 +268,9 @@ public class JavaUnitTestCoverageAnalyser extends AbstractExecutor<JavaUnitTestC
      */
     private void analyzeTestResults() throws ExecutorExecutionException {
 
-        double lCurrentPercentage = 5.0;
+        final double lCurrentPercentage = 5.0;
         setCurrentOperation("Searching for XML files in " + javaFileSearchFilterSet.toString(), lCurrentPercentage);
 
-        javadocMethodRegexp = Pattern.compile(JAVADOC_METHOD_REGEXP, Pattern.DOTALL);
         javadocLineActualContentsRegexp = Pattern.compile(JAVADOC_LINE_ACTUAL_CONTENTS_REGEXP);
         testIdentifierLinePattern = Pattern.compile(TEST_ID_REGEXP, Pattern.DOTALL);
         expectedResultLinePattern = Pattern.compile(EXPECTED_RESULT_REGEXP, Pattern.DOTALL);
@@ -218,43 +288,181 @@ public class JavaUnitTestCoverageAnalyser extends AbstractExecutor<JavaUnitTestC
 
         resultObject = new JavaUnitTestCoverageAnalyserResult();
 
-        double lPercentagePerFile = 70. / lJavaFileList.size();
+        final List<File> lSearchedJavaFileList = lJavaFileList;
+        final double lPercentagePerFile = 70. / lJavaFileList.size();
+        final AtomicInteger lSkippedFileCount = new AtomicInteger();
 
-        List<JUnitMethodData> lJUnitMethodDataList;
+        if (cacheDirectory == null) {
+            analysisCache = null;
+        } else {
+            analysisCache = new UnitTestAnalysisCache(cacheDirectory, "java", ANALYZER_VERSION,
+                    testMethodNameRegexpValue);
+        }
+        cacheHitCount.set(0);
+        cacheMissCount.set(0);
+
+        // Process the java files concurrently (each file is independent)
+        List<Callable<JavaUnitTestFileData>> lTasks = new ArrayList<Callable<JavaUnitTestFileData>>();
+        for (final File lJavaFile : lJavaFileList) {
+            lTasks.add(new Callable<JavaUnitTestFileData>() {
+                @Override
+                public JavaUnitTestFileData call() throws ExecutorExecutionException {
+                    JavaUnitTestFileData lUnitTestFileData = null;
+
+                    if (!mayContainDocumentedTests(lJavaFile)) {
+                        lSkippedFileCount.incrementAndGet();
+                    } else {
+                        try {
+                            if (analysisCache == null) {
+                                lUnitTestFileData = analyzeJavaFile(lJavaFile);
+                            } else {
+                                lUnitTestFileData = analyzeJavaFileWithCache(lJavaFile);
+                            }
+                        } catch (FileReadingException e) {
+                            LOGGER.error("Error reading file " + lJavaFile.getAbsolutePath() + " : "
+                                    + e.getMessage());
+                        }
+                    }
 
-        // Iterate on each of them
-        for (File lJavaFile : lJavaFileList) {
-            // Process this file
-            setCurrentOperation("Processing java unit test result file " + lJavaFile.getAbsolutePath(),
-                    lCurrentPercentage);
+                    return lUnitTestFileData;
+                }
+            });
+        }
+
+        ParallelTaskRunner<JavaUnitTestFileData> lTaskRunner = new ParallelTaskRunner<JavaUnitTestFileData>(
+                workerCount, "java-ut-analyser");
+        List<JavaUnitTestFileData> lFileDataList = lTaskRunner.runAll(lTasks, new ITaskCompletionListener() {
+            @Override
+            public void taskCompleted(final int pTaskIndex, final int pCompletedTaskCount) {
+                setCurrentOperation("Processed java unit test file "
+                        + lSearchedJavaFileList.get(pTaskIndex).getAbsolutePath(),
+                        lCurrentPercentage + lPercentagePerFile * pCompletedTaskCount);
+            }
+        });
+
+        // Add the results in the searched file order, so that the result does
+        // not depend on the order in which the files were processed
+        for (int i = 0; i < lFileDataList.size(); i++) {
+            JavaUnitTestFileData lUnitTestFileData = lFileDataList.get(i);
+            if (lUnitTestFileData != null) {
+                resultObject.addResult(lJavaFileList.get(i), lUnitTestFileData);
+            }
+        }
+        resultObject.setSkippedFileCount(lSkippedFileCount.get());
+        resultObject.setAnalyzedFileCount(lJavaFileList.size() - lSkippedFileCount.get());
+        resultObject.setCacheHitCount(cacheHitCount.get());
+        resultObject.setCacheMissCount(cacheMissCount.get());
+        LOGGER.info(resultObject.getAnalyzedFileCount() + " java file(s) analyzed, "
+                + resultObject.getSkippedFileCount() + " skipped");
+        if (analysisCache != null) {
+            LOGGER.info(resultObject.getCacheHitCount() + " java file(s) loaded from cache, "
+                    + resultObject.getCacheMissCount() + " java file(s) not in cache");
+        }
 
-            lJUnitMethodDataList = processJavaFile(lJavaFile);
-            JavaUnitTestFileData lUnitTestFileData;
-            UnitTestCaseData lUnitTestData;
+        // Set the result object
+        setExecutionResult(resultObject);
+    }
 
-            if (!lJUnitMethodDataList.isEmpty()) {
-                lUnitTestFileData = new JavaUnitTestFileData();
+    /**
+     * Check whether the given java file may contain documented tests, i.e.
+     * whether it contains all the {@link #REQUIRED_KEYWORDS}.
+     * 
+     * @param pJavaFile the java file to check.
+     * @return <tt>true</tt> if the file may contain documented tests (or if it
+     * could not be checked), <tt>false</tt> otherwise.
+     */
+    private boolean mayContainDocumentedTests(final File pJavaFile) {
+        boolean lMayContainTests = true;
 
-                for (JUnitMethodData lJUnitMethodData : lJUnitMethodDataList) {
-                    lUnitTestData = new UnitTestCaseData(lJUnitMethodData.getTestIdentifier(),
-                            lJUnitMethodData.getMethodName(), lJUnitMethodData.getTestDescription(),
-                            lJUnitMethodData.getExpectedResult());
+        try {
+            lMayContainTests = requiredKeywordFilter.containsAllKeywords(pJavaFile);
+        } catch (FileReadingException e) {
+            // Let the analysis report the error
+            LOGGER.debug("Could not pre-filter file " + pJavaFile.getAbsolutePath() + " : " + e.getMessage());
+        }
 
-                    for (Requirement lReq : lJUnitMethodData.getCoveredRequirements()) {
-                        lUnitTestData.addCoveredRequirement(lReq);
-                    }
+        return lMayContainTests;
+    }
 
+    /**
+     * Get the unit test data of the given java file from the cache, or analyze
+     * it and store the result in the cache if it is not there.
+     * 
+     * @param pJavaFile the java file.
+     * @return the unit test data of the file, or <tt>null</tt> if it contains
+     * no valid JUnit method.
+     * @throws ExecutorExecutionException if an error occurs.
+     * @throws FileReadingException if the file could not be read (nothing is
+     * stored in the cache then, so that the file is read again next time).
+     */
+    private JavaUnitTestFileData analyzeJavaFileWithCache(final File pJavaFile) throws ExecutorExecutionException,
+            FileReadingException {
+        JavaUnitTestFileData lUnitTestFileData = null;
+
+        CachedUnitTestFileData lCachedData = analysisCache.load(pJavaFile);
+
+        if (lCachedData == null) {
+            cacheMissCount.incrementAndGet();
+            FileFingerprint lFingerprint = FileFingerprint.take(pJavaFile);
+            lUnitTestFileData = analyzeJavaFile(pJavaFile);
+
+            if (lUnitTestFileData == null) {
+                analysisCache.store(lFingerprint, new CachedUnitTestFileData(false, null,
+                        new ArrayList<UnitTestCaseData>()));
+            } else {
+                analysisCache.store(lFingerprint, new CachedUnitTestFileData(true, null,
+                        lUnitTestFileData.getUnitTestDataList()));
+            }
+        } else {
+            cacheHitCount.incrementAndGet();
+
+            if (lCachedData.isDataProduced()) {
+                lUnitTestFileData = new JavaUnitTestFileData();
+                for (UnitTestCaseData lUnitTestData : lCachedData.getUnitTestDataList()) {
                     lUnitTestFileData.addUnitTestData(lUnitTestData);
                 }
-
-                resultObject.addResult(lJavaFile, lUnitTestFileData);
             }
+        }
+
+        return lUnitTestFileData;
+    }
+
+    /**
+     * Analyze the given java file and build its unit test data.
+     * <p>
+     * It only uses local state, so that several files can be analyzed at the
+     * same time.
+     * </p>
+     * 
+     * @param pJavaFile the java file to analyze.
+     * @return the unit test data of the file, or <tt>null</tt> if it contains
+     * no valid JUnit method.
+     * @throws ExecutorExecutionException if an error occurs.
+     * @throws FileReadingException if the file could not be read.
+     */
+    private JavaUnitTestFileData analyzeJavaFile(final File pJavaFile) throws ExecutorExecutionException,
+            FileReadingException {
+        JavaUnitTestFileData lUnitTestFileData = null;
 
-            lCurrentPercentage += lPercentagePerFile;
+        List<JUnitMethodData> lJUnitMethodDataList = processJavaFile(pJavaFile);
+
+        if (!lJUnitMethodDataList.isEmpty()) {
+            lUnitTestFileData = new JavaUnitTestFileData();
+
+            for (JUnitMethodData lJUnitMethodData : lJUnitMethodDataList) {
+                UnitTestCaseData lUnitTestData = new UnitTestCaseData(lJUnitMethodData.getTestIdentifier(),
+                        lJUnitMethodData.getMethodName(), lJUnitMethodData.getTestDescription(),
+                        lJUnitMethodData.getExpectedResult());
+
+                for (Requirement lReq : lJUnitMethodData.getCoveredRequirements()) {
+                    lUnitTestData.addCoveredRequirement(lReq);
+                }
+
+                lUnitTestFileData.addUnitTestData(lUnitTestData);
+            }
         }
 
-        // Set the result object
-        setExecutionResult(resultObject);
+        return lUnitTestFileData;
     }
 
     /**
@@ -263,88 +471,62 @@ public class JavaUnitTestCoverageAnalyser extends AbstractExecutor<JavaUnitTestC
      * @param pJavaFile the java file to process.
      * @return the list of JUnit method data found for this file.
      * @throws ExecutorExecutionException if an error occurs.
+     * @throws FileReadingException if the file could not be read.
      */
-    private List<JUnitMethodData> processJavaFile(final File pJavaFile) throws ExecutorExecutionException {
+    private List<JUnitMethodData> processJavaFile(final File pJavaFile) throws ExecutorExecutionException,
+            FileReadingException {
         LOGGER.debug("Processing java unit test result file " + pJavaFile.getAbsolutePath());
 
-        List<JUnitMethodData> lJUnitMethodDataList = new ArrayList<JUnitMethodData>();
+        final List<JUnitMethodData> lJUnitMethodDataList = new ArrayList<JUnitMethodData>();
 
         String lJavaClassContents = getJavaClassContentsFor(pJavaFile);
 
-        Matcher lJunitMethodMatcher = javadocMethodRegexp.matcher(lJavaClassContents);
+        JavaTestMethodScanner lScanner = new JavaTestMethodScanner();
+        lScanner.scan(lJavaClassContents, new IJavaTestMethodHandler() {
 
-        String lUsefulPartOfJavadocLine;
-        JUnitMethodData lJunitMethodData;
-        while (lJunitMethodMatcher.matches()) {
-            String lJavadocContents = lJunitMethodMatcher.group(1);
-            String lMethodName = lJunitMethodMatcher.group(3);
-            String lRemainingClassContents = lJunitMethodMatcher.group(4);
-
-            List<String> lCleanedJavadocLines = new ArrayList<String>();
-
-            String[] lJavadocLines = lJavadocContents.split("\n");
-
-            for (int i = 0; i < lJavadocLines.length; i++) {
-                Matcher lUsefulJavadocLinePartMatcher = javadocLineActualContentsRegexp.matcher(lJavadocLines[i]);
-                if (lUsefulJavadocLinePartMatcher.matches()) {
-                    lUsefulPartOfJavadocLine = lUsefulJavadocLinePartMatcher.group(1).trim();
-                    if (!lUsefulPartOfJavadocLine.isEmpty()) {
-                        lCleanedJavadocLines.add(lUsefulPartOfJavadocLine);
+            @Override
+            public void handleTestMethod(final String pJavadocContents, final String pMethodName) {
+                // First ensure the method matches the expected simple regexp
+                if (testMethodNameRegexpValue.matches(pMethodName)) {
+                    // If it is, then process the method and its cleaned
+                    // javadoc contents.
+                    JUnitMethodData lJunitMethodData = processJunitMethod(pJavaFile, pMethodName,
+                            cleanJavadocLines(pJavadocContents));
+
+                    if (lJunitMethodData.isValid()) {
+                        lJUnitMethodDataList.add(lJunitMethodData);
                     }
                 }
             }
+        });
 
-            // First ensure the method matches the expected simple regexp
-            if (testMethodNameRegexpValue.matches(lMethodName)) {
-                // If it is, then process the method and its cleaned javadoc
-                // contents.
-                lJunitMethodData = processJunitMethod(pJavaFile, lMethodName, lCleanedJavadocLines);
+        return lJUnitMethodDataList;
+    }
 
-                if (lJunitMethodData.isValid()) {
-                    lJUnitMethodDataList.add(lJunitMethodData);
-                } else {
-                    // TODO
-                }
-            }
+    /**
+     * Get the not empty lines of a javadoc, without the leading spaces and
+     * stars.
+     * 
+     * @param pJavadocContents the raw javadoc contents.
+     * @return the cleaned javadoc lines.
+     */
+    private List<String> cleanJavadocLines(final String pJavadocContents) {
+        List<String> lCleanedJavadocLines = new ArrayList<String>();
 
-            // Eliminate the lines until we found the closing curly brace
-            // matching the one corresponding to the opening of the analyzed
-            // method
-            String[] lRemainingLines = lRemainingClassContents.split("\n");
-            int lCurlyBraceBalance = 1;
-            String lRemainingLine;
-            int lOpeningCb;
-            int lClosingCb;
-            char lChar;
-
-            StringBuilder lNextPartToConsiderSb = new StringBuilder();
-            for (int i = 0; i < lRemainingLines.length; i++) {
-                lRemainingLine = lRemainingLines[i];
-
-                if (lCurlyBraceBalance == 0) {
-                    lNextPartToConsiderSb.append(lRemainingLine);
-                    lNextPartToConsiderSb.append("\n");
-                } else {
-                    lOpeningCb = 0;
-                    lClosingCb = 0;
-                    for (int j = 0; j < lRemainingLine.length(); j++) {
-                        lChar = lRemainingLine.charAt(j);
-                        if (lChar == '{') {
-                            lOpeningCb++;
-                        } else if (lChar == '}') {
-                            lClosingCb++;
-                        }
-                    }
+        String[] lJavadocLines = pJavadocContents.split("\n");
+        String lUsefulPartOfJavadocLine;
 
-                    lCurlyBraceBalance = lCurlyBraceBalance + lOpeningCb - lClosingCb;
+        for (int i = 0; i < lJavadocLines.length; i++) {
+            Matcher lUsefulJavadocLinePartMatcher = javadocLineActualContentsRegexp.matcher(lJavadocLines[i]);
+            if (lUsefulJavadocLinePartMatcher.matches()) {
+                lUsefulPartOfJavadocLine = lUsefulJavadocLinePartMatcher.group(1).trim();
+                if (!lUsefulPartOfJavadocLine.isEmpty()) {
+                    lCleanedJavadocLines.add(lUsefulPartOfJavadocLine);
                 }
             }
-
-            // Try to match with the remaining class contents
-            lJunitMethodMatcher = javadocMethodRegexp.matcher(lNextPartToConsiderSb.toString());
         }
 
-        return lJUnitMethodDataList;
+        return lCleanedJavadocLines;
     }
 
     /**
@@ -491,47 +673,40 @@ public class JavaUnitTestCoverageAnalyser extends AbstractExecutor<JavaUnitTestC
      * 
      * @param pJavaFile the java file to read.
      * @return the class contents (can be empty if none was found).
-     * @throws ExecutorExecutionException if an error occurs reading the file.
+     * @throws FileReadingException if an error occurs reading the file.
      */
-    private String getJavaClassContentsFor(final File pJavaFile) throws ExecutorExecutionException {
+    private String getJavaClassContentsFor(final File pJavaFile) throws FileReadingException {
 
         StringBuilder lJavaClassContentsSb = new StringBuilder();
 
         FileLinesReader fileLinesReader = new FileLinesReader();
 
-        // Try and read file contents (If it fails FileReadingException is
-        // thrown)
-        try {
-            // Read all the lines
-            List<String> lFileLines = fileLinesReader.readFileContents(pJavaFile);
-
-            // Iterate and wait for the line defining the class to be found and
-            // the associated class opening curly brace to be passed
-            boolean lClassKeywordFound = false;
-            boolean lClassOpeningCurlyBraceFound = false;
-
-            for (String lLine : lFileLines) {
-                if (lClassKeywordFound) {
-                    if (lClassOpeningCurlyBraceFound) {
-                        lJavaClassContentsSb.append(lLine);
-                        lJavaClassContentsSb.append("\n");
-                    } else {
-                        if (lLine.contains("{")) {
-                            lClassOpeningCurlyBraceFound = true;
-                        }
-                    }
+        // Read all the lines (If it fails FileReadingException is thrown)
+        List<String> lFileLines = fileLinesReader.readFileContents(pJavaFile);
+
+        // Iterate and wait for the line defining the class to be found and
+        // the associated class opening curly brace to be passed
+        boolean lClassKeywordFound = false;
+        boolean lClassOpeningCurlyBraceFound = false;
+
+        for (String lLine : lFileLines) {
+            if (lClassKeywordFound) {
+                if (lClassOpeningCurlyBraceFound) {
+                    lJavaClassContentsSb.append(lLine);
+                    lJavaClassContentsSb.append("\n");
                 } else {
-                    if (lLine.contains("class")) {
-                        lClassKeywordFound = true;
-                        if (lLine.contains("{")) {
-                            lClassOpeningCurlyBraceFound = true;
-                        }
+                    if (lLine.contains("{")) {
+                        lClassOpeningCurlyBraceFound = true;
+                    }
+                }
+            } else {
+                if (lLine.contains("class")) {
+                    lClassKeywordFound = true;
+                    if (lLine.contains("{")) {
+                        lClassOpeningCurlyBraceFound = true;
                     }
                 }
             }
-
-        } catch (FileReadingException e) {
-            LOGGER.error("Error reading file " + pJavaFile.getAbsolutePath() + " : " + e.getMessage());
         }
 
         return lJavaClassContentsSb.toString();
@@ -4,7 +4,7 @@
 package org.tools.doc.traceability.analyzer.unittests.java;
 
 import java.io.File;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.tools.doc.traceability.analyzer.unittests.java.model.JavaUnitTestFileData;
@@ -20,16 +20,43 @@ public class JavaUnitTestCoverageAnalyserResult extends AbtsractExecutionResultO
 
     /**
      * A map associating to each analyzed java file the list of extracted unit
-     * test data.
+     * test data (in the order the files were added).
      */
     private Map<File, JavaUnitTestFileData> fileUnitTestDataMap;
 
+    /**
+     * The number of java files that were analyzed.
+     */
+    private int analyzedFileCount;
+
+    /**
+     * The number of java files that were skipped because they could not
+     * contain any documented test.
+     */
+    private int skippedFileCount;
+
+    /**
+     * The number of java files whose analysis result was loaded from the
+     * cache.
+     */
+    private int cacheHitCount;
+
+    /**
+     * The number of java files that were analyzed because they were not in the
+     * cache (or no cache was used).
+     */
+    private int cacheMissCount;
+
     /**
      * Constructor.
      */
     public JavaUnitTestCoverageAnalyserResult() {
         super();
-        fileUnitTestDataMap = new HashMap<File, JavaUnitTestFileData>();
+        fileUnitTestDataMap = new LinkedHashMap<File, JavaUnitTestFileData>();
+        analyzedFileCount = 0;
+        skippedFileCount = 0;
+        cacheHitCount = 0;
+        cacheMissCount = 0;
     }
 
     /**
@@ -58,7 +85,85 @@ public class JavaUnitTestCoverageAnalyserResult extends AbtsractExecutionResultO
     public Map<File, JavaUnitTestFileData> getFileUnitTestDataMap() {
         return fileUnitTestDataMap;
     }
-    
+
+    /**
+     * Getter of the number of java files that were analyzed.
+     * 
+     * @return the number of analyzed java files.
+     */
+    public int getAnalyzedFileCount() {
+        return analyzedFileCount;
+    }
+
+    /**
+     * Setter of the number of java files that were analyzed.
+     * 
+     * @param pAnalyzedFileCount the number of analyzed java files.
+     */
+    public void setAnalyzedFileCount(final int pAnalyzedFileCount) {
+        analyzedFileCount = pAnalyzedFileCount;
+    }
+
+    /**
+     * Getter of the number of java files that were skipped without being
+     * analyzed, because they do not contain the tags of a documented test.
+     * 
+     * @return the number of skipped java files.
+     */
+    public int getSkippedFileCount() {
+        return skippedFileCount;
+    }
+
+    /**
+     * Setter of the number of java files that were skipped without being
+     * analyzed.
+     * 
+     * @param pSkippedFileCount the number of skipped java files.
+     */
+    public void setSkippedFileCount(final int pSkippedFileCount) {
+        skippedFileCount = pSkippedFileCount;
+    }
+
+    /**
+     * Getter of the number of java files whose analysis result was loaded
+     * from the cache.
+     * 
+     * @return the number of cache hits.
+     */
+    public int getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    /**
+     * Setter of the number of java files whose analysis result was loaded
+     * from the cache.
+     * 
+     * @param pCacheHitCount the number of cache hits.
+     */
+    public void setCacheHitCount(final int pCacheHitCount) {
+        cacheHitCount = pCacheHitCount;
+    }
+
+    /**
+     * Getter of the number of java files that were analyzed because they were
+     * not in the cache.
+     * 
+     * @return the number of cache misses.
+     */
+    public int getCacheMissCount() {
+        return cacheMissCount;
+    }
+
+    /**
+     * Setter of the number of java files that were analyzed because they were
+     * not in the cache.
+     * 
+     * @param pCacheMissCount the number of cache misses.
+     */
+    public void setCacheMissCount(final int pCacheMissCount) {
+        cacheMissCount = pCacheMissCount;
+    }
+
     /**
      * Computes the number of found tests.
      * 
@@ -82,6 +187,10 @@ public class JavaUnitTestCoverageAnalyserResult extends AbtsractExecutionResultO
         StringBuilder lSb = new StringBuilder();
         
         lSb.append("Java unit test coverage analyser result with ");
+        lSb.append(analyzedFileCount);
+        lSb.append(" analyzed file(s) and ");
+        lSb.append(skippedFileCount);
+        lSb.append(" skipped file(s)");
         
         for (Map.Entry<File, JavaUnitTestFileData> lEntry : fileUnitTestDataMap.entrySet()) {
             JavaUnitTestFileData lJavaUnitTestFileData = lEntry.getValue();
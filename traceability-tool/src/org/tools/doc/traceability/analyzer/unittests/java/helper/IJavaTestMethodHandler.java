@@ -0,0 +1,23 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.unittests.java.helper;
+
+/**
+ * Handler receiving the JUnit test methods found by a
+ * {@link JavaTestMethodScanner}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public interface IJavaTestMethodHandler {
+
+    /**
+     * Handle a JUnit test method documented by a javadoc comment.
+     * 
+     * @param pJavadocContents the raw contents of the javadoc comment (between
+     * the opening <tt>/**</tt> and the closing <tt>*&#47;</tt>).
+     * @param pMethodName the name of the test method.
+     */
+    void handleTestMethod(String pJavadocContents, String pMethodName);
+}
@@ -0,0 +1,503 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.unittests.java.helper;
+
+/**
+ * Single-pass scanner of java source code finding the JUnit test methods
+ * documented by a javadoc comment.
+ * <p>
+ * The source is read once, character by character, while keeping track of
+ * comments, string / text block / character literals and curly brace depth, so
+ * that the time spent is proportional to the source length. A test method is
+ * recognized when the following elements directly follow each other (only
+ * separated by blanks):
+ * <ol>
+ * <li>a javadoc comment,
+ * <li>the <tt>@Test</tt> annotation,
+ * <li>an optional <tt>public</tt> modifier,
+ * <li>the <tt>void</tt> return type,
+ * <li>the method name,
+ * <li>an empty parameter list,
+ * <li>anything but a semicolon (typically a <tt>throws</tt> clause) up to the
+ * opening curly brace of the method body.
+ * </ol>
+ * The bodies of the recognized test methods are skipped. Curly braces, javadoc
+ * markers and annotations located in comments or literals are ignored.
+ * </p>
+ * <p>
+ * An instance holds the state of the current scan, so it must not be shared
+ * between threads.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class JavaTestMethodScanner {
+
+    /**
+     * Value used for a position or depth that is not defined.
+     */
+    private static final int UNDEFINED = -1;
+
+    /**
+     * The name of the JUnit annotation for test methods.
+     */
+    private static final String TEST_ANNOTATION_NAME = "Test";
+
+    /**
+     * The states of the recognition of a test method declaration.
+     */
+    private enum DeclarationState {
+        /**
+         * No declaration is being recognized.
+         */
+        NONE,
+        /**
+         * A javadoc comment was found.
+         */
+        JAVADOC,
+        /**
+         * The test annotation follows the javadoc.
+         */
+        TEST_ANNOTATION,
+        /**
+         * The public modifier follows the test annotation.
+         */
+        PUBLIC_MODIFIER,
+        /**
+         * The void return type was found.
+         */
+        VOID_TYPE,
+        /**
+         * The method name follows the return type.
+         */
+        METHOD_NAME,
+        /**
+         * The parameter list is opened.
+         */
+        PARAMETER_LIST,
+        /**
+         * The parameter list is closed, the method body is expected.
+         */
+        SIGNATURE
+    }
+
+    /**
+     * The source being scanned.
+     */
+    private CharSequence source;
+
+    /**
+     * The position of the current character in the source.
+     */
+    private int position;
+
+    /**
+     * The current curly brace depth.
+     */
+    private int depth;
+
+    /**
+     * The depth of the body of the test method being skipped.
+     */
+    private int skippedBodyDepth;
+
+    /**
+     * The state of the recognition of the current test method declaration.
+     */
+    private DeclarationState declarationState;
+
+    /**
+     * The start position of the contents of the javadoc comment of the current
+     * declaration.
+     */
+    private int javadocStart;
+
+    /**
+     * The end position (exclusive) of the contents of the javadoc comment of
+     * the current declaration.
+     */
+    private int javadocEnd;
+
+    /**
+     * The name of the method of the current declaration.
+     */
+    private String methodName;
+
+    /**
+     * Constructor.
+     */
+    public JavaTestMethodScanner() {
+        source = null;
+    }
+
+    /**
+     * Scan the given java source and give each documented test method found
+     * to the handler, in the order of the source.
+     * 
+     * @param pSource the java source to scan.
+     * @param pHandler the handler receiving the test methods.
+     */
+    public void scan(final CharSequence pSource, final IJavaTestMethodHandler pHandler) {
+        source = pSource;
+        position = 0;
+        depth = 0;
+        skippedBodyDepth = UNDEFINED;
+        resetDeclaration();
+
+        int lLength = source.length();
+        while (position < lLength) {
+            char lChar = source.charAt(position);
+
+            if (Character.isWhitespace(lChar)) {
+                position++;
+            } else if ((lChar == '/') && (charAt(position + 1) == '/')) {
+                skipLineComment();
+                handleComment();
+            } else if ((lChar == '/') && (charAt(position + 1) == '*')) {
+                scanBlockComment();
+            } else if (lChar == '"') {
+                skipStringLiteral();
+                handleOtherToken();
+            } else if (lChar == '\'') {
+                skipQuotedLiteral('\'');
+                handleOtherToken();
+            } else if (Character.isJavaIdentifierPart(lChar) && !Character.isIdentifierIgnorable(lChar)) {
+                scanWord();
+            } else {
+                position++;
+                handleSymbol(lChar, pHandler);
+            }
+        }
+
+        source = null;
+    }
+
+    /**
+     * Get the character at the given position.
+     * 
+     * @param pPosition the position.
+     * @return the character, or <tt>0</tt> if the position is after the end of
+     * the source.
+     */
+    private char charAt(final int pPosition) {
+        char lChar = 0;
+
+        if (pPosition < source.length()) {
+            lChar = source.charAt(pPosition);
+        }
+
+        return lChar;
+    }
+
+    /**
+     * Get the position of the given text in the source, starting from the
+     * given position.
+     * 
+     * @param pText the text to find.
+     * @param pFromPosition the position from where to search.
+     * @return the position of the text, or {@link #UNDEFINED} if not found.
+     */
+    private int indexOf(final String pText, final int pFromPosition) {
+        int lFoundPosition = UNDEFINED;
+
+        int lLastPosition = source.length() - pText.length();
+        for (int i = pFromPosition; (i <= lLastPosition) && (lFoundPosition == UNDEFINED); i++) {
+            if (regionMatches(i, pText)) {
+                lFoundPosition = i;
+            }
+        }
+
+        return lFoundPosition;
+    }
+
+    /**
+     * Check whether the source contains the given text at the given position.
+     * 
+     * @param pPosition the position.
+     * @param pText the text.
+     * @return <tt>true</tt> if the text is at the position, <tt>false</tt>
+     * otherwise.
+     */
+    private boolean regionMatches(final int pPosition, final String pText) {
+        boolean lMatches = pPosition + pText.length() <= source.length();
+
+        for (int i = 0; lMatches && (i < pText.length()); i++) {
+            lMatches = source.charAt(pPosition + i) == pText.charAt(i);
+        }
+
+        return lMatches;
+    }
+
+    /**
+     * Skip a line comment, up to the end of the line.
+     */
+    private void skipLineComment() {
+        while ((position < source.length()) && (source.charAt(position) != '\n')) {
+            position++;
+        }
+    }
+
+    /**
+     * Scan a block comment, which can be a javadoc comment.
+     * <p>
+     * A javadoc comment starts with <tt>/**</tt> and must not be empty.
+     * </p>
+     */
+    private void scanBlockComment() {
+        int lCommentEnd = indexOf("*/", position + 2);
+
+        if (lCommentEnd == UNDEFINED) {
+            // Unterminated comment : it lasts up to the end
+            position = source.length();
+            handleComment();
+        } else {
+            int lJavadocStart = position + 3;
+            position = lCommentEnd + 2;
+
+            if ((source.charAt(lJavadocStart - 1) == '*') && (lCommentEnd > lJavadocStart)) {
+                handleJavadoc(lJavadocStart, lCommentEnd);
+            } else {
+                handleComment();
+            }
+        }
+    }
+
+    /**
+     * Skip a string literal or a text block.
+     */
+    private void skipStringLiteral() {
+        if (regionMatches(position, "\"\"\"")) {
+            // Text block : skip up to the closing delimiter
+            position += 3;
+            boolean lClosed = false;
+            while (!lClosed && (position < source.length())) {
+                char lChar = source.charAt(position);
+                if (lChar == '\\') {
+                    position += 2;
+                } else if (regionMatches(position, "\"\"\"")) {
+                    position += 3;
+                    lClosed = true;
+                } else {
+                    position++;
+                }
+            }
+        } else {
+            skipQuotedLiteral('"');
+        }
+    }
+
+    /**
+     * Skip a literal delimited by the given quote character (a string literal
+     * or a character literal).
+     * <p>
+     * The literal ends at the closing quote, or at the end of the line if it
+     * is not terminated.
+     * </p>
+     * 
+     * @param pQuote the quote character.
+     */
+    private void skipQuotedLiteral(final char pQuote) {
+        position++;
+
+        boolean lClosed = false;
+        while (!lClosed && (position < source.length())) {
+            char lChar = source.charAt(position);
+            if (lChar == '\\') {
+                position += 2;
+            } else {
+                position++;
+                lClosed = (lChar == pQuote) || (lChar == '\n');
+            }
+        }
+    }
+
+    /**
+     * Scan a word (identifier, keyword or number literal).
+     */
+    private void scanWord() {
+        int lWordStart = position;
+
+        while ((position < source.length()) && Character.isJavaIdentifierPart(source.charAt(position))) {
+            position++;
+        }
+
+        if (skippedBodyDepth == UNDEFINED) {
+            handleWord(lWordStart, position);
+        }
+    }
+
+    /**
+     * Handle a word for the test method declaration recognition.
+     * 
+     * @param pWordStart the start position of the word.
+     * @param pWordEnd the end position (exclusive) of the word.
+     */
+    private void handleWord(final int pWordStart, final int pWordEnd) {
+        switch (declarationState) {
+        case TEST_ANNOTATION:
+            if (isWord(pWordStart, pWordEnd, "public")) {
+                declarationState = DeclarationState.PUBLIC_MODIFIER;
+            } else if (isWord(pWordStart, pWordEnd, "void")) {
+                declarationState = DeclarationState.VOID_TYPE;
+            } else {
+                resetDeclaration();
+            }
+            break;
+        case PUBLIC_MODIFIER:
+            if (isWord(pWordStart, pWordEnd, "void")) {
+                declarationState = DeclarationState.VOID_TYPE;
+            } else {
+                resetDeclaration();
+            }
+            break;
+        case VOID_TYPE:
+            if (isMethodName(pWordStart, pWordEnd)) {
+                methodName = source.subSequence(pWordStart, pWordEnd).toString();
+                declarationState = DeclarationState.METHOD_NAME;
+            } else {
+                resetDeclaration();
+            }
+            break;
+        case SIGNATURE:
+            // Typically a throws clause
+            break;
+        default:
+            resetDeclaration();
+            break;
+        }
+    }
+
+    /**
+     * Check whether the word at the given position is the given one.
+     * 
+     * @param pWordStart the start position of the word.
+     * @param pWordEnd the end position (exclusive) of the word.
+     * @param pExpectedWord the expected word.
+     * @return <tt>true</tt> if the word is the expected one, <tt>false</tt>
+     * otherwise.
+     */
+    private boolean isWord(final int pWordStart, final int pWordEnd, final String pExpectedWord) {
+        return (pWordEnd - pWordStart == pExpectedWord.length()) && regionMatches(pWordStart, pExpectedWord);
+    }
+
+    /**
+     * Check whether the word at the given position is a valid test method name
+     * (an ASCII letter or underscore followed by ASCII letters, digits or
+     * underscores).
+     * 
+     * @param pWordStart the start position of the word.
+     * @param pWordEnd the end position (exclusive) of the word.
+     * @return <tt>true</tt> if the word is a valid method name, <tt>false</tt>
+     * otherwise.
+     */
+    private boolean isMethodName(final int pWordStart, final int pWordEnd) {
+        boolean lValid = true;
+
+        for (int i = pWordStart; lValid && (i < pWordEnd); i++) {
+            char lChar = source.charAt(i);
+            lValid = ((lChar >= 'A') && (lChar <= 'Z')) || ((lChar >= 'a') && (lChar <= 'z')) || (lChar == '_')
+                    || ((i > pWordStart) && (lChar >= '0') && (lChar <= '9'));
+        }
+
+        return lValid;
+    }
+
+    /**
+     * Handle a symbol (any character that is not part of a word, a comment or
+     * a literal).
+     * 
+     * @param pSymbol the symbol.
+     * @param pHandler the handler receiving the test methods.
+     */
+    private void handleSymbol(final char pSymbol, final IJavaTestMethodHandler pHandler) {
+        if (pSymbol == '{') {
+            depth++;
+            if ((skippedBodyDepth == UNDEFINED) && (declarationState == DeclarationState.SIGNATURE)) {
+                // The declaration is complete : skip the method body
+                pHandler.handleTestMethod(source.subSequence(javadocStart, javadocEnd).toString(), methodName);
+                skippedBodyDepth = depth;
+                resetDeclaration();
+            } else {
+                resetDeclaration();
+            }
+        } else if (pSymbol == '}') {
+            if ((skippedBodyDepth != UNDEFINED) && (depth == skippedBodyDepth)) {
+                skippedBodyDepth = UNDEFINED;
+            }
+            depth--;
+            resetDeclaration();
+        } else if (skippedBodyDepth == UNDEFINED) {
+            handleDeclarationSymbol(pSymbol);
+        }
+    }
+
+    /**
+     * Handle a symbol other than a curly brace for the test method declaration
+     * recognition.
+     * 
+     * @param pSymbol the symbol.
+     */
+    private void handleDeclarationSymbol(final char pSymbol) {
+        if ((declarationState == DeclarationState.JAVADOC) && (pSymbol == '@')
+                && regionMatches(position, TEST_ANNOTATION_NAME)
+                && !Character.isJavaIdentifierPart(charAt(position + TEST_ANNOTATION_NAME.length()))) {
+            position += TEST_ANNOTATION_NAME.length();
+            declarationState = DeclarationState.TEST_ANNOTATION;
+        } else if ((declarationState == DeclarationState.METHOD_NAME) && (pSymbol == '(')) {
+            declarationState = DeclarationState.PARAMETER_LIST;
+        } else if ((declarationState == DeclarationState.PARAMETER_LIST) && (pSymbol == ')')) {
+            declarationState = DeclarationState.SIGNATURE;
+        } else if ((declarationState != DeclarationState.SIGNATURE) || (pSymbol == ';')) {
+            resetDeclaration();
+        }
+    }
+
+    /**
+     * Handle a javadoc comment.
+     * 
+     * @param pContentsStart the start position of the javadoc contents.
+     * @param pContentsEnd the end position (exclusive) of the javadoc
+     * contents.
+     */
+    private void handleJavadoc(final int pContentsStart, final int pContentsEnd) {
+        if (skippedBodyDepth == UNDEFINED) {
+            javadocStart = pContentsStart;
+            javadocEnd = pContentsEnd;
+            declarationState = DeclarationState.JAVADOC;
+        }
+    }
+
+    /**
+     * Handle a comment that is not a javadoc comment.
+     * <p>
+     * Comments are only allowed between the parameter list and the method
+     * body of a test method declaration.
+     * </p>
+     */
+    private void handleComment() {
+        if (declarationState != DeclarationState.SIGNATURE) {
+            resetDeclaration();
+        }
+    }
+
+    /**
+     * Handle a literal.
+     */
+    private void handleOtherToken() {
+        if ((skippedBodyDepth == UNDEFINED) && (declarationState != DeclarationState.SIGNATURE)) {
+            resetDeclaration();
+        }
+    }
+
+    /**
+     * Forget the test method declaration being recognized.
+     */
+    private void resetDeclaration() {
+        declarationState = DeclarationState.NONE;
+        javadocStart = UNDEFINED;
+        javadocEnd = UNDEFINED;
+        methodName = null;
+    }
+}
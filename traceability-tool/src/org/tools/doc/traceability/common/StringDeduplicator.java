@@ -0,0 +1,93 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table making equal strings share the same instance.
+ * <p>
+ * The same texts occur many times in the analyzed files (step lines repeated
+ * in each scenario, Background steps added to each test, descriptions rendered
+ * from the same steps...). Passing each of them through
+ * {@link #deduplicate(String)} keeps a single instance per distinct text, so
+ * that the duplicates can be garbage collected.
+ * </p>
+ * <p>
+ * Unlike {@link String#intern()}, the table is owned by its user : the
+ * instances it holds are released as soon as the table is not referenced any
+ * more (typically at the end of an analysis). It can be used by several
+ * threads at the same time.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class StringDeduplicator {
+
+    /**
+     * The canonical instance of each distinct string.
+     */
+    private final ConcurrentMap<String, String> canonicalStrings;
+
+    /**
+     * The number of strings that were replaced by an existing equal instance.
+     */
+    private final AtomicLong deduplicatedStringCount;
+
+    /**
+     * Constructor.
+     */
+    public StringDeduplicator() {
+        canonicalStrings = new ConcurrentHashMap<String, String>();
+        deduplicatedStringCount = new AtomicLong();
+    }
+
+    /**
+     * Get the canonical instance of the given string.
+     * 
+     * @param pString the string (can be <tt>null</tt>).
+     * @return the instance of the table equal to the given string (the given
+     * string itself if it is the first one with this contents), or
+     * <tt>null</tt> if the given string is <tt>null</tt>.
+     */
+    public String deduplicate(final String pString) {
+        String lCanonicalString = pString;
+
+        if (pString != null) {
+            // Most strings are already known : look them up without locking
+            String lExistingString = canonicalStrings.get(pString);
+            if (lExistingString == null) {
+                lExistingString = canonicalStrings.putIfAbsent(pString, pString);
+            }
+            if ((lExistingString != null) && (lExistingString != pString)) {
+                lCanonicalString = lExistingString;
+                deduplicatedStringCount.incrementAndGet();
+            }
+        }
+
+        return lCanonicalString;
+    }
+
+    /**
+     * Get the number of distinct strings held by the table.
+     * 
+     * @return the number of distinct strings.
+     */
+    public int getDistinctStringCount() {
+        return canonicalStrings.size();
+    }
+
+    /**
+     * Get the number of strings that were replaced by an existing equal
+     * instance.
+     * 
+     * @return the number of deduplicated strings.
+     */
+    public long getDeduplicatedStringCount() {
+        return deduplicatedStringCount.get();
+    }
+}
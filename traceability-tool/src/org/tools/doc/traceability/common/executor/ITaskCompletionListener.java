@@ -0,0 +1,28 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.executor;
+
+/**
+ * Listener notified each time a task run by a {@link ParallelTaskRunner} is
+ * completed.
+ * <p>
+ * The notifications are always done in the thread that called
+ * {@link ParallelTaskRunner#runAll(java.util.List, ITaskCompletionListener)},
+ * so that the listener can safely update the executor progress.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public interface ITaskCompletionListener {
+
+    /**
+     * Called when a task is completed successfully.
+     * 
+     * @param pTaskIndex the index of the completed task in the task list.
+     * @param pCompletedTaskCount the number of tasks completed so far
+     * (including this one).
+     */
+    void taskCompleted(int pTaskIndex, int pCompletedTaskCount);
+}
@@ -0,0 +1,215 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.executor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.tools.doc.traceability.common.exceptions.ExecutorExecutionException;
+
+/**
+ * Runs a list of independent tasks over a bounded number of worker threads.
+ * <p>
+ * The results are returned in the order of the tasks, whatever the order in
+ * which the tasks complete, so that the callers can merge them
+ * deterministically. With a single worker, the tasks are simply run one after
+ * the other in the calling thread.
+ * </p>
+ * 
+ * @param <T> the type of the result of each task.
+ * @author Yann Leglise
+ *
+ */
+public class ParallelTaskRunner<T> {
+
+    /**
+     * Counter used to name the worker threads.
+     */
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+
+    /**
+     * The maximum number of tasks run at the same time.
+     */
+    private final int workerCount;
+
+    /**
+     * The prefix of the name of the worker threads.
+     */
+    private final String workerNamePrefix;
+
+    /**
+     * Constructor.
+     * 
+     * @param pWorkerCount the maximum number of tasks run at the same time (if
+     * lower than 1, a single worker is used).
+     * @param pWorkerNamePrefix the prefix of the name of the worker threads.
+     */
+    public ParallelTaskRunner(final int pWorkerCount, final String pWorkerNamePrefix) {
+        workerCount = Math.max(1, pWorkerCount);
+        workerNamePrefix = pWorkerNamePrefix;
+    }
+
+    /**
+     * Get the default number of workers, which is the number of available
+     * processors.
+     * 
+     * @return the default number of workers.
+     */
+    public static int getDefaultWorkerCount() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Run all the given tasks and return their results.
+     * <p>
+     * If a task fails, the tasks not started yet are cancelled and an
+     * exception is thrown.
+     * </p>
+     * 
+     * @param pTasks the tasks to run.
+     * @param pListener the listener notified when each task is completed (can
+     * be <tt>null</tt>).
+     * @return the results of the tasks, in the order of the tasks.
+     * @throws ExecutorExecutionException if a task failed or if the execution
+     * was interrupted.
+     */
+    public List<T> runAll(final List<? extends Callable<T>> pTasks, final ITaskCompletionListener pListener)
+            throws ExecutorExecutionException {
+        List<T> lResults;
+
+        int lWorkerCount = Math.min(workerCount, pTasks.size());
+
+        if (lWorkerCount <= 1) {
+            lResults = runSequentially(pTasks, pListener);
+        } else {
+            lResults = runInParallel(pTasks, pListener, lWorkerCount);
+        }
+
+        return lResults;
+    }
+
+    /**
+     * Run the given tasks one after the other in the calling thread.
+     * 
+     * @param pTasks the tasks to run.
+     * @param pListener the listener notified when each task is completed (can
+     * be <tt>null</tt>).
+     * @return the results of the tasks, in the order of the tasks.
+     * @throws ExecutorExecutionException if a task failed.
+     */
+    private List<T> runSequentially(final List<? extends Callable<T>> pTasks, final ITaskCompletionListener pListener)
+            throws ExecutorExecutionException {
+        List<T> lResults = new ArrayList<T>(pTasks.size());
+
+        for (int i = 0; i < pTasks.size(); i++) {
+            try {
+                lResults.add(pTasks.get(i).call());
+            } catch (ExecutorExecutionException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ExecutorExecutionException(getTaskFailureDescription(e));
+            }
+
+            if (pListener != null) {
+                pListener.taskCompleted(i, i + 1);
+            }
+        }
+
+        return lResults;
+    }
+
+    /**
+     * Run the given tasks over a pool of worker threads.
+     * 
+     * @param pTasks the tasks to run.
+     * @param pListener the listener notified when each task is completed (can
+     * be <tt>null</tt>).
+     * @param pWorkerCount the number of worker threads to use.
+     * @return the results of the tasks, in the order of the tasks.
+     * @throws ExecutorExecutionException if a task failed or if the execution
+     * was interrupted.
+     */
+    private List<T> runInParallel(final List<? extends Callable<T>> pTasks, final ITaskCompletionListener pListener,
+            final int pWorkerCount) throws ExecutorExecutionException {
+        int lTaskCount = pTasks.size();
+
+        // Pre-size the result list so that each result is stored at the index
+        // of its task
+        List<T> lResults = new ArrayList<T>(lTaskCount);
+        Map<Future<T>, Integer> lFutureTaskIndexMap = new HashMap<Future<T>, Integer>();
+        for (int i = 0; i < lTaskCount; i++) {
+            lResults.add(null);
+        }
+
+        ExecutorService lExecutorService = Executors.newFixedThreadPool(pWorkerCount, new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable pRunnable) {
+                Thread lThread = new Thread(pRunnable, workerNamePrefix + "-" + WORKER_COUNTER.incrementAndGet());
+                lThread.setDaemon(true);
+                return lThread;
+            }
+        });
+
+        try {
+            CompletionService<T> lCompletionService = new ExecutorCompletionService<T>(lExecutorService);
+
+            for (int i = 0; i < lTaskCount; i++) {
+                lFutureTaskIndexMap.put(lCompletionService.submit(pTasks.get(i)), i);
+            }
+
+            for (int lCompletedTaskCount = 1; lCompletedTaskCount <= lTaskCount; lCompletedTaskCount++) {
+                Future<T> lCompletedFuture = lCompletionService.take();
+                int lTaskIndex = lFutureTaskIndexMap.get(lCompletedFuture);
+
+                lResults.set(lTaskIndex, lCompletedFuture.get());
+
+                if (pListener != null) {
+                    pListener.taskCompleted(lTaskIndex, lCompletedTaskCount);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutorExecutionException("Interrupted while waiting for the tasks to complete");
+        } catch (ExecutionException e) {
+            Throwable lCause = e.getCause();
+            if (lCause instanceof ExecutorExecutionException) {
+                throw (ExecutorExecutionException) lCause;
+            } else {
+                throw new ExecutorExecutionException(getTaskFailureDescription(lCause));
+            }
+        } finally {
+            // Cancel the remaining tasks if any (in case of error)
+            lExecutorService.shutdownNow();
+        }
+
+        return lResults;
+    }
+
+    /**
+     * Get the description of the failure of a task.
+     * 
+     * @param pCause the cause of the failure.
+     * @return the failure description.
+     */
+    private static String getTaskFailureDescription(final Throwable pCause) {
+        String lDescription = pCause.getMessage();
+
+        if (lDescription == null) {
+            lDescription = "Exception of type " + pCause.getClass().getSimpleName();
+        }
+
+        return "Task failed : " + lDescription;
+    }
+}
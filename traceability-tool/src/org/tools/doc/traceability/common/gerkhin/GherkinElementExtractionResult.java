@@ -9,8 +9,8 @@ import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinEl
  * Class modeling the result of an attempt to extract a Gherking element from a
  * series of Gherkin lines.
  * <p>
- * It holds the extracted element, and the index of the last used index in the
- * lines.
+ * It holds the extracted element. The lines used to create it have been
+ * consumed from the {@link GherkinLineReader}.
  * </p>
  * 
  * @param <T> the actual class of the element to create.
@@ -24,11 +24,6 @@ public class GherkinElementExtractionResult<T extends AbstractGherkinElement> {
      */
     private final T extractedElement;
 
-    /**
-     * The index of the last line used to create the element.
-     */
-    private final int lastLineIndex;
-
     /**
      * Whether the element was extracted or not.
      */
@@ -41,15 +36,11 @@ public class GherkinElementExtractionResult<T extends AbstractGherkinElement> {
      * extracted, <tt>false</tt> if not.
      * @param pExtractedElement the extracted element (Can be <tt>null</tt> if
      * not created).
-     * @param pLastLineIndex the index of the last line used to create the
-     * element.
      */
-    public GherkinElementExtractionResult(final boolean pWasElementExtracted, final T pExtractedElement,
-            final int pLastLineIndex) {
+    public GherkinElementExtractionResult(final boolean pWasElementExtracted, final T pExtractedElement) {
         super();
         wasElementExtracted = pWasElementExtracted;
         extractedElement = pExtractedElement;
-        lastLineIndex = pLastLineIndex;
     }
 
     /**
@@ -61,15 +52,6 @@ public class GherkinElementExtractionResult<T extends AbstractGherkinElement> {
         return extractedElement;
     }
 
-    /**
-     * Getter of the index of the last line used to create the element.
-     * 
-     * @return the lastLineIndex
-     */
-    public int getLastLineIndex() {
-        return lastLineIndex;
-    }
-
     /**
      * Getter of the flag indicating whether the element was extracted or not.
      * 
@@ -0,0 +1,217 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.gerkhin;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.tools.doc.traceability.common.StringDeduplicator;
+import org.tools.doc.traceability.common.gerkhin.model.GherkinFeatureFileContents;
+import org.tools.doc.traceability.common.io.CacheEntryFileStore;
+import org.tools.doc.traceability.common.io.FileFingerprint;
+import org.tools.doc.traceability.common.io.ICacheEntryPayloadReader;
+import org.tools.doc.traceability.common.io.ICacheEntryPayloadWriter;
+
+/**
+ * On-disk cache of the parsed contents of Gherkin feature files.
+ * <p>
+ * It works like the other analysis caches : one entry file is stored per
+ * feature file, managed by a {@link CacheEntryFileStore}, and is used as long
+ * as the contents of the file did not change. The parsed model is stored with
+ * the compact binary form of {@link GherkinFeatureFileContentsSerializer}.
+ * </p>
+ * <p>
+ * Each entry also records the version of the entry format and the
+ * {@link GherkinParser#PARSER_VERSION version of the parser} that produced
+ * the model : an entry written with other versions is deleted when it is
+ * looked up, and the feature file is parsed again.
+ * </p>
+ * <p>
+ * The cache never makes the parsing fail : any error reading or writing an
+ * entry is logged and the file is simply parsed again. Different files can be
+ * looked up and stored concurrently.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class GherkinFeatureCache {
+
+    /**
+     * The version of the entry file format (to change each time the format
+     * changes, including the format of
+     * {@link GherkinFeatureFileContentsSerializer}).
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * The extension of the entry files.
+     */
+    private static final String ENTRY_FILE_EXTENSION = ".ftcache";
+
+    /**
+     * The writer of the entry payloads.
+     */
+    private static final FeatureContentsPayloadSerializer PAYLOAD_WRITER = new FeatureContentsPayloadSerializer(
+            null);
+
+    /**
+     * The store of the entry files, whose signature is the version of the
+     * parser.
+     */
+    private final CacheEntryFileStore<GherkinFeatureFileContents> entryFileStore;
+
+    /**
+     * The number of lookups that found a valid entry.
+     */
+    private final AtomicInteger hitCount;
+
+    /**
+     * The number of lookups that did not find a valid entry.
+     */
+    private final AtomicInteger missCount;
+
+    /**
+     * Constructor.
+     * 
+     * @param pCacheDirectory the directory where to store the entry files (it
+     * is created if needed).
+     */
+    public GherkinFeatureCache(final File pCacheDirectory) {
+        this(pCacheDirectory, GherkinParser.PARSER_VERSION);
+    }
+
+    /**
+     * Constructor with a given parser version (to simulate a change of the
+     * parser).
+     * 
+     * @param pCacheDirectory the directory where to store the entry files (it
+     * is created if needed).
+     * @param pParserVersion the version of the parser producing the cached
+     * models.
+     */
+    GherkinFeatureCache(final File pCacheDirectory, final int pParserVersion) {
+        entryFileStore = new CacheEntryFileStore<GherkinFeatureFileContents>(pCacheDirectory,
+                ENTRY_FILE_EXTENSION, FORMAT_VERSION, "parser=" + pParserVersion, PAYLOAD_WRITER);
+        hitCount = new AtomicInteger();
+        missCount = new AtomicInteger();
+    }
+
+    /**
+     * Get the cache directory.
+     * 
+     * @return the cacheDirectory
+     */
+    public File getCacheDirectory() {
+        return entryFileStore.getCacheDirectory();
+    }
+
+    /**
+     * Get the number of lookups that found a valid entry.
+     * 
+     * @return the number of cache hits.
+     */
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of lookups that did not find a valid entry.
+     * 
+     * @return the number of cache misses.
+     */
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Load the parsed contents of the given feature file from the cache.
+     * 
+     * @param pFile the feature file.
+     * @return the cached contents, or <tt>null</tt> if there is no valid entry
+     * for the file.
+     */
+    public GherkinFeatureFileContents load(final File pFile) {
+        return load(pFile, null);
+    }
+
+    /**
+     * Load the parsed contents of the given feature file from the cache,
+     * deduplicating its texts.
+     * 
+     * @param pFile the feature file.
+     * @param pStringDeduplicator the table making the equal texts share the
+     * same instance (<tt>null</tt> to not deduplicate the texts).
+     * @return the cached contents, or <tt>null</tt> if there is no valid entry
+     * for the file.
+     */
+    public GherkinFeatureFileContents load(final File pFile, final StringDeduplicator pStringDeduplicator) {
+        GherkinFeatureFileContents lContents = entryFileStore.load(pFile, new FeatureContentsPayloadSerializer(
+                pStringDeduplicator));
+
+        if (lContents == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+
+        return lContents;
+    }
+
+    /**
+     * Store the parsed contents of a feature file in the cache.
+     * 
+     * @param pFingerprint the fingerprint of the feature file, taken before
+     * the parsing (nothing is stored if it is <tt>null</tt>).
+     * @param pContents the parsed contents to store.
+     */
+    public void store(final FileFingerprint pFingerprint, final GherkinFeatureFileContents pContents) {
+        entryFileStore.store(pFingerprint, pContents);
+    }
+
+    /**
+     * Reader and writer of the entry payloads : the parsed contents in the
+     * form of {@link GherkinFeatureFileContentsSerializer}.
+     */
+    private static final class FeatureContentsPayloadSerializer implements
+            ICacheEntryPayloadReader<GherkinFeatureFileContents>, ICacheEntryPayloadWriter<GherkinFeatureFileContents> {
+
+        /**
+         * The table making the equal texts share the same instance
+         * (<tt>null</tt> to not deduplicate the texts).
+         */
+        private final StringDeduplicator stringDeduplicator;
+
+        /**
+         * Constructor.
+         * 
+         * @param pStringDeduplicator the table making the equal read texts
+         * share the same instance (<tt>null</tt> to not deduplicate the
+         * texts).
+         */
+        private FeatureContentsPayloadSerializer(final StringDeduplicator pStringDeduplicator) {
+            stringDeduplicator = pStringDeduplicator;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(final DataOutputStream pDos, final GherkinFeatureFileContents pContents)
+                throws IOException {
+            GherkinFeatureFileContentsSerializer.write(pDos, pContents);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public GherkinFeatureFileContents read(final DataInputStream pDis, final File pFile) throws IOException {
+            return GherkinFeatureFileContentsSerializer.read(pDis, pFile, stringDeduplicator);
+        }
+    }
+}
@@ -0,0 +1,849 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.gerkhin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.tools.doc.traceability.common.StringDeduplicator;
+import org.tools.doc.traceability.common.gerkhin.model.GherkinFeatureFileContents;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinBackground;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinExample;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinExamples;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinFeature;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinRule;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinScenario;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinScenarioOutline;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinScenarioTemplate;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinScenarios;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinContainerElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinContainerWithAdditionalCommentsElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinExampleOrScenarioElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinExamplesOrScenariosElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinMultipleLinedElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinScenarioOutlineOrTemplateElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinStep;
+import org.tools.doc.traceability.common.gerkhin.model.general.GherkinAdditionalDescription;
+import org.tools.doc.traceability.common.gerkhin.model.general.GherkinComment;
+import org.tools.doc.traceability.common.gerkhin.model.general.GherkinDataTable;
+import org.tools.doc.traceability.common.gerkhin.model.general.GherkinDocString;
+import org.tools.doc.traceability.common.gerkhin.model.general.GherkinStepType;
+import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepAnd;
+import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepBut;
+import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepGiven;
+import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepStar;
+import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepThen;
+import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepWhen;
+
+/**
+ * Compact binary serialization of a {@link GherkinFeatureFileContents}.
+ * <p>
+ * The serialized form starts with a table of the distinct strings of the model
+ * (step texts, descriptions, comments, data table lines...), each one being
+ * written once. The model tree follows, referring to the strings by their
+ * index in the table. All the integers (line numbers, counts, string indexes)
+ * are written on a variable number of bytes, so that small values only take
+ * one byte.
+ * </p>
+ * <p>
+ * The form does not contain any version : it is up to the caller to store the
+ * serialized model along with the versions it depends on (see
+ * {@link GherkinFeatureCache}).
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class GherkinFeatureFileContentsSerializer {
+
+    /**
+     * The string index written for a <tt>null</tt> string (the actual indexes
+     * are shifted by one).
+     */
+    private static final int NULL_STRING_INDEX = 0;
+
+    /**
+     * The kind written for an Example: or an Examples: element.
+     */
+    private static final int KIND_EXAMPLE = 0;
+
+    /**
+     * The kind written for a Scenario: element or a Scenarios: element.
+     */
+    private static final int KIND_SCENARIO = 1;
+
+    /**
+     * The kind written for a Scenario Outline: element.
+     */
+    private static final int KIND_SCENARIO_OUTLINE = 0;
+
+    /**
+     * The kind written for a Scenario Template: element.
+     */
+    private static final int KIND_SCENARIO_TEMPLATE = 1;
+
+    /**
+     * The number of bits of a variable length integer held by each byte.
+     */
+    private static final int VAR_INT_BITS_PER_BYTE = 7;
+
+    /**
+     * The mask of the bits of a variable length integer held by each byte.
+     */
+    private static final int VAR_INT_VALUE_MASK = 0x7F;
+
+    /**
+     * The bit of a variable length integer byte indicating that other bytes
+     * follow.
+     */
+    private static final int VAR_INT_CONTINUATION_BIT = 0x80;
+
+    /**
+     * The maximum shift of the last byte of a variable length integer.
+     */
+    private static final int VAR_INT_MAX_SHIFT = 28;
+
+    /**
+     * The step types, indexed by their ordinal.
+     */
+    private static final GherkinStepType[] STEP_TYPES = GherkinStepType.values();
+
+    /**
+     * The stream where the model tree is written (<tt>null</tt> when reading).
+     */
+    private final DataOutputStream treeOutputStream;
+
+    /**
+     * The index of each string already added to the table, when writing.
+     */
+    private final Map<String, Integer> stringIndexes;
+
+    /**
+     * The serialized contents being read (<tt>null</tt> when writing).
+     */
+    private final byte[] inputBytes;
+
+    /**
+     * The position of the next byte to read in {@link #inputBytes}.
+     */
+    private int inputPosition;
+
+    /**
+     * The string table, in index order.
+     */
+    private final List<String> strings;
+
+    /**
+     * Constructor for writing.
+     * 
+     * @param pTreeOutputStream the stream where to write the model tree.
+     */
+    private GherkinFeatureFileContentsSerializer(final DataOutputStream pTreeOutputStream) {
+        treeOutputStream = pTreeOutputStream;
+        stringIndexes = new HashMap<String, Integer>();
+        inputBytes = null;
+        inputPosition = 0;
+        strings = new ArrayList<String>();
+    }
+
+    /**
+     * Constructor for reading.
+     * 
+     * @param pInputBytes the serialized contents to read.
+     */
+    private GherkinFeatureFileContentsSerializer(final byte[] pInputBytes) {
+        treeOutputStream = null;
+        stringIndexes = null;
+        inputBytes = pInputBytes;
+        inputPosition = 0;
+        strings = new ArrayList<String>();
+    }
+
+    /**
+     * Write the given feature file contents.
+     * 
+     * @param pDos the stream where to write.
+     * @param pContents the feature file contents to write.
+     * @throws IOException if the contents could not be written.
+     */
+    public static void write(final DataOutputStream pDos, final GherkinFeatureFileContents pContents)
+            throws IOException {
+        // The tree is written first, to know the strings it refers to
+        ByteArrayOutputStream lTreeBytes = new ByteArrayOutputStream();
+        GherkinFeatureFileContentsSerializer lSerializer = new GherkinFeatureFileContentsSerializer(
+                new DataOutputStream(lTreeBytes));
+        lSerializer.writeContents(pContents);
+        lSerializer.treeOutputStream.flush();
+
+        ByteArrayOutputStream lContentsBytes = new ByteArrayOutputStream(lTreeBytes.size() * 2);
+        DataOutputStream lContentsDos = new DataOutputStream(lContentsBytes);
+        writeVarInt(lContentsDos, lSerializer.strings.size());
+        for (String lString : lSerializer.strings) {
+            byte[] lBytes = lString.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(lContentsDos, lBytes.length);
+            lContentsDos.write(lBytes);
+        }
+        lTreeBytes.writeTo(lContentsDos);
+        lContentsDos.flush();
+
+        // Prefixed by its length, so that it is read at once
+        pDos.writeInt(lContentsBytes.size());
+        lContentsBytes.writeTo(pDos);
+    }
+
+    /**
+     * Read a feature file contents written by
+     * {@link #write(DataOutputStream, GherkinFeatureFileContents)}.
+     * 
+     * @param pDis the stream from which to read (its
+     * {@link DataInputStream#available()} shall give the exact number of
+     * bytes left, as for in-memory streams).
+     * @param pGherkinSourceFile the Gherkin feature file the contents comes
+     * from (to be referenced by the resulting model).
+     * @return the read feature file contents.
+     * @throws IOException if the contents could not be read or is corrupted.
+     */
+    public static GherkinFeatureFileContents read(final DataInputStream pDis, final File pGherkinSourceFile)
+            throws IOException {
+        return read(pDis, pGherkinSourceFile, null);
+    }
+
+    /**
+     * Read a feature file contents written by
+     * {@link #write(DataOutputStream, GherkinFeatureFileContents)},
+     * deduplicating its texts.
+     * 
+     * @param pDis the stream from which to read (its
+     * {@link DataInputStream#available()} shall give the exact number of
+     * bytes left, as for in-memory streams).
+     * @param pGherkinSourceFile the Gherkin feature file the contents comes
+     * from (to be referenced by the resulting model).
+     * @param pStringDeduplicator the table making the equal texts share the
+     * same instance (<tt>null</tt> to not deduplicate the texts).
+     * @return the read feature file contents.
+     * @throws IOException if the contents could not be read or is corrupted.
+     */
+    public static GherkinFeatureFileContents read(final DataInputStream pDis, final File pGherkinSourceFile,
+            final StringDeduplicator pStringDeduplicator) throws IOException {
+        // The length is checked before allocating anything, so that a
+        // corrupted length cannot ask for more memory than the stream holds
+        int lLength = pDis.readInt();
+        if ((lLength < 0) || (lLength > pDis.available())) {
+            throw new IOException("Invalid serialized contents length " + lLength);
+        }
+
+        // Decoding from an array is much faster than reading the stream byte
+        // per byte
+        byte[] lBytes = new byte[lLength];
+        pDis.readFully(lBytes);
+
+        GherkinFeatureFileContentsSerializer lSerializer = new GherkinFeatureFileContentsSerializer(lBytes);
+        lSerializer.readStringTable(pStringDeduplicator);
+        return lSerializer.readContents(pGherkinSourceFile);
+    }
+
+    /**
+     * Write a non negative integer on a variable number of bytes (7 bits per
+     * byte, the highest bit indicating whether other bytes follow).
+     * 
+     * @param pDos the stream where to write.
+     * @param pValue the value to write.
+     * @throws IOException if the value could not be written.
+     */
+    private static void writeVarInt(final DataOutputStream pDos, final int pValue) throws IOException {
+        if (pValue < 0) {
+            throw new IOException("Negative value " + pValue + " cannot be serialized");
+        }
+
+        int lValue = pValue;
+        while ((lValue & ~VAR_INT_VALUE_MASK) != 0) {
+            pDos.writeByte((lValue & VAR_INT_VALUE_MASK) | VAR_INT_CONTINUATION_BIT);
+            lValue >>>= VAR_INT_BITS_PER_BYTE;
+        }
+        pDos.writeByte(lValue);
+    }
+
+    /**
+     * Write a non negative integer of the model tree.
+     * 
+     * @param pValue the value to write.
+     * @throws IOException if the value could not be written.
+     */
+    private void writeInt(final int pValue) throws IOException {
+        writeVarInt(treeOutputStream, pValue);
+    }
+
+    /**
+     * Read the next byte of the serialized contents.
+     * 
+     * @return the read byte, as an unsigned value.
+     * @throws IOException if the end of the serialized contents was reached.
+     */
+    private int readUnsignedByte() throws IOException {
+        if (inputPosition >= inputBytes.length) {
+            throw new IOException("Unexpected end of the serialized contents");
+        }
+
+        int lByte = inputBytes[inputPosition] & 0xFF;
+        inputPosition++;
+        return lByte;
+    }
+
+    /**
+     * Read a flag of the model tree.
+     * 
+     * @return the read flag.
+     * @throws IOException if the flag could not be read.
+     */
+    private boolean readBoolean() throws IOException {
+        return readUnsignedByte() != 0;
+    }
+
+    /**
+     * Read a non negative integer written by
+     * {@link #writeVarInt(DataOutputStream, int)}.
+     * 
+     * @return the read value.
+     * @throws IOException if the value could not be read or is malformed.
+     */
+    private int readInt() throws IOException {
+        int lValue = 0;
+        int lShift = 0;
+
+        int lByte = readUnsignedByte();
+        while ((lByte & VAR_INT_CONTINUATION_BIT) != 0) {
+            lValue |= (lByte & VAR_INT_VALUE_MASK) << lShift;
+            lShift += VAR_INT_BITS_PER_BYTE;
+            if (lShift > VAR_INT_MAX_SHIFT) {
+                throw new IOException("Malformed variable length integer");
+            }
+            lByte = readUnsignedByte();
+        }
+        lValue |= lByte << lShift;
+
+        if (lValue < 0) {
+            throw new IOException("Malformed variable length integer");
+        }
+
+        return lValue;
+    }
+
+    /**
+     * Read the string table.
+     * 
+     * @param pStringDeduplicator the table making the equal texts share the
+     * same instance (<tt>null</tt> to not deduplicate the texts).
+     * @throws IOException if the string table could not be read.
+     */
+    private void readStringTable(final StringDeduplicator pStringDeduplicator) throws IOException {
+        int lStringCount = readInt();
+        for (int i = 0; i < lStringCount; i++) {
+            int lLength = readInt();
+            if (lLength > inputBytes.length - inputPosition) {
+                throw new IOException("Unexpected end of the serialized contents");
+            }
+            String lString = new String(inputBytes, inputPosition, lLength, StandardCharsets.UTF_8);
+            if (pStringDeduplicator != null) {
+                lString = pStringDeduplicator.deduplicate(lString);
+            }
+            strings.add(lString);
+            inputPosition += lLength;
+        }
+    }
+
+    /**
+     * Write a string of the model tree as its index in the string table (the
+     * string is added to the table if it is not there yet).
+     * 
+     * @param pString the string to write (can be <tt>null</tt>).
+     * @throws IOException if the string could not be written.
+     */
+    private void writeString(final String pString) throws IOException {
+        int lIndex = NULL_STRING_INDEX;
+
+        if (pString != null) {
+            Integer lKnownIndex = stringIndexes.get(pString);
+            if (lKnownIndex == null) {
+                strings.add(pString);
+                lKnownIndex = Integer.valueOf(strings.size());
+                stringIndexes.put(pString, lKnownIndex);
+            }
+            lIndex = lKnownIndex.intValue();
+        }
+
+        writeInt(lIndex);
+    }
+
+    /**
+     * Read a string of the model tree from its index in the string table.
+     * 
+     * @return the read string (can be <tt>null</tt>).
+     * @throws IOException if the string could not be read or its index is not
+     * valid.
+     */
+    private String readString() throws IOException {
+        String lString = null;
+
+        int lIndex = readInt();
+        if (lIndex != NULL_STRING_INDEX) {
+            if (lIndex > strings.size()) {
+                throw new IOException("Invalid string index " + lIndex);
+            }
+            lString = strings.get(lIndex - 1);
+        }
+
+        return lString;
+    }
+
+    /**
+     * Write the feature file contents.
+     * 
+     * @param pContents the feature file contents.
+     * @throws IOException if the contents could not be written.
+     */
+    private void writeContents(final GherkinFeatureFileContents pContents) throws IOException {
+        writeCommentList(pContents.getLeadingCommentLines());
+
+        GherkinFeature lFeature = pContents.getFeature();
+        treeOutputStream.writeBoolean(lFeature != null);
+        if (lFeature != null) {
+            writeContainerHeader(lFeature);
+
+            GherkinBackground lBackground = lFeature.getBackground();
+            treeOutputStream.writeBoolean(lBackground != null);
+            if (lBackground != null) {
+                writeContainerHeader(lBackground);
+                writeStepList(lBackground.getSteps());
+            }
+
+            writeInt(lFeature.getRules().size());
+            for (GherkinRule lRule : lFeature.getRules()) {
+                writeContainerHeader(lRule);
+                writeExampleOrScenarioList(lRule.getExampleOrScenarioList());
+            }
+
+            writeExampleOrScenarioList(lFeature.getExampleOrScenarioElements());
+
+            writeInt(lFeature.getScenarioOutlineOrTemplateElements().size());
+            for (AbstractGherkinScenarioOutlineOrTemplateElement lOutlineOrTemplate : lFeature
+                    .getScenarioOutlineOrTemplateElements()) {
+                writeScenarioOutlineOrTemplate(lOutlineOrTemplate);
+            }
+        }
+    }
+
+    /**
+     * Read the feature file contents.
+     * 
+     * @param pGherkinSourceFile the Gherkin feature file the contents comes
+     * from.
+     * @return the feature file contents.
+     * @throws IOException if the contents could not be read.
+     */
+    private GherkinFeatureFileContents readContents(final File pGherkinSourceFile) throws IOException {
+        GherkinFeatureFileContents lContents = new GherkinFeatureFileContents(pGherkinSourceFile);
+
+        int lLeadingCommentCount = readInt();
+        for (int i = 0; i < lLeadingCommentCount; i++) {
+            lContents.addLeadingCommentLine(readComment());
+        }
+
+        if (readBoolean()) {
+            GherkinFeature lFeature = new GherkinFeature(readInt(), readString());
+            readContainerHeaderEnd(lFeature);
+            lContents.setFeature(lFeature);
+
+            if (readBoolean()) {
+                GherkinBackground lBackground = new GherkinBackground(readInt(), readString());
+                readContainerHeaderEnd(lBackground);
+                int lStepCount = readInt();
+                for (int i = 0; i < lStepCount; i++) {
+                    lBackground.addStep(readStep());
+                }
+                lFeature.setBackground(lBackground);
+            }
+
+            int lRuleCount = readInt();
+            for (int i = 0; i < lRuleCount; i++) {
+                GherkinRule lRule = new GherkinRule(readInt(), readString());
+                readContainerHeaderEnd(lRule);
+                int lExampleOrScenarioCount = readInt();
+                for (int j = 0; j < lExampleOrScenarioCount; j++) {
+                    AbstractGherkinExampleOrScenarioElement lExampleOrScenario = readExampleOrScenario();
+                    if (lExampleOrScenario instanceof GherkinExample) {
+                        lRule.addExample((GherkinExample) lExampleOrScenario);
+                    } else {
+                        lRule.addScenario((GherkinScenario) lExampleOrScenario);
+                    }
+                }
+                lFeature.addRule(lRule);
+            }
+
+            int lExampleOrScenarioCount = readInt();
+            for (int i = 0; i < lExampleOrScenarioCount; i++) {
+                AbstractGherkinExampleOrScenarioElement lExampleOrScenario = readExampleOrScenario();
+                if (lExampleOrScenario instanceof GherkinExample) {
+                    lFeature.addExample((GherkinExample) lExampleOrScenario);
+                } else {
+                    lFeature.addScenario((GherkinScenario) lExampleOrScenario);
+                }
+            }
+
+            int lOutlineOrTemplateCount = readInt();
+            for (int i = 0; i < lOutlineOrTemplateCount; i++) {
+                readScenarioOutlineOrTemplate(lFeature);
+            }
+        }
+
+        return lContents;
+    }
+
+    /**
+     * Write the header of a container element : its line number, description,
+     * comments and potential additional descriptions.
+     * 
+     * @param pContainer the container element.
+     * @throws IOException if the header could not be written.
+     */
+    private void writeContainerHeader(final AbstractGherkinContainerElement pContainer) throws IOException {
+        writeInt(pContainer.getSourceFileLineNumber());
+        writeString(pContainer.getContainerDescription());
+        writeCommentList(pContainer.getComments());
+
+        if (pContainer instanceof AbstractGherkinContainerWithAdditionalCommentsElement) {
+            List<GherkinAdditionalDescription> lAdditionalDescriptions = ((AbstractGherkinContainerWithAdditionalCommentsElement) pContainer)
+                    .getAdditionalDescriptions();
+            writeInt(lAdditionalDescriptions.size());
+            for (GherkinAdditionalDescription lAdditionalDescription : lAdditionalDescriptions) {
+                writeInt(lAdditionalDescription.getSourceFileLineNumber());
+                writeString(lAdditionalDescription.getText());
+            }
+        }
+    }
+
+    /**
+     * Read the end of the header of a container element (the line number and
+     * description being read to create it).
+     * 
+     * @param pContainer the container element.
+     * @throws IOException if the header could not be read.
+     */
+    private void readContainerHeaderEnd(final AbstractGherkinContainerElement pContainer) throws IOException {
+        readCommentsInto(pContainer);
+
+        if (pContainer instanceof AbstractGherkinContainerWithAdditionalCommentsElement) {
+            int lAdditionalDescriptionCount = readInt();
+            for (int i = 0; i < lAdditionalDescriptionCount; i++) {
+                ((AbstractGherkinContainerWithAdditionalCommentsElement) pContainer)
+                        .addAdditionalDescription(new GherkinAdditionalDescription(readInt(), readString()));
+            }
+        }
+    }
+
+    /**
+     * Write a list of comments.
+     * 
+     * @param pComments the comments.
+     * @throws IOException if the comments could not be written.
+     */
+    private void writeCommentList(final List<GherkinComment> pComments) throws IOException {
+        writeInt(pComments.size());
+        for (GherkinComment lComment : pComments) {
+            writeInt(lComment.getSourceFileLineNumber());
+            writeString(lComment.getText());
+        }
+    }
+
+    /**
+     * Read a comment.
+     * 
+     * @return the comment.
+     * @throws IOException if the comment could not be read.
+     */
+    private GherkinComment readComment() throws IOException {
+        return new GherkinComment(readInt(), readString());
+    }
+
+    /**
+     * Read a list of comments and attach them to the given element.
+     * 
+     * @param pElement the element to which the comments are attached.
+     * @throws IOException if the comments could not be read.
+     */
+    private void readCommentsInto(final AbstractGherkinElement pElement) throws IOException {
+        int lCommentCount = readInt();
+        for (int i = 0; i < lCommentCount; i++) {
+            pElement.addComment(readComment());
+        }
+    }
+
+    /**
+     * Write a list of Example: or Scenario: elements.
+     * 
+     * @param pExampleOrScenarioList the elements.
+     * @throws IOException if the elements could not be written.
+     */
+    private void writeExampleOrScenarioList(final List<AbstractGherkinExampleOrScenarioElement> pExampleOrScenarioList)
+            throws IOException {
+        writeInt(pExampleOrScenarioList.size());
+        for (AbstractGherkinExampleOrScenarioElement lExampleOrScenario : pExampleOrScenarioList) {
+            if (lExampleOrScenario instanceof GherkinExample) {
+                writeInt(KIND_EXAMPLE);
+            } else {
+                writeInt(KIND_SCENARIO);
+            }
+            writeContainerHeader(lExampleOrScenario);
+            writeStepList(lExampleOrScenario.getSteps());
+        }
+    }
+
+    /**
+     * Read an Example: or Scenario: element.
+     * 
+     * @return the element.
+     * @throws IOException if the element could not be read.
+     */
+    private AbstractGherkinExampleOrScenarioElement readExampleOrScenario() throws IOException {
+        AbstractGherkinExampleOrScenarioElement lExampleOrScenario;
+
+        int lKind = readInt();
+        if (lKind == KIND_EXAMPLE) {
+            lExampleOrScenario = new GherkinExample(readInt(), readString());
+        } else if (lKind == KIND_SCENARIO) {
+            lExampleOrScenario = new GherkinScenario(readInt(), readString());
+        } else {
+            throw new IOException("Invalid Example/Scenario kind " + lKind);
+        }
+        readContainerHeaderEnd(lExampleOrScenario);
+
+        int lStepCount = readInt();
+        for (int i = 0; i < lStepCount; i++) {
+            lExampleOrScenario.addStep(readStep());
+        }
+
+        return lExampleOrScenario;
+    }
+
+    /**
+     * Write a Scenario Outline: or Scenario Template: element.
+     * 
+     * @param pOutlineOrTemplate the element.
+     * @throws IOException if the element could not be written.
+     */
+    private void writeScenarioOutlineOrTemplate(
+            final AbstractGherkinScenarioOutlineOrTemplateElement pOutlineOrTemplate) throws IOException {
+        if (pOutlineOrTemplate instanceof GherkinScenarioOutline) {
+            writeInt(KIND_SCENARIO_OUTLINE);
+        } else {
+            writeInt(KIND_SCENARIO_TEMPLATE);
+        }
+        writeContainerHeader(pOutlineOrTemplate);
+        writeStepList(pOutlineOrTemplate.getSteps());
+
+        AbstractGherkinExamplesOrScenariosElement lExamplesOrScenarios = pOutlineOrTemplate
+                .getExamplesOrScenariosElement();
+        treeOutputStream.writeBoolean(lExamplesOrScenarios != null);
+        if (lExamplesOrScenarios != null) {
+            if (lExamplesOrScenarios instanceof GherkinExamples) {
+                writeInt(KIND_EXAMPLE);
+            } else {
+                writeInt(KIND_SCENARIO);
+            }
+            writeContainerHeader(lExamplesOrScenarios);
+            writeOptionalDataTable(lExamplesOrScenarios.getDataTable());
+        }
+    }
+
+    /**
+     * Read a Scenario Outline: or Scenario Template: element and add it to the
+     * given feature.
+     * 
+     * @param pFeature the feature.
+     * @throws IOException if the element could not be read.
+     */
+    private void readScenarioOutlineOrTemplate(final GherkinFeature pFeature) throws IOException {
+        AbstractGherkinScenarioOutlineOrTemplateElement lOutlineOrTemplate;
+
+        int lKind = readInt();
+        if (lKind == KIND_SCENARIO_OUTLINE) {
+            GherkinScenarioOutline lOutline = new GherkinScenarioOutline(readInt(), readString());
+            pFeature.addScenarioOutline(lOutline);
+            lOutlineOrTemplate = lOutline;
+        } else if (lKind == KIND_SCENARIO_TEMPLATE) {
+            GherkinScenarioTemplate lTemplate = new GherkinScenarioTemplate(readInt(), readString());
+            pFeature.addScenarioTemplate(lTemplate);
+            lOutlineOrTemplate = lTemplate;
+        } else {
+            throw new IOException("Invalid Scenario Outline/Scenario Template kind " + lKind);
+        }
+        readContainerHeaderEnd(lOutlineOrTemplate);
+
+        int lStepCount = readInt();
+        for (int i = 0; i < lStepCount; i++) {
+            lOutlineOrTemplate.addStep(readStep());
+        }
+
+        if (readBoolean()) {
+            int lExamplesKind = readInt();
+            if (lExamplesKind == KIND_EXAMPLE) {
+                GherkinExamples lExamples = new GherkinExamples(readInt(), readString());
+                readContainerHeaderEnd(lExamples);
+                lExamples.setDataTable(readOptionalDataTable());
+                lOutlineOrTemplate.setExamplesElement(lExamples);
+            } else if (lExamplesKind == KIND_SCENARIO) {
+                GherkinScenarios lScenarios = new GherkinScenarios(readInt(), readString());
+                readContainerHeaderEnd(lScenarios);
+                lScenarios.setDataTable(readOptionalDataTable());
+                lOutlineOrTemplate.setScenariosElement(lScenarios);
+            } else {
+                throw new IOException("Invalid Examples/Scenarios kind " + lExamplesKind);
+            }
+        }
+    }
+
+    /**
+     * Write a list of steps, with their potential DocString or DataTable.
+     * 
+     * @param pSteps the steps.
+     * @throws IOException if the steps could not be written.
+     */
+    private void writeStepList(final List<AbstractGherkinStep> pSteps) throws IOException {
+        writeInt(pSteps.size());
+        for (AbstractGherkinStep lStep : pSteps) {
+            writeInt(lStep.getStepType().ordinal());
+            writeInt(lStep.getSourceFileLineNumber());
+            writeString(lStep.getStepText());
+            writeCommentList(lStep.getComments());
+
+            GherkinDocString lDocString = lStep.getAssociatedDocString();
+            treeOutputStream.writeBoolean(lDocString != null);
+            if (lDocString != null) {
+                writeString(lDocString.getActualDocStringKeyword());
+                writeMultipleLinedElement(lDocString);
+            }
+            writeOptionalDataTable(lStep.getAssociatedDataTable());
+        }
+    }
+
+    /**
+     * Read a step, with its potential DocString or DataTable.
+     * 
+     * @return the step.
+     * @throws IOException if the step could not be read.
+     */
+    private AbstractGherkinStep readStep() throws IOException {
+        AbstractGherkinStep lStep;
+
+        int lTypeOrdinal = readInt();
+        if (lTypeOrdinal >= STEP_TYPES.length) {
+            throw new IOException("Invalid step type " + lTypeOrdinal);
+        }
+
+        int lLineNumber = readInt();
+        String lStepText = readString();
+        switch (STEP_TYPES[lTypeOrdinal]) {
+            case And:
+                lStep = new GherkinStepAnd(lLineNumber, lStepText);
+                break;
+            case But:
+                lStep = new GherkinStepBut(lLineNumber, lStepText);
+                break;
+            case Given:
+                lStep = new GherkinStepGiven(lLineNumber, lStepText);
+                break;
+            case Star:
+                lStep = new GherkinStepStar(lLineNumber, lStepText);
+                break;
+            case Then:
+                lStep = new GherkinStepThen(lLineNumber, lStepText);
+                break;
+            default:
+                lStep = new GherkinStepWhen(lLineNumber, lStepText);
+                break;
+        }
+        readCommentsInto(lStep);
+
+        if (readBoolean()) {
+            String lDocStringKeyword = readString();
+            GherkinDocString lDocString = new GherkinDocString(readInt(), lDocStringKeyword);
+            readMultipleLinedElementEnd(lDocString);
+            lStep.setAssociatedDocString(lDocString);
+        }
+        lStep.setAssociatedDataTable(readOptionalDataTable());
+
+        return lStep;
+    }
+
+    /**
+     * Write a multiple lined element (DataTable or DocString) : its line
+     * number, text lines and comments.
+     * 
+     * @param pElement the element.
+     * @throws IOException if the element could not be written.
+     */
+    private void writeMultipleLinedElement(final AbstractGherkinMultipleLinedElement pElement) throws IOException {
+        writeInt(pElement.getSourceFileLineNumber());
+        writeInt(pElement.getTextLines().size());
+        for (String lTextLine : pElement.getTextLines()) {
+            writeString(lTextLine);
+        }
+        writeCommentList(pElement.getComments());
+    }
+
+    /**
+     * Write a potential DataTable : a presence flag, then the DataTable itself.
+     * 
+     * @param pDataTable the DataTable (can be <tt>null</tt>).
+     * @throws IOException if the DataTable could not be written.
+     */
+    private void writeOptionalDataTable(final GherkinDataTable pDataTable) throws IOException {
+        treeOutputStream.writeBoolean(pDataTable != null);
+        if (pDataTable != null) {
+            writeMultipleLinedElement(pDataTable);
+        }
+    }
+
+    /**
+     * Read a potential DataTable written by
+     * {@link #writeOptionalDataTable(GherkinDataTable)}.
+     * 
+     * @return the DataTable, or <tt>null</tt> if there is none.
+     * @throws IOException if the DataTable could not be read.
+     */
+    private GherkinDataTable readOptionalDataTable() throws IOException {
+        GherkinDataTable lDataTable = null;
+
+        if (readBoolean()) {
+            lDataTable = new GherkinDataTable(readInt());
+            readMultipleLinedElementEnd(lDataTable);
+        }
+
+        return lDataTable;
+    }
+
+    /**
+     * Read the text lines and comments of a multiple lined element (its line
+     * number being read to create it).
+     * 
+     * @param pElement the element.
+     * @throws IOException if the element could not be read.
+     */
+    private void readMultipleLinedElementEnd(final AbstractGherkinMultipleLinedElement pElement)
+            throws IOException {
+        int lTextLineCount = readInt();
+        for (int i = 0; i < lTextLineCount; i++) {
+            pElement.addLineText(readString());
+        }
+        readCommentsInto(pElement);
+    }
+}
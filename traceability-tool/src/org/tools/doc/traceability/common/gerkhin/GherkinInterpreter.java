@@ -5,11 +5,35 @@ package org.tools.doc.traceability.common.gerkhin;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Class that converts Gherkin raw lines in {@link GherkinLine}s.
+ * <p>
+ * Each trimmed line is classified by looking at its first character, which
+ * selects the only keywords that the line can start with (for instance
+ * <tt>Scenario</tt>, <tt>Scenarios</tt>, <tt>Scenario Outline</tt> and
+ * <tt>Scenario Template</tt> for a line starting with <tt>S</tt>). Only these
+ * keywords are then checked, without any regular expression.
+ * </p>
+ * <p>
+ * The classification is the one of the following patterns, checked on the
+ * trimmed line in this order (where <tt>\s</tt> is a space, a tabulation or a
+ * line break, and where <tt>.</tt> is any character but a line terminator) :
+ * <ul>
+ * <li>steps (And, But, Given, *, Then, When) : <tt>KEYWORD\s\s*(.*)\s*</tt>,
+ * <li>containers (Background, Feature, Example, Examples, Rule, Scenario,
+ * Scenarios, Scenario Outline, Scenario Template) :
+ * <tt>KEYWORD\s*:\s*(.*)\s*</tt>,
+ * <li>comments : <tt>#(.*)\s*</tt>,
+ * <li>data tables : <tt>(\|.*)</tt>,
+ * <li>doc strings : <tt>("""|```)\s*(.*)\s*</tt> (the contents being the raw
+ * line),
+ * <li>descriptions : any other line (the contents being the raw line).
+ * </ul>
+ * </p>
+ * <p>
+ * The interpreter holds no state, so it can be shared between threads.
+ * </p>
  * 
  * @author Yann Leglise
  *
@@ -17,514 +41,364 @@ import java.util.regex.Pattern;
 public class GherkinInterpreter {
 
     /**
-     * Pattern for one space (or tabulation).
+     * The keywords of the containers starting with the <tt>E</tt> character,
+     * in the order they are checked.
      */
-    private static final String SPACE_PATTERN = "\\s";
+    private static final String[] E_CONTAINER_KEYWORDS = { GherkinConstants.EXAMPLE_KEYWORD,
+            GherkinConstants.EXAMPLES_KEYWORD };
 
     /**
-     * Pattern for potential spaces (or tabulations).
+     * The types of the containers starting with the <tt>E</tt> character
+     * (same order as {@link #E_CONTAINER_KEYWORDS}).
      */
-    private static final String POTENTIAL_SPACES_PATTERN = SPACE_PATTERN + "*";
+    private static final GherkinLineType[] E_CONTAINER_TYPES = { GherkinLineType.Example,
+            GherkinLineType.Examples };
 
     /**
-     * Pattern matching the (potential spaces) plus the colon (:) after container
-     * keywords.
+     * The keywords of the containers starting with the <tt>S</tt> character,
+     * in the order they are checked.
      */
-    private static final String CONTAINER_COLON_PATTERN = POTENTIAL_SPACES_PATTERN
-            + GherkinConstants.CONTAINER_COLON_KEYWORD;
+    private static final String[] S_CONTAINER_KEYWORDS = { GherkinConstants.SCENARIO_KEYWORD,
+            GherkinConstants.SCENARIOS_KEYWORD, GherkinConstants.SCENARIO_OUTLINE_KEYWORD,
+            GherkinConstants.SCENARIO_TEMPLATE_KEYWORD };
 
     /**
-     * Pattern corresponding to And lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed And text.
-     * </p>
-     */
-    private static final String AND_LINE_PATTERN = GherkinConstants.AND_KEYWORD + SPACE_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
-
-    /**
-     * Pattern corresponding to Background : lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Background text.
-     * </p>
+     * The types of the containers starting with the <tt>S</tt> character (same
+     * order as {@link #S_CONTAINER_KEYWORDS}).
      */
-    private static final String BACKGROUND_LINE_PATTERN = GherkinConstants.BACKGROUND_KEYWORD + CONTAINER_COLON_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+    private static final GherkinLineType[] S_CONTAINER_TYPES = { GherkinLineType.Scenario,
+            GherkinLineType.Scenarios, GherkinLineType.ScenarioOutline, GherkinLineType.ScenarioTemplate };
 
     /**
-     * Pattern corresponding to But lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed But text.
-     * </p>
-     */
-    private static final String BUT_LINE_PATTERN = GherkinConstants.BUT_KEYWORD + SPACE_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
-
-    /**
-     * Pattern corresponding to comment lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed comment text.
-     * </p>
-     * <p>
-     * Include the leading spaces in commments.
-     * </p>
-     */
-    private static final String COMMENT_LINE_PATTERN = GherkinConstants.COMMENT_KEYWORD + "(.*)"
-            + POTENTIAL_SPACES_PATTERN;
-
-    /**
-     * Pattern corresponding to data table, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the line contents.
-     * </p>
-     */
-    private static final String DATA_TABLE_LINE_PATTERN = "(\\" + GherkinConstants.DATA_TABLE_KEYWORD + ".*)";
-
-    /**
-     * Pattern corresponding to documentation string, for a trimmed raw line.
-     * <p>
-     * No data on the line is expected but group 1 contains the text if present.
-     * </p>
-     */
-    private static final String DOC_STRING_LINE_PATTERN = "(\"\"\"|```)" + POTENTIAL_SPACES_PATTERN + "(.*)"
-            + POTENTIAL_SPACES_PATTERN;
-
-    /**
-     * Pattern corresponding to Feature : lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Feature text.
-     * </p>
+     * Constructor.
      */
-    private static final String FEATURE_LINE_PATTERN = GherkinConstants.FEATURE_KEYWORD + CONTAINER_COLON_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+    public GherkinInterpreter() {
+        // Nothing
+    }
 
     /**
-     * Pattern corresponding to Example : lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Example text.
-     * </p>
+     * Converts a set of raw lines into Gherkin lines.
+     * 
+     * @param pRawLines the raw lines.
+     * @return the equivalent Gherkin lines (without empty lines).
      */
-    private static final String EXAMPLE_LINE_PATTERN = GherkinConstants.EXAMPLE_KEYWORD + CONTAINER_COLON_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+    public List<GherkinLine> convertRawLines(final List<String> pRawLines) {
+        List<GherkinLine> lGherkinLines = new ArrayList<GherkinLine>();
 
-    /**
-     * Pattern corresponding to Examples : lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Examples text.
-     * </p>
-     */
-    private static final String EXAMPLES_LINE_PATTERN = GherkinConstants.EXAMPLES_KEYWORD + CONTAINER_COLON_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+        GherkinLine lGherkinLine;
+        int lSourceLineNumber = 0;
 
-    /**
-     * Pattern corresponding to Given lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Given text.
-     * </p>
-     */
-    private static final String GIVEN_LINE_PATTERN = GherkinConstants.GIVEN_KEYWORD + SPACE_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+        for (String lRawLine : pRawLines) {
+            lSourceLineNumber++;
+            lGherkinLine = convertRawLine(lRawLine, lSourceLineNumber);
 
-    /**
-     * Pattern corresponding to Rule : lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Rule text.
-     * </p>
-     */
-    private static final String RULE_LINE_PATTERN = GherkinConstants.RULE_KEYWORD + CONTAINER_COLON_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+            if (lGherkinLine != null) {
+                lGherkinLines.add(lGherkinLine);
+            }
+        }
 
-    /**
-     * Pattern corresponding to Scenario : lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Scenario text.
-     * </p>
-     */
-    private static final String SCENARIO_LINE_PATTERN = GherkinConstants.SCENARIO_KEYWORD + CONTAINER_COLON_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+        return lGherkinLines;
+    }
 
     /**
-     * Pattern corresponding to Scenarios : lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Scenarios text.
-     * </p>
+     * Converts a raw line into a Gherkin line.
+     * 
+     * @param pRawLine the raw line.
+     * @param pSourceLineNumber the number of the line in the source file.
+     * @return the equivalent Gherkin line, or <tt>null</tt> if the line is
+     * empty.
      */
-    private static final String SCENARIOS_LINE_PATTERN = GherkinConstants.SCENARIOS_KEYWORD + CONTAINER_COLON_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+    public GherkinLine convertRawLine(final String pRawLine, final int pSourceLineNumber) {
+        GherkinLine lGherkinLine = null;
 
-    /**
-     * Pattern corresponding to Scenario Outline : lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Scenario Outline text.
-     * </p>
-     */
-    private static final String SCENARIO_OUTLINE_LINE_PATTERN = GherkinConstants.SCENARIO_OUTLINE_KEYWORD
-            + CONTAINER_COLON_PATTERN + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+        String lTrimmedRawLine = pRawLine.trim();
 
-    /**
-     * Pattern corresponding to Scenario Template : lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Scenario Template text.
-     * </p>
-     */
-    private static final String SCENARIO_TEMPLATE_LINE_PATTERN = GherkinConstants.SCENARIO_TEMPLATE_KEYWORD
-            + CONTAINER_COLON_PATTERN + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+        // Ensure the line is not empty
+        if (lTrimmedRawLine.length() > 0) {
+            // Dispatch on the first character to only try the keywords the
+            // line can start with
+            switch (lTrimmedRawLine.charAt(0)) {
+            case 'A':
+                lGherkinLine = getStepGherkinLineFrom(lTrimmedRawLine, GherkinConstants.AND_KEYWORD,
+                        GherkinLineType.And, pSourceLineNumber);
+                break;
+            case 'B':
+                lGherkinLine = getStepGherkinLineFrom(lTrimmedRawLine, GherkinConstants.BUT_KEYWORD,
+                        GherkinLineType.But, pSourceLineNumber);
+                if (lGherkinLine == null) {
+                    lGherkinLine = getContainerGherkinLineFrom(lTrimmedRawLine,
+                            GherkinConstants.BACKGROUND_KEYWORD, GherkinLineType.Background, pSourceLineNumber);
+                }
+                break;
+            case 'E':
+                lGherkinLine = getContainerGherkinLineFrom(lTrimmedRawLine, E_CONTAINER_KEYWORDS,
+                        E_CONTAINER_TYPES, pSourceLineNumber);
+                break;
+            case 'F':
+                lGherkinLine = getContainerGherkinLineFrom(lTrimmedRawLine, GherkinConstants.FEATURE_KEYWORD,
+                        GherkinLineType.Feature, pSourceLineNumber);
+                break;
+            case 'G':
+                lGherkinLine = getStepGherkinLineFrom(lTrimmedRawLine, GherkinConstants.GIVEN_KEYWORD,
+                        GherkinLineType.Given, pSourceLineNumber);
+                break;
+            case 'R':
+                lGherkinLine = getContainerGherkinLineFrom(lTrimmedRawLine, GherkinConstants.RULE_KEYWORD,
+                        GherkinLineType.Rule, pSourceLineNumber);
+                break;
+            case 'S':
+                lGherkinLine = getContainerGherkinLineFrom(lTrimmedRawLine, S_CONTAINER_KEYWORDS,
+                        S_CONTAINER_TYPES, pSourceLineNumber);
+                break;
+            case 'T':
+                lGherkinLine = getStepGherkinLineFrom(lTrimmedRawLine, GherkinConstants.THEN_KEYWORD,
+                        GherkinLineType.Then, pSourceLineNumber);
+                break;
+            case 'W':
+                lGherkinLine = getStepGherkinLineFrom(lTrimmedRawLine, GherkinConstants.WHEN_KEYWORD,
+                        GherkinLineType.When, pSourceLineNumber);
+                break;
+            case '*':
+                lGherkinLine = getStepGherkinLineFrom(lTrimmedRawLine, GherkinConstants.STAR_KEYWORD,
+                        GherkinLineType.Star, pSourceLineNumber);
+                break;
+            case '#':
+                lGherkinLine = getCommentGherkinLineFrom(lTrimmedRawLine, pSourceLineNumber);
+                break;
+            case '|':
+                lGherkinLine = getDataTableGherkinLineFrom(lTrimmedRawLine, pSourceLineNumber);
+                break;
+            case '"':
+            case '`':
+                lGherkinLine = getDocStringGherkinLineFrom(pRawLine, lTrimmedRawLine, pSourceLineNumber);
+                break;
+            default:
+                break;
+            }
 
-    /**
-     * Pattern corresponding to * lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed star text.
-     * </p>
-     */
-    private static final String STAR_LINE_PATTERN = "\\" + GherkinConstants.STAR_KEYWORD + SPACE_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+            // Any other line is a description
+            if (lGherkinLine == null) {
+                lGherkinLine = new GherkinLine(GherkinLineType.Description, pRawLine, pSourceLineNumber);
+            }
+        }
 
-    /**
-     * Pattern corresponding to Then lines, for a trimmed raw line.
-     * <p>
-     * Group 1 contains the trimmed Then text.
-     * </p>
-     */
-    private static final String THEN_LINE_PATTERN = GherkinConstants.THEN_KEYWORD + SPACE_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
+        return lGherkinLine;
+    }
 
     /**
-     * Pattern corresponding to When lines, for a trimmed raw line.
+     * Try and see if the trimmed line is a step with the given keyword, and if
+     * it is, return the corresponding Gherkin line.
      * <p>
-     * Group 1 contains the trimmed When text.
+     * The keyword shall be followed by at least one space, the contents being
+     * what follows the spaces.
      * </p>
+     * 
+     * @param pTrimmedRawLine the trimmed input line.
+     * @param pKeyword the step keyword.
+     * @param pType the type of the step line.
+     * @param pSourceLineNumber the number of the line in the source file.
+     * @return the Gherkin line corresponding to the input line if it is such a
+     * step, <tt>null</tt> otherwise.
      */
-    private static final String WHEN_LINE_PATTERN = GherkinConstants.WHEN_KEYWORD + SPACE_PATTERN
-            + POTENTIAL_SPACES_PATTERN + "(.*)" + POTENTIAL_SPACES_PATTERN;
-
-    /**
-     * The matcher for And lines.
-     */
-    private final Pattern andLinePattern;
-
-    /**
-     * The matcher for But lines.
-     */
-    private final Pattern butLinePattern;
-
-    /**
-     * The matcher for comment lines.
-     */
-    private final Pattern commentLinePattern;
-
-    /**
-     * The matcher for Background : lines.
-     */
-    private final Pattern backgroundLinePattern;
-
-    /**
-     * The matcher for Data table lines.
-     */
-    private final Pattern dataTableLinePattern;
-
-    /**
-     * The matcher for Doc String lines.
-     */
-    private final Pattern docStringLinePattern;
-
-    /**
-     * The matcher for Feature : lines.
-     */
-    private final Pattern featureLinePattern;
-
-    /**
-     * The matcher for Example : lines.
-     */
-    private final Pattern exampleLinePattern;
+    private static GherkinLine getStepGherkinLineFrom(final String pTrimmedRawLine, final String pKeyword,
+            final GherkinLineType pType, final int pSourceLineNumber) {
+        GherkinLine lGherkinLine = null;
 
-    /**
-     * The matcher for Examples : lines.
-     */
-    private final Pattern examplesLinePattern;
+        int lKeywordLength = pKeyword.length();
+        if (pTrimmedRawLine.startsWith(pKeyword) && (pTrimmedRawLine.length() > lKeywordLength)
+                && isSpace(pTrimmedRawLine.charAt(lKeywordLength))) {
+            int lContentsStartIdx = skipSpaces(pTrimmedRawLine, lKeywordLength + 1);
 
-    /**
-     * The matcher for Given lines.
-     */
-    private final Pattern givenLinePattern;
+            if (hasNoLineTerminator(pTrimmedRawLine, lContentsStartIdx)) {
+                lGherkinLine = new GherkinLine(pType, pTrimmedRawLine.substring(lContentsStartIdx),
+                        pSourceLineNumber);
+            }
+        }
 
-    /**
-     * The matcher for Rule : lines.
-     */
-    private final Pattern ruleLinePattern;
+        return lGherkinLine;
+    }
 
     /**
-     * The matcher for Scenario : lines.
+     * Try and see if the trimmed line is one of the given containers, and if it
+     * is, return the corresponding Gherkin line.
+     * 
+     * @param pTrimmedRawLine the trimmed input line.
+     * @param pKeywords the container keywords, in the order they shall be
+     * checked.
+     * @param pTypes the types of the container lines (same order as the
+     * keywords).
+     * @param pSourceLineNumber the number of the line in the source file.
+     * @return the Gherkin line corresponding to the input line if it is one of
+     * the containers, <tt>null</tt> otherwise.
      */
-    private final Pattern scenarioLinePattern;
+    private static GherkinLine getContainerGherkinLineFrom(final String pTrimmedRawLine, final String[] pKeywords,
+            final GherkinLineType[] pTypes, final int pSourceLineNumber) {
+        GherkinLine lGherkinLine = null;
 
-    /**
-     * The matcher for Scenarios : lines.
-     */
-    private final Pattern scenariosLinePattern;
+        for (int i = 0; (i < pKeywords.length) && (lGherkinLine == null); i++) {
+            lGherkinLine = getContainerGherkinLineFrom(pTrimmedRawLine, pKeywords[i], pTypes[i], pSourceLineNumber);
+        }
 
-    /**
-     * The matcher for Scenario Outline : lines.
-     */
-    private final Pattern scenarioOutlineLinePattern;
+        return lGherkinLine;
+    }
 
     /**
-     * The matcher for Scenario Template : lines.
+     * Try and see if the trimmed line is a container with the given keyword, and
+     * if it is, return the corresponding Gherkin line.
+     * <p>
+     * The keyword shall be followed by a colon (potentially preceded by spaces),
+     * the contents being what follows the colon and the spaces after it.
+     * </p>
+     * 
+     * @param pTrimmedRawLine the trimmed input line.
+     * @param pKeyword the container keyword.
+     * @param pType the type of the container line.
+     * @param pSourceLineNumber the number of the line in the source file.
+     * @return the Gherkin line corresponding to the input line if it is such a
+     * container, <tt>null</tt> otherwise.
      */
-    private final Pattern scenarioTemplateLinePattern;
+    private static GherkinLine getContainerGherkinLineFrom(final String pTrimmedRawLine, final String pKeyword,
+            final GherkinLineType pType, final int pSourceLineNumber) {
+        GherkinLine lGherkinLine = null;
 
-    /**
-     * The matcher for * lines.
-     */
-    private final Pattern starLinePattern;
+        if (pTrimmedRawLine.startsWith(pKeyword)) {
+            int lColonIdx = skipSpaces(pTrimmedRawLine, pKeyword.length());
 
-    /**
-     * The matcher for Then lines.
-     */
-    private final Pattern thenLinePattern;
+            if (pTrimmedRawLine.startsWith(GherkinConstants.CONTAINER_COLON_KEYWORD, lColonIdx)) {
+                int lContentsStartIdx = skipSpaces(pTrimmedRawLine,
+                        lColonIdx + GherkinConstants.CONTAINER_COLON_KEYWORD.length());
 
-    /**
-     * The matcher for When lines.
-     */
-    private final Pattern whenLinePattern;
+                if (hasNoLineTerminator(pTrimmedRawLine, lContentsStartIdx)) {
+                    lGherkinLine = new GherkinLine(pType, pTrimmedRawLine.substring(lContentsStartIdx),
+                            pSourceLineNumber);
+                }
+            }
+        }
 
-    /**
-     * Constructor.
-     */
-    public GherkinInterpreter() {
-        andLinePattern = Pattern.compile(AND_LINE_PATTERN);
-        backgroundLinePattern = Pattern.compile(BACKGROUND_LINE_PATTERN);
-        butLinePattern = Pattern.compile(BUT_LINE_PATTERN);
-        commentLinePattern = Pattern.compile(COMMENT_LINE_PATTERN);
-        dataTableLinePattern = Pattern.compile(DATA_TABLE_LINE_PATTERN);
-        docStringLinePattern = Pattern.compile(DOC_STRING_LINE_PATTERN);
-        featureLinePattern = Pattern.compile(FEATURE_LINE_PATTERN);
-        exampleLinePattern = Pattern.compile(EXAMPLE_LINE_PATTERN);
-        examplesLinePattern = Pattern.compile(EXAMPLES_LINE_PATTERN);
-        givenLinePattern = Pattern.compile(GIVEN_LINE_PATTERN);
-        ruleLinePattern = Pattern.compile(RULE_LINE_PATTERN);
-        scenarioLinePattern = Pattern.compile(SCENARIO_LINE_PATTERN);
-        scenariosLinePattern = Pattern.compile(SCENARIOS_LINE_PATTERN);
-        scenarioOutlineLinePattern = Pattern.compile(SCENARIO_OUTLINE_LINE_PATTERN);
-        scenarioTemplateLinePattern = Pattern.compile(SCENARIO_TEMPLATE_LINE_PATTERN);
-        starLinePattern = Pattern.compile(STAR_LINE_PATTERN);
-        thenLinePattern = Pattern.compile(THEN_LINE_PATTERN);
-        whenLinePattern = Pattern.compile(WHEN_LINE_PATTERN);
+        return lGherkinLine;
     }
 
     /**
-     * Converts a set of raw lines into Gherkin lines.
+     * Try and see if the trimmed line (starting with the comment keyword) is a
+     * comment, and if it is, return the corresponding Gherkin line.
      * 
-     * @param pRawLines the raw lines.
-     * @return the equivalent Gherkin lines (without empty lines).
+     * @param pTrimmedRawLine the trimmed input line.
+     * @param pSourceLineNumber the number of the line in the source file.
+     * @return the Gherkin line corresponding to the input line if it is a
+     * comment, <tt>null</tt> otherwise.
      */
-    public List<GherkinLine> convertRawLines(final List<String> pRawLines) {
-        List<GherkinLine> lGherkinLines = new ArrayList<GherkinLine>();
-
-        GherkinLine lGherkinLine;
-        String lTrimmedRawLine;
-
-        int lSourceLineNumber = 0;
-
-        for (String lRawLine : pRawLines) {
-            lGherkinLine = null;
-            lSourceLineNumber++;
-            lTrimmedRawLine = lRawLine.trim();
-
-            // Ensure the line is not empty
-            if (lTrimmedRawLine.length() > 0) {
-
-                // Try and see if this line is a step
-                lGherkinLine = getStepGherkinLineFrom(lTrimmedRawLine, lSourceLineNumber);
-
-                if (lGherkinLine == null) {
-                    // If not, try containers
-                    lGherkinLine = getContainerGherkinLineFrom(lTrimmedRawLine, lSourceLineNumber);
-
-                    // If not, try other kinds
-                    if (lGherkinLine == null) {
-                        lGherkinLine = getOtherGherkinLineFrom(lRawLine, lSourceLineNumber);
-                    }
-                }
-            }
+    private static GherkinLine getCommentGherkinLineFrom(final String pTrimmedRawLine, final int pSourceLineNumber) {
+        GherkinLine lGherkinLine = null;
 
-            if (lGherkinLine != null) {
-                lGherkinLines.add(lGherkinLine);
-            }
+        // Include the leading spaces in comments
+        int lContentsStartIdx = GherkinConstants.COMMENT_KEYWORD.length();
+        if (hasNoLineTerminator(pTrimmedRawLine, lContentsStartIdx)) {
+            lGherkinLine = new GherkinLine(GherkinLineType.Comment, pTrimmedRawLine.substring(lContentsStartIdx),
+                    pSourceLineNumber);
         }
 
-        return lGherkinLines;
+        return lGherkinLine;
     }
 
     /**
-     * Try and see if the raw line corresponds to a step, and if it is, return the
-     * corresponding Gherkin line.
+     * Try and see if the trimmed line (starting with the data table keyword) is
+     * a data table line, and if it is, return the corresponding Gherkin line.
      * 
-     * @param trimmedRawLine    the trimmed input line.
+     * @param pTrimmedRawLine the trimmed input line.
      * @param pSourceLineNumber the number of the line in the source file.
-     * @return the Gherkin line corresponding to the input line if it a step,
-     *         <tt>null</tt> otherwise.
+     * @return the Gherkin line corresponding to the input line if it is a data
+     * table line, <tt>null</tt> otherwise.
      */
-    private GherkinLine getStepGherkinLineFrom(final String trimmedRawLine, final int pSourceLineNumber) {
+    private static GherkinLine getDataTableGherkinLineFrom(final String pTrimmedRawLine,
+            final int pSourceLineNumber) {
         GherkinLine lGherkinLine = null;
 
-        Matcher lAndLineMatcher;
-        String lLineContents;
-
-        lAndLineMatcher = andLinePattern.matcher(trimmedRawLine);
-        if (lAndLineMatcher.matches()) {
-            lLineContents = lAndLineMatcher.group(1);
-            lGherkinLine = new GherkinLine(GherkinLineType.And, lLineContents, pSourceLineNumber);
-        } else {
-            Matcher lButLineMatcher = butLinePattern.matcher(trimmedRawLine);
-            if (lButLineMatcher.matches()) {
-                lLineContents = lButLineMatcher.group(1);
-                lGherkinLine = new GherkinLine(GherkinLineType.But, lLineContents, pSourceLineNumber);
-            } else {
-                Matcher lGivenLineMatcher = givenLinePattern.matcher(trimmedRawLine);
-                if (lGivenLineMatcher.matches()) {
-                    lLineContents = lGivenLineMatcher.group(1);
-                    lGherkinLine = new GherkinLine(GherkinLineType.Given, lLineContents, pSourceLineNumber);
-                } else {
-                    Matcher lStarLineMatcher = starLinePattern.matcher(trimmedRawLine);
-                    if (lStarLineMatcher.matches()) {
-                        lLineContents = lStarLineMatcher.group(1);
-                        lGherkinLine = new GherkinLine(GherkinLineType.Star, lLineContents, pSourceLineNumber);
-                    } else {
-                        Matcher lThenLineMatcher = thenLinePattern.matcher(trimmedRawLine);
-                        if (lThenLineMatcher.matches()) {
-                            lLineContents = lThenLineMatcher.group(1);
-                            lGherkinLine = new GherkinLine(GherkinLineType.Then, lLineContents, pSourceLineNumber);
-                        } else {
-                            Matcher lWhenLineMatcher = whenLinePattern.matcher(trimmedRawLine);
-                            if (lWhenLineMatcher.matches()) {
-                                lLineContents = lWhenLineMatcher.group(1);
-                                lGherkinLine = new GherkinLine(GherkinLineType.When, lLineContents, pSourceLineNumber);
-                            }
-                        }
-                    }
-                }
-            }
+        if (hasNoLineTerminator(pTrimmedRawLine, 0)) {
+            lGherkinLine = new GherkinLine(GherkinLineType.DataTable, pTrimmedRawLine, pSourceLineNumber);
         }
 
         return lGherkinLine;
     }
 
     /**
-     * Try and see if the raw line corresponds to a container, and if it is, return
-     * the corresponding Gherkin line.
+     * Try and see if the trimmed line is a doc string delimiter, and if it is,
+     * return the corresponding Gherkin line.
+     * <p>
+     * The spaces following the delimiter (including line breaks) are skipped
+     * before checking that the rest of the line has no line terminator.
+     * </p>
      * 
-     * @param pTrimmedRawLine   the trimmed input line.
+     * @param pRawLine the raw input line.
+     * @param pTrimmedRawLine the trimmed input line.
      * @param pSourceLineNumber the number of the line in the source file.
-     * @return the Gherkin line corresponding to the input line if it a container,
-     *         <tt>null</tt> otherwise.
+     * @return the Gherkin line corresponding to the input line if it is a doc
+     * string delimiter, <tt>null</tt> otherwise.
      */
-    private GherkinLine getContainerGherkinLineFrom(final String pTrimmedRawLine, final int pSourceLineNumber) {
+    private static GherkinLine getDocStringGherkinLineFrom(final String pRawLine, final String pTrimmedRawLine,
+            final int pSourceLineNumber) {
         GherkinLine lGherkinLine = null;
 
-        String lLineContents;
-        Matcher lBackgroundLineMatcher;
-
-        lBackgroundLineMatcher = backgroundLinePattern.matcher(pTrimmedRawLine);
-        if (lBackgroundLineMatcher.matches()) {
-            lLineContents = lBackgroundLineMatcher.group(1);
-            lGherkinLine = new GherkinLine(GherkinLineType.Background, lLineContents, pSourceLineNumber);
-        } else {
-            Matcher lFeatureLineMatcher = featureLinePattern.matcher(pTrimmedRawLine);
-            if (lFeatureLineMatcher.matches()) {
-                lLineContents = lFeatureLineMatcher.group(1);
-                lGherkinLine = new GherkinLine(GherkinLineType.Feature, lLineContents, pSourceLineNumber);
-            } else {
-                Matcher lExampleLineMatcher = exampleLinePattern.matcher(pTrimmedRawLine);
-                if (lExampleLineMatcher.matches()) {
-                    lLineContents = lExampleLineMatcher.group(1);
-                    lGherkinLine = new GherkinLine(GherkinLineType.Example, lLineContents, pSourceLineNumber);
-                } else {
-                    Matcher lExamplesLineMatcher = examplesLinePattern.matcher(pTrimmedRawLine);
-                    if (lExamplesLineMatcher.matches()) {
-                        lLineContents = lExamplesLineMatcher.group(1);
-                        lGherkinLine = new GherkinLine(GherkinLineType.Examples, lLineContents, pSourceLineNumber);
-                    } else {
-                        Matcher lRuleLineMatcher = ruleLinePattern.matcher(pTrimmedRawLine);
-                        if (lRuleLineMatcher.matches()) {
-                            lLineContents = lRuleLineMatcher.group(1);
-                            lGherkinLine = new GherkinLine(GherkinLineType.Rule, lLineContents, pSourceLineNumber);
-                        } else {
-                            Matcher lEcenarioLineMatcher = scenarioLinePattern.matcher(pTrimmedRawLine);
-                            if (lEcenarioLineMatcher.matches()) {
-                                lLineContents = lEcenarioLineMatcher.group(1);
-                                lGherkinLine = new GherkinLine(GherkinLineType.Scenario, lLineContents,
-                                        pSourceLineNumber);
-                            } else {
-                                Matcher lScenariosLineMatcher = scenariosLinePattern.matcher(pTrimmedRawLine);
-                                if (lScenariosLineMatcher.matches()) {
-                                    lLineContents = lScenariosLineMatcher.group(1);
-                                    lGherkinLine = new GherkinLine(GherkinLineType.Scenarios, lLineContents,
-                                            pSourceLineNumber);
-                                } else {
-                                    Matcher lScenarioOutlineLineMatcher = scenarioOutlineLinePattern
-                                            .matcher(pTrimmedRawLine);
-                                    if (lScenarioOutlineLineMatcher.matches()) {
-                                        lLineContents = lScenarioOutlineLineMatcher.group(1);
-                                        lGherkinLine = new GherkinLine(GherkinLineType.ScenarioOutline, lLineContents,
-                                                pSourceLineNumber);
-                                    } else {
-                                        Matcher lScenarioTemplateLineMatcher = scenarioTemplateLinePattern
-                                                .matcher(pTrimmedRawLine);
-                                        if (lScenarioTemplateLineMatcher.matches()) {
-                                            lLineContents = lScenarioTemplateLineMatcher.group(1);
-                                            lGherkinLine = new GherkinLine(GherkinLineType.ScenarioTemplate,
-                                                    lLineContents, pSourceLineNumber);
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+        if ((pTrimmedRawLine.startsWith(GherkinConstants.DOC_STRING_KEYWORD)
+                || pTrimmedRawLine.startsWith(GherkinConstants.DOC_STRING_ALT_KEYWORD))
+                && hasNoLineTerminator(pTrimmedRawLine,
+                        skipSpaces(pTrimmedRawLine, GherkinConstants.DOC_STRING_KEYWORD.length()))) {
+            lGherkinLine = new GherkinLine(GherkinLineType.DocString, pRawLine, pSourceLineNumber);
         }
 
         return lGherkinLine;
     }
 
     /**
-     * Try and see if the raw line corresponds to something else than a step or a
-     * container, and if it is, return the corresponding Gherkin line.
+     * Get the index of the first character that is not a space, starting from
+     * the given index.
      * 
-     * @param pRawLine          the raw input line.
-     * @param pSourceLineNumber the number of the line in the source file.
-     * @return the Gherkin line corresponding to the input line if it something else
-     *         than a step or a container, <tt>null</tt> otherwise.
+     * @param pText the text.
+     * @param pStartIdx the index where to start.
+     * @return the index of the first character that is not a space (the length
+     * of the text if there is none).
      */
-    private GherkinLine getOtherGherkinLineFrom(final String pRawLine, final int pSourceLineNumber) {
-        GherkinLine lGherkinLine = null;
+    private static int skipSpaces(final String pText, final int pStartIdx) {
+        int lIdx = pStartIdx;
 
-        Matcher lCommentLineMatcher;
-        String lLineContents;
+        while ((lIdx < pText.length()) && isSpace(pText.charAt(lIdx))) {
+            lIdx++;
+        }
 
-        String lTrimmedRawLine = pRawLine.trim();
+        return lIdx;
+    }
 
-        lCommentLineMatcher = commentLinePattern.matcher(lTrimmedRawLine);
-        if (lCommentLineMatcher.matches()) {
-            lLineContents = lCommentLineMatcher.group(1);
-            lGherkinLine = new GherkinLine(GherkinLineType.Comment, lLineContents, pSourceLineNumber);
-        } else {
-            Matcher lDataTableLineMatcher = dataTableLinePattern.matcher(lTrimmedRawLine);
-            if (lDataTableLineMatcher.matches()) {
-                lLineContents = lDataTableLineMatcher.group(1);
-                lGherkinLine = new GherkinLine(GherkinLineType.DataTable, lLineContents, pSourceLineNumber);
-            } else {
-                Matcher lDocStringLineMatcher = docStringLinePattern.matcher(lTrimmedRawLine);
-                if (lDocStringLineMatcher.matches()) {
-                    lLineContents = pRawLine;
-                    lGherkinLine = new GherkinLine(GherkinLineType.DocString, lLineContents, pSourceLineNumber);
-                } else {
-                    lLineContents = pRawLine;
-                    lGherkinLine = new GherkinLine(GherkinLineType.Description, lLineContents, pSourceLineNumber);
-                }
-            }
+    /**
+     * Check whether the given character is a space, as defined by the
+     * <tt>\s</tt> regular expression class (space, tabulation, line break, form
+     * feed, vertical tabulation).
+     * 
+     * @param pChar the character.
+     * @return <tt>true</tt> if the character is a space, <tt>false</tt>
+     * otherwise.
+     */
+    private static boolean isSpace(final char pChar) {
+        return (pChar == ' ') || (pChar == '\t') || (pChar == '\n') || (pChar == '\u000B') || (pChar == '\f')
+                || (pChar == '\r');
+    }
+
+    /**
+     * Check that the given text has no line terminator from the given index, as
+     * the line contents shall be matched by the <tt>.*</tt> regular expression.
+     * 
+     * @param pText the text.
+     * @param pStartIdx the index where to start.
+     * @return <tt>true</tt> if there is no line terminator, <tt>false</tt>
+     * otherwise.
+     */
+    private static boolean hasNoLineTerminator(final String pText, final int pStartIdx) {
+        boolean lHasNoLineTerminator = true;
+
+        for (int i = pStartIdx; (i < pText.length()) && lHasNoLineTerminator; i++) {
+            char lChar = pText.charAt(i);
+            lHasNoLineTerminator = (lChar != '\n') && (lChar != '\r') && (lChar != '\u0085') && (lChar != '\u2028')
+                    && (lChar != '\u2029');
         }
 
-        return lGherkinLine;
+        return lHasNoLineTerminator;
     }
 }
@@ -0,0 +1,119 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.gerkhin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+
+/**
+ * Reader providing the Gherkin lines of a source one at a time.
+ * <p>
+ * The raw lines are read from the underlying reader and classified by the
+ * {@link GherkinInterpreter} only when they are needed, empty lines being
+ * skipped. A one-line lookahead lets the parser check the type of the next
+ * line before deciding whether it belongs to the element being built, so that
+ * neither the raw lines nor the Gherkin lines of the whole source are kept in
+ * memory.
+ * </p>
+ * <p>
+ * The underlying reader is not closed by this class.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class GherkinLineReader {
+
+    /**
+     * The reader on the raw lines.
+     */
+    private final BufferedReader rawLinesReader;
+
+    /**
+     * The interpreter converting raw lines into Gherkin lines.
+     */
+    private final GherkinInterpreter interpreter;
+
+    /**
+     * The name of the source (for error messages).
+     */
+    private final String sourceName;
+
+    /**
+     * The number of raw lines read so far.
+     */
+    private int rawLineCount;
+
+    /**
+     * The next Gherkin line, already read but not consumed yet (<tt>null</tt>
+     * if it has not been read yet or if the end of the source was reached).
+     */
+    private GherkinLine lookaheadLine;
+
+    /**
+     * Whether the end of the source was reached.
+     */
+    private boolean endReached;
+
+    /**
+     * Constructor.
+     * 
+     * @param pRawLinesReader the reader on the raw lines.
+     * @param pInterpreter the interpreter converting raw lines into Gherkin
+     * lines.
+     * @param pSourceName the name of the source (for error messages).
+     */
+    public GherkinLineReader(final BufferedReader pRawLinesReader, final GherkinInterpreter pInterpreter,
+            final String pSourceName) {
+        rawLinesReader = pRawLinesReader;
+        interpreter = pInterpreter;
+        sourceName = pSourceName;
+        rawLineCount = 0;
+        lookaheadLine = null;
+        endReached = false;
+    }
+
+    /**
+     * Get the next Gherkin line without consuming it.
+     * 
+     * @return the next Gherkin line, or <tt>null</tt> if there is no more line.
+     * @throws FileReadingException if an error occurred while reading the
+     * source.
+     */
+    public GherkinLine peekLine() throws FileReadingException {
+        while ((lookaheadLine == null) && !endReached) {
+            String lRawLine;
+            try {
+                lRawLine = rawLinesReader.readLine();
+            } catch (IOException e) {
+                throw new FileReadingException("Error while reading file " + sourceName + " : " + e.getMessage(), e);
+            }
+
+            if (lRawLine == null) {
+                endReached = true;
+            } else {
+                rawLineCount++;
+                // Empty lines give no Gherkin line : go on with the next one
+                lookaheadLine = interpreter.convertRawLine(lRawLine, rawLineCount);
+            }
+        }
+
+        return lookaheadLine;
+    }
+
+    /**
+     * Get the next Gherkin line and consume it.
+     * 
+     * @return the next Gherkin line, or <tt>null</tt> if there is no more line.
+     * @throws FileReadingException if an error occurred while reading the
+     * source.
+     */
+    public GherkinLine nextLine() throws FileReadingException {
+        GherkinLine lLine = peekLine();
+        lookaheadLine = null;
+        return lLine;
+    }
+}
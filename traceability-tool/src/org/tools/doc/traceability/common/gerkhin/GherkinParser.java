@@ -1,9 +1,16 @@
 package org.tools.doc.traceability.common.gerkhin;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.tools.doc.traceability.common.StringDeduplicator;
 import org.tools.doc.traceability.common.exceptions.FileReadingException;
 import org.tools.doc.traceability.common.exceptions.InvalidGherkinContentsException;
 import org.tools.doc.traceability.common.gerkhin.model.GherkinFeatureFileContents;
@@ -30,7 +37,7 @@ import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepGiven;
 import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepStar;
 import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepThen;
 import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepWhen;
-import org.tools.doc.traceability.common.io.FileLinesReader;
+import org.tools.doc.traceability.common.io.FileFingerprint;
 
 /**
  * Parser for Gherkin scenario files.
@@ -41,26 +48,86 @@ import org.tools.doc.traceability.common.io.FileLinesReader;
 public class GherkinParser {
 
     /**
-     * The file lines reader.
+     * Logger for the class.
      */
-    private final FileLinesReader fileLinesReader;
+    private static final Logger LOGGER = LogManager.getLogger(GherkinParser.class);
+
+    /**
+     * The version of the parsing logic, stored with the cached models (to
+     * change each time a change of the parser gives a different model for the
+     * same feature file, so that the models cached by the former version are
+     * dropped).
+     */
+    public static final int PARSER_VERSION = 1;
 
     /**
      * Instance of class converting raw lines into Gherkin lines.
      */
     private final GherkinInterpreter gerkhinInterpreter;
 
+    /**
+     * The cache of the parsed feature files (<tt>null</tt> if no cache is
+     * used).
+     */
+    private GherkinFeatureCache featureCache;
+
+    /**
+     * The table making the equal texts of the parsed models share the same
+     * instance (<tt>null</tt> if the texts are not deduplicated).
+     */
+    private StringDeduplicator stringDeduplicator;
+
     /**
      * Constructor.
      */
     public GherkinParser() {
-        fileLinesReader = new FileLinesReader();
         gerkhinInterpreter = new GherkinInterpreter();
+        featureCache = null;
+        stringDeduplicator = null;
+    }
+
+    /**
+     * Setter of the cache of the parsed feature files.
+     * <p>
+     * When set, {@link #parseFile(File)} loads the model of a feature file
+     * whose contents did not change since it was last parsed from the cache,
+     * and stores the model of the other parsed files in it. By default, no
+     * cache is used. The same cache can be shared by several parsers.
+     * </p>
+     * 
+     * @param pFeatureCache the cache, or <tt>null</tt> to not use any cache.
+     */
+    public void setFeatureCache(final GherkinFeatureCache pFeatureCache) {
+        featureCache = pFeatureCache;
+    }
+
+    /**
+     * Setter of the table making the equal texts of the parsed models share
+     * the same instance.
+     * <p>
+     * When set, the step texts and the DataTable and DocString lines of the
+     * parsed models (all the texts of the models loaded from the cache) are
+     * passed through it, so that the same step used in many scenarios and
+     * files is stored once. By default, the texts
+     * are not deduplicated. The same table can be shared by several parsers.
+     * </p>
+     * 
+     * @param pStringDeduplicator the table, or <tt>null</tt> to not
+     * deduplicate the texts.
+     */
+    public void setStringDeduplicator(final StringDeduplicator pStringDeduplicator) {
+        stringDeduplicator = pStringDeduplicator;
     }
 
     /**
      * Try and parse the given Gherkin feature file.
      * 
+     * <p>
+     * The file is read line by line while the model is built, see
+     * {@link #parse(BufferedReader, File)}. If a cache is set and holds a
+     * valid entry for the file, the model is loaded from the cache instead.
+     * </p>
+     * 
      * @param pGherkinSourceFile the Gherkin feature file to parse.
      * @return the {@link GherkinFeatureFileContents} modeling the parsed file.
      * @throws InvalidGherkinContentsException if it was not possible to parse
@@ -71,47 +138,124 @@ public class GherkinParser {
             FileReadingException {
         GherkinFeatureFileContents lGherkinFeatureFileContents = null;
 
-        List<String> lFileLines;
+        if (pGherkinSourceFile == null) {
+            throw new FileReadingException("Parameter of parseFile is null");
+        }
+
+        if (featureCache != null) {
+            lGherkinFeatureFileContents = featureCache.load(pGherkinSourceFile, stringDeduplicator);
+        }
 
-        // Try and read file contents (If it fails FileReadingException is
-        // thrown)
-        lFileLines = fileLinesReader.readFileContents(pGherkinSourceFile);
+        if (lGherkinFeatureFileContents == null) {
+            // Take the fingerprint before parsing, so that a change of the file
+            // during the parsing does not leave a stale entry
+            FileFingerprint lFingerprint = null;
+            if (featureCache != null) {
+                lFingerprint = FileFingerprint.take(pGherkinSourceFile);
+            }
+
+            lGherkinFeatureFileContents = readAndParseFile(pGherkinSourceFile);
+
+            if (featureCache != null) {
+                featureCache.store(lFingerprint, lGherkinFeatureFileContents);
+            }
+        }
+
+        return lGherkinFeatureFileContents;
+    }
+
+    /**
+     * Read and parse the given Gherkin feature file.
+     * 
+     * @param pGherkinSourceFile the Gherkin feature file to parse.
+     * @return the {@link GherkinFeatureFileContents} modeling the parsed file.
+     * @throws InvalidGherkinContentsException if it was not possible to parse
+     * the file because its contents was not valid.
+     * @throws FileReadingException if an error occurred while reading the file.
+     */
+    private GherkinFeatureFileContents readAndParseFile(final File pGherkinSourceFile)
+            throws InvalidGherkinContentsException, FileReadingException {
+        GherkinFeatureFileContents lGherkinFeatureFileContents = null;
+
+        BufferedReader lBufReader = null;
+
+        try {
+            // Use a buffered reader to read line by line
+            lBufReader = new BufferedReader(new FileReader(pGherkinSourceFile));
+
+            lGherkinFeatureFileContents = parse(lBufReader, pGherkinSourceFile);
+        } catch (FileNotFoundException e) {
+            throw new FileReadingException("File " + pGherkinSourceFile.getAbsolutePath() + " does not exist");
+        } finally {
+            if (lBufReader != null) {
+                try {
+                    lBufReader.close();
+                } catch (IOException e) {
+                    // No consequence on result, so just log
+                    LOGGER.warn("Error closing buffered reader on " + pGherkinSourceFile.getAbsolutePath() + " : "
+                            + e.getMessage());
+                }
+            }
+        }
+
+        return lGherkinFeatureFileContents;
+    }
+
+    /**
+     * Try and parse the Gherkin feature contents provided by the given reader.
+     * 
+     * <p>
+     * This is a streaming parse : each raw line is classified only when the
+     * parser needs it, with a one-line lookahead to decide whether it belongs
+     * to the element being built. Neither the raw lines nor the Gherkin lines
+     * of the whole contents are kept in memory, only the resulting model.
+     * </p>
+     * 
+     * @param pReader the reader providing the feature contents (it is not
+     * closed by this method).
+     * @param pGherkinSourceFile the Gherkin feature file the contents comes
+     * from (to be referenced by the resulting model).
+     * @return the {@link GherkinFeatureFileContents} modeling the parsed
+     * contents.
+     * @throws InvalidGherkinContentsException if it was not possible to parse
+     * the contents because it was not valid.
+     * @throws FileReadingException if an error occurred while reading the
+     * contents.
+     */
+    public GherkinFeatureFileContents parse(final BufferedReader pReader, final File pGherkinSourceFile)
+            throws InvalidGherkinContentsException, FileReadingException {
+        GherkinFeatureFileContents lGherkinFeatureFileContents = null;
 
-        // Convert the raw lines into Gherkin lines
-        List<GherkinLine> lGherkinLines = gerkhinInterpreter.convertRawLines(lFileLines);
+        GherkinLineReader lLineReader = new GherkinLineReader(pReader, gerkhinInterpreter,
+                pGherkinSourceFile.getAbsolutePath());
 
         // Try and convert the Gherkin lines into a Gherkin feature (if it
         // fails,
         // InvalidGherkinContentsException is thrown)
         GherkinFeature lFeature = null;
 
-        int lMaxLineIdx = lGherkinLines.size();
-        int lLineIdx = 0;
         GherkinLine lLine;
 
         // Try and find the line matching a Feature
         // There is potentially comments before finding it
         List<GherkinComment> lFeatureComments = new ArrayList<GherkinComment>();
 
-        while (lLineIdx < lMaxLineIdx) {
-            lLine = lGherkinLines.get(lLineIdx);
+        lLine = lLineReader.nextLine();
+        while (lLine != null) {
             if (lLine.getType() == GherkinLineType.Comment) {
-                GherkinComment lComment = new GherkinComment(lLineIdx + 1, lLine.getLineContents());
+                GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(), lLine.getLineContents());
                 lFeatureComments.add(lComment);
             } else if (lLine.getType() == GherkinLineType.Feature) {
-                lFeature = new GherkinFeature(lLineIdx + 1, lLine.getLineContents());
+                lFeature = new GherkinFeature(lLine.getSourceFileLineNumber(), lLine.getLineContents());
                 break;
             }
             // Switch to next line
-            lLineIdx++;
+            lLine = lLineReader.nextLine();
         }
 
         // Handle error of absent Feature line
         if (lFeature == null) {
             throw new InvalidGherkinContentsException("No " + GherkinConstants.FEATURE_KEYWORD + " line found");
-        } else {
-            // The Feature line has been found : switch to the next line
-            lLineIdx++;
         }
 
         lGherkinFeatureFileContents = new GherkinFeatureFileContents(pGherkinSourceFile);
@@ -124,31 +268,32 @@ public class GherkinParser {
 
         // Manage the potential additional description or comments attached to
         // the Feature line
-        while (lLineIdx < lMaxLineIdx) {
-            lLine = lGherkinLines.get(lLineIdx);
+        lLine = lLineReader.peekLine();
+        while (lLine != null) {
             if (lLine.getType() == GherkinLineType.Description) {
-                GherkinAdditionalDescription lAdditionalDescription = new GherkinAdditionalDescription(lLineIdx + 1,
-                        lLine.getLineContents());
+                GherkinAdditionalDescription lAdditionalDescription = new GherkinAdditionalDescription(
+                        lLine.getSourceFileLineNumber(), lLine.getLineContents());
                 lFeature.addAdditionalDescription(lAdditionalDescription);
-                lLineIdx++;
+                lLineReader.nextLine();
             } else if (lLine.getType() == GherkinLineType.Comment) {
-                GherkinComment lComment = new GherkinComment(lLineIdx + 1, lLine.getLineContents());
+                GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(), lLine.getLineContents());
                 lFeature.addComment(lComment);
-                lLineIdx++;
+                lLineReader.nextLine();
             } else {
                 break;
             }
+            lLine = lLineReader.peekLine();
         }
 
         // Now let's search for one of the possible elements under a Feature
-        while (lLineIdx < lMaxLineIdx) {
-            lLine = lGherkinLines.get(lLineIdx);
+        // (each extraction consumes the lines of the element)
+        while (lLine != null) {
 
             switch (lLine.getType()) {
                 case Background:
                     // Consume lines associated with the Background element
                     GherkinElementExtractionResult<GherkinBackground> lExtractedBackground = extractBackgroundFrom(
-                            lGherkinLines, lLineIdx);
+                            lLineReader);
 
                     if (lExtractedBackground.wasElementExtracted()) {
 
@@ -162,8 +307,6 @@ public class GherkinParser {
 
                         // Add the extracted Background to the feature
                         lFeature.setBackground(lExtractedBackground.getExtractedElement());
-
-                        lLineIdx = lExtractedBackground.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Could not extract "
                                 + GherkinConstants.BACKGROUND_KEYWORD + " at line "
@@ -174,14 +317,11 @@ public class GherkinParser {
                 case Scenario:
                     // Consume lines associated with the Scenario element
                     GherkinElementExtractionResult<GherkinScenario> lExtractedScenario = extractScenarioFrom(
-                            lGherkinLines, lLineIdx);
+                            lLineReader);
 
                     if (lExtractedScenario.wasElementExtracted()) {
                         // Add the extracted Scenario to the feature
                         lFeature.addScenario(lExtractedScenario.getExtractedElement());
-
-                        // Update the line index
-                        lLineIdx = lExtractedScenario.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Could not extract "
                                 + GherkinConstants.SCENARIO_KEYWORD + " at line " + lLine.getNormalizedRepresentation());
@@ -189,15 +329,11 @@ public class GherkinParser {
                     break;
                 case Rule:
                     // Consume lines associated with the Rule element
-                    GherkinElementExtractionResult<GherkinRule> lExtractedRule = extractRuleFrom(lGherkinLines,
-                            lLineIdx);
+                    GherkinElementExtractionResult<GherkinRule> lExtractedRule = extractRuleFrom(lLineReader);
 
                     if (lExtractedRule.wasElementExtracted()) {
                         // Add the extracted Rule to the feature
                         lFeature.addRule(lExtractedRule.getExtractedElement());
-
-                        // Update the line index
-                        lLineIdx = lExtractedRule.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Could not extract " + GherkinConstants.RULE_KEYWORD
                                 + " at line " + lLine.getNormalizedRepresentation());
@@ -208,14 +344,11 @@ public class GherkinParser {
                     // Consume lines associated with the Scenario Outline
                     // element
                     GherkinElementExtractionResult<GherkinScenarioOutline> lExtractedScenarioOutline = extractScenarioOutlineFrom(
-                            lGherkinLines, lLineIdx);
+                            lLineReader);
 
                     if (lExtractedScenarioOutline.wasElementExtracted()) {
                         // Add the extracted Scenario Outline to the feature
                         lFeature.addScenarioOutline(lExtractedScenarioOutline.getExtractedElement());
-
-                        // Update the line index
-                        lLineIdx = lExtractedScenarioOutline.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Could not extract "
                                 + GherkinConstants.SCENARIO_OUTLINE_KEYWORD + " at line "
@@ -227,14 +360,11 @@ public class GherkinParser {
                     // Consume lines associated with the Scenario Template
                     // element
                     GherkinElementExtractionResult<GherkinScenarioTemplate> lExtractedScenarioTemplate = extractScenarioTemplateFrom(
-                            lGherkinLines, lLineIdx);
+                            lLineReader);
 
                     if (lExtractedScenarioTemplate.wasElementExtracted()) {
                         // Add the extracted Scenario Template to the feature
                         lFeature.addScenarioTemplate(lExtractedScenarioTemplate.getExtractedElement());
-
-                        // Update the line index
-                        lLineIdx = lExtractedScenarioTemplate.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Could not extract "
                                 + GherkinConstants.SCENARIO_OUTLINE_KEYWORD + " at line "
@@ -250,33 +380,32 @@ public class GherkinParser {
             }
 
             // Go to next line
-            lLineIdx++;
+            lLine = lLineReader.peekLine();
         }
 
         return lGherkinFeatureFileContents;
     }
 
     /**
-     * Start creating a Scenario element from the given index of the Gherkin
-     * lines.
+     * Start creating a Scenario element from the next line of the Gherkin
+     * line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * a Scenario line.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * Scenario element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * Scenario line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
-    private GherkinElementExtractionResult<GherkinScenario> extractScenarioFrom(final List<GherkinLine> pGherkinLines,
-            final int pLineIdx) throws InvalidGherkinContentsException {
+    private GherkinElementExtractionResult<GherkinScenario> extractScenarioFrom(final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
-        GherkinLine lLine = pGherkinLines.get(pLineIdx);
+        GherkinLine lLine = pLineReader.nextLine();
         GherkinLineType lType;
 
         // Check the line type matches a Scenario
@@ -290,36 +419,35 @@ public class GherkinParser {
         GherkinScenario lScenario = new GherkinScenario(lLine.getSourceFileLineNumber(), lLine.getLineContents());
 
         // Extract the Scenario sub-elements from next lines
-        int lIdx = extractScenarioOrExampleFrom(pGherkinLines, pLineIdx, lScenario);
+        extractScenarioOrExampleFrom(pLineReader, lScenario);
 
         // Create the result element
         GherkinElementExtractionResult<GherkinScenario> lExtractionResult = new GherkinElementExtractionResult<GherkinScenario>(
-                true, lScenario, lIdx);
+                true, lScenario);
 
         return lExtractionResult;
     }
 
     /**
-     * Start creating an Example element from the given index of the Gherkin
-     * lines.
+     * Start creating an Example element from the next line of the Gherkin
+     * line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * an Example line.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * Example element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * Example line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
-    private GherkinElementExtractionResult<GherkinExample> extractExampleFrom(final List<GherkinLine> pGherkinLines,
-            final int pLineIdx) throws InvalidGherkinContentsException {
+    private GherkinElementExtractionResult<GherkinExample> extractExampleFrom(final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
-        GherkinLine lLine = pGherkinLines.get(pLineIdx);
+        GherkinLine lLine = pLineReader.nextLine();
         GherkinLineType lType;
 
         // Check the line type matches a Example
@@ -333,11 +461,11 @@ public class GherkinParser {
         GherkinExample lExample = new GherkinExample(lLine.getSourceFileLineNumber(), lLine.getLineContents());
 
         // Extract the Example sub-elements from next lines
-        int lIdx = extractScenarioOrExampleFrom(pGherkinLines, pLineIdx, lExample);
+        extractScenarioOrExampleFrom(pLineReader, lExample);
 
         // Create the result element
         GherkinElementExtractionResult<GherkinExample> lExtractionResult = new GherkinElementExtractionResult<GherkinExample>(
-                true, lExample, lIdx);
+                true, lExample);
 
         return lExtractionResult;
     }
@@ -346,20 +474,18 @@ public class GherkinParser {
      * Parse the lines after a Scenario or Example line, to attach to it all the
      * elements that depends on it.
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list where the
-     * Scenario/Example element was found.
+     * @param pLineReader the reader of the Gherkin lines, positioned just after
+     * the Scenario/Example line.
      * @param pScenarioOrExample the Scenario or Element to which sub-elements
      * shall be added.
-     * @return the index of the last used line.
-     * @throws InvalidGherkinContentsException if it was not possible to parse
+     *      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      */
-    private int extractScenarioOrExampleFrom(final List<GherkinLine> pGherkinLines, final int pLineIdx,
-            final AbstractGherkinExampleOrScenarioElement pScenarioOrExample) throws InvalidGherkinContentsException {
+    private void extractScenarioOrExampleFrom(final GherkinLineReader pLineReader,
+            final AbstractGherkinExampleOrScenarioElement pScenarioOrExample)
+            throws InvalidGherkinContentsException, FileReadingException {
 
         GherkinLine lLine;
-        int lIdx = pLineIdx;
         GherkinLineType lType;
 
         // Go on with next line as long as we find elements that can occur
@@ -367,17 +493,17 @@ public class GherkinParser {
         boolean lReadNextLine = true;
 
         while (lReadNextLine) {
-            lIdx++;
-            if (lIdx == pGherkinLines.size()) {
+            lLine = pLineReader.peekLine();
+            if (lLine == null) {
                 break;
             }
-            lLine = pGherkinLines.get(lIdx);
             lType = lLine.getType();
 
             switch (lType) {
                 case Description:
                     // Additional description to attach to the Example/Scenario
                     // element
+                    pLineReader.nextLine();
                     GherkinAdditionalDescription lAddDescription = new GherkinAdditionalDescription(
                             lLine.getSourceFileLineNumber(), lLine.getLineContents());
                     pScenarioOrExample.addAdditionalDescription(lAddDescription);
@@ -385,50 +511,42 @@ public class GherkinParser {
                 case Comment:
                     // Add the comment associated with the Example/Scenario
                     // element
+                    pLineReader.nextLine();
                     GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(),
                             lLine.getLineContents());
                     pScenarioOrExample.addComment(lComment);
                     break;
                 case Given:
                     GherkinElementExtractionResult<GherkinStepGiven> lExtractedGivenResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedGivenResult.wasElementExtracted()) {
                         // Add the Given step
                         GherkinStepGiven lGiven = lExtractedGivenResult.getExtractedElement();
                         pScenarioOrExample.addStep(lGiven);
-
-                        // Update the last line index
-                        lIdx = lExtractedGivenResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.GIVEN_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
                     }
                     break;
                 case And:
-                    GherkinElementExtractionResult<GherkinStepAnd> lExtractedAndResult = extractStepFrom(pGherkinLines,
-                            lIdx, lType);
+                    GherkinElementExtractionResult<GherkinStepAnd> lExtractedAndResult = extractStepFrom(
+                            pLineReader, lType);
                     if (lExtractedAndResult.wasElementExtracted()) {
                         // Add the And step
                         GherkinStepAnd lAnd = lExtractedAndResult.getExtractedElement();
                         pScenarioOrExample.addStep(lAnd);
-
-                        // Update the last line index
-                        lIdx = lExtractedAndResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.AND_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
                     }
                     break;
                 case But:
-                    GherkinElementExtractionResult<GherkinStepBut> lExtractedButResult = extractStepFrom(pGherkinLines,
-                            lIdx, lType);
+                    GherkinElementExtractionResult<GherkinStepBut> lExtractedButResult = extractStepFrom(
+                            pLineReader, lType);
                     if (lExtractedButResult.wasElementExtracted()) {
                         // Add the But step
                         GherkinStepBut lBut = lExtractedButResult.getExtractedElement();
                         pScenarioOrExample.addStep(lBut);
-
-                        // Update the last line index
-                        lIdx = lExtractedButResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.BUT_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
@@ -436,14 +554,11 @@ public class GherkinParser {
                     break;
                 case Star:
                     GherkinElementExtractionResult<GherkinStepStar> lExtractedStarResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedStarResult.wasElementExtracted()) {
                         // Add the Star step
                         GherkinStepStar lStar = lExtractedStarResult.getExtractedElement();
                         pScenarioOrExample.addStep(lStar);
-
-                        // Update the last line index
-                        lIdx = lExtractedStarResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.STAR_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
@@ -452,14 +567,11 @@ public class GherkinParser {
 
                 case Then:
                     GherkinElementExtractionResult<GherkinStepThen> lExtractedThenResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedThenResult.wasElementExtracted()) {
                         // Add the When step
                         GherkinStepThen lWhen = lExtractedThenResult.getExtractedElement();
                         pScenarioOrExample.addStep(lWhen);
-
-                        // Update the last line index
-                        lIdx = lExtractedThenResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.THEN_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
@@ -468,14 +580,11 @@ public class GherkinParser {
 
                 case When:
                     GherkinElementExtractionResult<GherkinStepWhen> lExtractedWhenResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedWhenResult.wasElementExtracted()) {
                         // Add the When step
                         GherkinStepWhen lWhen = lExtractedWhenResult.getExtractedElement();
                         pScenarioOrExample.addStep(lWhen);
-
-                        // Update the last line index
-                        lIdx = lExtractedWhenResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.WHEN_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
@@ -488,31 +597,29 @@ public class GherkinParser {
             }
 
         }
-
-        return lIdx - 1;
     }
 
     /**
-     * Start creating a Scenario Outline element from the given index of the
-     * Gherkin lines.
+     * Start creating a Scenario Outline element from the next line of the
+     * Gherkin line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * a Scenario Outline line.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * Scenario Outline element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * Scenario Outline line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
     private GherkinElementExtractionResult<GherkinScenarioOutline> extractScenarioOutlineFrom(
-            final List<GherkinLine> pGherkinLines, final int pLineIdx) throws InvalidGherkinContentsException {
+            final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
-        GherkinLine lLine = pGherkinLines.get(pLineIdx);
+        GherkinLine lLine = pLineReader.nextLine();
         GherkinLineType lType;
 
         // Check the line type matches a Scenario Outline
@@ -527,36 +634,36 @@ public class GherkinParser {
                 lLine.getLineContents());
 
         // Extract the Scenario Outline sub-elements from next lines
-        int lIdx = extractScenarioOutlineOrTemplateFrom(pGherkinLines, pLineIdx, lScenarioOutline);
+        extractScenarioOutlineOrTemplateFrom(pLineReader, lScenarioOutline);
 
         // Create the result element
         GherkinElementExtractionResult<GherkinScenarioOutline> lExtractionResult = new GherkinElementExtractionResult<GherkinScenarioOutline>(
-                true, lScenarioOutline, lIdx);
+                true, lScenarioOutline);
 
         return lExtractionResult;
     }
 
     /**
-     * Start creating a Scenario Template element from the given index of the
-     * Gherkin lines.
+     * Start creating a Scenario Template element from the next line of the
+     * Gherkin line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * a Scenario Template line.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * Scenario Template element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * Scenario Template line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
     private GherkinElementExtractionResult<GherkinScenarioTemplate> extractScenarioTemplateFrom(
-            final List<GherkinLine> pGherkinLines, final int pLineIdx) throws InvalidGherkinContentsException {
+            final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
-        GherkinLine lLine = pGherkinLines.get(pLineIdx);
+        GherkinLine lLine = pLineReader.nextLine();
         GherkinLineType lType;
 
         // Check the line type matches a Scenario Template
@@ -571,11 +678,11 @@ public class GherkinParser {
                 lLine.getLineContents());
 
         // Extract the Scenario Template sub-elements from next lines
-        int lIdx = extractScenarioOutlineOrTemplateFrom(pGherkinLines, pLineIdx, lScenarioTemplate);
+        extractScenarioOutlineOrTemplateFrom(pLineReader, lScenarioTemplate);
 
         // Create the result element
         GherkinElementExtractionResult<GherkinScenarioTemplate> lExtractionResult = new GherkinElementExtractionResult<GherkinScenarioTemplate>(
-                true, lScenarioTemplate, lIdx);
+                true, lScenarioTemplate);
 
         return lExtractionResult;
     }
@@ -584,21 +691,18 @@ public class GherkinParser {
      * Parse the lines after a Scenario Outline or Scenario Template line, to
      * attach to it all the elements that depends on it.
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list where the Scenario
-     * Outline/Scenario Template element was found.
+     * @param pLineReader the reader of the Gherkin lines, positioned just after
+     * the Scenario Outline/Scenario Template line.
      * @param pScenarioExampleOTemplate the Scenario Outline or Scenario
      * Template or Element to which sub-elements shall be added.
-     * @return the index of the last used line.
-     * @throws InvalidGherkinContentsException if it was not possible to parse
+     *      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      */
-    private int extractScenarioOutlineOrTemplateFrom(final List<GherkinLine> pGherkinLines, final int pLineIdx,
+    private void extractScenarioOutlineOrTemplateFrom(final GherkinLineReader pLineReader,
             final AbstractGherkinScenarioOutlineOrTemplateElement pScenarioExampleOTemplate)
-            throws InvalidGherkinContentsException {
+            throws InvalidGherkinContentsException, FileReadingException {
 
         GherkinLine lLine;
-        int lIdx = pLineIdx;
         GherkinLineType lType;
 
         // Go on with next line as long as we find elements that can occur
@@ -606,19 +710,18 @@ public class GherkinParser {
         boolean lReadNextLine = true;
 
         while (lReadNextLine) {
-            lIdx++;
-            if (lIdx < pGherkinLines.size()) {
-                lLine = pGherkinLines.get(lIdx);
-                lType = lLine.getType();
-            } else {
+            lLine = pLineReader.peekLine();
+            if (lLine == null) {
                 break;
             }
+            lType = lLine.getType();
 
             switch (lType) {
                 case Description:
                     // Additional description to attach to the Scenario Outline
                     // or Scenario Template
                     // element
+                    pLineReader.nextLine();
                     GherkinAdditionalDescription lAddDescription = new GherkinAdditionalDescription(
                             lLine.getSourceFileLineNumber(), lLine.getLineContents());
                     pScenarioExampleOTemplate.addAdditionalDescription(lAddDescription);
@@ -627,50 +730,42 @@ public class GherkinParser {
                     // Add the comment associated with the Scenario Outline or
                     // Scenario Template
                     // element
+                    pLineReader.nextLine();
                     GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(),
                             lLine.getLineContents());
                     pScenarioExampleOTemplate.addComment(lComment);
                     break;
                 case Given:
                     GherkinElementExtractionResult<GherkinStepGiven> lExtractedGivenResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedGivenResult.wasElementExtracted()) {
                         // Add the Given step
                         GherkinStepGiven lGiven = lExtractedGivenResult.getExtractedElement();
                         pScenarioExampleOTemplate.addStep(lGiven);
-
-                        // Update the last line index
-                        lIdx = lExtractedGivenResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.GIVEN_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
                     }
                     break;
                 case And:
-                    GherkinElementExtractionResult<GherkinStepAnd> lExtractedAndResult = extractStepFrom(pGherkinLines,
-                            lIdx, lType);
+                    GherkinElementExtractionResult<GherkinStepAnd> lExtractedAndResult = extractStepFrom(
+                            pLineReader, lType);
                     if (lExtractedAndResult.wasElementExtracted()) {
                         // Add the And step
                         GherkinStepAnd lAnd = lExtractedAndResult.getExtractedElement();
                         pScenarioExampleOTemplate.addStep(lAnd);
-
-                        // Update the last line index
-                        lIdx = lExtractedAndResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.AND_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
                     }
                     break;
                 case But:
-                    GherkinElementExtractionResult<GherkinStepBut> lExtractedButResult = extractStepFrom(pGherkinLines,
-                            lIdx, lType);
+                    GherkinElementExtractionResult<GherkinStepBut> lExtractedButResult = extractStepFrom(
+                            pLineReader, lType);
                     if (lExtractedButResult.wasElementExtracted()) {
                         // Add the But step
                         GherkinStepBut lBut = lExtractedButResult.getExtractedElement();
                         pScenarioExampleOTemplate.addStep(lBut);
-
-                        // Update the last line index
-                        lIdx = lExtractedButResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.BUT_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
@@ -678,14 +773,11 @@ public class GherkinParser {
                     break;
                 case Star:
                     GherkinElementExtractionResult<GherkinStepStar> lExtractedStarResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedStarResult.wasElementExtracted()) {
                         // Add the Star step
                         GherkinStepStar lStar = lExtractedStarResult.getExtractedElement();
                         pScenarioExampleOTemplate.addStep(lStar);
-
-                        // Update the last line index
-                        lIdx = lExtractedStarResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.STAR_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
@@ -694,14 +786,11 @@ public class GherkinParser {
 
                 case Then:
                     GherkinElementExtractionResult<GherkinStepThen> lExtractedThenResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedThenResult.wasElementExtracted()) {
                         // Add the When step
                         GherkinStepThen lWhen = lExtractedThenResult.getExtractedElement();
                         pScenarioExampleOTemplate.addStep(lWhen);
-
-                        // Update the last line index
-                        lIdx = lExtractedThenResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.THEN_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
@@ -710,14 +799,11 @@ public class GherkinParser {
 
                 case When:
                     GherkinElementExtractionResult<GherkinStepWhen> lExtractedWhenResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedWhenResult.wasElementExtracted()) {
                         // Add the When step
                         GherkinStepWhen lWhen = lExtractedWhenResult.getExtractedElement();
                         pScenarioExampleOTemplate.addStep(lWhen);
-
-                        // Update the last line index
-                        lIdx = lExtractedWhenResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.WHEN_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
@@ -726,7 +812,7 @@ public class GherkinParser {
 
                 case Examples:
                     GherkinElementExtractionResult<GherkinExamples> lExtractedExamplesResult = extractExamplesFrom(
-                            pGherkinLines, lIdx);
+                            pLineReader);
                     if (lExtractedExamplesResult.wasElementExtracted()) {
 
                         // Check there is not already an Examples or a Scenarios
@@ -744,9 +830,6 @@ public class GherkinParser {
                         // Add the Examples
                         GherkinExamples lExamples = lExtractedExamplesResult.getExtractedElement();
                         pScenarioExampleOTemplate.setExamplesElement(lExamples);
-
-                        // Update the last line index
-                        lIdx = lExtractedExamplesResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a "
                                 + GherkinConstants.EXAMPLES_KEYWORD + " from line "
@@ -757,7 +840,7 @@ public class GherkinParser {
                 case Scenarios:
 
                     GherkinElementExtractionResult<GherkinScenarios> lExtractedScenariosResult = extractScenariosFrom(
-                            pGherkinLines, lIdx);
+                            pLineReader);
                     if (lExtractedScenariosResult.wasElementExtracted()) {
 
                         // Check there is not already an Examples or a Scenarios
@@ -775,9 +858,6 @@ public class GherkinParser {
                         // Add the Scenarios
                         GherkinScenarios lScenarios = lExtractedScenariosResult.getExtractedElement();
                         pScenarioExampleOTemplate.setScenariosElement(lScenarios);
-
-                        // Update the last line index
-                        lIdx = lExtractedScenariosResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a "
                                 + GherkinConstants.SCENARIOS_KEYWORD + " from line "
@@ -790,31 +870,28 @@ public class GherkinParser {
             }
 
         }
-
-        return lIdx - 1;
     }
 
     /**
-     * Start creating an Examples element from the given index of the Gherkin
-     * lines.
+     * Start creating an Examples element from the next line of the Gherkin
+     * line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * a Examples line.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * Examples element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * Examples line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
-    private GherkinElementExtractionResult<GherkinExamples> extractExamplesFrom(final List<GherkinLine> pGherkinLines,
-            final int pLineIdx) throws InvalidGherkinContentsException {
+    private GherkinElementExtractionResult<GherkinExamples> extractExamplesFrom(final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
-        GherkinLine lLine = pGherkinLines.get(pLineIdx);
+        GherkinLine lLine = pLineReader.nextLine();
 
         GherkinLineType lType;
 
@@ -829,36 +906,35 @@ public class GherkinParser {
         GherkinExamples lExamples = new GherkinExamples(lLine.getSourceFileLineNumber(), lLine.getLineContents());
 
         // Attach any sub-element
-        int lIdx = extractExamplesOrScenariosFrom(pGherkinLines, pLineIdx, lExamples);
+        extractExamplesOrScenariosFrom(pLineReader, lExamples);
 
         // Create the result value
         GherkinElementExtractionResult<GherkinExamples> lExtractionResult = new GherkinElementExtractionResult<GherkinExamples>(
-                true, lExamples, lIdx);
+                true, lExamples);
 
         return lExtractionResult;
     }
 
     /**
-     * Start creating an Scenarios element from the given index of the Gherkin
-     * lines.
+     * Start creating an Scenarios element from the next line of the Gherkin
+     * line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * a Scenarios line.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * Scenarios element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * Scenarios line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
-    private GherkinElementExtractionResult<GherkinScenarios> extractScenariosFrom(
-            final List<GherkinLine> pGherkinLines, final int pLineIdx) throws InvalidGherkinContentsException {
+    private GherkinElementExtractionResult<GherkinScenarios> extractScenariosFrom(final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
-        GherkinLine lLine = pGherkinLines.get(pLineIdx);
+        GherkinLine lLine = pLineReader.nextLine();
 
         GherkinLineType lType;
 
@@ -873,11 +949,11 @@ public class GherkinParser {
         GherkinScenarios lScenarios = new GherkinScenarios(lLine.getSourceFileLineNumber(), lLine.getLineContents());
 
         // Attach any sub-element
-        int lIdx = extractExamplesOrScenariosFrom(pGherkinLines, pLineIdx, lScenarios);
+        extractExamplesOrScenariosFrom(pLineReader, lScenarios);
 
         // Create the result value
         GherkinElementExtractionResult<GherkinScenarios> lExtractionResult = new GherkinElementExtractionResult<GherkinScenarios>(
-                true, lScenarios, lIdx);
+                true, lScenarios);
 
         return lExtractionResult;
     }
@@ -886,21 +962,18 @@ public class GherkinParser {
      * Parse the lines after an Examples or a Scenarios line, to attach to it
      * all the elements that depends on it.
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list where the Examples or
-     * Scenarios element was found.
+     * @param pLineReader the reader of the Gherkin lines, positioned just after
+     * the Examples or Scenarios line.
      * @param pExamplesOrScenarios the Scenario or Element to which sub-elements
      * shall be added.
-     * @return the index of the last used line.
-     * @throws InvalidGherkinContentsException if it was not possible to parse
+     *      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      */
-    private int extractExamplesOrScenariosFrom(final List<GherkinLine> pGherkinLines, final int pLineIdx,
+    private void extractExamplesOrScenariosFrom(final GherkinLineReader pLineReader,
             final AbstractGherkinExamplesOrScenariosElement pExamplesOrScenarios)
-            throws InvalidGherkinContentsException {
+            throws InvalidGherkinContentsException, FileReadingException {
 
         GherkinLine lLine;
-        int lIdx = pLineIdx;
         GherkinLineType lType;
 
         // Go on with next line as long as we find elements that can occur
@@ -908,24 +981,23 @@ public class GherkinParser {
         boolean lReadNextLine = true;
 
         while (lReadNextLine) {
-            lIdx++;
-            if (lIdx < pGherkinLines.size()) {
-                lLine = pGherkinLines.get(lIdx);
-                lType = lLine.getType();
-            } else {
+            lLine = pLineReader.peekLine();
+            if (lLine == null) {
                 break;
             }
+            lType = lLine.getType();
 
             GherkinElementExtractionResult<GherkinDataTable> lDataTableResult;
             switch (lType) {
                 case Comment:
                     // Add the comment associated with the Examples element
+                    pLineReader.nextLine();
                     GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(),
                             lLine.getLineContents());
                     pExamplesOrScenarios.addComment(lComment);
                     break;
                 case DataTable:
-                    lDataTableResult = extractDataTableFrom(pGherkinLines, lIdx);
+                    lDataTableResult = extractDataTableFrom(pLineReader);
                     if (lDataTableResult.wasElementExtracted()) {
                         // Check there is not already a DataTable attached
                         if (pExamplesOrScenarios.hasAssociatedDataTable()) {
@@ -937,9 +1009,6 @@ public class GherkinParser {
                         } else {
                             // Attach the DataTable to the element
                             pExamplesOrScenarios.setDataTable(lDataTableResult.getExtractedElement());
-
-                            // Update the last read line index
-                            lIdx = lDataTableResult.getLastLineIndex();
                         }
                     }
                     break;
@@ -949,33 +1018,28 @@ public class GherkinParser {
                     break;
             }
         }
-
-        return lIdx - 1;
     }
 
     /**
-     * Start creating a Rule element from the given index of the Gherkin lines.
+     * Start creating a Rule element from the next line of the Gherkin line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * a Rule line.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * Rule element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * Rule line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
-    private GherkinElementExtractionResult<GherkinRule> extractRuleFrom(final List<GherkinLine> pGherkinLines,
-            final int pLineIdx) throws InvalidGherkinContentsException {
+    private GherkinElementExtractionResult<GherkinRule> extractRuleFrom(final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
         GherkinLine lLine;
-        int lIdx = pLineIdx;
-
-        lLine = pGherkinLines.get(lIdx);
+        lLine = pLineReader.nextLine();
 
         GherkinLineType lType;
 
@@ -993,30 +1057,27 @@ public class GherkinParser {
         boolean lReadNextLine = true;
 
         while (lReadNextLine) {
-            lIdx++;
-            if (lIdx == pGherkinLines.size()) {
+            lLine = pLineReader.peekLine();
+            if (lLine == null) {
                 break;
             }
-            lLine = pGherkinLines.get(lIdx);
             lType = lLine.getType();
 
             switch (lType) {
                 case Comment:
                     // Add the comment associated with the Background element
+                    pLineReader.nextLine();
                     GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(),
                             lLine.getLineContents());
                     lRule.addComment(lComment);
                     break;
                 case Example:
                     GherkinElementExtractionResult<GherkinExample> lExtractedExampleResult = extractExampleFrom(
-                            pGherkinLines, lIdx);
+                            pLineReader);
                     if (lExtractedExampleResult.wasElementExtracted()) {
                         // Add the Example step
                         GherkinExample lExample = lExtractedExampleResult.getExtractedElement();
                         lRule.addExample(lExample);
-
-                        // Update the last line index
-                        lIdx = lExtractedExampleResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a " + GherkinConstants.EXAMPLE_KEYWORD
                                 + " from line " + lLine.getNormalizedRepresentation());
@@ -1024,14 +1085,11 @@ public class GherkinParser {
                     break;
                 case Scenario:
                     GherkinElementExtractionResult<GherkinScenario> lExtractedScenarioResult = extractScenarioFrom(
-                            pGherkinLines, lIdx);
+                            pLineReader);
                     if (lExtractedScenarioResult.wasElementExtracted()) {
                         // Add the Scenario step
                         GherkinScenario lScenario = lExtractedScenarioResult.getExtractedElement();
                         lRule.addScenario(lScenario);
-
-                        // Update the last line index
-                        lIdx = lExtractedScenarioResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Cannot create a "
                                 + GherkinConstants.SCENARIO_KEYWORD + " from line "
@@ -1045,35 +1103,32 @@ public class GherkinParser {
         }
 
         GherkinElementExtractionResult<GherkinRule> lExtractionResult = new GherkinElementExtractionResult<GherkinRule>(
-                true, lRule, lIdx - 1);
+                true, lRule);
 
         return lExtractionResult;
     }
 
     /**
-     * Start creating a Background element from the given index of the Gherkin
-     * lines.
+     * Start creating a Background element from the next line of the Gherkin
+     * line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * a Background line.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * Background element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * Background line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
-    private GherkinElementExtractionResult<GherkinBackground> extractBackgroundFrom(
-            final List<GherkinLine> pGherkinLines, final int pLineIdx) throws InvalidGherkinContentsException {
+    private GherkinElementExtractionResult<GherkinBackground> extractBackgroundFrom(final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
         GherkinLine lLine;
-        int lIdx = pLineIdx;
-
-        lLine = pGherkinLines.get(lIdx);
+        lLine = pLineReader.nextLine();
 
         GherkinLineType lType;
 
@@ -1093,23 +1148,24 @@ public class GherkinParser {
         boolean lReadNextLine = true;
 
         while (lReadNextLine) {
-            lIdx++;
-            if (lIdx == pGherkinLines.size()) {
+            lLine = pLineReader.peekLine();
+            if (lLine == null) {
                 break;
             }
-            lLine = pGherkinLines.get(lIdx);
             lType = lLine.getType();
 
             switch (lType) {
                 case Description:
                     // Additional description to attach to the Background
                     // element
+                    pLineReader.nextLine();
                     GherkinAdditionalDescription lAddDescription = new GherkinAdditionalDescription(
                             lLine.getSourceFileLineNumber(), lLine.getLineContents());
                     lBackground.addAdditionalDescription(lAddDescription);
                     break;
                 case Comment:
                     // Add the comment associated with the Background element
+                    pLineReader.nextLine();
                     GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(),
                             lLine.getLineContents());
                     lBackground.addComment(lComment);
@@ -1117,43 +1173,34 @@ public class GherkinParser {
                 case Given:
                     // Add the Given element
                     GherkinElementExtractionResult<GherkinStepGiven> lExtractedGivenResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedGivenResult.wasElementExtracted()) {
                         // Add the Given element to the Background
                         lBackground.addStep(lExtractedGivenResult.getExtractedElement());
-
-                        // Update the index of the last used line
-                        lIdx = lExtractedGivenResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Could not extract the "
                                 + GherkinConstants.GIVEN_KEYWORD + " from line " + lLine.getNormalizedRepresentation());
                     }
                     break;
                 case And:
-                    GherkinElementExtractionResult<GherkinStepAnd> lExtractedAndResult = extractStepFrom(pGherkinLines,
-                            lIdx, lType);
+                    GherkinElementExtractionResult<GherkinStepAnd> lExtractedAndResult = extractStepFrom(
+                            pLineReader, lType);
                     if (lExtractedAndResult.wasElementExtracted()) {
                         // Add the And step
                         GherkinStepAnd lAnd = lExtractedAndResult.getExtractedElement();
                         lBackground.addStep(lAnd);
-
-                        // Update the last line index
-                        lIdx = lExtractedAndResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Could not extract the "
                                 + GherkinConstants.AND_KEYWORD + " from line " + lLine.getNormalizedRepresentation());
                     }
                     break;
                 case But:
-                    GherkinElementExtractionResult<GherkinStepBut> lExtractedButResult = extractStepFrom(pGherkinLines,
-                            lIdx, lType);
+                    GherkinElementExtractionResult<GherkinStepBut> lExtractedButResult = extractStepFrom(
+                            pLineReader, lType);
                     if (lExtractedButResult.wasElementExtracted()) {
                         // Add the But step
                         GherkinStepBut lBut = lExtractedButResult.getExtractedElement();
                         lBackground.addStep(lBut);
-
-                        // Update the last line index
-                        lIdx = lExtractedButResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Could not extract the "
                                 + GherkinConstants.BUT_KEYWORD + " from line " + lLine.getNormalizedRepresentation());
@@ -1161,14 +1208,11 @@ public class GherkinParser {
                     break;
                 case Star:
                     GherkinElementExtractionResult<GherkinStepStar> lExtractedStarResult = extractStepFrom(
-                            pGherkinLines, lIdx, lType);
+                            pLineReader, lType);
                     if (lExtractedStarResult.wasElementExtracted()) {
                         // Add the Star step
                         GherkinStepStar lStar = lExtractedStarResult.getExtractedElement();
                         lBackground.addStep(lStar);
-
-                        // Update the last line index
-                        lIdx = lExtractedStarResult.getLastLineIndex();
                     } else {
                         throw new InvalidGherkinContentsException("Could not extract the "
                                 + GherkinConstants.STAR_KEYWORD + " from line " + lLine.getNormalizedRepresentation());
@@ -1183,18 +1227,17 @@ public class GherkinParser {
         }
 
         GherkinElementExtractionResult<GherkinBackground> lExtractionResult = new GherkinElementExtractionResult<GherkinBackground>(
-                true, lBackground, lIdx - 1);
+                true, lBackground);
 
         return lExtractionResult;
     }
 
     /**
-     * Extract the given type of step from the given index from the Gherkin
-     * lines.
+     * Extract the given type of step from the next line of the Gherkin line
+     * reader.
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * Given element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * step line.
      * @param pStepLineType the type of the step line.
      * @param <T> the actual type of the step to create.
      * @return the extraction result.
@@ -1203,12 +1246,10 @@ public class GherkinParser {
      * 
      */
     private <T extends AbstractGherkinStep> GherkinElementExtractionResult<T> extractStepFrom(
-            final List<GherkinLine> pGherkinLines, final int pLineIdx, final GherkinLineType pStepLineType)
-            throws InvalidGherkinContentsException {
-        int lIdx = pLineIdx;
-
-        // Get the line at the current index
-        GherkinLine lLine = pGherkinLines.get(lIdx);
+            final GherkinLineReader pLineReader, final GherkinLineType pStepLineType)
+            throws InvalidGherkinContentsException, FileReadingException {
+        // Consume the step line
+        GherkinLine lLine = pLineReader.nextLine();
 
         // Check the line type matches a When
         GherkinLineType lType = lLine.getType();
@@ -1219,24 +1260,25 @@ public class GherkinParser {
 
         // Create the step element
         AbstractGherkinStep lStep;
+        String lStepText = deduplicate(lLine.getLineContents());
         switch (pStepLineType) {
             case And:
-                lStep = new GherkinStepAnd(lLine.getSourceFileLineNumber(), lLine.getLineContents());
+                lStep = new GherkinStepAnd(lLine.getSourceFileLineNumber(), lStepText);
                 break;
             case But:
-                lStep = new GherkinStepBut(lLine.getSourceFileLineNumber(), lLine.getLineContents());
+                lStep = new GherkinStepBut(lLine.getSourceFileLineNumber(), lStepText);
                 break;
             case Given:
-                lStep = new GherkinStepGiven(lLine.getSourceFileLineNumber(), lLine.getLineContents());
+                lStep = new GherkinStepGiven(lLine.getSourceFileLineNumber(), lStepText);
                 break;
             case Star:
-                lStep = new GherkinStepStar(lLine.getSourceFileLineNumber(), lLine.getLineContents());
+                lStep = new GherkinStepStar(lLine.getSourceFileLineNumber(), lStepText);
                 break;
             case Then:
-                lStep = new GherkinStepThen(lLine.getSourceFileLineNumber(), lLine.getLineContents());
+                lStep = new GherkinStepThen(lLine.getSourceFileLineNumber(), lStepText);
                 break;
             case When:
-                lStep = new GherkinStepWhen(lLine.getSourceFileLineNumber(), lLine.getLineContents());
+                lStep = new GherkinStepWhen(lLine.getSourceFileLineNumber(), lStepText);
                 break;
             default:
                 throw new InvalidGherkinContentsException("Cannot create a step with type "
@@ -1250,19 +1292,19 @@ public class GherkinParser {
         GherkinElementExtractionResult<GherkinDocString> lDocStringResult;
 
         while (lReadNextLine) {
-            lIdx++;
-            if (lIdx == pGherkinLines.size()) {
+            lLine = pLineReader.peekLine();
+            if (lLine == null) {
                 break;
             }
-            lLine = pGherkinLines.get(lIdx);
             lType = lLine.getType();
 
             if (lType == GherkinLineType.Comment) {
                 // Add the comment associated with the Background element
+                pLineReader.nextLine();
                 GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(), lLine.getLineContents());
                 lStep.addComment(lComment);
             } else if (lType == GherkinLineType.DataTable) {
-                lDataTableResult = extractDataTableFrom(pGherkinLines, lIdx);
+                lDataTableResult = extractDataTableFrom(pLineReader);
                 if (lDataTableResult.wasElementExtracted()) {
                     // Check there is not already a DataTable or a DocString
                     // attached
@@ -1276,13 +1318,10 @@ public class GherkinParser {
                     } else {
                         // Attach the DataTable to the element
                         lStep.setAssociatedDataTable(lDataTableResult.getExtractedElement());
-
-                        // Update the last read line index
-                        lIdx = lDataTableResult.getLastLineIndex();
                     }
                 }
             } else if (lType == GherkinLineType.DocString) {
-                lDocStringResult = extractDocStringFrom(pGherkinLines, lIdx);
+                lDocStringResult = extractDocStringFrom(pLineReader);
                 if (lDocStringResult.wasElementExtracted()) {
                     // Check there is not already a DataTable or a DocString
                     // attached
@@ -1296,9 +1335,6 @@ public class GherkinParser {
                     } else {
                         // Attach the DocString to the element
                         lStep.setAssociatedDocString(lDocStringResult.getExtractedElement());
-
-                        // Update the last read line index
-                        lIdx = lDocStringResult.getLastLineIndex();
                     }
                 }
             } else {
@@ -1308,18 +1344,17 @@ public class GherkinParser {
 
         // The check is OK as T derives from AbstractGherkinStep
         @SuppressWarnings("unchecked")
-        GherkinElementExtractionResult<T> lExtractionResult = new GherkinElementExtractionResult<T>(true, (T) lStep,
-                lIdx - 1);
+        GherkinElementExtractionResult<T> lExtractionResult = new GherkinElementExtractionResult<T>(true, (T) lStep);
 
         return lExtractionResult;
     }
 
     /**
-     * Start creating a Data table element from the given index of the Gherkin
-     * lines.
+     * Start creating a Data table element from the next line of the Gherkin
+     * line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * a DataTable line.
      * </p>
      * 
@@ -1327,21 +1362,20 @@ public class GherkinParser {
      * It consumes all the next lines that are part of the DataTable element.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * DataTable element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * DataTable line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
-    private GherkinElementExtractionResult<GherkinDataTable> extractDataTableFrom(
-            final List<GherkinLine> pGherkinLines, final int pLineIdx) throws InvalidGherkinContentsException {
+    private GherkinElementExtractionResult<GherkinDataTable> extractDataTableFrom(final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
         GherkinLine lLine;
-        int lIdx = pLineIdx;
 
-        lLine = pGherkinLines.get(lIdx);
+        // Only peek at the first line, as it is consumed by the loop below
+        lLine = pLineReader.peekLine();
 
         GherkinLineType lType;
 
@@ -1358,29 +1392,26 @@ public class GherkinParser {
         // Go on with next line as long as we find elements that can occur
         // "under" the DataTable element
         boolean lReadNextLine = true;
-        // Decrement before the loop as the index is incremented at the
-        // beginning of it and we are already on the first line to take into
-        // account
-        lIdx--;
 
         while (lReadNextLine) {
-            lIdx++;
-            if (lIdx == pGherkinLines.size()) {
+            lLine = pLineReader.peekLine();
+            if (lLine == null) {
                 break;
             }
-            lLine = pGherkinLines.get(lIdx);
             lType = lLine.getType();
 
             switch (lType) {
                 case Comment:
                     // Add the comment associated with the Given element
+                    pLineReader.nextLine();
                     GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(),
                             lLine.getLineContents());
                     lDataTable.addComment(lComment);
                     break;
                 case DataTable:
                     // Get the data table line contents
-                    String lContents = lLine.getLineContents();
+                    pLineReader.nextLine();
+                    String lContents = deduplicate(lLine.getLineContents());
                     // Add it to the data table
                     lDataTable.addLineText(lContents);
 
@@ -1394,21 +1425,20 @@ public class GherkinParser {
 
         }
 
-        // As we went out of the while after we detected a line that did not
-        // belong to the data table, we must remove 1 to the current index to
-        // refer to the index of the last read line
+        // The line that made us go out of the while does not belong to the
+        // data table : it is left in the reader for the caller
         GherkinElementExtractionResult<GherkinDataTable> lExtractionResult = new GherkinElementExtractionResult<GherkinDataTable>(
-                true, lDataTable, lIdx - 1);
+                true, lDataTable);
 
         return lExtractionResult;
     }
 
     /**
-     * Start creating a Doc String element from the given index of the Gherkin
-     * lines.
+     * Start creating a Doc String element from the next line of the Gherkin
+     * line reader.
      * 
      * <p>
-     * This function shall be called only if the line at the given index matches
+     * This function shall be called only if the next line matches
      * a DocString line.
      * </p>
      * 
@@ -1416,21 +1446,18 @@ public class GherkinParser {
      * It consumes all the next lines that are part of the DocString element.
      * </p>
      * 
-     * @param pGherkinLines the Gherkin lines to read from.
-     * @param pLineIdx the index in the Gherkin lines list to start reading the
-     * DocString element.
+     * @param pLineReader the reader of the Gherkin lines, whose next line is the
+     * DocString line.
      * @return the extraction result.
      * @throws InvalidGherkinContentsException if it was not possible to parse
      * the file because its contents was not valid.
      * 
      */
-    private GherkinElementExtractionResult<GherkinDocString> extractDocStringFrom(
-            final List<GherkinLine> pGherkinLines, final int pLineIdx) throws InvalidGherkinContentsException {
+    private GherkinElementExtractionResult<GherkinDocString> extractDocStringFrom(final GherkinLineReader pLineReader)
+            throws InvalidGherkinContentsException, FileReadingException {
 
         GherkinLine lLine;
-        int lIdx = pLineIdx;
-
-        lLine = pGherkinLines.get(lIdx);
+        lLine = pLineReader.nextLine();
 
         GherkinLineType lType;
 
@@ -1458,27 +1485,31 @@ public class GherkinParser {
         boolean lEndingDocStringLineFound = false;
 
         while (lReadNextLine) {
-            lIdx++;
-            // Stop if the index is over the number of lines
-            if (lIdx == pGherkinLines.size()) {
+            // Stop at the end of the source (keeping the last read line for
+            // the error message)
+            GherkinLine lNextLine = pLineReader.peekLine();
+            if (lNextLine == null) {
                 break;
             }
-            lLine = pGherkinLines.get(lIdx);
+            lLine = lNextLine;
             lType = lLine.getType();
 
             switch (lType) {
                 case Comment:
                     // Add the comment associated with the Given element
+                    pLineReader.nextLine();
                     GherkinComment lComment = new GherkinComment(lLine.getSourceFileLineNumber(),
                             lLine.getLineContents());
                     lDocString.addComment(lComment);
                     break;
                 case Description:
                     // Append the line to the doc string
-                    lDocString.addLineText(lLine.getLineContents());
+                    pLineReader.nextLine();
+                    lDocString.addLineText(deduplicate(lLine.getLineContents()));
                     break;
                 case DocString:
                     // End of the doc string bloc
+                    pLineReader.nextLine();
                     lReadNextLine = false;
                     // Indicate that we found the ending DocString line
                     lEndingDocStringLineFound = true;
@@ -1499,8 +1530,23 @@ public class GherkinParser {
         }
 
         GherkinElementExtractionResult<GherkinDocString> lExtractionResult = new GherkinElementExtractionResult<GherkinDocString>(
-                true, lDocString, lIdx);
+                true, lDocString);
 
         return lExtractionResult;
     }
+
+    /**
+     * Get the instance of the given text to store in the model.
+     * 
+     * @param pText the text.
+     * @return the canonical instance of the text if the texts are deduplicated,
+     * the text itself otherwise.
+     */
+    private String deduplicate(final String pText) {
+        String lText = pText;
+        if (stringDeduplicator != null) {
+            lText = stringDeduplicator.deduplicate(pText);
+        }
+        return lText;
+    }
 }
@@ -6,8 +6,6 @@ package org.tools.doc.traceability.common.gerkhin.model.general;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Common superclass for Gherkin steps.
@@ -21,17 +19,14 @@ import java.util.regex.Pattern;
 public abstract class AbstractGherkinStep extends AbstractGherkinSingleLinedElement {
 
     /**
-     * The regular expression to find parameter values.
-     * <p>
-     * The placeholder is the parameter name.
-     * </p>
+     * The character starting a parameter.
      */
-    private static final String PARAMETER_REGEXP = "<\\s*([^>][^>]*)\\s*>";
+    private static final char PARAMETER_START = '<';
 
     /**
-     * The pattern to match parameters.
+     * The character ending a parameter.
      */
-    private static final Pattern PARAMETER_PATTERN = Pattern.compile(PARAMETER_REGEXP);
+    private static final char PARAMETER_END = '>';
 
     /**
      * The keyword associated with the step.
@@ -92,6 +87,12 @@ public abstract class AbstractGherkinStep extends AbstractGherkinSingleLinedElem
     /**
      * Parse the step text and extract the potential parameters in it.
      * <p>
+     * A parameter is a &lt; followed by at least one character other than
+     * &gt;, up to the next &gt; (both included). The text is scanned without
+     * any regular expression nor shared state, so that steps can be created
+     * concurrently.
+     * </p>
+     * <p>
      * If found, they are added in {@link #parameters} list.
      * </p>
      * 
@@ -100,16 +101,26 @@ public abstract class AbstractGherkinStep extends AbstractGherkinSingleLinedElem
     private void fillParametersFromText(final String pStepText) {
 
         if (pStepText != null) {
-            Matcher lParamaterMatcher = null;
-            synchronized (PARAMETER_PATTERN) {
-                lParamaterMatcher = PARAMETER_PATTERN.matcher(pStepText);
-            }
-
-            String lParameter;
-            while (lParamaterMatcher.find()) {
-                lParameter = lParamaterMatcher.group(0);
-
-                parameters.add(lParameter);
+            int lStartIdx = pStepText.indexOf(PARAMETER_START);
+            boolean lSearchNextParameter = lStartIdx >= 0;
+
+            while (lSearchNextParameter) {
+                int lEndIdx = pStepText.indexOf(PARAMETER_END, lStartIdx + 1);
+
+                if (lEndIdx < 0) {
+                    // No more parameter end, so no more parameter
+                    lSearchNextParameter = false;
+                } else {
+                    if (lEndIdx > lStartIdx + 1) {
+                        // Non empty parameter : keep it and go on after it
+                        parameters.add(pStepText.substring(lStartIdx, lEndIdx + 1));
+                        lStartIdx = pStepText.indexOf(PARAMETER_START, lEndIdx + 1);
+                    } else {
+                        // Empty parameter : go on with the next start
+                        lStartIdx = pStepText.indexOf(PARAMETER_START, lStartIdx + 1);
+                    }
+                    lSearchNextParameter = lStartIdx >= 0;
+                }
             }
         }
     }
@@ -187,14 +198,24 @@ public abstract class AbstractGherkinStep extends AbstractGherkinSingleLinedElem
     public String getStepLine() {
 
         StringBuilder lLineSb = new StringBuilder();
-        lLineSb.append(stepKeyword);
-        if (!getStepText().isEmpty()) {
-            lLineSb.append(" ");
-            lLineSb.append(getStepText());
-        }
+        appendStepLine(lLineSb);
 
         return lLineSb.toString();
     }
+
+    /**
+     * Writes the contents of the line describing this step in the given
+     * StringBuilder.
+     * 
+     * @param pLineSb the destination StringBuilder.
+     */
+    public void appendStepLine(final StringBuilder pLineSb) {
+        pLineSb.append(stepKeyword);
+        if (!getStepText().isEmpty()) {
+            pLineSb.append(" ");
+            pLineSb.append(getStepText());
+        }
+    }
     
     /**
      * {@inheritDoc}
@@ -37,6 +37,15 @@ public class GherkinDocString extends AbstractGherkinMultipleLinedElement {
         actualDocStringKeyword = pActualDocStringKeyword;
     }
 
+    /**
+     * Getter of the actually used DocString keyword.
+     * 
+     * @return the actualDocStringKeyword
+     */
+    public String getActualDocStringKeyword() {
+        return actualDocStringKeyword;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,249 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Store of the entry files of an on-disk cache of data computed from files.
+ * <p>
+ * One entry file is stored per file in the cache directory. Its header keys it
+ * by the file path, size, last modification time and content hash:
+ * <ul>
+ * <li>if the size differs, the entry is obsolete,
+ * <li>if the size and modification time are the same, the entry is used
+ * without reading the file,
+ * <li>otherwise the content hash of the file is computed, and the entry is used
+ * (and refreshed) only if the hash is the same.
+ * </ul>
+ * The header also records the version of the entry format and a signature of
+ * whatever the cached data depends on besides the file contents (configuration,
+ * version of the analysis...) : an entry written with another format version or
+ * signature is deleted when it is looked up. The rest of the entry is the
+ * payload, read and written by the cache using this store.
+ * </p>
+ * <p>
+ * The store never makes the caller fail : any error reading or writing an
+ * entry is logged and the entry is considered as missing. Different files can
+ * be looked up and stored concurrently.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ * @param <T> the type of the cached payload.
+ */
+public class CacheEntryFileStore<T> {
+
+    /**
+     * Logger for the class.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(CacheEntryFileStore.class);
+
+    /**
+     * The directory where the entry files are stored.
+     */
+    private final File cacheDirectory;
+
+    /**
+     * The extension of the entry files.
+     */
+    private final String entryFileExtension;
+
+    /**
+     * The version of the entry file format.
+     */
+    private final int formatVersion;
+
+    /**
+     * The signature of what the cached data depends on besides the file
+     * contents.
+     */
+    private final String signature;
+
+    /**
+     * The writer of the entry payloads.
+     */
+    private final ICacheEntryPayloadWriter<T> payloadWriter;
+
+    /**
+     * Constructor.
+     * 
+     * @param pCacheDirectory the directory where to store the entry files (it
+     * is created if needed).
+     * @param pEntryFileExtension the extension of the entry files.
+     * @param pFormatVersion the version of the entry file format (to change
+     * each time the payload format changes).
+     * @param pSignature the signature of what the cached data depends on
+     * besides the file contents.
+     * @param pPayloadWriter the writer of the entry payloads.
+     */
+    public CacheEntryFileStore(final File pCacheDirectory, final String pEntryFileExtension,
+            final int pFormatVersion, final String pSignature, final ICacheEntryPayloadWriter<T> pPayloadWriter) {
+        cacheDirectory = pCacheDirectory;
+        entryFileExtension = pEntryFileExtension;
+        formatVersion = pFormatVersion;
+        signature = pSignature;
+        payloadWriter = pPayloadWriter;
+    }
+
+    /**
+     * Get the cache directory.
+     * 
+     * @return the cacheDirectory
+     */
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Load the payload cached for the given file.
+     * 
+     * @param pFile the file.
+     * @param pPayloadReader the reader of the entry payload.
+     * @return the cached payload, or <tt>null</tt> if there is no valid entry
+     * for the file.
+     */
+    public T load(final File pFile, final ICacheEntryPayloadReader<T> pPayloadReader) {
+        T lPayload = null;
+        FileFingerprint lFingerprintToRefresh = null;
+        boolean lObsoleteEntry = false;
+
+        File lEntryFile = getEntryFile(pFile);
+
+        if (lEntryFile.isFile()) {
+            try {
+                // Entries are small : read them at once, which also bounds
+                // what the payload reader can ask for
+                DataInputStream lDis = new DataInputStream(new ByteArrayInputStream(
+                        Files.readAllBytes(lEntryFile.toPath())));
+
+                if ((lDis.readInt() != formatVersion) || !signature.equals(lDis.readUTF())) {
+                    lObsoleteEntry = true;
+                } else if (pFile.getAbsolutePath().equals(lDis.readUTF()) && (lDis.readLong() == pFile.length())) {
+                    long lLastModified = lDis.readLong();
+                    String lContentHash = lDis.readUTF();
+
+                    if (lLastModified == pFile.lastModified()) {
+                        lPayload = pPayloadReader.read(lDis, pFile);
+                    } else {
+                        FileFingerprint lFingerprint = FileFingerprint.take(pFile);
+                        if ((lFingerprint != null) && lContentHash.equals(lFingerprint.getContentHash())) {
+                            // The file was touched but its contents did not
+                            // change : record the new modification time to
+                            // avoid hashing it again
+                            lPayload = pPayloadReader.read(lDis, pFile);
+                            lFingerprintToRefresh = lFingerprint;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Error reading cache entry " + lEntryFile.getAbsolutePath() + " : " + e.getMessage());
+                lPayload = null;
+            }
+        }
+
+        if (lObsoleteEntry) {
+            // Written by another version or configuration : drop it
+            LOGGER.debug("Dropping obsolete cache entry " + lEntryFile.getAbsolutePath());
+            if (!lEntryFile.delete()) {
+                LOGGER.warn("Could not delete obsolete cache entry " + lEntryFile.getAbsolutePath());
+            }
+        }
+
+        if ((lPayload != null) && (lFingerprintToRefresh != null)) {
+            writeEntry(lFingerprintToRefresh, lPayload);
+        }
+
+        return lPayload;
+    }
+
+    /**
+     * Store the payload computed for a file.
+     * 
+     * @param pFingerprint the fingerprint of the file, taken before the
+     * payload was computed (nothing is stored if it is <tt>null</tt>).
+     * @param pPayload the payload to store.
+     */
+    public void store(final FileFingerprint pFingerprint, final T pPayload) {
+        if (pFingerprint != null) {
+            writeEntry(pFingerprint, pPayload);
+        }
+    }
+
+    /**
+     * Write the entry for the given payload.
+     * <p>
+     * The entry is first written to a temporary file, then moved to its final
+     * location, so that a partially written entry is never read.
+     * </p>
+     * 
+     * @param pFingerprint the fingerprint of the file.
+     * @param pPayload the payload.
+     */
+    private void writeEntry(final FileFingerprint pFingerprint, final T pPayload) {
+        File lEntryFile = getEntryFile(pFingerprint.getFile());
+        File lTemporaryFile = null;
+        DataOutputStream lDos = null;
+
+        try {
+            if (!cacheDirectory.isDirectory() && !cacheDirectory.mkdirs() && !cacheDirectory.isDirectory()) {
+                throw new IOException("could not create directory " + cacheDirectory.getAbsolutePath());
+            }
+
+            lTemporaryFile = File.createTempFile(lEntryFile.getName(), ".tmp", cacheDirectory);
+            lDos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(lTemporaryFile)));
+
+            lDos.writeInt(formatVersion);
+            lDos.writeUTF(signature);
+            lDos.writeUTF(pFingerprint.getFile().getAbsolutePath());
+            lDos.writeLong(pFingerprint.getSize());
+            lDos.writeLong(pFingerprint.getLastModified());
+            lDos.writeUTF(pFingerprint.getContentHash());
+
+            payloadWriter.write(lDos, pPayload);
+
+            lDos.close();
+            lDos = null;
+
+            Files.move(lTemporaryFile.toPath(), lEntryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            lTemporaryFile = null;
+        } catch (IOException e) {
+            LOGGER.warn("Error writing cache entry " + lEntryFile.getAbsolutePath() + " : " + e.getMessage());
+        } finally {
+            if (lDos != null) {
+                try {
+                    lDos.close();
+                } catch (IOException e) {
+                    // No consequence on result, so just log
+                    LOGGER.warn("Error closing cache entry " + lEntryFile.getAbsolutePath() + " : "
+                            + e.getMessage());
+                }
+            }
+            if ((lTemporaryFile != null) && !lTemporaryFile.delete()) {
+                LOGGER.warn("Could not delete temporary cache entry " + lTemporaryFile.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Get the entry file associated with the given file.
+     * 
+     * @param pFile the file.
+     * @return the entry file.
+     */
+    private File getEntryFile(final File pFile) {
+        return new File(cacheDirectory, ContentHasher.hashText(pFile.getAbsolutePath()) + entryFileExtension);
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Helper computing the hash of file contents and texts, as used by the
+ * on-disk caches to detect changes and to name their entries.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class ContentHasher {
+
+    /**
+     * Logger for the class.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(ContentHasher.class);
+
+    /**
+     * The hash algorithm.
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * The size of the buffer used to read the files when hashing them.
+     */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Constructor.
+     */
+    private ContentHasher() {
+        // Nothing
+    }
+
+    /**
+     * Compute the hash of the contents of the given file.
+     * 
+     * @param pFile the file.
+     * @return the hexadecimal representation of the hash, or <tt>null</tt> if
+     * the file could not be read.
+     */
+    public static String hashFileContents(final File pFile) {
+        String lHash = null;
+        InputStream lIs = null;
+
+        try {
+            MessageDigest lDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            lIs = new FileInputStream(pFile);
+
+            byte[] lBuffer = new byte[READ_BUFFER_SIZE];
+            int lReadCount = lIs.read(lBuffer);
+            while (lReadCount >= 0) {
+                lDigest.update(lBuffer, 0, lReadCount);
+                lReadCount = lIs.read(lBuffer);
+            }
+
+            lHash = toHexString(lDigest.digest());
+        } catch (IOException e) {
+            LOGGER.warn("Error hashing file " + pFile.getAbsolutePath() + " : " + e.getMessage());
+        } catch (NoSuchAlgorithmException e) {
+            LOGGER.warn("Hash algorithm " + HASH_ALGORITHM + " is not available : " + e.getMessage());
+        } finally {
+            if (lIs != null) {
+                try {
+                    lIs.close();
+                } catch (IOException e) {
+                    // No consequence on result, so just log
+                    LOGGER.warn("Error closing file " + pFile.getAbsolutePath() + " : " + e.getMessage());
+                }
+            }
+        }
+
+        return lHash;
+    }
+
+    /**
+     * Compute the hash of the given text.
+     * 
+     * @param pText the text.
+     * @return the hexadecimal representation of the hash.
+     */
+    public static String hashText(final String pText) {
+        String lHash;
+
+        try {
+            MessageDigest lDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            lHash = toHexString(lDigest.digest(pText.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256, fall back to the string
+            // hash code anyway
+            lHash = Integer.toHexString(pText.hashCode());
+        }
+
+        return lHash;
+    }
+
+    /**
+     * Get the hexadecimal representation of the given bytes.
+     * 
+     * @param pBytes the bytes.
+     * @return the hexadecimal representation.
+     */
+    private static String toHexString(final byte[] pBytes) {
+        StringBuilder lSb = new StringBuilder(pBytes.length * 2);
+
+        for (byte lByte : pBytes) {
+            lSb.append(Character.forDigit((lByte >> 4) & 0xF, 16));
+            lSb.append(Character.forDigit(lByte & 0xF, 16));
+        }
+
+        return lSb.toString();
+    }
+}
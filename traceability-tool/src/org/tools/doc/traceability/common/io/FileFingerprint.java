@@ -0,0 +1,117 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.io;
+
+import java.io.File;
+
+/**
+ * The size, last modification time and content hash of a file, taken at a
+ * given time.
+ * <p>
+ * It is taken before the file is analyzed and stored with the analysis result
+ * in a {@link CacheEntryFileStore}, so that a file changed during its analysis
+ * never gets the old result associated with its new contents.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class FileFingerprint {
+
+    /**
+     * The file.
+     */
+    private final File file;
+
+    /**
+     * The size of the file.
+     */
+    private final long size;
+
+    /**
+     * The last modification time of the file.
+     */
+    private final long lastModified;
+
+    /**
+     * The hash of the file contents.
+     */
+    private final String contentHash;
+
+    /**
+     * Constructor.
+     * 
+     * @param pFile the file.
+     * @param pSize the size of the file.
+     * @param pLastModified the last modification time of the file.
+     * @param pContentHash the hash of the file contents.
+     */
+    private FileFingerprint(final File pFile, final long pSize, final long pLastModified, final String pContentHash) {
+        file = pFile;
+        size = pSize;
+        lastModified = pLastModified;
+        contentHash = pContentHash;
+    }
+
+    /**
+     * Take the fingerprint of the given file.
+     * <p>
+     * The size and modification time are taken before the contents is hashed,
+     * so that a change during the hashing makes them differ from the ones of
+     * the hashed contents, which only makes the entry checked again.
+     * </p>
+     * 
+     * @param pFile the file.
+     * @return the fingerprint, or <tt>null</tt> if the file could not be read.
+     */
+    public static FileFingerprint take(final File pFile) {
+        FileFingerprint lFingerprint = null;
+
+        long lSize = pFile.length();
+        long lLastModified = pFile.lastModified();
+        String lContentHash = ContentHasher.hashFileContents(pFile);
+
+        if (lContentHash != null) {
+            lFingerprint = new FileFingerprint(pFile, lSize, lLastModified, lContentHash);
+        }
+
+        return lFingerprint;
+    }
+
+    /**
+     * Getter of the file.
+     * 
+     * @return the file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Getter of the size of the file.
+     * 
+     * @return the size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Getter of the last modification time of the file.
+     * 
+     * @return the lastModified
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Getter of the hash of the file contents.
+     * 
+     * @return the contentHash
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+}
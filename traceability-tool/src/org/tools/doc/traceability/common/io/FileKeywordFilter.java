@@ -0,0 +1,179 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+
+/**
+ * Filter checking whether a file contains all the given ASCII keywords, by
+ * searching them in the raw bytes of the file (without decoding it).
+ * <p>
+ * As ASCII characters are encoded the same way in UTF-8 and in the ISO-8859
+ * charsets, it allows cheaply discarding the files that cannot be relevant
+ * before reading them as text. The file is read by chunks and the search
+ * stops as soon as all the keywords were found.
+ * </p>
+ * <p>
+ * The filter holds no state between two checks, so it can be shared between
+ * threads.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class FileKeywordFilter {
+
+    /**
+     * Logger for the class.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(FileKeywordFilter.class);
+
+    /**
+     * The size of the chunks read from the files.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * The keywords to search, as bytes.
+     */
+    private final byte[][] keywords;
+
+    /**
+     * The length of the longest keyword.
+     */
+    private final int maxKeywordLength;
+
+    /**
+     * Constructor.
+     * 
+     * @param pKeywords the not empty ASCII keywords that the files shall all
+     * contain.
+     */
+    public FileKeywordFilter(final List<String> pKeywords) {
+        keywords = new byte[pKeywords.size()][];
+
+        int lMaxKeywordLength = 1;
+        for (int i = 0; i < keywords.length; i++) {
+            keywords[i] = pKeywords.get(i).getBytes(StandardCharsets.US_ASCII);
+            lMaxKeywordLength = Math.max(lMaxKeywordLength, keywords[i].length);
+        }
+        maxKeywordLength = lMaxKeywordLength;
+    }
+
+    /**
+     * Check whether the given file contains all the keywords.
+     * 
+     * @param pFile the file to check.
+     * @return <tt>true</tt> if the file contains all the keywords,
+     * <tt>false</tt> otherwise.
+     * @throws FileReadingException if the file could not be read.
+     */
+    public boolean containsAllKeywords(final File pFile) throws FileReadingException {
+        boolean lContainsAll;
+
+        InputStream lInputStream = null;
+        try {
+            lInputStream = new FileInputStream(pFile);
+            lContainsAll = containsAllKeywords(lInputStream);
+        } catch (FileNotFoundException e) {
+            throw new FileReadingException("File " + pFile.getAbsolutePath() + " does not exist");
+        } catch (IOException e) {
+            throw new FileReadingException("Error while reading file " + pFile.getAbsolutePath() + " : "
+                    + e.getMessage(), e);
+        } finally {
+            if (lInputStream != null) {
+                try {
+                    lInputStream.close();
+                } catch (IOException e) {
+                    // No consequence on result, so just log
+                    LOGGER.warn("Error closing input stream on " + pFile.getAbsolutePath() + " : " + e.getMessage());
+                }
+            }
+        }
+
+        return lContainsAll;
+    }
+
+    /**
+     * Check whether the given stream contains all the keywords.
+     * 
+     * @param pInputStream the stream to read.
+     * @return <tt>true</tt> if the stream contains all the keywords,
+     * <tt>false</tt> otherwise.
+     * @throws IOException if the stream could not be read.
+     */
+    private boolean containsAllKeywords(final InputStream pInputStream) throws IOException {
+        boolean[] lFoundKeywords = new boolean[keywords.length];
+        int lRemainingKeywordCount = keywords.length;
+
+        // The buffer keeps the bytes of the previous chunk that may start a
+        // keyword ending in the next chunk
+        byte[] lBuffer = new byte[CHUNK_SIZE + maxKeywordLength];
+        int lAvailableByteCount = 0;
+        boolean lEndReached = false;
+
+        while ((lRemainingKeywordCount > 0) && !lEndReached) {
+            int lReadByteCount = pInputStream.read(lBuffer, lAvailableByteCount, CHUNK_SIZE);
+            if (lReadByteCount < 0) {
+                lEndReached = true;
+            } else {
+                lAvailableByteCount += lReadByteCount;
+            }
+
+            // Only check the positions where all the keywords fit, unless the
+            // end is reached
+            int lCheckedPositionCount = lAvailableByteCount;
+            if (!lEndReached) {
+                lCheckedPositionCount = Math.max(0, lAvailableByteCount - maxKeywordLength + 1);
+            }
+
+            for (int i = 0; (i < lCheckedPositionCount) && (lRemainingKeywordCount > 0); i++) {
+                for (int k = 0; k < keywords.length; k++) {
+                    if (!lFoundKeywords[k] && isKeywordAt(keywords[k], lBuffer, i, lAvailableByteCount)) {
+                        lFoundKeywords[k] = true;
+                        lRemainingKeywordCount--;
+                    }
+                }
+            }
+
+            // Move the unchecked bytes at the beginning of the buffer
+            lAvailableByteCount -= lCheckedPositionCount;
+            System.arraycopy(lBuffer, lCheckedPositionCount, lBuffer, 0, lAvailableByteCount);
+        }
+
+        return lRemainingKeywordCount == 0;
+    }
+
+    /**
+     * Check whether the given keyword is located at the given position of the
+     * buffer.
+     * 
+     * @param pKeyword the keyword.
+     * @param pBuffer the buffer.
+     * @param pPosition the position in the buffer.
+     * @param pAvailableByteCount the number of bytes available in the buffer.
+     * @return <tt>true</tt> if the keyword is at this position,
+     * <tt>false</tt> otherwise.
+     */
+    private static boolean isKeywordAt(final byte[] pKeyword, final byte[] pBuffer, final int pPosition,
+            final int pAvailableByteCount) {
+        boolean lMatches = pPosition + pKeyword.length <= pAvailableByteCount;
+
+        for (int i = 0; lMatches && (i < pKeyword.length); i++) {
+            lMatches = pBuffer[pPosition + i] == pKeyword[i];
+        }
+
+        return lMatches;
+    }
+}
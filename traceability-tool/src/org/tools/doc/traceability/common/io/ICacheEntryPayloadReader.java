@@ -0,0 +1,32 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.io;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Reader of the payload of the entries of a {@link CacheEntryFileStore}.
+ * 
+ * @author Yann Leglise
+ *
+ * @param <T> the type of the cached payload.
+ */
+public interface ICacheEntryPayloadReader<T> {
+
+    /**
+     * Read the payload of an entry, written by the associated
+     * {@link ICacheEntryPayloadWriter}.
+     * 
+     * @param pDis the stream on the entry, positioned after the entry header.
+     * The entry is read in memory : {@link DataInputStream#available()} gives
+     * the exact number of bytes left, against which the lengths read from the
+     * entry shall be checked before allocating anything.
+     * @param pFile the file the entry is associated with.
+     * @return the read payload.
+     * @throws IOException if the payload could not be read or is corrupted.
+     */
+    T read(DataInputStream pDis, File pFile) throws IOException;
+}
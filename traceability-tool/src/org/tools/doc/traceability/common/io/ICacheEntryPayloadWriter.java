@@ -0,0 +1,26 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.io;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Writer of the payload of the entries of a {@link CacheEntryFileStore}.
+ * 
+ * @author Yann Leglise
+ *
+ * @param <T> the type of the cached payload.
+ */
+public interface ICacheEntryPayloadWriter<T> {
+
+    /**
+     * Write the payload of an entry.
+     * 
+     * @param pDos the stream on the entry, positioned after the entry header.
+     * @param pPayload the payload to write.
+     * @throws IOException if the payload could not be written.
+     */
+    void write(DataOutputStream pDos, T pPayload) throws IOException;
+}
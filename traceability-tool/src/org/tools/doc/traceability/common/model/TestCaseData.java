@@ -42,15 +42,23 @@ public class TestCaseData {
     private final String testCaseName;
 
     /**
-     * The description of the test case procedure description.
+     * The description of the test case procedure description (<tt>null</tt>
+     * if it is computed by the description renderer).
      */
     private final String procedureDescription;
 
     /**
-     * The description of the test case expected results.
+     * The description of the test case expected results (<tt>null</tt> if it
+     * is computed by the description renderer).
      */
     private final String expectedResults;
 
+    /**
+     * The renderer of the descriptions (<tt>null</tt> if the descriptions are
+     * given as is).
+     */
+    private final TestCaseDescriptionRenderer descriptionRenderer;
+
     /**
      * The list of covered requirements.
      */
@@ -75,6 +83,29 @@ public class TestCaseData {
         testCaseName = pTestCaseName;
         procedureDescription = pProcedureDescripion;
         expectedResults = pExpectedResults;
+        descriptionRenderer = null;
+
+        coveredRequirementList = new ArrayList<Requirement>();
+    }
+
+    /**
+     * Constructor for a test case whose descriptions are computed on demand.
+     * 
+     * @param pParentSet the set this test case belongs to.
+     * @param pTestCaseIdentifier the test case identifier.
+     * @param pTestCaseName the test case name.
+     * @param pDescriptionRenderer the renderer of the procedure and expected
+     * results descriptions.
+     */
+    public TestCaseData(final TestSet pParentSet, final String pTestCaseIdentifier, final String pTestCaseName,
+            final TestCaseDescriptionRenderer pDescriptionRenderer) {
+        super();
+        parentSet = pParentSet;
+        testCaseIdentifier = pTestCaseIdentifier;
+        testCaseName = pTestCaseName;
+        procedureDescription = null;
+        expectedResults = null;
+        descriptionRenderer = pDescriptionRenderer;
 
         coveredRequirementList = new ArrayList<Requirement>();
     }
@@ -121,7 +152,26 @@ public class TestCaseData {
      * @return the procedureDescription
      */
     public String getProcedureDescription() {
-        return procedureDescription;
+        String lProcedureDescription = procedureDescription;
+        if (descriptionRenderer != null) {
+            StringBuilder lDescriptionSb = new StringBuilder();
+            descriptionRenderer.appendProcedureDescription(lDescriptionSb);
+            lProcedureDescription = lDescriptionSb.toString();
+        }
+        return lProcedureDescription;
+    }
+
+    /**
+     * Write the procedure description in the given StringBuilder.
+     * 
+     * @param pDescriptionSb the destination StringBuilder.
+     */
+    public void appendProcedureDescription(final StringBuilder pDescriptionSb) {
+        if (descriptionRenderer == null) {
+            pDescriptionSb.append(procedureDescription);
+        } else {
+            descriptionRenderer.appendProcedureDescription(pDescriptionSb);
+        }
     }
 
     /**
@@ -130,7 +180,26 @@ public class TestCaseData {
      * @return the expectedResults
      */
     public String getExpectedResults() {
-        return expectedResults;
+        String lExpectedResults = expectedResults;
+        if (descriptionRenderer != null) {
+            StringBuilder lDescriptionSb = new StringBuilder();
+            descriptionRenderer.appendExpectedResults(lDescriptionSb);
+            lExpectedResults = lDescriptionSb.toString();
+        }
+        return lExpectedResults;
+    }
+
+    /**
+     * Write the expected results description in the given StringBuilder.
+     * 
+     * @param pDescriptionSb the destination StringBuilder.
+     */
+    public void appendExpectedResults(final StringBuilder pDescriptionSb) {
+        if (descriptionRenderer == null) {
+            pDescriptionSb.append(expectedResults);
+        } else {
+            descriptionRenderer.appendExpectedResults(pDescriptionSb);
+        }
     }
 
     /**
@@ -173,9 +242,9 @@ public class TestCaseData {
             lSb.append(lReq.toString());
         }
         lSb.append(", procedure=");
-        lSb.append(procedureDescription);
+        appendProcedureDescription(lSb);
         lSb.append(", expected results=");
-        lSb.append(expectedResults);
+        appendExpectedResults(lSb);
         lSb.append("]");
         return lSb.toString();
     }
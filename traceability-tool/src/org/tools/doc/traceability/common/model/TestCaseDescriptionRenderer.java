@@ -0,0 +1,33 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.model;
+
+/**
+ * Source of the descriptions of a test case that are computed on demand.
+ * <p>
+ * Some test case descriptions are built from an analyzed model (the Gherkin
+ * steps of a cucumber test for instance) : rather than storing them, the
+ * {@link TestCaseData} asks its renderer to write them when they are actually
+ * needed (when the VTP rows are written).
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public interface TestCaseDescriptionRenderer {
+
+    /**
+     * Write the description of the test case procedure.
+     * 
+     * @param pDescriptionSb the destination StringBuilder.
+     */
+    void appendProcedureDescription(StringBuilder pDescriptionSb);
+
+    /**
+     * Write the description of the test case expected results.
+     * 
+     * @param pDescriptionSb the destination StringBuilder.
+     */
+    void appendExpectedResults(StringBuilder pDescriptionSb);
+}
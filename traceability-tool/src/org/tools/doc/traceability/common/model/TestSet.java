@@ -88,6 +88,30 @@ public class TestSet {
         return lCoveringTestCaseData;
     }
 
+    /**
+     * Add a new test data whose descriptions are computed on demand to the
+     * set.
+     * 
+     * @param pTestCaseIdentifier the test case identifier.
+     * @param pTestCaseName the test case name.
+     * @param pDescriptionRenderer the renderer of the procedure and expected
+     * results descriptions.
+     * @return the added covering test data.
+     */
+    public TestCaseData addTestData(final String pTestCaseIdentifier, final String pTestCaseName,
+            final TestCaseDescriptionRenderer pDescriptionRenderer) {
+
+        // Create the new covering test case data
+        TestCaseData lCoveringTestCaseData = new TestCaseData(this, pTestCaseIdentifier, pTestCaseName,
+                pDescriptionRenderer);
+
+        // Add it in the set
+        testDataList.add(lCoveringTestCaseData);
+
+        // Return the added element
+        return lCoveringTestCaseData;
+    }
+
     /**
      * Getter of the test data list.
      * 
@@ -0,0 +1,225 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.prefix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compiled form of a list of requirement prefixes.
+ * <p>
+ * The prefixes are stored in a trie built once, so that checking whether a
+ * text starts with one of the prefixes only reads the first characters of the
+ * text (at most the length of the longest prefix), whatever the number of
+ * prefixes.
+ * </p>
+ * <p>
+ * Once built, an instance is immutable and can be shared between threads.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class RequirementPrefixMatcher {
+
+    /**
+     * The root node of the trie (matching the empty string).
+     */
+    private final Node rootNode;
+
+    /**
+     * The prefixes the matcher was built from.
+     */
+    private final List<String> prefixes;
+
+    /**
+     * Constructor.
+     * 
+     * @param pPrefixes the requirement prefixes (<tt>null</tt> values are
+     * ignored).
+     */
+    public RequirementPrefixMatcher(final List<String> pPrefixes) {
+        rootNode = new Node();
+        prefixes = new ArrayList<String>();
+
+        if (pPrefixes != null) {
+            for (String lPrefix : pPrefixes) {
+                if (lPrefix != null) {
+                    addPrefix(lPrefix);
+                    prefixes.add(lPrefix);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a prefix in the trie.
+     * 
+     * @param pPrefix the prefix to add.
+     */
+    private void addPrefix(final String pPrefix) {
+        Node lNode = rootNode;
+
+        for (int i = 0; i < pPrefix.length(); i++) {
+            lNode = lNode.getOrCreateChild(pPrefix.charAt(i));
+        }
+
+        if (lNode.matchedPrefix == null) {
+            lNode.matchedPrefix = pPrefix;
+        }
+    }
+
+    /**
+     * Check whether the given text starts with one of the prefixes.
+     * 
+     * @param pText the text to check.
+     * @return <tt>true</tt> if the text starts with one of the prefixes,
+     * <tt>false</tt> otherwise.
+     */
+    public boolean matches(final CharSequence pText) {
+        return getMatchingPrefix(pText) != null;
+    }
+
+    /**
+     * Get the shortest prefix the given text starts with.
+     * 
+     * @param pText the text to check.
+     * @return the shortest prefix the text starts with, or <tt>null</tt> if
+     * the text does not start with any of the prefixes.
+     */
+    public String getMatchingPrefix(final CharSequence pText) {
+        Node lNode = rootNode;
+        String lMatchingPrefix = lNode.matchedPrefix;
+
+        int lIdx = 0;
+        while ((lMatchingPrefix == null) && (lNode != null) && (lIdx < pText.length())) {
+            lNode = lNode.getChild(pText.charAt(lIdx));
+            if (lNode != null) {
+                lMatchingPrefix = lNode.matchedPrefix;
+            }
+            lIdx++;
+        }
+
+        return lMatchingPrefix;
+    }
+
+    /**
+     * Getter of the prefixes.
+     * 
+     * @return the unmodifiable list of the prefixes the matcher was built
+     * from.
+     */
+    public List<String> getPrefixes() {
+        return Collections.unmodifiableList(prefixes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RequirementPrefixMatcher" + prefixes;
+    }
+
+    /**
+     * A node of the trie.
+     * <p>
+     * The children are stored in two parallel arrays sorted on the character,
+     * and are looked up by binary search.
+     * </p>
+     */
+    private static final class Node {
+
+        /**
+         * The initial capacity of the child arrays.
+         */
+        private static final int INITIAL_CAPACITY = 2;
+
+        /**
+         * The characters leading to the children, in ascending order.
+         */
+        private char[] childChars;
+
+        /**
+         * The children, in the order of {@link #childChars}.
+         */
+        private Node[] children;
+
+        /**
+         * The number of children.
+         */
+        private int childCount;
+
+        /**
+         * The prefix ending at this node, or <tt>null</tt> if no prefix ends
+         * here.
+         */
+        private String matchedPrefix;
+
+        /**
+         * Constructor.
+         */
+        private Node() {
+            childChars = new char[INITIAL_CAPACITY];
+            children = new Node[INITIAL_CAPACITY];
+            childCount = 0;
+            matchedPrefix = null;
+        }
+
+        /**
+         * Get the child reached with the given character.
+         * 
+         * @param pChar the character.
+         * @return the child, or <tt>null</tt> if there is none.
+         */
+        private Node getChild(final char pChar) {
+            Node lChild = null;
+
+            int lPosition = Arrays.binarySearch(childChars, 0, childCount, pChar);
+            if (lPosition >= 0) {
+                lChild = children[lPosition];
+            }
+
+            return lChild;
+        }
+
+        /**
+         * Get the child reached with the given character, creating it if
+         * needed.
+         * 
+         * @param pChar the character.
+         * @return the child.
+         */
+        private Node getOrCreateChild(final char pChar) {
+            Node lChild;
+
+            int lPosition = Arrays.binarySearch(childChars, 0, childCount, pChar);
+            if (lPosition >= 0) {
+                lChild = children[lPosition];
+            } else {
+                int lInsertionPosition = -lPosition - 1;
+
+                if (childCount == childChars.length) {
+                    childChars = Arrays.copyOf(childChars, childCount * 2);
+                    children = Arrays.copyOf(children, childCount * 2);
+                }
+
+                // Shift the following children to keep the arrays sorted
+                System.arraycopy(childChars, lInsertionPosition, childChars, lInsertionPosition + 1,
+                        childCount - lInsertionPosition);
+                System.arraycopy(children, lInsertionPosition, children, lInsertionPosition + 1,
+                        childCount - lInsertionPosition);
+
+                lChild = new Node();
+                childChars[lInsertionPosition] = pChar;
+                children[lInsertionPosition] = lChild;
+                childCount++;
+            }
+
+            return lChild;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.worksheet;
+
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+
+/**
+ * Factory of the handlers receiving the contents of the sheets streamed by
+ * {@link SheetStreamReader}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public interface ISheetContentsHandlerFactory {
+
+    /**
+     * Create the handler receiving the contents of a sheet.
+     * 
+     * @param pSheetName the name of the sheet about to be read.
+     * @return the handler for this sheet.
+     */
+    SheetContentsHandler createSheetContentsHandler(String pSheetName);
+}
@@ -0,0 +1,35 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.worksheet;
+
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+
+/**
+ * Thrown by a {@link SheetContentsHandler} to stop the parsing of the sheet it
+ * handles, when it finds out the sheet is not to be read.
+ * <p>
+ * It is unchecked as the {@link SheetContentsHandler} methods cannot throw
+ * checked exceptions, and it is caught by {@link SheetStreamReader} which then
+ * goes on with the next sheet.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class SheetSkippedException extends RuntimeException {
+
+    /**
+     * Serial ID.
+     */
+    private static final long serialVersionUID = -6470912285313602841L;
+
+    /**
+     * Constructor.
+     * 
+     * @param pMessage the reason why the sheet is skipped.
+     */
+    public SheetSkippedException(final String pMessage) {
+        super(pMessage);
+    }
+}
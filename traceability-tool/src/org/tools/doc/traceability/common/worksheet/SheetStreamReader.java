@@ -0,0 +1,122 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.worksheet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Helper reading the sheets of a workbook (<tt>.xlsx</tt> or <tt>.xlsm</tt>
+ * file) in a streaming way.
+ * <p>
+ * The sheets are directly read from the OOXML package with POI event model
+ * ({@link XSSFReader} and {@link XSSFSheetXMLHandler}) instead of loading the
+ * whole workbook object model : only the shared strings and the styles are
+ * kept in memory, and the cells of each sheet are given to a handler as soon
+ * as they have been read. A handler can stop the reading of its sheet by
+ * throwing a {@link SheetSkippedException}.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class SheetStreamReader {
+
+    /**
+     * Logger for the class.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(SheetStreamReader.class);
+
+    /**
+     * Constructor.
+     */
+    private SheetStreamReader() {
+        // Nothing
+    }
+
+    /**
+     * Read the sheets of the given workbook file, giving the contents of each
+     * sheet to its own handler.
+     * 
+     * @param pWorkbookFile the workbook file to read.
+     * @param pDataFormatter the formatter giving the text of the cell values.
+     * @param pHandlerFactory the factory of the handlers receiving the
+     * contents of the sheets.
+     * @throws FileReadingException if the file could not be read.
+     */
+    public static void readSheets(final File pWorkbookFile, final DataFormatter pDataFormatter,
+            final ISheetContentsHandlerFactory pHandlerFactory) throws FileReadingException {
+        OPCPackage lPackage = null;
+
+        try {
+            // Open the package in read only mode (the zip entries are inflated
+            // on demand)
+            lPackage = OPCPackage.open(pWorkbookFile, PackageAccess.READ);
+
+            XSSFReader lXssfReader = new XSSFReader(lPackage);
+            ReadOnlySharedStringsTable lSharedStrings = new ReadOnlySharedStringsTable(lPackage);
+            StylesTable lStyles = lXssfReader.getStylesTable();
+
+            XSSFReader.SheetIterator lSheetIterator = (XSSFReader.SheetIterator) lXssfReader.getSheetsData();
+            while (lSheetIterator.hasNext()) {
+                InputStream lSheetStream = lSheetIterator.next();
+                String lSheetName = lSheetIterator.getSheetName();
+                try {
+                    XMLReader lXmlReader = XMLHelper.newXMLReader();
+                    lXmlReader.setContentHandler(new XSSFSheetXMLHandler(lStyles, lSharedStrings, pHandlerFactory
+                            .createSheetContentsHandler(lSheetName), pDataFormatter, false));
+                    lXmlReader.parse(new InputSource(lSheetStream));
+                } catch (SheetSkippedException e) {
+                    LOGGER.debug("Ignoring sheet \"" + lSheetName + "\" of file " + pWorkbookFile.getAbsolutePath()
+                            + " : " + e.getMessage());
+                } finally {
+                    try {
+                        lSheetStream.close();
+                    } catch (IOException e) {
+                        // No consequence on result, so just log
+                        LOGGER.warn("Error closing a sheet stream of " + pWorkbookFile.getAbsolutePath() + " : "
+                                + e.getMessage());
+                    }
+                }
+            }
+        } catch (OpenXML4JException e) {
+            throw new FileReadingException("File " + pWorkbookFile.getAbsolutePath()
+                    + " is not a valid OOXML workbook : " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new FileReadingException("Error reading file " + pWorkbookFile.getAbsolutePath() + " : "
+                    + e.getMessage(), e);
+        } catch (SAXException e) {
+            throw new FileReadingException("Error parsing a sheet of file " + pWorkbookFile.getAbsolutePath()
+                    + " : " + e.getMessage(), e);
+        } catch (ParserConfigurationException e) {
+            throw new FileReadingException("Could not create a SAX parser to read file "
+                    + pWorkbookFile.getAbsolutePath() + " : " + e.getMessage(), e);
+        } finally {
+            if (lPackage != null) {
+                // The package was opened in read only mode : revert instead of
+                // closing
+                lPackage.revert();
+            }
+        }
+    }
+}
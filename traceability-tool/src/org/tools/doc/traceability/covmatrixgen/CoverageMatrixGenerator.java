@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -16,9 +17,14 @@ import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTMergeCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTMergeCells;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorksheet;
 
 import org.tools.doc.traceability.analyzer.justifircation.model.NotCoveredRequirementJustification;
 import org.tools.doc.traceability.common.Constants;
@@ -32,6 +38,7 @@ import org.tools.doc.traceability.common.model.TestSet;
 import org.tools.doc.traceability.common.model.TestSetType;
 import org.tools.doc.traceability.covmatrixgen.model.IRequirementCoveringData;
 import org.tools.doc.traceability.covmatrixgen.model.RequirementCoveringData;
+import org.tools.doc.traceability.covmatrixgen.model.RequirementCoveringIndex;
 import org.tools.doc.traceability.covmatrixgen.model.RequirementTestCovering;
 
 /**
@@ -73,6 +80,13 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
      */
     private static final int JUSTIFICATION_COL_IDX = 1;
 
+    /**
+     * Number of rows kept in memory per sheet when the coverage matrix is
+     * written in a streaming way (the older ones are flushed to a temporary
+     * file).
+     */
+    private static final int STREAMING_ROW_ACCESS_WINDOW_SIZE = 100;
+
     /**
      * The list of requirements from SD to be covered.
      */
@@ -99,9 +113,9 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
     private final List<TestSet> javaCoveringTestSetList;
 
     /**
-     * The list of justification for not covered requirements.
+     * The justifications for not covered requirements, indexed by requirement.
      */
-    private final List<NotCoveredRequirementJustification> notCoveredRequirementJustificationList;
+    private final Map<Requirement, NotCoveredRequirementJustification> notCoveredRequirementJustificationMap;
 
     /**
      * The structure to reference requirement covering from any test.
@@ -143,6 +157,12 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
      */
     private CoverageMatrixWorkbookStyle workbookStyle;
 
+    /**
+     * Flag indicating whether the coverage matrix is written in a streaming
+     * way (see {@link #setStreamingWriting(boolean)}).
+     */
+    private boolean streamingWriting;
+
     /**
      * The list of requirements from SD that are not covered by any test.
      */
@@ -160,15 +180,16 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
      * (can be <tt>null</tt> if none).
      * @param pJavaCoveringTestSetList the test set list from java unit test
      * (can be <tt>null</tt> if none).
-     * @param pNotCoveredRequirementJustificationList the list of justifications
-     * (can be <tt>null</tt> if none). for not covered requirements.
+     * @param pNotCoveredRequirementJustificationMap the justifications for not
+     * covered requirements, indexed by requirement (can be <tt>null</tt> if
+     * none).
      * @param pOutputCoverageMatrixFile the destination coverage matrix file.
      * @param pExecutionStatus the execution status.
      */
     public CoverageMatrixGenerator(final List<Requirement> pSdRequirementList,
             final List<TestSet> pAlmCoveringTestSetList, final List<TestSet> pCucumberCoveringTestSetList,
             final List<TestSet> pCSharpCoveringTestSetList, final List<TestSet> pJavaCoveringTestSetList,
-            final List<NotCoveredRequirementJustification> pNotCoveredRequirementJustificationList,
+            final Map<Requirement, NotCoveredRequirementJustification> pNotCoveredRequirementJustificationMap,
             final File pOutputCoverageMatrixFile,
             final ExecutorExecutionStatus<CoverageMatrixGeneratorResultObject> pExecutionStatus) {
         super(pExecutionStatus);
@@ -177,7 +198,7 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
         cucumberCoveringTestSetList = pCucumberCoveringTestSetList;
         cSharpCoveringTestSetList = pCSharpCoveringTestSetList;
         javaCoveringTestSetList = pJavaCoveringTestSetList;
-        notCoveredRequirementJustificationList = pNotCoveredRequirementJustificationList;
+        notCoveredRequirementJustificationMap = pNotCoveredRequirementJustificationMap;
 
         outputCoverageMatrixFile = pOutputCoverageMatrixFile;
 
@@ -188,6 +209,26 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
         notCoveredRequirementList = new ArrayList<Requirement>();
 
         workbookStyle = null;
+        streamingWriting = true;
+    }
+
+    /**
+     * Setter of the flag indicating whether the coverage matrix is written in a
+     * streaming way.
+     * <p>
+     * The streaming writing (default) creates the rows with POI streaming
+     * model ({@link SXSSFWorkbook}) : only the last rows of each sheet are kept
+     * in memory, the older ones being flushed to a temporary file as the
+     * requirements are written, so that the memory used does not depend on the
+     * size of the matrix. Otherwise, the whole workbook is built in memory
+     * before being written.
+     * </p>
+     * 
+     * @param pStreamingWriting <tt>true</tt> to write the coverage matrix in a
+     * streaming way, <tt>false</tt> to build the whole workbook in memory.
+     */
+    public void setStreamingWriting(final boolean pStreamingWriting) {
+        streamingWriting = pStreamingWriting;
     }
 
     /**
@@ -218,94 +259,39 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
      * <p>
      * Also detect the requirements that are not covered.
      * </p>
+     * <p>
+     * The covering data of each test type are first indexed by the
+     * requirements they cover, so that each SD requirement is then resolved by
+     * a lookup in each index.
+     * </p>
      * 
      */
     private void fillRequirementTestCoveringAndDetectNotCoveredRequirements() {
 
-        // Add ALM covering test data (if any)
-        List<IRequirementCoveringData> lAlmReqCovDataList = new ArrayList<IRequirementCoveringData>();
-        if (almCoveringTestSetList != null) {
-            addCoveringTestDataFrom(lAlmReqCovDataList, almCoveringTestSetList);
-        }
+        // Index ALM covering test data (if any)
+        RequirementCoveringIndex lAlmReqCovIndex = buildRequirementCoveringIndex(almCoveringTestSetList);
 
-        // Add cucumber covering test data (if any)
-        List<IRequirementCoveringData> lCucumberReqCovDataList = new ArrayList<IRequirementCoveringData>();
-        if (cucumberCoveringTestSetList != null) {
-            addCoveringTestDataFrom(lCucumberReqCovDataList, cucumberCoveringTestSetList);
-        }
+        // Index cucumber covering test data (if any)
+        RequirementCoveringIndex lCucumberReqCovIndex = buildRequirementCoveringIndex(cucumberCoveringTestSetList);
 
-        // Add C# unit test covering test data (if any)
-        List<IRequirementCoveringData> lCSharpReqCovDataList = new ArrayList<IRequirementCoveringData>();
-        if (cSharpCoveringTestSetList != null) {
-            addCoveringTestDataFrom(lCSharpReqCovDataList, cSharpCoveringTestSetList);
-        }
+        // Index C# unit test covering test data (if any)
+        RequirementCoveringIndex lCSharpReqCovIndex = buildRequirementCoveringIndex(cSharpCoveringTestSetList);
 
-        // Add java unit test covering test data (if any)
-        List<IRequirementCoveringData> lJavaReqCovDataList = new ArrayList<IRequirementCoveringData>();
-        if (javaCoveringTestSetList != null) {
-            if (javaCoveringTestSetList != null) {
-                addCoveringTestDataFrom(lJavaReqCovDataList, javaCoveringTestSetList);
-            }
-        }
+        // Index java unit test covering test data (if any)
+        RequirementCoveringIndex lJavaReqCovIndex = buildRequirementCoveringIndex(javaCoveringTestSetList);
 
         // Iterate on requirements
         for (Requirement lRequirement : sdRequirementList) {
 
-            boolean lRequirementIsCovered = false;
-
-            // Add ALM covering test data (if any)
-            for (IRequirementCoveringData lRequirementCoveringData : lAlmReqCovDataList) {
-                if (lRequirementCoveringData.getCoveredRequirementList().contains(lRequirement)) {
-                    // The requirement is covered
-                    lRequirementIsCovered = true;
-
-                    // Add to the execution result general structure
-                    executionResult.addRequirementCovering(lRequirement, lRequirementCoveringData);
-
-                    // Add in the ALM specific structure
-                    almRequirementTestCovering.addRequirementCovering(lRequirement, lRequirementCoveringData);
-                }
-            }
-
-            for (IRequirementCoveringData lRequirementCoveringData : lCucumberReqCovDataList) {
-
-                if (lRequirementCoveringData.getCoveredRequirementList().contains(lRequirement)) {
-                    // The requirement is covered
-                    lRequirementIsCovered = true;
-
-                    // Add to the execution result general structure
-                    executionResult.addRequirementCovering(lRequirement, lRequirementCoveringData);
-
-                    // Add in the cucumber specific structure
-                    cucumberRequirementTestCovering.addRequirementCovering(lRequirement, lRequirementCoveringData);
-                }
-            }
-
-            for (IRequirementCoveringData lRequirementCoveringData : lCSharpReqCovDataList) {
-                if (lRequirementCoveringData.getCoveredRequirementList().contains(lRequirement)) {
-                    // The requirement is covered
-                    lRequirementIsCovered = true;
-
-                    // Add to the execution result general structure
-                    executionResult.addRequirementCovering(lRequirement, lRequirementCoveringData);
-
-                    // Add in the C# unit test specific structure
-                    cSharpRequirementTestCovering.addRequirementCovering(lRequirement, lRequirementCoveringData);
-                }
-            }
-
-            for (IRequirementCoveringData lRequirementCoveringData : lJavaReqCovDataList) {
-                if (lRequirementCoveringData.getCoveredRequirementList().contains(lRequirement)) {
-                    // The requirement is covered
-                    lRequirementIsCovered = true;
-
-                    // Add to the execution result general structure
-                    executionResult.addRequirementCovering(lRequirement, lRequirementCoveringData);
-
-                    // Add in the java unit test specific structure
-                    javaRequirementTestCovering.addRequirementCovering(lRequirement, lRequirementCoveringData);
-                }
-            }
+            // Add the covering test data of each type (all are considered)
+            boolean lRequirementIsCovered = addRequirementCoveringFrom(lAlmReqCovIndex, lRequirement,
+                    almRequirementTestCovering);
+            lRequirementIsCovered |= addRequirementCoveringFrom(lCucumberReqCovIndex, lRequirement,
+                    cucumberRequirementTestCovering);
+            lRequirementIsCovered |= addRequirementCoveringFrom(lCSharpReqCovIndex, lRequirement,
+                    cSharpRequirementTestCovering);
+            lRequirementIsCovered |= addRequirementCoveringFrom(lJavaReqCovIndex, lRequirement,
+                    javaRequirementTestCovering);
 
             // If the requirement is not covered, add it to the list of covered
             // requirements
@@ -316,15 +302,44 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
     }
 
     /**
-     * Add in the list all the requirement covering data created from the
+     * Add the covering data of the given index that cover the given
+     * requirement to the execution result general structure and to the given
+     * test type specific structure.
+     * 
+     * @param pReqCovIndex the index of the covering data of a test type.
+     * @param pRequirement the requirement to consider.
+     * @param pSpecificRequirementTestCovering the test type specific
+     * structure.
+     * @return <tt>true</tt> if at least one covering data covers the
+     * requirement, <tt>false</tt> otherwise.
+     */
+    private boolean addRequirementCoveringFrom(final RequirementCoveringIndex pReqCovIndex,
+            final Requirement pRequirement, final RequirementTestCovering pSpecificRequirementTestCovering) {
+        List<IRequirementCoveringData> lReqCovDataList = pReqCovIndex.getRequirementCoveringDataListFor(pRequirement);
+
+        for (IRequirementCoveringData lRequirementCoveringData : lReqCovDataList) {
+            // Add to the execution result general structure
+            executionResult.addRequirementCovering(pRequirement, lRequirementCoveringData);
+
+            // Add in the specific structure
+            pSpecificRequirementTestCovering.addRequirementCovering(pRequirement, lRequirementCoveringData);
+        }
+
+        return !lReqCovDataList.isEmpty();
+    }
+
+    /**
+     * Build the index of all the requirement covering data created from the
      * covering test set list.
      * 
-     * @param pReqCovDataList the destination list to fill.
-     * @param pCoveringTestSetList the list of covering test set to consider.
+     * @param pCoveringTestSetList the list of covering test set to consider
+     * (can be <tt>null</tt> if none).
+     * @return the index of the covering data by covered requirement.
      */
-    private void addCoveringTestDataFrom(final List<IRequirementCoveringData> pReqCovDataList,
-            final List<TestSet> pCoveringTestSetList) {
-        if (pReqCovDataList != null && pCoveringTestSetList != null) {
+    private RequirementCoveringIndex buildRequirementCoveringIndex(final List<TestSet> pCoveringTestSetList) {
+        RequirementCoveringIndex lReqCovIndex = new RequirementCoveringIndex();
+
+        if (pCoveringTestSetList != null) {
             String lOriginDetails;
             for (TestSet lTestSet : pCoveringTestSetList) {
                 for (TestCaseData lTestCaseData : lTestSet.getTestDataList()) {
@@ -332,10 +347,12 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
                     RequirementCoveringData lRcd = new RequirementCoveringData(lTestSet.getTestSetType(),
                             lTestCaseData.getTestCaseIdentifier(), lTestCaseData.getTestCaseName(), lOriginDetails);
                     lRcd.addCoveredRequirements(lTestCaseData.getCoveredRequirementList());
-                    pReqCovDataList.add(lRcd);
+                    lReqCovIndex.addRequirementCoveringData(lRcd);
                 }
             }
         }
+
+        return lReqCovIndex;
     }
 
     /**
@@ -359,31 +376,38 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
 
         if (lOutputFileInputStream != null) {
 
-            try {
-                // Create the Excel workbook
-                XSSFWorkbook lWorkbook = new XSSFWorkbook();
+            // Create the Excel workbook
+            XSSFWorkbook lXssfWorkbook = new XSSFWorkbook();
+            SXSSFWorkbook lSxssfWorkbook = null;
+            Workbook lWorkbook = lXssfWorkbook;
+            if (streamingWriting) {
+                // Stream the rows, the styles staying in the wrapped workbook
+                lSxssfWorkbook = new SXSSFWorkbook(lXssfWorkbook, STREAMING_ROW_ACCESS_WINDOW_SIZE);
+                lWorkbook = lSxssfWorkbook;
+            }
 
+            try {
                 // Initialize the styles
-                workbookStyle = new CoverageMatrixWorkbookStyle(lWorkbook);
+                workbookStyle = new CoverageMatrixWorkbookStyle(lXssfWorkbook);
 
                 // Write a sheet for ALM if relevant
                 if (almRequirementTestCovering.containsCoveredRequirements()) {
-                    addSheet(almRequirementTestCovering, TestSetType.AlmTest, lWorkbook);
+                    addSheet(almRequirementTestCovering, TestSetType.AlmTest, lWorkbook, lXssfWorkbook);
                 }
 
                 // Write a sheet for cucumber if relevant
                 if (cucumberRequirementTestCovering.containsCoveredRequirements()) {
-                    addSheet(cucumberRequirementTestCovering, TestSetType.CucumberTest, lWorkbook);
+                    addSheet(cucumberRequirementTestCovering, TestSetType.CucumberTest, lWorkbook, lXssfWorkbook);
                 }
 
                 // Write a sheet for C# unit test if relevant
                 if (cSharpRequirementTestCovering.containsCoveredRequirements()) {
-                    addSheet(cSharpRequirementTestCovering, TestSetType.CSharpUnitTest, lWorkbook);
+                    addSheet(cSharpRequirementTestCovering, TestSetType.CSharpUnitTest, lWorkbook, lXssfWorkbook);
                 }
 
                 // Write a sheet for java unit test if relevant
                 if (javaRequirementTestCovering.containsCoveredRequirements()) {
-                    addSheet(javaRequirementTestCovering, TestSetType.JavaUnitTest, lWorkbook);
+                    addSheet(javaRequirementTestCovering, TestSetType.JavaUnitTest, lWorkbook, lXssfWorkbook);
                 }
 
                 // Write the sheet for the not covered requirements, if relevant
@@ -406,6 +430,14 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
                         + outputCoverageMatrixFile.getAbsolutePath() + " : " + ioe.getMessage());
             } finally {
 
+                if (lSxssfWorkbook != null) {
+                    // Delete the temporary files of the flushed rows
+                    if (!lSxssfWorkbook.dispose()) {
+                        LOGGER.warn("Could not delete the temporary files used to write "
+                                + outputCoverageMatrixFile.getAbsolutePath());
+                    }
+                }
+
                 try {
                     lOutputFileInputStream.close();
                 } catch (Exception e) {
@@ -421,8 +453,8 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
      * 
      * @param pWorkbook the destination workbook.
      */
-    private void addNotCoveredRequirementsSheet(final XSSFWorkbook pWorkbook) {
-        XSSFSheet lSheet = pWorkbook.createSheet("Not covered requirements");
+    private void addNotCoveredRequirementsSheet(final Workbook pWorkbook) {
+        Sheet lSheet = pWorkbook.createSheet("Not covered requirements");
 
         // Size the columns
         lSheet.setColumnWidth(REQUIREMENT_COL_IDX, Constants.COVMAT_NOT_COVERED_REQUIREMENT_COL_WIDTH_IN_OUTPUT_FILE
@@ -445,12 +477,11 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
             // Check whether there is a justification for this requirement or
             // not
             String lJustification = null;
-            if (notCoveredRequirementJustificationList != null) {
-                for (NotCoveredRequirementJustification lNcrJustification : notCoveredRequirementJustificationList) {
-                    if (lNcrJustification.getRequirement().compareTo(lNotCoveredRequirement) == 0) {
-                        lJustification = lNcrJustification.getJustification();
-                        break;
-                    }
+            if (notCoveredRequirementJustificationMap != null) {
+                NotCoveredRequirementJustification lNcrJustification = notCoveredRequirementJustificationMap
+                        .get(lNotCoveredRequirement);
+                if (lNcrJustification != null) {
+                    lJustification = lNcrJustification.getJustification();
                 }
             }
 
@@ -480,10 +511,12 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
      * @param pRequirementTestCovering the requirement test covering.
      * @param pTestType the type of test.
      * @param pWorkbook the destination workbook.
+     * @param pXssfWorkbook the workbook holding the sheets (the destination
+     * workbook itself, or the one it streams the rows of).
      */
     private void addSheet(final RequirementTestCovering pRequirementTestCovering, final TestSetType pTestType,
-            final XSSFWorkbook pWorkbook) {
-        XSSFSheet lSheet = pWorkbook.createSheet(pTestType.getAssociatedVtpSheetName());
+            final Workbook pWorkbook, final XSSFWorkbook pXssfWorkbook) {
+        Sheet lSheet = pWorkbook.createSheet(pTestType.getAssociatedVtpSheetName());
 
         // Size the columns
         lSheet.setColumnWidth(REQUIREMENT_COL_IDX, Constants.COVMAT_REQUIREMENT_COL_WIDTH_IN_OUTPUT_FILE
@@ -499,12 +532,49 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
         addHeaderRowFor(lSheet);
 
         int lRowIdx = 1;
+        List<CellRangeAddress> lMergedRegionList = new ArrayList<CellRangeAddress>();
 
         // Iterate on covered requirements
         for (Requirement lCoveredRequirement : pRequirementTestCovering.getSortedListOfCoveredRequirements()) {
             // Process this requirement coverage
             lRowIdx += addRequirementCoverageRowsFor(lSheet, lRowIdx, lCoveredRequirement,
-                    pRequirementTestCovering.getRequirementCoveringDataListFor(lCoveredRequirement));
+                    pRequirementTestCovering.getRequirementCoveringDataListFor(lCoveredRequirement),
+                    lMergedRegionList);
+        }
+
+        // Merge the requirement cells
+        setMergedRegions(pXssfWorkbook.getSheet(lSheet.getSheetName()), lMergedRegionList);
+    }
+
+    /**
+     * Set the merged regions of the given sheet in one go.
+     * <p>
+     * Adding the merged regions one by one through the sheet is quadratic, as
+     * POI counts (and by default checks) all the regions already merged each
+     * time. The regions of the requirements never overlap, so they are directly
+     * set in the sheet XML.
+     * </p>
+     * 
+     * @param pXssfSheet the sheet (in the workbook holding the sheets).
+     * @param pMergedRegionList the regions to merge.
+     */
+    private void setMergedRegions(final XSSFSheet pXssfSheet, final List<CellRangeAddress> pMergedRegionList) {
+        if (!pMergedRegionList.isEmpty()) {
+            CTMergeCell[] lCtMergeCells = new CTMergeCell[pMergedRegionList.size()];
+            for (int i = 0; i < lCtMergeCells.length; i++) {
+                lCtMergeCells[i] = CTMergeCell.Factory.newInstance();
+                lCtMergeCells[i].setRef(pMergedRegionList.get(i).formatAsString());
+            }
+
+            CTWorksheet lCtWorksheet = pXssfSheet.getCTWorksheet();
+            CTMergeCells lCtMergeCellList;
+            if (lCtWorksheet.isSetMergeCells()) {
+                lCtMergeCellList = lCtWorksheet.getMergeCells();
+            } else {
+                lCtMergeCellList = lCtWorksheet.addNewMergeCells();
+            }
+            lCtMergeCellList.setMergeCellArray(lCtMergeCells);
+            lCtMergeCellList.setCount(lCtMergeCells.length);
         }
     }
 
@@ -516,10 +586,13 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
      * @param pRowIdx the row index where to add rows.
      * @param pRequirement the covered requirement.
      * @param pList the associated coverage data.
+     * @param pMergedRegionList the list where to add the region of the
+     * requirement cells to merge.
      * @return the number of added rows.
      */
-    private int addRequirementCoverageRowsFor(final XSSFSheet pSheet, final int pRowIdx,
-            final Requirement pRequirement, final List<IRequirementCoveringData> pList) {
+    private int addRequirementCoverageRowsFor(final Sheet pSheet, final int pRowIdx,
+            final Requirement pRequirement, final List<IRequirementCoveringData> pList,
+            final List<CellRangeAddress> pMergedRegionList) {
         int lNbAddeRows = 0;
 
         // Create the data row at the given index
@@ -559,7 +632,7 @@ public class CoverageMatrixGenerator extends AbstractExecutor<CoverageMatrixGene
         // requirement
         // column
         if (pList.size() > 1) {
-            pSheet.addMergedRegion(new CellRangeAddress(pRowIdx, lCurrentRowIdx - 1, REQUIREMENT_COL_IDX,
+            pMergedRegionList.add(new CellRangeAddress(pRowIdx, lCurrentRowIdx - 1, REQUIREMENT_COL_IDX,
                     REQUIREMENT_COL_IDX));
         }
 
@@ -0,0 +1,454 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.covmatrixgen.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.model.TestSetType;
+
+/**
+ * Compact and read-only view of a {@link RequirementTestCovering}, meant for
+ * answering coverage questions over large projects without walking the
+ * covering data.
+ * <p>
+ * The covered requirements and the covering test cases are given dense
+ * identifiers (from 0), in the alphabetical order of the requirements and of
+ * the test case identifiers. The covering is stored as a sparse matrix in
+ * compressed rows, once by requirement and once by test case, each row holding
+ * sorted and distinct identifiers. For each {@link TestSetType}, a bit set
+ * gives the requirements covered by a test of this type, and another one the
+ * test cases of this type.
+ * </p>
+ * <p>
+ * As for {@link RequirementTestCovering#computeTotalTestCaseNumber()}, a test
+ * case is identified by its test case identifier only : all the covering data
+ * sharing it (typically, the steps of a test case) are the same test case.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class CompactRequirementCoverage {
+
+    /**
+     * The covered requirements, by identifier.
+     */
+    private final Requirement[] requirements;
+
+    /**
+     * The identifier of each covered requirement.
+     */
+    private final Map<Requirement, Integer> requirementIds;
+
+    /**
+     * The test case identifiers, by identifier.
+     */
+    private final String[] testCaseIdentifiers;
+
+    /**
+     * The identifier of each test case identifier.
+     */
+    private final Map<String, Integer> testCaseIds;
+
+    /**
+     * The start of the row of each requirement in {@link #reqTestCaseIds}
+     * (with one more element giving the end of the last row).
+     */
+    private final int[] reqRowStarts;
+
+    /**
+     * The identifiers of the test cases covering each requirement, row after
+     * row.
+     */
+    private final int[] reqTestCaseIds;
+
+    /**
+     * The start of the row of each test case in {@link #testCaseReqIds} (with
+     * one more element giving the end of the last row).
+     */
+    private final int[] testCaseRowStarts;
+
+    /**
+     * The identifiers of the requirements covered by each test case, row
+     * after row.
+     */
+    private final int[] testCaseReqIds;
+
+    /**
+     * The requirements covered by a test of each type.
+     */
+    private final Map<TestSetType, BitSet> requirementsByType;
+
+    /**
+     * The test cases of each type.
+     */
+    private final Map<TestSetType, BitSet> testCasesByType;
+
+    /**
+     * Constructor.
+     * 
+     * @param pRequirementTestCovering the requirement test covering to
+     * represent.
+     */
+    public CompactRequirementCoverage(final RequirementTestCovering pRequirementTestCovering) {
+        List<Requirement> lRequirementList = pRequirementTestCovering.getSortedListOfCoveredRequirements();
+
+        // Give the identifiers
+        requirements = lRequirementList.toArray(new Requirement[lRequirementList.size()]);
+        requirementIds = new HashMap<Requirement, Integer>();
+        for (int lReqId = 0; lReqId < requirements.length; lReqId++) {
+            requirementIds.put(requirements[lReqId], Integer.valueOf(lReqId));
+        }
+
+        Set<String> lTestCaseIdentifierSet = new HashSet<String>();
+        for (Requirement lRequirement : lRequirementList) {
+            for (IRequirementCoveringData lRcd : pRequirementTestCovering
+                    .getRequirementCoveringDataListFor(lRequirement)) {
+                lTestCaseIdentifierSet.add(lRcd.getTestCaseIdentifier());
+            }
+        }
+        testCaseIdentifiers = lTestCaseIdentifierSet.toArray(new String[lTestCaseIdentifierSet.size()]);
+        Arrays.sort(testCaseIdentifiers);
+        testCaseIds = new HashMap<String, Integer>();
+        for (int lTestCaseId = 0; lTestCaseId < testCaseIdentifiers.length; lTestCaseId++) {
+            testCaseIds.put(testCaseIdentifiers[lTestCaseId], Integer.valueOf(lTestCaseId));
+        }
+
+        requirementsByType = new EnumMap<TestSetType, BitSet>(TestSetType.class);
+        testCasesByType = new EnumMap<TestSetType, BitSet>(TestSetType.class);
+        for (TestSetType lTestSetType : TestSetType.values()) {
+            requirementsByType.put(lTestSetType, new BitSet(requirements.length));
+            testCasesByType.put(lTestSetType, new BitSet(testCaseIdentifiers.length));
+        }
+
+        // Fill the rows of the requirements
+        reqRowStarts = new int[requirements.length + 1];
+        int[] lReqTestCaseIds = new int[0];
+        int lNbEntries = 0;
+        for (int lReqId = 0; lReqId < requirements.length; lReqId++) {
+            List<IRequirementCoveringData> lRcdList = pRequirementTestCovering
+                    .getRequirementCoveringDataListFor(requirements[lReqId]);
+            int[] lRow = new int[lRcdList.size()];
+            int lRowLength = 0;
+            for (IRequirementCoveringData lRcd : lRcdList) {
+                int lTestCaseId = testCaseIds.get(lRcd.getTestCaseIdentifier()).intValue();
+                lRow[lRowLength] = lTestCaseId;
+                lRowLength++;
+                requirementsByType.get(lRcd.getType()).set(lReqId);
+                testCasesByType.get(lRcd.getType()).set(lTestCaseId);
+            }
+            lRowLength = sortDistinct(lRow, lRowLength);
+
+            if (lNbEntries + lRowLength > lReqTestCaseIds.length) {
+                lReqTestCaseIds = Arrays.copyOf(lReqTestCaseIds,
+                        Math.max(lNbEntries + lRowLength, 2 * lReqTestCaseIds.length));
+            }
+            System.arraycopy(lRow, 0, lReqTestCaseIds, lNbEntries, lRowLength);
+            lNbEntries += lRowLength;
+            reqRowStarts[lReqId + 1] = lNbEntries;
+        }
+        reqTestCaseIds = Arrays.copyOf(lReqTestCaseIds, lNbEntries);
+
+        // Transpose them into the rows of the test cases : as the requirements
+        // are visited in order, each row of a test case is sorted
+        testCaseRowStarts = new int[testCaseIdentifiers.length + 1];
+        for (int lTestCaseId : reqTestCaseIds) {
+            testCaseRowStarts[lTestCaseId + 1]++;
+        }
+        for (int lTestCaseId = 0; lTestCaseId < testCaseIdentifiers.length; lTestCaseId++) {
+            testCaseRowStarts[lTestCaseId + 1] += testCaseRowStarts[lTestCaseId];
+        }
+        testCaseReqIds = new int[lNbEntries];
+        int[] lNextPositions = Arrays.copyOf(testCaseRowStarts, testCaseIdentifiers.length);
+        for (int lReqId = 0; lReqId < requirements.length; lReqId++) {
+            for (int lIdx = reqRowStarts[lReqId]; lIdx < reqRowStarts[lReqId + 1]; lIdx++) {
+                int lTestCaseId = reqTestCaseIds[lIdx];
+                testCaseReqIds[lNextPositions[lTestCaseId]] = lReqId;
+                lNextPositions[lTestCaseId]++;
+            }
+        }
+    }
+
+    /**
+     * Sort the first elements of the given array and remove the duplicated
+     * ones.
+     * 
+     * @param pValues the array to modify.
+     * @param pLength the number of elements to consider.
+     * @return the number of distinct elements, now at the beginning of the
+     * array.
+     */
+    private static int sortDistinct(final int[] pValues, final int pLength) {
+        Arrays.sort(pValues, 0, pLength);
+
+        int lDistinctLength = 0;
+        for (int lIdx = 0; lIdx < pLength; lIdx++) {
+            if ((lDistinctLength == 0) || (pValues[lDistinctLength - 1] != pValues[lIdx])) {
+                pValues[lDistinctLength] = pValues[lIdx];
+                lDistinctLength++;
+            }
+        }
+
+        return lDistinctLength;
+    }
+
+    /**
+     * Get the number of covered requirements.
+     * 
+     * @return the number of covered requirements.
+     */
+    public int getRequirementCount() {
+        return requirements.length;
+    }
+
+    /**
+     * Get the number of test cases covering at least one requirement.
+     * <p>
+     * This is the same value as
+     * {@link RequirementTestCovering#computeTotalTestCaseNumber()}.
+     * </p>
+     * 
+     * @return the number of covering test cases.
+     */
+    public int getTestCaseCount() {
+        return testCaseIdentifiers.length;
+    }
+
+    /**
+     * Get the number of associations between a requirement and a test case.
+     * 
+     * @return the number of covering associations.
+     */
+    public int getCoveringCount() {
+        return reqTestCaseIds.length;
+    }
+
+    /**
+     * Get the identifier of the given requirement.
+     * 
+     * @param pRequirement the requirement.
+     * @return the identifier of the requirement, or -1 if it is not covered.
+     */
+    public int getRequirementId(final Requirement pRequirement) {
+        int lReqId = -1;
+        Integer lId = requirementIds.get(pRequirement);
+        if (lId != null) {
+            lReqId = lId.intValue();
+        }
+        return lReqId;
+    }
+
+    /**
+     * Get the requirement of the given identifier.
+     * 
+     * @param pReqId the identifier of a covered requirement.
+     * @return the requirement.
+     */
+    public Requirement getRequirement(final int pReqId) {
+        return requirements[pReqId];
+    }
+
+    /**
+     * Get the identifier of the given test case.
+     * 
+     * @param pTestCaseIdentifier the test case identifier (as given by
+     * {@link IRequirementCoveringData#getTestCaseIdentifier()}).
+     * @return the identifier of the test case, or -1 if it covers no
+     * requirement.
+     */
+    public int getTestCaseId(final String pTestCaseIdentifier) {
+        int lTestCaseId = -1;
+        Integer lId = testCaseIds.get(pTestCaseIdentifier);
+        if (lId != null) {
+            lTestCaseId = lId.intValue();
+        }
+        return lTestCaseId;
+    }
+
+    /**
+     * Get the test case identifier of the given identifier.
+     * 
+     * @param pTestCaseId the identifier of a covering test case.
+     * @return the test case identifier.
+     */
+    public String getTestCaseIdentifier(final int pTestCaseId) {
+        return testCaseIdentifiers[pTestCaseId];
+    }
+
+    /**
+     * Get the number of test cases covering the given requirement.
+     * 
+     * @param pReqId the identifier of a covered requirement.
+     * @return the number of distinct test cases covering it.
+     */
+    public int getCoveringTestCaseCount(final int pReqId) {
+        return reqRowStarts[pReqId + 1] - reqRowStarts[pReqId];
+    }
+
+    /**
+     * Get the test cases covering the given requirement.
+     * 
+     * @param pReqId the identifier of a covered requirement.
+     * @return the sorted identifiers of the test cases covering it.
+     */
+    public int[] getCoveringTestCaseIds(final int pReqId) {
+        return Arrays.copyOfRange(reqTestCaseIds, reqRowStarts[pReqId], reqRowStarts[pReqId + 1]);
+    }
+
+    /**
+     * Get the number of requirements covered by the given test case.
+     * 
+     * @param pTestCaseId the identifier of a covering test case.
+     * @return the number of distinct requirements it covers.
+     */
+    public int getCoveredRequirementCount(final int pTestCaseId) {
+        return testCaseRowStarts[pTestCaseId + 1] - testCaseRowStarts[pTestCaseId];
+    }
+
+    /**
+     * Get the requirements covered by the given test case.
+     * 
+     * @param pTestCaseId the identifier of a covering test case.
+     * @return the sorted identifiers of the requirements it covers.
+     */
+    public int[] getCoveredRequirementIds(final int pTestCaseId) {
+        return Arrays.copyOfRange(testCaseReqIds, testCaseRowStarts[pTestCaseId], testCaseRowStarts[pTestCaseId + 1]);
+    }
+
+    /**
+     * Checks whether the given requirement is covered by the given test case.
+     * 
+     * @param pReqId the identifier of a covered requirement.
+     * @param pTestCaseId the identifier of a covering test case.
+     * @return <tt>true</tt> if the test case covers the requirement,
+     * <tt>false</tt> otherwise.
+     */
+    public boolean isCoveredBy(final int pReqId, final int pTestCaseId) {
+        return Arrays.binarySearch(reqTestCaseIds, reqRowStarts[pReqId], reqRowStarts[pReqId + 1], pTestCaseId) >= 0;
+    }
+
+    /**
+     * Checks whether the given requirement is covered by a test of the given
+     * type.
+     * 
+     * @param pReqId the identifier of a covered requirement.
+     * @param pTestSetType the type of test.
+     * @return <tt>true</tt> if a test of this type covers the requirement,
+     * <tt>false</tt> otherwise.
+     */
+    public boolean isCoveredBy(final int pReqId, final TestSetType pTestSetType) {
+        return requirementsByType.get(pTestSetType).get(pReqId);
+    }
+
+    /**
+     * Get the requirements covered by a test of the given type.
+     * 
+     * @param pTestSetType the type of test.
+     * @return a new bit set of the identifiers of the requirements.
+     */
+    public BitSet getRequirementsCoveredBy(final TestSetType pTestSetType) {
+        return (BitSet) requirementsByType.get(pTestSetType).clone();
+    }
+
+    /**
+     * Get the requirements covered by a test of at least one of the given
+     * types.
+     * 
+     * @param pTestSetTypes the types of test.
+     * @return a new bit set of the identifiers of the requirements (empty if
+     * no type is given).
+     */
+    public BitSet getRequirementsCoveredByAnyOf(final Set<TestSetType> pTestSetTypes) {
+        BitSet lReqIds = new BitSet(requirements.length);
+        for (TestSetType lTestSetType : pTestSetTypes) {
+            lReqIds.or(requirementsByType.get(lTestSetType));
+        }
+        return lReqIds;
+    }
+
+    /**
+     * Get the requirements covered by a test of each of the given types.
+     * 
+     * @param pTestSetTypes the types of test.
+     * @return a new bit set of the identifiers of the requirements (all of them
+     * if no type is given).
+     */
+    public BitSet getRequirementsCoveredByAllOf(final Set<TestSetType> pTestSetTypes) {
+        BitSet lReqIds = new BitSet(requirements.length);
+        lReqIds.set(0, requirements.length);
+        for (TestSetType lTestSetType : pTestSetTypes) {
+            lReqIds.and(requirementsByType.get(lTestSetType));
+        }
+        return lReqIds;
+    }
+
+    /**
+     * Get the requirements covered by a test of the given type and by no test
+     * of the other given types.
+     * 
+     * @param pTestSetType the type of test covering the requirements.
+     * @param pExcludedTestSetTypes the types of test not covering them.
+     * @return a new bit set of the identifiers of the requirements.
+     */
+    public BitSet getRequirementsCoveredOnlyBy(final TestSetType pTestSetType,
+            final Set<TestSetType> pExcludedTestSetTypes) {
+        BitSet lReqIds = getRequirementsCoveredBy(pTestSetType);
+        lReqIds.andNot(getRequirementsCoveredByAnyOf(pExcludedTestSetTypes));
+        return lReqIds;
+    }
+
+    /**
+     * Get the number of requirements covered by a test of the given type.
+     * 
+     * @param pTestSetType the type of test.
+     * @return the number of requirements.
+     */
+    public int getCoveredRequirementCount(final TestSetType pTestSetType) {
+        return requirementsByType.get(pTestSetType).cardinality();
+    }
+
+    /**
+     * Get the test cases of the given type.
+     * 
+     * @param pTestSetType the type of test.
+     * @return a new bit set of the identifiers of the test cases.
+     */
+    public BitSet getTestCasesOf(final TestSetType pTestSetType) {
+        return (BitSet) testCasesByType.get(pTestSetType).clone();
+    }
+
+    /**
+     * Get the number of test cases of the given type.
+     * 
+     * @param pTestSetType the type of test.
+     * @return the number of test cases.
+     */
+    public int getTestCaseCount(final TestSetType pTestSetType) {
+        return testCasesByType.get(pTestSetType).cardinality();
+    }
+
+    /**
+     * Get the requirements of the given identifiers.
+     * 
+     * @param pReqIds the identifiers of covered requirements.
+     * @return the unmodifiable list of the requirements, sorted alphabetically.
+     */
+    public List<Requirement> getRequirements(final BitSet pReqIds) {
+        List<Requirement> lRequirementList = new ArrayList<Requirement>(pReqIds.cardinality());
+        for (int lReqId = pReqIds.nextSetBit(0); lReqId >= 0; lReqId = pReqIds.nextSetBit(lReqId + 1)) {
+            lRequirementList.add(requirements[lReqId]);
+        }
+        return Collections.unmodifiableList(lRequirementList);
+    }
+}
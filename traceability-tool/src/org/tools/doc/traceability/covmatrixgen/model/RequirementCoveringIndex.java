@@ -0,0 +1,85 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.covmatrixgen.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.tools.doc.traceability.common.model.Requirement;
+
+/**
+ * Inverted index giving, for each requirement, the requirement covering data
+ * that reference it.
+ * <p>
+ * It is filled in one pass over the covering data, so that finding the data
+ * covering a requirement is a hash lookup instead of a scan of all the covering
+ * data and of their covered requirement lists.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class RequirementCoveringIndex {
+
+    /**
+     * The internal map associating with each requirement the list of covering
+     * data that references it, in the order they were added.
+     */
+    private final Map<Requirement, List<IRequirementCoveringData>> reqCovDataListMap;
+
+    /**
+     * Constructor of an empty index.
+     */
+    public RequirementCoveringIndex() {
+        reqCovDataListMap = new HashMap<Requirement, List<IRequirementCoveringData>>();
+    }
+
+    /**
+     * Index the given covering data under each requirement it covers.
+     * <p>
+     * A requirement referenced several times by the covering data is indexed
+     * only once for it.
+     * </p>
+     * 
+     * @param pRequirementCoveringData the covering data to index.
+     */
+    public void addRequirementCoveringData(final IRequirementCoveringData pRequirementCoveringData) {
+        for (Requirement lRequirement : pRequirementCoveringData.getCoveredRequirementList()) {
+            List<IRequirementCoveringData> lReqCovDataList = reqCovDataListMap.get(lRequirement);
+
+            if (lReqCovDataList == null) {
+                lReqCovDataList = new ArrayList<IRequirementCoveringData>();
+                reqCovDataListMap.put(lRequirement, lReqCovDataList);
+            }
+
+            // The covering data are indexed one after the other : it was
+            // already indexed for this requirement only if it is the last one
+            if (lReqCovDataList.isEmpty()
+                    || (lReqCovDataList.get(lReqCovDataList.size() - 1) != pRequirementCoveringData)) {
+                lReqCovDataList.add(pRequirementCoveringData);
+            }
+        }
+    }
+
+    /**
+     * Gets the list of covering data referencing the given requirement.
+     * 
+     * @param pRequirement the requirement to consider.
+     * @return the unmodifiable list of covering data referencing the
+     * requirement, in the order they were added (empty if the requirement is
+     * not covered).
+     */
+    public List<IRequirementCoveringData> getRequirementCoveringDataListFor(final Requirement pRequirement) {
+        List<IRequirementCoveringData> lReqCovDataList = reqCovDataListMap.get(pRequirement);
+        if (lReqCovDataList == null) {
+            lReqCovDataList = Collections.emptyList();
+        } else {
+            lReqCovDataList = Collections.unmodifiableList(lReqCovDataList);
+        }
+        return lReqCovDataList;
+    }
+}
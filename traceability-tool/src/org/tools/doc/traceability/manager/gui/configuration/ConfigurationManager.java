@@ -13,6 +13,7 @@ import javax.xml.bind.Unmarshaller;
 
 import org.apache.xmlbeans.XmlException;
 import org.tools.doc.traceability.common.exceptions.ConfigurationErrorException;
+import org.tools.doc.traceability.common.executor.ParallelTaskRunner;
 import org.tools.doc.traceability.common.xml.XmlManager;
 import org.tools.doc.traceability.manager.gui.GuiConstants;
 import org.tools.doc.traceability.manager.gui.configuration.appmodel.ApplicationConfiguration;
@@ -104,6 +105,11 @@ public final class ConfigurationManager {
      */
     private String relativePathFromGitBaseDirectoryToJustificationFilesDirectory;
 
+    /**
+     * The maximum number of files analyzed at the same time.
+     */
+    private int parallelWorkerCount;
+
     /**
      * The tool data corresponding to the default tool.
      */
@@ -128,6 +134,7 @@ public final class ConfigurationManager {
         relativePathToVtpFiles = null;
         relativePathToTraceabilityMatrixFiles = null;
         relativePathFromGitBaseDirectoryToJustificationFilesDirectory = null;
+        parallelWorkerCount = ParallelTaskRunner.getDefaultWorkerCount();
 
         applicationDataList = new ApplicationDataList();
     }
@@ -173,6 +180,16 @@ public final class ConfigurationManager {
         return defaultUnitTestMethodNameRegexp;
     }
 
+    /**
+     * Getter of the maximum number of files analyzed at the same time.
+     * 
+     * @return the parallelWorkerCount (the number of available processors if
+     * not defined in the configuration file)
+     */
+    public int getParallelWorkerCount() {
+        return parallelWorkerCount;
+    }
+
     /**
      * Getter of the default tool data.
      * 
@@ -253,6 +270,10 @@ public final class ConfigurationManager {
             relativePathFromGitBaseDirectoryToJustificationFilesDirectory = lGeneralConfig
                     .getRelativePathToJustificationFiles();
 
+            if (lGeneralConfig.getParallelWorkerCount() != null) {
+                parallelWorkerCount = lGeneralConfig.getParallelWorkerCount().intValue();
+            }
+
             ApplicationConfigurationSection lAppConfigSection = lTraceablitiyToolsConfiguration
                     .getApplicationConfigurationSection();
 
@@ -46,6 +46,13 @@ public class GeneralConfiguration extends AbstractConfigurationModel {
     @XmlElement(name = "UnitTestMethodSimpleRegexp")
     private String unitTestMethodSimpleRegexp;
 
+    /**
+     * The maximum number of files analyzed at the same time (<tt>null</tt>
+     * if not defined).
+     */
+    @XmlElement(name = "ParallelWorkerCount")
+    private Integer parallelWorkerCount;
+
     /**
      * Constructor.
      */
@@ -54,6 +61,7 @@ public class GeneralConfiguration extends AbstractConfigurationModel {
         projectRelativePathConfiguration = null;
         relativePathToJustificationFiles = null;
         unitTestMethodSimpleRegexp = null;
+        parallelWorkerCount = null;
     }
 
     /**
@@ -133,4 +141,22 @@ public class GeneralConfiguration extends AbstractConfigurationModel {
         relativePathToJustificationFiles = pRelativePathToJustificationFiles;
     }
 
+    /**
+     * Getter of the maximum number of files analyzed at the same time.
+     * 
+     * @return the parallelWorkerCount (<tt>null</tt> if not defined)
+     */
+    public Integer getParallelWorkerCount() {
+        return parallelWorkerCount;
+    }
+
+    /**
+     * Setter of the maximum number of files analyzed at the same time.
+     * 
+     * @param pParallelWorkerCount the parallelWorkerCount to set
+     */
+    public void setParallelWorkerCount(final Integer pParallelWorkerCount) {
+        parallelWorkerCount = pParallelWorkerCount;
+    }
+
 }
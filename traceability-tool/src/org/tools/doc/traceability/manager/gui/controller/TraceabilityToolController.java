@@ -553,6 +553,9 @@ public final class TraceabilityToolController implements ActionListener {
         // Output VTP file
         lContext.setOutputVtpFile(coverageMatrixGeneratorToolConfiguration.getOutputVtpFile());
 
+        // Number of files analyzed at the same time
+        lContext.setWorkerCount(ConfigurationManager.getInstance().getParallelWorkerCount());
+
         // ALM tests
         AlmTestsCoverageConfiguration lAlmConfig = coverageMatrixGeneratorToolConfiguration
                 .getAlmTestsCoverageConfiguration();
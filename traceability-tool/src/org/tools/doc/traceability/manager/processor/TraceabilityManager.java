@@ -5,6 +5,7 @@ package org.tools.doc.traceability.manager.processor;
 
 import java.io.File;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -28,6 +29,7 @@ import org.tools.doc.traceability.common.executor.AbstractExecutor;
 import org.tools.doc.traceability.common.executor.ExecutionStatus;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
 import org.tools.doc.traceability.common.filesearch.FileSearchFilterSet;
+import org.tools.doc.traceability.common.model.Requirement;
 import org.tools.doc.traceability.common.model.TestSet;
 import org.tools.doc.traceability.covmatrixgen.CoverageMatrixGenerator;
 import org.tools.doc.traceability.covmatrixgen.CoverageMatrixGeneratorResultObject;
@@ -49,6 +51,30 @@ public class TraceabilityManager extends AbstractExecutor<TraceabilityManagerRes
      */
     private static final Logger LOGGER = LogManager.getLogger(TraceabilityManager.class);
 
+    /**
+     * The name of the sub-directory of the cache directory where the
+     * requirements extracted from the SD files are cached.
+     */
+    private static final String REQUIREMENT_CACHE_DIRECTORY_NAME = "requirements";
+
+    /**
+     * The name of the sub-directory of the cache directory where the analysis
+     * results of the java unit test files are cached.
+     */
+    private static final String JAVA_UNIT_TEST_CACHE_DIRECTORY_NAME = "java-unit-tests";
+
+    /**
+     * The name of the sub-directory of the cache directory where the analysis
+     * results of the C# unit test files are cached.
+     */
+    private static final String CSHARP_UNIT_TEST_CACHE_DIRECTORY_NAME = "csharp-unit-tests";
+
+    /**
+     * The name of the sub-directory of the cache directory where the parsed
+     * contents of the feature files are cached.
+     */
+    private static final String CUCUMBER_FEATURE_CACHE_DIRECTORY_NAME = "cucumber-features";
+
     /**
      * The traceability context to work on.
      */
@@ -178,15 +204,14 @@ public class TraceabilityManager extends AbstractExecutor<TraceabilityManagerRes
         List<TestSet> lCSharpTestSetList = vtpUpdaterResult.getcSharpCoveringTestSetList();
         List<TestSet> lJavaTestSetList = vtpUpdaterResult.getJavaCoveringTestSetList();
 
-        List<NotCoveredRequirementJustification> lNotCoveredReqJustificationList = null;
+        Map<Requirement, NotCoveredRequirementJustification> lNotCoveredReqJustificationMap = null;
         if (justificationFileAnalyzerResult != null) {
-            lNotCoveredReqJustificationList = justificationFileAnalyzerResult
-                    .getNotCoveredRequirementJustificationList();
+            lNotCoveredReqJustificationMap = justificationFileAnalyzerResult.getJustificationByRequirement();
         }
 
         CoverageMatrixGenerator lCoverageMatrixGenerator = new CoverageMatrixGenerator(
                 sdFilesRequirementExtractorResult.getAllRequirements(), lAlmTestSetList, lCucumberTestSetList,
-                lCSharpTestSetList, lJavaTestSetList, lNotCoveredReqJustificationList, lCoveringMatrixFile,
+                lCSharpTestSetList, lJavaTestSetList, lNotCoveredReqJustificationMap, lCoveringMatrixFile,
                 lExecutionStatus);
 
         lCoverageMatrixGenerator.runAsSubExecutor(this, 100);
@@ -262,13 +287,21 @@ public class TraceabilityManager extends AbstractExecutor<TraceabilityManagerRes
             ExecutorExecutionStatus<JavaUnitTestCoverageAnalyserResult> lExecutionStatus = new ExecutorExecutionStatus<JavaUnitTestCoverageAnalyserResult>();
             JavaUnitTestCoverageAnalyser lJavaUnitTestCoverageAnalyser = new JavaUnitTestCoverageAnalyser(
                     lFileSearchFilterSet, context.getJavaMethodRegexp(), lExecutionStatus);
+            lJavaUnitTestCoverageAnalyser.setWorkerCount(context.getWorkerCount());
+            File lCacheDirectory = context.getCacheDirectory();
+            if (lCacheDirectory != null) {
+                lJavaUnitTestCoverageAnalyser.setCacheDirectory(new File(lCacheDirectory,
+                        JAVA_UNIT_TEST_CACHE_DIRECTORY_NAME));
+            }
 
             lJavaUnitTestCoverageAnalyser.runAsSubExecutor(this, 70);
 
             if (lExecutionStatus.getCurrentExecutionStatus() == ExecutionStatus.ENDED_SUCCESS) {
                 javaUnitTestsCoverageAnalyserResult = lExecutionStatus.getExecutionResult();
                 LOGGER.info("Extracting java unit tests successful with "
-                        + javaUnitTestsCoverageAnalyserResult.getFoundTestCount() + " tests");
+                        + javaUnitTestsCoverageAnalyserResult.getFoundTestCount() + " tests ("
+                        + javaUnitTestsCoverageAnalyserResult.getCacheHitCount() + " file(s) loaded from cache, "
+                        + javaUnitTestsCoverageAnalyserResult.getCacheMissCount() + " file(s) analyzed)");
             } else {
                 LOGGER.error("Error extracting java unit tests : status "
                         + lExecutionStatus.getCurrentExecutionStatus().getDescription() + " ("
@@ -298,6 +331,12 @@ public class TraceabilityManager extends AbstractExecutor<TraceabilityManagerRes
 
             CSharpUnitTestCoverageAnalyzer lCSharpUnitTestCoverageAnalyzer = new CSharpUnitTestCoverageAnalyzer(
                     lFileSearchFilterSet, context.getcSharpMethodRegexp(), lExecutionStatus);
+            lCSharpUnitTestCoverageAnalyzer.setWorkerCount(context.getWorkerCount());
+            File lCacheDirectory = context.getCacheDirectory();
+            if (lCacheDirectory != null) {
+                lCSharpUnitTestCoverageAnalyzer.setCacheDirectory(new File(lCacheDirectory,
+                        CSHARP_UNIT_TEST_CACHE_DIRECTORY_NAME));
+            }
 
             lCSharpUnitTestCoverageAnalyzer.runAsSubExecutor(this, 60);
 
@@ -308,7 +347,9 @@ public class TraceabilityManager extends AbstractExecutor<TraceabilityManagerRes
             if (lExecutionStatus.getCurrentExecutionStatus() == ExecutionStatus.ENDED_SUCCESS) {
                 cSharpUnitTestsCoverageAnalyserResult = lExecutionStatus.getExecutionResult();
                 LOGGER.info("Extracting C# unit tests successful with "
-                        + cSharpUnitTestsCoverageAnalyserResult.getFoundTestCount() + " tests");
+                        + cSharpUnitTestsCoverageAnalyserResult.getFoundTestCount() + " tests ("
+                        + cSharpUnitTestsCoverageAnalyserResult.getCacheHitCount() + " file(s) loaded from cache, "
+                        + cSharpUnitTestsCoverageAnalyserResult.getCacheMissCount() + " file(s) analyzed)");
             } else {
                 LOGGER.error("Error extracting C# unit tests : status "
                         + lExecutionStatus.getCurrentExecutionStatus().getDescription() + " ("
@@ -339,13 +380,32 @@ public class TraceabilityManager extends AbstractExecutor<TraceabilityManagerRes
 
             CucumberTestCoverageAnalyser lCucumberTestCoverageAnalyser = new CucumberTestCoverageAnalyser(
                     lFileSearchFilterSet, lExecutionStatus);
+            lCucumberTestCoverageAnalyser.setWorkerCount(context.getWorkerCount());
+            File lCacheDirectory = context.getCacheDirectory();
+            if (lCacheDirectory != null) {
+                lCucumberTestCoverageAnalyser.setCacheDirectory(new File(lCacheDirectory,
+                        CUCUMBER_FEATURE_CACHE_DIRECTORY_NAME));
+            }
 
             lCucumberTestCoverageAnalyser.runAsSubExecutor(this, 50);
 
             if (lExecutionStatus.getCurrentExecutionStatus() == ExecutionStatus.ENDED_SUCCESS) {
                 cucumberCoverageAnalyserResult = lExecutionStatus.getExecutionResult();
                 LOGGER.info("Extracting cucumber tests successful with "
-                        + cucumberCoverageAnalyserResult.getCucumberTestsFileDataList().size() + " tests");
+                        + cucumberCoverageAnalyserResult.getCucumberTestsFileDataList().size() + " tests ("
+                        + cucumberCoverageAnalyserResult.getCacheHitCount() + " file(s) loaded from cache, "
+                        + cucumberCoverageAnalyserResult.getCacheMissCount() + " file(s) parsed)");
+
+                // Report the feature files that could not be processed
+                Map<File, String> lFailedFeatureFiles = cucumberCoverageAnalyserResult.getFailedFeatureFiles();
+                if (!lFailedFeatureFiles.isEmpty()) {
+                    LOGGER.warn(lFailedFeatureFiles.size() + " feature file(s) could not be processed and are"
+                            + " ignored :");
+                    for (Map.Entry<File, String> lFailedFeatureFile : lFailedFeatureFiles.entrySet()) {
+                        LOGGER.warn("  " + lFailedFeatureFile.getKey().getAbsolutePath() + " : "
+                                + lFailedFeatureFile.getValue());
+                    }
+                }
             } else {
                 LOGGER.error("Error extracting cucumber tests : status "
                         + lExecutionStatus.getCurrentExecutionStatus().getDescription() + " ("
@@ -440,6 +500,11 @@ public class TraceabilityManager extends AbstractExecutor<TraceabilityManagerRes
         RequirementExtractor lRequirementExtractor = new RequirementExtractor(context.getSdFileList(),
                 context.getOutputExtractedRequirementsFile(), true, context.getRequirementPrefixList(),
                 lExecutionStatus);
+        lRequirementExtractor.setWorkerCount(context.getWorkerCount());
+        File lCacheDirectory = context.getCacheDirectory();
+        if (lCacheDirectory != null) {
+            lRequirementExtractor.setCacheDirectory(new File(lCacheDirectory, REQUIREMENT_CACHE_DIRECTORY_NAME));
+        }
 
         LOGGER.info("Extracting SD requirements");
         setCurrentOperation("Extracting SD requirements", 5);
@@ -456,7 +521,9 @@ public class TraceabilityManager extends AbstractExecutor<TraceabilityManagerRes
             executionResult.setDuplicatedRequirements(sdFilesRequirementExtractorResult.getDuplicatedRequirements());
 
             LOGGER.info("Extraction of SD requirements successful with "
-                    + sdFilesRequirementExtractorResult.getRequirementCount() + " requirements");
+                    + sdFilesRequirementExtractorResult.getRequirementCount() + " requirements ("
+                    + sdFilesRequirementExtractorResult.getCacheHitCount() + " SD file(s) loaded from cache, "
+                    + sdFilesRequirementExtractorResult.getCacheMissCount() + " SD file(s) missing from cache)");
         } else {
             LOGGER.error("Error extracting SD requirements : status "
                     + lExecutionStatus.getCurrentExecutionStatus().getDescription() + " ("
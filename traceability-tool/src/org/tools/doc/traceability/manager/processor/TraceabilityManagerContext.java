@@ -13,6 +13,7 @@ import org.apache.logging.log4j.Logger;
 import org.tools.doc.traceability.common.exceptions.InvalidFileSearchFilterException;
 import org.tools.doc.traceability.common.exceptions.InvalidSimpleRegexpException;
 import org.tools.doc.traceability.common.exceptions.InvalidTraceabilityManagerContextException;
+import org.tools.doc.traceability.common.executor.ParallelTaskRunner;
 import org.tools.doc.traceability.common.filesearch.FileSearchFilter;
 import org.tools.doc.traceability.common.filesearch.FileSearchFilterSet;
 import org.tools.doc.traceability.common.sregex.SimpleRegex;
@@ -31,6 +32,12 @@ public class TraceabilityManagerContext {
      */
     private static final Logger LOGGER = LogManager.getLogger(TraceabilityManagerContext.class);
 
+    /**
+     * The name of the default cache directory, located in the folder of the
+     * output traceability matrix file.
+     */
+    public static final String DEFAULT_CACHE_DIRECTORY_NAME = ".traceability-cache";
+
     /**
      * The list of SD files containing the requirements to check.
      */
@@ -110,6 +117,23 @@ public class TraceabilityManagerContext {
      */
     private File outputTraceabilityMatrixFile;
 
+    /**
+     * The directory where the results of the analyses are cached between
+     * executions (<tt>null</tt> for the default one).
+     */
+    private File cacheDirectory;
+
+    /**
+     * Flag indicating whether the results of the analyses are cached between
+     * executions.
+     */
+    private boolean cacheEnabled;
+
+    /**
+     * The maximum number of files analyzed at the same time.
+     */
+    private int workerCount;
+
     /**
      * Constructor.
      */
@@ -121,6 +145,9 @@ public class TraceabilityManagerContext {
         outputExtractedRequirementsFile = null;
         outputVtpFile = null;
         outputTraceabilityMatrixFile = null;
+        cacheDirectory = null;
+        cacheEnabled = true;
+        workerCount = ParallelTaskRunner.getDefaultWorkerCount();
         try {
             cSharpMethodRegexp = new SimpleRegex("*");
         } catch (InvalidSimpleRegexpException e) {
@@ -399,6 +426,75 @@ public class TraceabilityManagerContext {
         outputTraceabilityMatrixFile = pOutputTraceabilityMatrixFile;
     }
 
+    /**
+     * Get the directory where the results of the analyses are cached between
+     * executions.
+     * <p>
+     * Unless another directory was set, it is the
+     * {@value #DEFAULT_CACHE_DIRECTORY_NAME} directory located in the folder of
+     * the output traceability matrix file.
+     * </p>
+     * 
+     * @return the cache directory, or <tt>null</tt> if the cache is disabled
+     * or if no directory can be determined.
+     */
+    public File getCacheDirectory() {
+        File lCacheDirectory = null;
+
+        if (cacheEnabled) {
+            if (cacheDirectory != null) {
+                lCacheDirectory = cacheDirectory;
+            } else if ((outputTraceabilityMatrixFile != null)
+                    && (outputTraceabilityMatrixFile.getAbsoluteFile().getParentFile() != null)) {
+                lCacheDirectory = new File(outputTraceabilityMatrixFile.getAbsoluteFile().getParentFile(),
+                        DEFAULT_CACHE_DIRECTORY_NAME);
+            }
+        }
+
+        return lCacheDirectory;
+    }
+
+    /**
+     * Setter of the directory where the results of the analyses are cached
+     * between executions.
+     * 
+     * @param pCacheDirectory the cacheDirectory to set (<tt>null</tt> for the
+     * default one)
+     */
+    public void setCacheDirectory(final File pCacheDirectory) {
+        cacheDirectory = pCacheDirectory;
+    }
+
+    /**
+     * Setter of the flag indicating whether the results of the analyses are
+     * cached between executions (enabled by default).
+     * 
+     * @param pCacheEnabled the cacheEnabled to set
+     */
+    public void setCacheEnabled(final boolean pCacheEnabled) {
+        cacheEnabled = pCacheEnabled;
+    }
+
+    /**
+     * Getter of the maximum number of files analyzed at the same time.
+     * 
+     * @return the workerCount
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Setter of the maximum number of files analyzed at the same time (the
+     * number of available processors by default).
+     * 
+     * @param pWorkerCount the workerCount to set (values lower than 1 are
+     * considered as 1)
+     */
+    public void setWorkerCount(final int pWorkerCount) {
+        workerCount = Math.max(1, pWorkerCount);
+    }
+
     /**
      * Make sure the context is valid.
      * 
@@ -576,6 +672,17 @@ public class TraceabilityManagerContext {
             lSb.append(outputTraceabilityMatrixFile.getAbsolutePath());
         }
 
+        lSb.append("\n\tCache directory: ");
+        File lCacheDirectory = getCacheDirectory();
+        if (lCacheDirectory == null) {
+            lSb.append("Not used");
+        } else {
+            lSb.append(lCacheDirectory.getAbsolutePath());
+        }
+
+        lSb.append("\n\tWorker count: ");
+        lSb.append(workerCount);
+
         return lSb.toString();
     }
 }
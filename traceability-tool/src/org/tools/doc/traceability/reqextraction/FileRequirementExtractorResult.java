@@ -4,12 +4,12 @@
 package org.tools.doc.traceability.reqextraction;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.reqextraction.helper.RequirementRegistry;
 
 /**
  * Represents the requirement extraction result for one specific input file.
@@ -25,15 +25,21 @@ public class FileRequirementExtractorResult {
     private File inputFile;
 
     /**
-     * The list of requirements extracted from the file.
+     * The registry of the requirements extracted from the file.
      */
-    private final List<Requirement> requirements;
+    private final RequirementRegistry requirementRegistry;
 
     /**
      * The dictionary listing the requirements that are found more than once.
      */
     private final Map<Requirement, Integer> duplicatedRequirements;
 
+    /**
+     * Flag indicating whether this result was loaded from the extraction cache
+     * instead of being extracted from the input file.
+     */
+    private boolean loadedFromCache;
+
     /**
      * Constructor.
      * 
@@ -41,8 +47,9 @@ public class FileRequirementExtractorResult {
      */
     public FileRequirementExtractorResult(final File pInputFile) {
         inputFile = pInputFile;
-        requirements = new ArrayList<Requirement>();
+        requirementRegistry = new RequirementRegistry();
         duplicatedRequirements = new HashMap<Requirement, Integer>();
+        loadedFromCache = false;
     }
 
     /**
@@ -51,22 +58,36 @@ public class FileRequirementExtractorResult {
      * @param pRequirement the requirement to add.
      */
     public void addRequirement(final Requirement pRequirement) {
-        // Check whether this requirement has already been added or not
-        if (requirements.contains(pRequirement)) {
-            // If it was already added, it's a duplicate
-
-            // Add the entry for this requirement if not already present
-            if (!duplicatedRequirements.containsKey(pRequirement)) {
-                duplicatedRequirements.put(pRequirement, 1);
-            }
-            // Increment the number of duplicate for this requirement.
-            duplicatedRequirements.put(pRequirement, duplicatedRequirements.get(pRequirement) + 1);
-        } else {
-            // If it was not added yet, add it
-            requirements.add(pRequirement);
+        addRequirementOccurrences(pRequirement, 1);
+    }
+
+    /**
+     * Add several occurrences of a requirement to the list.
+     * 
+     * @param pRequirement the requirement to add.
+     * @param pOccurrenceCount the number of occurrences to add (at least 1).
+     */
+    public void addRequirementOccurrences(final Requirement pRequirement, final int pOccurrenceCount) {
+        int lOccurrenceCount = requirementRegistry.register(pRequirement, pOccurrenceCount);
+
+        // If it was already added, it's a duplicate
+        if (lOccurrenceCount > 1) {
+            // Keep track of the number of occurrences for this requirement
+            duplicatedRequirements.put(pRequirement, lOccurrenceCount);
         }
     }
 
+    /**
+     * Check whether the given requirement was already added.
+     * 
+     * @param pRequirement the requirement to check.
+     * @return <tt>true</tt> if the requirement was already added,
+     * <tt>false</tt> otherwise.
+     */
+    public boolean containsRequirement(final Requirement pRequirement) {
+        return requirementRegistry.contains(pRequirement);
+    }
+
     /**
      * Getter of the inputFile.
      * 
@@ -82,7 +103,17 @@ public class FileRequirementExtractorResult {
      * @return the requirements
      */
     public List<Requirement> getRequirements() {
-        return requirements;
+        return requirementRegistry.getRequirements();
+    }
+
+    /**
+     * Getter of the registry giving the number of occurrences of each
+     * requirement in the file.
+     * 
+     * @return the requirementRegistry
+     */
+    public RequirementRegistry getRequirementRegistry() {
+        return requirementRegistry;
     }
 
     /**
@@ -91,7 +122,7 @@ public class FileRequirementExtractorResult {
      * @return the extracted requirement number.
      */
     public int getRequirementCount() {
-        return requirements.size();
+        return requirementRegistry.size();
     }
 
     /**
@@ -102,4 +133,24 @@ public class FileRequirementExtractorResult {
     public Map<Requirement, Integer> getDuplicatedRequirements() {
         return duplicatedRequirements;
     }
+
+    /**
+     * Getter of the flag indicating whether this result was loaded from the
+     * extraction cache.
+     * 
+     * @return the loadedFromCache
+     */
+    public boolean isLoadedFromCache() {
+        return loadedFromCache;
+    }
+
+    /**
+     * Setter of the flag indicating whether this result was loaded from the
+     * extraction cache.
+     * 
+     * @param pLoadedFromCache the loadedFromCache to set
+     */
+    public void setLoadedFromCache(final boolean pLoadedFromCache) {
+        loadedFromCache = pLoadedFromCache;
+    }
 }
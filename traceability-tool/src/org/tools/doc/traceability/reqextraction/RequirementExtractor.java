@@ -10,10 +10,10 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -26,12 +26,21 @@ import org.apache.poi.xwpf.usermodel.XWPFTableRow;
 import org.tools.doc.traceability.common.Constants;
 import org.tools.doc.traceability.common.exceptions.AbstractTraceabilityException;
 import org.tools.doc.traceability.common.exceptions.ExecutorExecutionException;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
 import org.tools.doc.traceability.common.exceptions.InvalidParameterException;
 import org.tools.doc.traceability.common.executor.AbstractExecutor;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.executor.ITaskCompletionListener;
+import org.tools.doc.traceability.common.executor.ParallelTaskRunner;
+import org.tools.doc.traceability.common.io.FileFingerprint;
 import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.prefix.RequirementPrefixMatcher;
+import org.tools.doc.traceability.reqextraction.helper.DocxTableCellStreamReader;
+import org.tools.doc.traceability.reqextraction.helper.IRequirementCellTextHandler;
 import org.tools.doc.traceability.reqextraction.helper.RequirementDuplicationAnalysisData;
 import org.tools.doc.traceability.reqextraction.helper.RequirementDuplicationItem;
+import org.tools.doc.traceability.reqextraction.helper.RequirementExtractionCache;
+import org.tools.doc.traceability.reqextraction.helper.RequirementRegistry;
 
 /**
  * Tool for extracting requirements from a docx file.
@@ -72,6 +81,28 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
      */
     private List<String> requirementPrefixList;
 
+    /**
+     * The matcher compiled from the list of prefixes for requirements.
+     */
+    private final RequirementPrefixMatcher requirementPrefixMatcher;
+
+    /**
+     * Flag indicating whether the SD files are read in a streaming way (see
+     * {@link DocxTableCellStreamReader}) or by loading the whole document.
+     */
+    private boolean streamingExtraction;
+
+    /**
+     * The maximum number of SD files processed at the same time.
+     */
+    private int workerCount;
+
+    /**
+     * The cache of the requirements extracted from the SD files (<tt>null</tt>
+     * if no cache is used).
+     */
+    private RequirementExtractionCache extractionCache;
+
     /**
      * The execution result.
      */
@@ -110,8 +141,66 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
             }
         }
 
+        requirementPrefixMatcher = new RequirementPrefixMatcher(requirementPrefixList);
+
         requirementDuplicationAnalysisData = new RequirementDuplicationAnalysisData();
+        streamingExtraction = true;
+        workerCount = ParallelTaskRunner.getDefaultWorkerCount();
+        extractionCache = null;
+    }
+
+    /**
+     * Setter of the flag indicating whether the SD files are read in a
+     * streaming way.
+     * <p>
+     * The streaming extraction (default) only reads the main document part of
+     * the SD files with a SAX parser, so that the memory used does not depend
+     * on the document size. Otherwise, the whole document is loaded with the
+     * POI document object model.
+     * </p>
+     * 
+     * @param pStreamingExtraction <tt>true</tt> to read the SD files in a
+     * streaming way, <tt>false</tt> to load the whole documents.
+     */
+    public void setStreamingExtraction(final boolean pStreamingExtraction) {
+        streamingExtraction = pStreamingExtraction;
+    }
 
+    /**
+     * Setter of the maximum number of SD files processed at the same time.
+     * <p>
+     * By default, it is the number of available processors. With 1, the SD
+     * files are processed one after the other. Whatever the value, the result
+     * is the same (the results of the SD files are merged in the order of the
+     * input file list).
+     * </p>
+     * 
+     * @param pWorkerCount the maximum number of SD files processed at the same
+     * time (values lower than 1 are considered as 1).
+     */
+    public void setWorkerCount(final int pWorkerCount) {
+        workerCount = Math.max(1, pWorkerCount);
+    }
+
+    /**
+     * Setter of the directory where the requirements extracted from each SD
+     * file are cached.
+     * <p>
+     * When set, a SD file whose contents did not change since the previous
+     * extraction (with the same requirement prefixes) is not read again. By
+     * default, no cache is used.
+     * </p>
+     * 
+     * @param pCacheDirectory the cache directory (it is created if needed), or
+     * <tt>null</tt> to not use any cache.
+     */
+    public void setCacheDirectory(final File pCacheDirectory) {
+        if (pCacheDirectory == null) {
+            extractionCache = null;
+        } else {
+            extractionCache = new RequirementExtractionCache(pCacheDirectory, requirementPrefixList,
+                    Constants.REQ_EXTRACTION_TABLE_COL_IDX);
+        }
     }
 
     /**
@@ -197,21 +286,40 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
         // Initialize the execution result
         executionResult = new RequirementExtractorResult();
 
-        double lPercentage = 0.;
-        double lPercentagePerFile = 70. / inputFileList.size();
-        // Iterate on input file list
-        for (File lInputFile : inputFileList) {
-            setCurrentOperation("Processing file " + lInputFile.getAbsolutePath(), lPercentage);
+        final double lPercentagePerFile = 70. / inputFileList.size();
+        setCurrentOperation("Processing " + inputFileList.size() + " file(s) with up to " + workerCount
+                + " worker(s)", 0.);
+
+        // Read the input files concurrently (each file is independent)
+        List<Callable<FileRequirementExtractorResult>> lTasks = new ArrayList<Callable<FileRequirementExtractorResult>>();
+        for (final File lInputFile : inputFileList) {
+            lTasks.add(new Callable<FileRequirementExtractorResult>() {
+                @Override
+                public FileRequirementExtractorResult call() throws ExecutorExecutionException {
+                    return readRequirementsFrom(lInputFile);
+                }
+            });
+        }
 
-            extractRequirementsFrom(lInputFile);
+        ParallelTaskRunner<FileRequirementExtractorResult> lTaskRunner = new ParallelTaskRunner<FileRequirementExtractorResult>(
+                workerCount, "req-extractor");
+        List<FileRequirementExtractorResult> lFileResultList = lTaskRunner.runAll(lTasks, new ITaskCompletionListener() {
+            @Override
+            public void taskCompleted(final int pTaskIndex, final int pCompletedTaskCount) {
+                setCurrentOperation("File processed : " + inputFileList.get(pTaskIndex).getAbsolutePath(),
+                        lPercentagePerFile * pCompletedTaskCount);
+            }
+        });
 
-            lPercentage += lPercentagePerFile;
-            setCurrentOperation("File processed : " + lInputFile.getAbsolutePath(), lPercentage);
+        // Merge the results in the input file order, so that the result does
+        // not depend on the order in which the files were processed
+        for (FileRequirementExtractorResult lFileResult : lFileResultList) {
+            addFileRequirements(lFileResult);
         }
 
         // Write the output file with the requirements (if requested)
         if (outputFile != null) {
-            setCurrentOperation("Writing output file " + outputFile.getAbsolutePath(), lPercentage);
+            setCurrentOperation("Writing output file " + outputFile.getAbsolutePath(), 70.);
             writeOutputFile();
         }
 
@@ -219,7 +327,13 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
         setExecutionResult(executionResult);
 
         // Set the number of found requirements in the execution status
-        setSuccessfulStatusDetails("Found " + executionResult.getRequirementCount() + " requirements");
+        if (extractionCache == null) {
+            setSuccessfulStatusDetails("Found " + executionResult.getRequirementCount() + " requirements");
+        } else {
+            setSuccessfulStatusDetails("Found " + executionResult.getRequirementCount() + " requirements ("
+                    + executionResult.getCacheHitCount() + " file(s) loaded from cache, "
+                    + executionResult.getCacheMissCount() + " file(s) extracted)");
+        }
     }
 
     /**
@@ -289,15 +403,140 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
     }
 
     /**
-     * Extract the requirements from the given input file.
+     * Read the requirements from the given input file, or load them from the
+     * extraction cache if the file did not change.
+     * <p>
+     * This method does not modify the state of this instance, so that it can
+     * be called concurrently for different files.
+     * </p>
      * 
      * @param pInputFile the input file from where to extract requirements.
+     * @return the extraction result for the file.
      * @throws ExecutorExecutionException if an error occurs
      */
-    private void extractRequirementsFrom(final File pInputFile) throws ExecutorExecutionException {
-        FileInputStream lFis = null;
+    private FileRequirementExtractorResult readRequirementsFrom(final File pInputFile)
+            throws ExecutorExecutionException {
+        FileRequirementExtractorResult lFileResult = null;
+
+        if (extractionCache != null) {
+            lFileResult = extractionCache.load(pInputFile);
+        }
+
+        if (lFileResult == null) {
+            LOGGER.debug("Extracting requirements from file " + pInputFile.getAbsolutePath());
+
+            // Take the fingerprint before extracting, so that a change of the
+            // file during the extraction does not leave a stale entry
+            FileFingerprint lFingerprint = null;
+            if (extractionCache != null) {
+                lFingerprint = FileFingerprint.take(pInputFile);
+            }
+
+            lFileResult = new FileRequirementExtractorResult(pInputFile);
+
+            if (streamingExtraction) {
+                streamRequirementsFrom(pInputFile, lFileResult);
+            } else {
+                loadRequirementsFrom(pInputFile, lFileResult);
+            }
+
+            if (extractionCache != null) {
+                extractionCache.store(lFingerprint, lFileResult);
+            }
+        } else {
+            LOGGER.debug("Requirements of file " + pInputFile.getAbsolutePath() + " loaded from cache");
+
+            // The warnings were only emitted when the file was extracted :
+            // emit them again from the cached occurrence counts
+            RequirementRegistry lRegistry = lFileResult.getRequirementRegistry();
+            List<Requirement> lRequirements = lRegistry.getRequirements();
+            for (int i = 0; i < lRequirements.size(); i++) {
+                for (int j = 1; j < lRegistry.getOccurrenceCountAt(i); j++) {
+                    warnDuplicatedRequirement(lRequirements.get(i), pInputFile);
+                }
+            }
+        }
 
-        LOGGER.debug("Extracting requirements from file " + pInputFile.getAbsolutePath());
+        return lFileResult;
+    }
+
+    /**
+     * Add the requirements read from an input file to the execution result and
+     * to the duplication analysis data.
+     * 
+     * @param pFileRequirementExtractionResult the extraction result for the
+     * input file.
+     */
+    private void addFileRequirements(final FileRequirementExtractorResult pFileRequirementExtractionResult) {
+        File lInputFile = pFileRequirementExtractionResult.getInputFile();
+
+        // Add the references found of the requirements in the file
+        requirementDuplicationAnalysisData.referenceRequirements(
+                pFileRequirementExtractionResult.getRequirementRegistry(), lInputFile);
+        executionResult.addSdFileRequirementExtractionResult(pFileRequirementExtractionResult);
+
+        if (extractionCache != null) {
+            if (pFileRequirementExtractionResult.isLoadedFromCache()) {
+                executionResult.addCacheHit();
+            } else {
+                executionResult.addCacheMiss();
+            }
+        }
+
+        StringBuilder lPrefixListDescripionSb = new StringBuilder();
+        boolean lIsFirst = true;
+        for (String lPrefix : requirementPrefixList) {
+            if (lIsFirst) {
+                lIsFirst = false;
+            } else {
+                lPrefixListDescripionSb.append(", ");
+            }
+            lPrefixListDescripionSb.append(lPrefix);
+        }
+        LOGGER.debug("File " + lInputFile.getName() + " contained "
+                + pFileRequirementExtractionResult.getRequirementCount() + " requirements matching prefixes ("
+                + lPrefixListDescripionSb.toString() + ")");
+    }
+
+    /**
+     * Extract the requirements from the given input file by reading its main
+     * document part in a streaming way.
+     * 
+     * @param pInputFile the input file from where to extract requirements.
+     * @param pFileResult the file result where to store the extracted
+     * requirements.
+     * @throws ExecutorExecutionException if an error occurs
+     */
+    private void streamRequirementsFrom(final File pInputFile, final FileRequirementExtractorResult pFileResult)
+            throws ExecutorExecutionException {
+        // The zip bomb protection is kept : the parts are inflated on the fly
+        DocxTableCellStreamReader lReader = new DocxTableCellStreamReader();
+        try {
+            lReader.readTableCells(pInputFile, Constants.REQ_EXTRACTION_TABLE_COL_IDX,
+                    new IRequirementCellTextHandler() {
+                        @Override
+                        public void handleCellText(final String pCellText) {
+                            handleRequirementCellText(pCellText, pFileResult, pInputFile);
+                        }
+                    });
+        } catch (FileReadingException e) {
+            LOGGER.error("Error reading file " + pInputFile.getAbsolutePath() + " : " + e.getMessage());
+            throw new ExecutorExecutionException("Could not read file " + pInputFile.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Extract the requirements from the given input file by loading the whole
+     * document.
+     * 
+     * @param pInputFile the input file from where to extract requirements.
+     * @param pFileResult the file result where to store the extracted
+     * requirements.
+     * @throws ExecutorExecutionException if an error occurs
+     */
+    private void loadRequirementsFrom(final File pInputFile, final FileRequirementExtractorResult pFileResult)
+            throws ExecutorExecutionException {
+        FileInputStream lFis = null;
 
         // Try and open an input stream on the file
         try {
@@ -334,7 +573,6 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
                 // Get an iterator on document body elements
                 Iterator<IBodyElement> lBodyEltIterator = lDocx.getBodyElementsIterator();
                 IBodyElement lBodyElt;
-                List<Requirement> lReqSet = new ArrayList<Requirement>();
 
                 // Iterate on the document body elements
                 while (lBodyEltIterator.hasNext()) {
@@ -344,34 +582,9 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
                         XWPFTable lTable = (XWPFTable) lBodyElt;
 
                         // Extract the requirements from this table
-                        extractRequirementsFromTable(lTable, lReqSet, pInputFile);
-                    }
-                }
-
-                // Add all the found requirements
-                FileRequirementExtractorResult lFileRequirementExtractionResult = new FileRequirementExtractorResult(
-                        pInputFile);
-                for (Requirement req : lReqSet) {
-                    lFileRequirementExtractionResult.addRequirement(req);
-
-                    // Add the reference found of this requirement in the file
-                    requirementDuplicationAnalysisData.referenceRequirement(req, pInputFile);
-                }
-                executionResult.addSdFileRequirementExtractionResult(lFileRequirementExtractionResult);
-
-                StringBuilder lPrefixListDescripionSb = new StringBuilder();
-                boolean lIsFirst = true;
-                for (String lPrefix : requirementPrefixList) {
-                    if (lIsFirst) {
-                        lIsFirst = false;
-                    } else {
-                        lPrefixListDescripionSb.append(", ");
+                        extractRequirementsFromTable(lTable, pFileResult, pInputFile);
                     }
-                    lPrefixListDescripionSb.append(lPrefix);
                 }
-                LOGGER.debug("File " + pInputFile.getName() + " contained "
-                        + lFileRequirementExtractionResult.getRequirementCount() + " requirements matching prefixes ("
-                        + lPrefixListDescripionSb.toString() + ")");
             }
         }
 
@@ -381,16 +594,15 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
      * Extract the requirements from the given table.
      * 
      * @param pTable the table to scan.
-     * @param pReqSet the set where to store the extracted requirements.
+     * @param pFileResult the file result where to store the extracted
+     * requirements.
      * @param pInputFile the input file
      */
-    private void extractRequirementsFromTable(final XWPFTable pTable, final Collection<Requirement> pReqSet,
+    private void extractRequirementsFromTable(final XWPFTable pTable, final FileRequirementExtractorResult pFileResult,
             final File pInputFile) {
         // Get the table rows
         List<XWPFTableRow> lRows = pTable.getRows();
 
-        String lCellText;
-
         for (XWPFTableRow lRow : lRows) {
             // Get the row cells
             List<XWPFTableCell> lCells = lRow.getTableCells();
@@ -398,24 +610,48 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
             if (lCells.size() >= Constants.REQ_EXTRACTION_TABLE_COL_IDX) {
                 XWPFTableCell lCell = lCells.get(Constants.REQ_EXTRACTION_TABLE_COL_IDX - 1);
                 if (lCell != null) {
-                    lCellText = lCell.getText().trim();
-
-                    if (lCellText.length() > 0) {
-                        if (textMatchesReqPrefix(lCellText)) {
-                            // Create and add the requirement
-                            Requirement lReq = new Requirement(lCellText);
-                            if (pReqSet.contains(lReq)) {
-                                LOGGER.warn("Warning : duplicated requirement \"" + lReq + "\" found in "
-                                        + pInputFile.getAbsolutePath());
-                            }
-                            pReqSet.add(lReq);
-                        }
-                    }
+                    handleRequirementCellText(lCell.getText(), pFileResult, pInputFile);
                 }
             }
         }
     }
 
+    /**
+     * Handle the text of a table cell of the requirement column, and add the
+     * requirement it contains (if any) to the given file result.
+     * 
+     * @param pCellText the raw text of the cell.
+     * @param pFileResult the file result where to store the extracted
+     * requirements.
+     * @param pInputFile the input file
+     */
+    private void handleRequirementCellText(final String pCellText, final FileRequirementExtractorResult pFileResult,
+            final File pInputFile) {
+        String lCellText = pCellText.trim();
+
+        if (lCellText.length() > 0) {
+            if (textMatchesReqPrefix(lCellText)) {
+                // Create and add the requirement
+                Requirement lReq = new Requirement(lCellText);
+                if (pFileResult.containsRequirement(lReq)) {
+                    warnDuplicatedRequirement(lReq, pInputFile);
+                }
+                pFileResult.addRequirement(lReq);
+            }
+        }
+    }
+
+    /**
+     * Warn about one more occurrence of a requirement in an input file.
+     * 
+     * @param pRequirement the duplicated requirement.
+     * @param pInputFile the input file.
+     */
+    private static void warnDuplicatedRequirement(final Requirement pRequirement, final File pInputFile) {
+        LOGGER.warn("Warning : duplicated requirement \"" + pRequirement + "\" found in "
+                + pInputFile.getAbsolutePath());
+    }
+
     /**
      * Check whether the given text matches a requirement.
      * 
@@ -423,16 +659,7 @@ public class RequirementExtractor extends AbstractExecutor<RequirementExtractorR
      * @return true of the text matches a requirement, false otherwise.
      */
     private boolean textMatchesReqPrefix(final String pCellText) {
-        boolean lMatchesReq = false;
-
-        for (String lReqPrefix : requirementPrefixList) {
-            if (pCellText.startsWith(lReqPrefix)) {
-                lMatchesReq = true;
-                break;
-            }
-        }
-
-        return lMatchesReq;
+        return requirementPrefixMatcher.matches(pCellText);
     }
 
 }
@@ -16,6 +16,7 @@ import org.tools.doc.traceability.common.cmdline.ParameteredArgument;
 import org.tools.doc.traceability.common.exceptions.CommandLineArgumentException;
 import org.tools.doc.traceability.common.executor.AbstractExecutor;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.executor.ParallelTaskRunner;
 
 /**
  * The command line version of the requirement extractor tool.
@@ -45,6 +46,16 @@ public class RequirementExtractorCmdLineTool extends AbstractCommandLineTool<Req
      */
     private static final char REQ_SORTING_SHORT_OPTION = 's';
 
+    /**
+     * The short option for the number of workers.
+     */
+    private static final char WORKER_COUNT_SHORT_OPTION = 'w';
+
+    /**
+     * The short option for the cache directory.
+     */
+    private static final char CACHE_DIRECTORY_SHORT_OPTION = 'c';
+
     /**
      * The list of input files.
      */
@@ -65,6 +76,16 @@ public class RequirementExtractorCmdLineTool extends AbstractCommandLineTool<Req
      */
     private boolean sortRequirements;
 
+    /**
+     * The maximum number of input files processed at the same time.
+     */
+    private int workerCount;
+
+    /**
+     * The directory where the extracted requirements are cached.
+     */
+    private File cacheDirectory;
+
     /**
      * Constructor.
      * 
@@ -76,6 +97,8 @@ public class RequirementExtractorCmdLineTool extends AbstractCommandLineTool<Req
         requirementPrefixes = new ArrayList<String>();
         outputFile = null;
         sortRequirements = false;
+        workerCount = ParallelTaskRunner.getDefaultWorkerCount();
+        cacheDirectory = null;
     }
 
     /**
@@ -98,6 +121,8 @@ public class RequirementExtractorCmdLineTool extends AbstractCommandLineTool<Req
         // Create the executor
         RequirementExtractor lReqextractor = new RequirementExtractor(inputFiles, outputFile, sortRequirements,
                 requirementPrefixes, lExecutorExecutionStatus);
+        lReqextractor.setWorkerCount(workerCount);
+        lReqextractor.setCacheDirectory(cacheDirectory);
 
         return lReqextractor;
     }
@@ -115,6 +140,9 @@ public class RequirementExtractorCmdLineTool extends AbstractCommandLineTool<Req
             lExecutionStatus = EXECUTION_ERROR_STATUS;
         } else {
             logInfo("Number of extracted requirements : " + pExecutionResult.getRequirementCount());
+            if (cacheDirectory != null) {
+                logInfo("Number of input files loaded from cache : " + pExecutionResult.getCacheHitCount());
+            }
             lExecutionStatus = SUCCESSFUL_STATUS;
         }
 
@@ -133,6 +161,8 @@ public class RequirementExtractorCmdLineTool extends AbstractCommandLineTool<Req
         requirementPrefixes.clear();
         outputFile = null;
         sortRequirements = false;
+        workerCount = ParallelTaskRunner.getDefaultWorkerCount();
+        cacheDirectory = null;
 
         // Check that if the option for output file is present, the output file
         // path is
@@ -166,6 +196,28 @@ public class RequirementExtractorCmdLineTool extends AbstractCommandLineTool<Req
             sortRequirements = true;
         }
 
+        // Set the number of workers (if mentioned)
+        lArg = pCommandLineArguments.getArgumentForShortOption(WORKER_COUNT_SHORT_OPTION);
+        if (lArg.isPresent()) {
+            String lWorkerCountValue = lArg.getArgumentParameters().get(0);
+            try {
+                workerCount = Integer.parseInt(lWorkerCountValue.trim());
+            } catch (NumberFormatException e) {
+                throw new CommandLineArgumentException(getToolName(), "workers", "not a number : "
+                        + lWorkerCountValue);
+            }
+            if (workerCount < 1) {
+                throw new CommandLineArgumentException(getToolName(), "workers", "shall be at least 1 : "
+                        + lWorkerCountValue);
+            }
+        }
+
+        // Set the cache directory (if mentioned)
+        lArg = pCommandLineArguments.getArgumentForShortOption(CACHE_DIRECTORY_SHORT_OPTION);
+        if (lArg.isPresent()) {
+            cacheDirectory = new File(lArg.getArgumentParameters().get(0));
+        }
+
     }
 
     /**
@@ -188,6 +240,14 @@ public class RequirementExtractorCmdLineTool extends AbstractCommandLineTool<Req
         pCommandLineArguments.addArgument(new FlagArgument(REQ_SORTING_SHORT_OPTION, "sort-reqs",
                 "makes the requirements sorted alphabetically in the output file"));
 
+        pCommandLineArguments.addArgument(new ParameteredArgument(WORKER_COUNT_SHORT_OPTION, "workers", false,
+                "the number of workers", 1, 1,
+                "the maximum number of input files processed at the same time (default : number of processors)"));
+
+        pCommandLineArguments.addArgument(new ParameteredArgument(CACHE_DIRECTORY_SHORT_OPTION, "cache-dir", false,
+                "the cache directory", 1, 1,
+                "the directory where to cache the requirements of each input file, to skip unchanged files"));
+
     }
 
     /**
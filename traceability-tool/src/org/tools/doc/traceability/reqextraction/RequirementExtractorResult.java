@@ -32,12 +32,26 @@ public class RequirementExtractorResult extends AbtsractExecutionResultObject {
      */
     private List<RequirementDuplicationItem> duplicatedRequirements;
 
+    /**
+     * The number of input files whose requirements were loaded from the
+     * extraction cache.
+     */
+    private int cacheHitCount;
+
+    /**
+     * The number of input files whose requirements were extracted because the
+     * extraction cache had no valid entry for them.
+     */
+    private int cacheMissCount;
+
     /**
      * Constructor.
      */
     public RequirementExtractorResult() {
         sdFileReqExtractionResultMap = new HashMap<File, FileRequirementExtractorResult>();
         duplicatedRequirements = new ArrayList<RequirementDuplicationItem>();
+        cacheHitCount = 0;
+        cacheMissCount = 0;
     }
 
     /**
@@ -124,4 +138,40 @@ public class RequirementExtractorResult extends AbtsractExecutionResultObject {
         return sdFileReqExtractionResultMap;
     }
 
+    /**
+     * Getter of the number of input files whose requirements were loaded from
+     * the extraction cache.
+     * 
+     * @return the cacheHitCount
+     */
+    public int getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    /**
+     * Getter of the number of input files whose requirements were extracted
+     * because the extraction cache had no valid entry for them.
+     * 
+     * @return the cacheMissCount
+     */
+    public int getCacheMissCount() {
+        return cacheMissCount;
+    }
+
+    /**
+     * Record that the requirements of an input file were loaded from the
+     * extraction cache.
+     */
+    public void addCacheHit() {
+        cacheHitCount++;
+    }
+
+    /**
+     * Record that the requirements of an input file were extracted because the
+     * extraction cache had no valid entry for it.
+     */
+    public void addCacheMiss() {
+        cacheMissCount++;
+    }
+
 }
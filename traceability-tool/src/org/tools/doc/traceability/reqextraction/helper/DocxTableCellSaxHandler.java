@@ -0,0 +1,333 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.reqextraction.helper;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * SAX handler for the main part (<tt>word/document.xml</tt>) of a
+ * <tt>.docx</tt> file that extracts the text of the cells of a given column of
+ * the tables of the document body.
+ * <p>
+ * Only the table / row / cell / paragraph / run state is kept, so the memory
+ * used does not depend on the document size. The text of each cell is built the
+ * same way as {@link org.apache.poi.xwpf.usermodel.XWPFTableCell#getText()}
+ * does:
+ * <ul>
+ * <li>only the tables directly located in the document body are considered,
+ * <li>only the rows directly located in a table and the cells directly located
+ * in a row are considered,
+ * <li>the text of a cell is the concatenation of the text of its paragraphs
+ * (nested tables are ignored),
+ * <li>the runs containing deleted text are ignored.
+ * </ul>
+ * </p>
+ * <p>
+ * The text of a cell is given to the {@link IRequirementCellTextHandler} as
+ * soon as the cell is closed.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class DocxTableCellSaxHandler extends DefaultHandler {
+
+    /**
+     * The namespace of the WordprocessingML elements.
+     */
+    private static final String WORDPROCESSINGML_NAMESPACE = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    /**
+     * Value used for the depth of an element that is not currently opened.
+     */
+    private static final int NOT_OPENED = -1;
+
+    /**
+     * The index (starting at 0) of the column whose cell texts are wanted.
+     */
+    private final int columnIndex;
+
+    /**
+     * The handler receiving the text of the cells of the wanted column.
+     */
+    private final IRequirementCellTextHandler cellTextHandler;
+
+    /**
+     * The depth of the current element.
+     */
+    private int depth;
+
+    /**
+     * The depth of the element whose whole subtree is ignored.
+     */
+    private int ignoredElementDepth;
+
+    /**
+     * The depth of the document body element.
+     */
+    private int bodyDepth;
+
+    /**
+     * The depth of the current table.
+     */
+    private int tableDepth;
+
+    /**
+     * The depth of the current table row.
+     */
+    private int rowDepth;
+
+    /**
+     * The index of the current cell in the current row.
+     */
+    private int cellIndex;
+
+    /**
+     * The depth of the current cell of the wanted column.
+     */
+    private int cellDepth;
+
+    /**
+     * The depth of the current paragraph of the cell.
+     */
+    private int paragraphDepth;
+
+    /**
+     * The depth of the current run of the paragraph.
+     */
+    private int runDepth;
+
+    /**
+     * The depth of the current ruby element of the run.
+     */
+    private int rubyDepth;
+
+    /**
+     * The depth of the current text element of the run.
+     */
+    private int textDepth;
+
+    /**
+     * Whether the current run contains deleted text.
+     */
+    private boolean runHasDeletedText;
+
+    /**
+     * The text of the current run.
+     */
+    private final StringBuilder runText;
+
+    /**
+     * The text of the current cell.
+     */
+    private final StringBuilder cellText;
+
+    /**
+     * Constructor.
+     * 
+     * @param pColumnNumber the number of the column whose cell texts are wanted
+     * (for the first column, use 1).
+     * @param pCellTextHandler the handler receiving the text of the cells of
+     * the wanted column.
+     */
+    public DocxTableCellSaxHandler(final int pColumnNumber, final IRequirementCellTextHandler pCellTextHandler) {
+        columnIndex = pColumnNumber - 1;
+        cellTextHandler = pCellTextHandler;
+        runText = new StringBuilder();
+        cellText = new StringBuilder();
+
+        depth = 0;
+        ignoredElementDepth = NOT_OPENED;
+        bodyDepth = NOT_OPENED;
+        tableDepth = NOT_OPENED;
+        rowDepth = NOT_OPENED;
+        cellIndex = NOT_OPENED;
+        cellDepth = NOT_OPENED;
+        paragraphDepth = NOT_OPENED;
+        runDepth = NOT_OPENED;
+        rubyDepth = NOT_OPENED;
+        textDepth = NOT_OPENED;
+        runHasDeletedText = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void startElement(final String pUri, final String pLocalName, final String pQName,
+            final Attributes pAttributes) {
+        depth++;
+
+        if (ignoredElementDepth == NOT_OPENED) {
+            if (!WORDPROCESSINGML_NAMESPACE.equals(pUri)) {
+                // Only WordprocessingML elements are relevant
+                if (bodyDepth != NOT_OPENED) {
+                    ignoredElementDepth = depth;
+                }
+            } else if (bodyDepth == NOT_OPENED) {
+                if ("body".equals(pLocalName)) {
+                    bodyDepth = depth;
+                }
+            } else if (tableDepth == NOT_OPENED) {
+                // Only tables directly located in the body are considered
+                if ("tbl".equals(pLocalName)) {
+                    tableDepth = depth;
+                } else {
+                    ignoredElementDepth = depth;
+                }
+            } else if (rowDepth == NOT_OPENED) {
+                if ("tr".equals(pLocalName)) {
+                    rowDepth = depth;
+                    cellIndex = NOT_OPENED;
+                } else {
+                    ignoredElementDepth = depth;
+                }
+            } else if (cellDepth == NOT_OPENED) {
+                startRowChildElement(pLocalName);
+            } else if (paragraphDepth == NOT_OPENED) {
+                // Only the paragraphs of the cell hold text (nested tables are
+                // ignored)
+                if ("p".equals(pLocalName)) {
+                    paragraphDepth = depth;
+                } else {
+                    ignoredElementDepth = depth;
+                }
+            } else if (runDepth == NOT_OPENED) {
+                startParagraphChildElement(pLocalName);
+            } else {
+                startRunChildElement(pLocalName, pAttributes);
+            }
+        }
+    }
+
+    /**
+     * Handle the start of an element located in a table row, outside of a
+     * cell of the wanted column.
+     * 
+     * @param pLocalName the local name of the element.
+     */
+    private void startRowChildElement(final String pLocalName) {
+        if ("tc".equals(pLocalName)) {
+            cellIndex++;
+            if (cellIndex == columnIndex) {
+                cellDepth = depth;
+                cellText.setLength(0);
+            } else {
+                ignoredElementDepth = depth;
+            }
+        } else {
+            ignoredElementDepth = depth;
+        }
+    }
+
+    /**
+     * Handle the start of an element located in a paragraph, outside of a run.
+     * <p>
+     * The runs can be directly located in the paragraph or in hyperlinks,
+     * simple fields, content controls, smart tags or revision marks.
+     * </p>
+     * 
+     * @param pLocalName the local name of the element.
+     */
+    private void startParagraphChildElement(final String pLocalName) {
+        if ("r".equals(pLocalName)) {
+            runDepth = depth;
+            runText.setLength(0);
+            runHasDeletedText = false;
+        } else if (!"hyperlink".equals(pLocalName) && !"fldSimple".equals(pLocalName)
+                && !"sdt".equals(pLocalName) && !"sdtContent".equals(pLocalName)
+                && !"smartTag".equals(pLocalName) && !"ins".equals(pLocalName)
+                && !"del".equals(pLocalName)) {
+            ignoredElementDepth = depth;
+        }
+    }
+
+    /**
+     * Handle the start of an element located in a run.
+     * 
+     * @param pLocalName the local name of the element.
+     * @param pAttributes the attributes of the element.
+     */
+    private void startRunChildElement(final String pLocalName, final Attributes pAttributes) {
+        if (rubyDepth != NOT_OPENED) {
+            // Only the base text of a ruby is considered
+            if ("t".equals(pLocalName)) {
+                textDepth = depth;
+            } else if ("rt".equals(pLocalName) || "rubyPr".equals(pLocalName)) {
+                ignoredElementDepth = depth;
+            }
+        } else if (depth != runDepth + 1) {
+            ignoredElementDepth = depth;
+        } else if ("t".equals(pLocalName) || "delInstrText".equals(pLocalName)) {
+            textDepth = depth;
+        } else if ("delText".equals(pLocalName)) {
+            textDepth = depth;
+            runHasDeletedText = true;
+        } else if ("tab".equals(pLocalName) || "ptab".equals(pLocalName)) {
+            runText.append('\t');
+            ignoredElementDepth = depth;
+        } else if ("br".equals(pLocalName) || "cr".equals(pLocalName)) {
+            runText.append('\n');
+            ignoredElementDepth = depth;
+        } else if ("footnoteReference".equals(pLocalName)) {
+            runText.append("[footnoteRef:").append(pAttributes.getValue(WORDPROCESSINGML_NAMESPACE, "id"))
+                    .append(']');
+            ignoredElementDepth = depth;
+        } else if ("endnoteReference".equals(pLocalName)) {
+            runText.append("[endnoteRef:").append(pAttributes.getValue(WORDPROCESSINGML_NAMESPACE, "id"))
+                    .append(']');
+            ignoredElementDepth = depth;
+        } else if ("ruby".equals(pLocalName)) {
+            rubyDepth = depth;
+        } else {
+            ignoredElementDepth = depth;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void endElement(final String pUri, final String pLocalName, final String pQName) {
+        if (ignoredElementDepth != NOT_OPENED) {
+            if (depth == ignoredElementDepth) {
+                ignoredElementDepth = NOT_OPENED;
+            }
+        } else if (depth == textDepth) {
+            textDepth = NOT_OPENED;
+        } else if (depth == rubyDepth) {
+            rubyDepth = NOT_OPENED;
+        } else if (depth == runDepth) {
+            // Runs with deleted text are ignored
+            if (!runHasDeletedText) {
+                cellText.append(runText);
+            }
+            runDepth = NOT_OPENED;
+        } else if (depth == paragraphDepth) {
+            paragraphDepth = NOT_OPENED;
+        } else if (depth == cellDepth) {
+            cellTextHandler.handleCellText(cellText.toString());
+            cellDepth = NOT_OPENED;
+        } else if (depth == rowDepth) {
+            rowDepth = NOT_OPENED;
+        } else if (depth == tableDepth) {
+            tableDepth = NOT_OPENED;
+        } else if (depth == bodyDepth) {
+            bodyDepth = NOT_OPENED;
+        }
+
+        depth--;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void characters(final char[] pCh, final int pStart, final int pLength) {
+        if ((textDepth != NOT_OPENED) && (ignoredElementDepth == NOT_OPENED)) {
+            runText.append(pCh, pStart, pLength);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.reqextraction.helper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.util.XMLHelper;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reads the table cells of a <tt>.docx</tt> file in a streaming way.
+ * <p>
+ * The main document part is directly read from the OOXML package with a SAX
+ * parser (see {@link DocxTableCellSaxHandler}) instead of loading the whole
+ * document object model, so that the memory used does not depend on the
+ * document size.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class DocxTableCellStreamReader {
+
+    /**
+     * Logger for the class.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(DocxTableCellStreamReader.class);
+
+    /**
+     * Constructor.
+     */
+    public DocxTableCellStreamReader() {
+    }
+
+    /**
+     * Read the given <tt>.docx</tt> file and give the text of each cell of the
+     * given column of its tables to the given handler.
+     * 
+     * @param pDocxFile the <tt>.docx</tt> file to read.
+     * @param pColumnNumber the number of the column whose cell texts are wanted
+     * (for the first column, use 1).
+     * @param pCellTextHandler the handler receiving the text of the cells.
+     * @throws FileReadingException if the file could not be read.
+     */
+    public void readTableCells(final File pDocxFile, final int pColumnNumber,
+            final IRequirementCellTextHandler pCellTextHandler) throws FileReadingException {
+        OPCPackage lPackage = null;
+        InputStream lDocumentStream = null;
+
+        try {
+            // Open the package in read only mode (the zip entries are inflated
+            // on demand)
+            lPackage = OPCPackage.open(pDocxFile, PackageAccess.READ);
+
+            PackageRelationshipCollection lCoreDocumentRelationships = lPackage
+                    .getRelationshipsByType(PackageRelationshipTypes.CORE_DOCUMENT);
+
+            if (lCoreDocumentRelationships.size() == 0) {
+                throw new FileReadingException(
+                        "File " + pDocxFile.getAbsolutePath() + " does not contain a main document part");
+            }
+
+            PackagePart lDocumentPart = lPackage.getPart(lCoreDocumentRelationships.getRelationship(0));
+            if (lDocumentPart == null) {
+                throw new FileReadingException(
+                        "The main document part of file " + pDocxFile.getAbsolutePath() + " could not be found");
+            }
+
+            lDocumentStream = lDocumentPart.getInputStream();
+
+            XMLReader lXmlReader = XMLHelper.newXMLReader();
+            lXmlReader.setContentHandler(new DocxTableCellSaxHandler(pColumnNumber, pCellTextHandler));
+            lXmlReader.parse(new InputSource(lDocumentStream));
+        } catch (InvalidFormatException e) {
+            throw new FileReadingException("File " + pDocxFile.getAbsolutePath() + " is not a valid OOXML package : "
+                    + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new FileReadingException("Error reading file " + pDocxFile.getAbsolutePath() + " : "
+                    + e.getMessage(), e);
+        } catch (SAXException e) {
+            throw new FileReadingException("Error parsing the main document part of file "
+                    + pDocxFile.getAbsolutePath() + " : " + e.getMessage(), e);
+        } catch (ParserConfigurationException e) {
+            throw new FileReadingException("Could not create a SAX parser to read file "
+                    + pDocxFile.getAbsolutePath() + " : " + e.getMessage(), e);
+        } finally {
+            if (lDocumentStream != null) {
+                try {
+                    lDocumentStream.close();
+                } catch (IOException e) {
+                    // No consequence on result, so just log
+                    LOGGER.warn("Error closing the main document part stream of " + pDocxFile.getAbsolutePath()
+                            + " : " + e.getMessage());
+                }
+            }
+            if (lPackage != null) {
+                // The package was opened in read only mode : revert instead of
+                // closing
+                lPackage.revert();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.reqextraction.helper;
+
+/**
+ * Receives the text of the table cells of a SD file that may contain a
+ * requirement identifier.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public interface IRequirementCellTextHandler {
+
+    /**
+     * Handle the text of a table cell located in the requirement column.
+     * <p>
+     * The text is given as it appears in the document (i.e. not trimmed).
+     * </p>
+     * 
+     * @param pCellText the raw text of the cell.
+     */
+    void handleCellText(String pCellText);
+}
@@ -5,7 +5,7 @@ package org.tools.doc.traceability.reqextraction.helper;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,16 +20,24 @@ import org.tools.doc.traceability.common.model.Requirement;
 public class RequirementDuplicationAnalysisData {
 
     /**
-     * A map that associates with a requirement a map associating with each SD
-     * file the number of occurrences this requirement has been defined.
+     * The registry counting the occurrences of each requirement in all the SD
+     * files.
      */
-    private final Map<Requirement, Map<File, Integer>> requirementFileCountMap;
+    private final RequirementRegistry globalRequirementRegistry;
+
+    /**
+     * A map that associates with each SD file the registry counting the
+     * occurrences of each requirement in this file (in the order the SD files
+     * were first referenced).
+     */
+    private final Map<File, RequirementRegistry> fileRequirementRegistryMap;
 
     /**
      * Constructor.
      */
     public RequirementDuplicationAnalysisData() {
-        requirementFileCountMap = new HashMap<Requirement, Map<File, Integer>>();
+        globalRequirementRegistry = new RequirementRegistry();
+        fileRequirementRegistryMap = new LinkedHashMap<File, RequirementRegistry>();
     }
 
     /**
@@ -41,29 +49,50 @@ public class RequirementDuplicationAnalysisData {
      */
     public void referenceRequirement(final Requirement pRequirement, final File pSdFile) {
         if ((pRequirement != null) && (pSdFile != null)) {
-            Map<File, Integer> lFileCountMap;
-
-            if (requirementFileCountMap.containsKey(pRequirement)) {
-                lFileCountMap = requirementFileCountMap.get(pRequirement);
-            } else {
-                lFileCountMap = new HashMap<File, Integer>();
-                requirementFileCountMap.put(pRequirement, lFileCountMap);
-            }
+            getFileRequirementRegistry(pSdFile).register(pRequirement);
+            globalRequirementRegistry.register(pRequirement);
+        }
+    }
 
-            int lCurrentCount = 0;
-            if (lFileCountMap.containsKey(pSdFile)) {
-                lCurrentCount = lFileCountMap.get(pSdFile);
-            }
+    /**
+     * Add the references of all the requirements defined in the given SD file.
+     * 
+     * @param pRequirementRegistry the registry counting the occurrences of each
+     * requirement in the SD file.
+     * @param pSdFile the SD file in which the requirements were defined.
+     */
+    public void referenceRequirements(final RequirementRegistry pRequirementRegistry, final File pSdFile) {
+        if ((pRequirementRegistry != null) && (pSdFile != null)) {
+            getFileRequirementRegistry(pSdFile).registerAll(pRequirementRegistry);
+            globalRequirementRegistry.registerAll(pRequirementRegistry);
+        }
+    }
 
-            lCurrentCount++;
+    /**
+     * Get the registry counting the occurrences of the requirements in the
+     * given SD file, creating it if needed.
+     * 
+     * @param pSdFile the SD file.
+     * @return the registry for the SD file.
+     */
+    private RequirementRegistry getFileRequirementRegistry(final File pSdFile) {
+        RequirementRegistry lFileRequirementRegistry = fileRequirementRegistryMap.get(pSdFile);
 
-            lFileCountMap.put(pSdFile, lCurrentCount);
+        if (lFileRequirementRegistry == null) {
+            lFileRequirementRegistry = new RequirementRegistry();
+            fileRequirementRegistryMap.put(pSdFile, lFileRequirementRegistry);
         }
+
+        return lFileRequirementRegistry;
     }
 
     /**
      * Detect if there are duplicated requirements, and return their
      * description.
+     * <p>
+     * The duplicated requirements are given in the order they were first
+     * referenced.
+     * </p>
      * 
      * @return the list of duplicated requirements.
      */
@@ -71,43 +100,39 @@ public class RequirementDuplicationAnalysisData {
         List<RequirementDuplicationItem> lRequirementDuplicationItemList = new ArrayList<RequirementDuplicationItem>();
 
         int lNbDefinitionsInFile;
-        int lNbReqDefinitionCount;
         RequirementDuplicationItem lRequirementDuplicationItem;
+        List<Requirement> lRequirementList = globalRequirementRegistry.getRequirements();
 
-        for (Requirement lRequirement : requirementFileCountMap.keySet()) {
-            // Count how many time the requirement is defined
-            lNbReqDefinitionCount = 0;
+        for (int i = 0; i < lRequirementList.size(); i++) {
+            // Only the requirements defined more than once are duplicated
+            if (globalRequirementRegistry.getOccurrenceCountAt(i) > 1) {
+                Requirement lRequirement = lRequirementList.get(i);
 
-            Map<File, Integer> lFileCountMap = requirementFileCountMap.get(lRequirement);
-            for (File lSdFile : lFileCountMap.keySet()) {
-                lNbDefinitionsInFile = lFileCountMap.get(lSdFile);
-                lNbReqDefinitionCount += lNbDefinitionsInFile;
-            }
-
-            if (lNbReqDefinitionCount > 1) {
                 // Create a duplication item
                 StringBuilder lDuplicationDescriptionSb = new StringBuilder();
 
                 boolean isFirst = true;
 
-                for (File lSdFile : lFileCountMap.keySet()) {
-                    lNbDefinitionsInFile = lFileCountMap.get(lSdFile);
-
-                    if (isFirst) {
-                        isFirst = false;
-                    } else {
-                        lDuplicationDescriptionSb.append(" and ");
+                for (Map.Entry<File, RequirementRegistry> lEntry : fileRequirementRegistryMap.entrySet()) {
+                    lNbDefinitionsInFile = lEntry.getValue().getOccurrenceCount(lRequirement);
+
+                    if (lNbDefinitionsInFile > 0) {
+                        if (isFirst) {
+                            isFirst = false;
+                        } else {
+                            lDuplicationDescriptionSb.append(" and ");
+                        }
+
+                        lDuplicationDescriptionSb.append(lNbDefinitionsInFile);
+                        if (lNbDefinitionsInFile > 1) {
+                            lDuplicationDescriptionSb.append(" times");
+                        } else {
+                            lDuplicationDescriptionSb.append(" time");
+                        }
+
+                        lDuplicationDescriptionSb.append(" in ");
+                        lDuplicationDescriptionSb.append(lEntry.getKey().getName());
                     }
-
-                    lDuplicationDescriptionSb.append(lNbDefinitionsInFile);
-                    if (lNbDefinitionsInFile > 1) {
-                        lDuplicationDescriptionSb.append(" times");
-                    } else {
-                        lDuplicationDescriptionSb.append(" time");
-                    }
-
-                    lDuplicationDescriptionSb.append(" in ");
-                    lDuplicationDescriptionSb.append(lSdFile.getName());
                 }
 
                 lRequirementDuplicationItem = new RequirementDuplicationItem(lRequirement,
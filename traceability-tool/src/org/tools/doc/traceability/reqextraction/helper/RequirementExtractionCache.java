@@ -0,0 +1,168 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.reqextraction.helper;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.tools.doc.traceability.common.io.CacheEntryFileStore;
+import org.tools.doc.traceability.common.io.ContentHasher;
+import org.tools.doc.traceability.common.io.FileFingerprint;
+import org.tools.doc.traceability.common.io.ICacheEntryPayloadReader;
+import org.tools.doc.traceability.common.io.ICacheEntryPayloadWriter;
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.reqextraction.FileRequirementExtractorResult;
+
+/**
+ * On-disk cache of the requirements extracted from SD files.
+ * <p>
+ * One entry file is stored per SD file in the cache directory, managed by a
+ * {@link CacheEntryFileStore} : an entry is used as long as the contents of
+ * the SD file did not change.
+ * </p>
+ * <p>
+ * Each entry also records a signature of the extraction configuration (the
+ * requirement prefixes and the requirement column index), so that all the
+ * entries are invalidated when this configuration changes.
+ * </p>
+ * <p>
+ * The cache never makes the extraction fail : any error reading or writing an
+ * entry is logged and the SD file is simply extracted again. Different SD files
+ * can be looked up and stored concurrently.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class RequirementExtractionCache {
+
+    /**
+     * The version of the entry file format (to change each time the format
+     * changes).
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * The extension of the entry files.
+     */
+    private static final String ENTRY_FILE_EXTENSION = ".reqcache";
+
+    /**
+     * The reader and writer of the entry payloads.
+     */
+    private static final RequirementsPayloadSerializer PAYLOAD_SERIALIZER = new RequirementsPayloadSerializer();
+
+    /**
+     * The store of the entry files.
+     */
+    private final CacheEntryFileStore<FileRequirementExtractorResult> entryFileStore;
+
+    /**
+     * Constructor.
+     * 
+     * @param pCacheDirectory the directory where to store the entry files (it
+     * is created if needed).
+     * @param pRequirementPrefixList the list of prefixes for requirements.
+     * @param pRequirementColumnNumber the number of the table column holding
+     * the requirements (for the first column, use 1).
+     */
+    public RequirementExtractionCache(final File pCacheDirectory, final List<String> pRequirementPrefixList,
+            final int pRequirementColumnNumber) {
+        StringBuilder lConfigurationSb = new StringBuilder();
+        lConfigurationSb.append("column=").append(pRequirementColumnNumber);
+        for (String lPrefix : pRequirementPrefixList) {
+            lConfigurationSb.append("\nprefix=").append(lPrefix);
+        }
+
+        entryFileStore = new CacheEntryFileStore<FileRequirementExtractorResult>(pCacheDirectory,
+                ENTRY_FILE_EXTENSION, FORMAT_VERSION, ContentHasher.hashText(lConfigurationSb.toString()),
+                PAYLOAD_SERIALIZER);
+    }
+
+    /**
+     * Get the cache directory.
+     * 
+     * @return the cacheDirectory
+     */
+    public File getCacheDirectory() {
+        return entryFileStore.getCacheDirectory();
+    }
+
+    /**
+     * Load the extraction result of the given SD file from the cache.
+     * 
+     * @param pSdFile the SD file.
+     * @return the cached extraction result, or <tt>null</tt> if there is no
+     * valid entry for the SD file.
+     */
+    public FileRequirementExtractorResult load(final File pSdFile) {
+        return entryFileStore.load(pSdFile, PAYLOAD_SERIALIZER);
+    }
+
+    /**
+     * Store the extraction result of a SD file in the cache.
+     * 
+     * @param pFingerprint the fingerprint of the SD file, taken before the
+     * extraction (nothing is stored if it is <tt>null</tt>).
+     * @param pResult the extraction result to store.
+     */
+    public void store(final FileFingerprint pFingerprint, final FileRequirementExtractorResult pResult) {
+        entryFileStore.store(pFingerprint, pResult);
+    }
+
+    /**
+     * Reader and writer of the entry payloads : the distinct requirements of
+     * the SD file, in the order of the document, with their number of
+     * occurrences.
+     */
+    private static final class RequirementsPayloadSerializer implements
+            ICacheEntryPayloadReader<FileRequirementExtractorResult>,
+            ICacheEntryPayloadWriter<FileRequirementExtractorResult> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(final DataOutputStream pDos, final FileRequirementExtractorResult pResult)
+                throws IOException {
+            RequirementRegistry lRegistry = pResult.getRequirementRegistry();
+            List<Requirement> lRequirements = lRegistry.getRequirements();
+            pDos.writeInt(lRequirements.size());
+            for (int i = 0; i < lRequirements.size(); i++) {
+                pDos.writeUTF(lRequirements.get(i).toString());
+                pDos.writeInt(lRegistry.getOccurrenceCountAt(i));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public FileRequirementExtractorResult read(final DataInputStream pDis, final File pSdFile)
+                throws IOException {
+            FileRequirementExtractorResult lResult = new FileRequirementExtractorResult(pSdFile);
+
+            int lRequirementCount = pDis.readInt();
+            if (lRequirementCount < 0) {
+                throw new IOException("invalid requirement count " + lRequirementCount);
+            }
+            for (int i = 0; i < lRequirementCount; i++) {
+                Requirement lRequirement = new Requirement(pDis.readUTF());
+                int lOccurrenceCount = pDis.readInt();
+                if (lOccurrenceCount < 1) {
+                    // A stored requirement was found at least once
+                    throw new IOException("invalid occurrence count " + lOccurrenceCount + " of requirement "
+                            + lRequirement);
+                }
+                lResult.addRequirementOccurrences(lRequirement, lOccurrenceCount);
+            }
+            lResult.setLoadedFromCache(true);
+
+            return lResult;
+        }
+    }
+}
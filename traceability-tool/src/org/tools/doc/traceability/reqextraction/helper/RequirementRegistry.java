@@ -0,0 +1,166 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.reqextraction.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.tools.doc.traceability.common.model.Requirement;
+
+/**
+ * Registry counting the occurrences of requirements.
+ * <p>
+ * The distinct requirements are kept in the order they were first registered,
+ * and are indexed by a hash map giving their position, so that registering a
+ * requirement and getting its occurrence count are done in constant time. The
+ * occurrence counts are stored in a primitive array indexed by the requirement
+ * position.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class RequirementRegistry {
+
+    /**
+     * The initial capacity of the occurrence count array.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The map associating each registered requirement with its position.
+     */
+    private final Map<Requirement, Integer> requirementPositionMap;
+
+    /**
+     * The distinct registered requirements, in the order they were first
+     * registered.
+     */
+    private final List<Requirement> requirements;
+
+    /**
+     * The occurrence count of each requirement, indexed by the requirement
+     * position.
+     */
+    private int[] occurrenceCounts;
+
+    /**
+     * Constructor.
+     */
+    public RequirementRegistry() {
+        requirementPositionMap = new HashMap<Requirement, Integer>();
+        requirements = new ArrayList<Requirement>();
+        occurrenceCounts = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Register one occurrence of the given requirement.
+     * 
+     * @param pRequirement the requirement to register.
+     * @return the number of occurrences of the requirement, including this one.
+     */
+    public int register(final Requirement pRequirement) {
+        return register(pRequirement, 1);
+    }
+
+    /**
+     * Register several occurrences of the given requirement.
+     * 
+     * @param pRequirement the requirement to register.
+     * @param pOccurrenceCount the number of occurrences to register.
+     * @return the number of occurrences of the requirement, including the
+     * registered ones.
+     */
+    public int register(final Requirement pRequirement, final int pOccurrenceCount) {
+        Integer lPosition = requirementPositionMap.get(pRequirement);
+
+        if (lPosition == null) {
+            lPosition = requirements.size();
+            requirementPositionMap.put(pRequirement, lPosition);
+            requirements.add(pRequirement);
+
+            if (lPosition == occurrenceCounts.length) {
+                occurrenceCounts = Arrays.copyOf(occurrenceCounts, occurrenceCounts.length * 2);
+            }
+        }
+
+        occurrenceCounts[lPosition] += pOccurrenceCount;
+
+        return occurrenceCounts[lPosition];
+    }
+
+    /**
+     * Register all the occurrences of the requirements of the given registry.
+     * 
+     * @param pOtherRegistry the registry whose occurrences are to register.
+     */
+    public void registerAll(final RequirementRegistry pOtherRegistry) {
+        for (int i = 0; i < pOtherRegistry.requirements.size(); i++) {
+            register(pOtherRegistry.requirements.get(i), pOtherRegistry.occurrenceCounts[i]);
+        }
+    }
+
+    /**
+     * Get the number of occurrences of the given requirement.
+     * 
+     * @param pRequirement the requirement.
+     * @return the number of occurrences of the requirement (0 if it was never
+     * registered).
+     */
+    public int getOccurrenceCount(final Requirement pRequirement) {
+        int lOccurrenceCount = 0;
+
+        Integer lPosition = requirementPositionMap.get(pRequirement);
+        if (lPosition != null) {
+            lOccurrenceCount = occurrenceCounts[lPosition];
+        }
+
+        return lOccurrenceCount;
+    }
+
+    /**
+     * Get the number of occurrences of the requirement at the given position.
+     * 
+     * @param pPosition the position of the requirement (see
+     * {@link #getRequirements()}).
+     * @return the number of occurrences of the requirement.
+     */
+    public int getOccurrenceCountAt(final int pPosition) {
+        return occurrenceCounts[pPosition];
+    }
+
+    /**
+     * Check whether the given requirement was registered.
+     * 
+     * @param pRequirement the requirement.
+     * @return <tt>true</tt> if the requirement was registered, <tt>false</tt>
+     * otherwise.
+     */
+    public boolean contains(final Requirement pRequirement) {
+        return requirementPositionMap.containsKey(pRequirement);
+    }
+
+    /**
+     * Get the distinct registered requirements.
+     * 
+     * @return the unmodifiable list of distinct requirements, in the order
+     * they were first registered.
+     */
+    public List<Requirement> getRequirements() {
+        return Collections.unmodifiableList(requirements);
+    }
+
+    /**
+     * Get the number of distinct registered requirements.
+     * 
+     * @return the number of distinct requirements.
+     */
+    public int size() {
+        return requirements.size();
+    }
+}
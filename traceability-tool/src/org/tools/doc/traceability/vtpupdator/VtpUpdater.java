@@ -122,6 +122,13 @@ public class VtpUpdater extends AbstractExecutor<VtpUpdaterResult> {
      */
     private Pattern expectedResultWithReqPattern;
 
+    /**
+     * The StringBuilder in which the descriptions of the test cases are
+     * rendered before being written in their cell (reused from one cell to
+     * the next).
+     */
+    private final StringBuilder cellTextSb;
+
     /**
      * Constructor.
      * 
@@ -153,6 +160,8 @@ public class VtpUpdater extends AbstractExecutor<VtpUpdaterResult> {
         cSharpCoveringTestSetList = new ArrayList<TestSet>();
         javaCoveringTestSetList = new ArrayList<TestSet>();
 
+        cellTextSb = new StringBuilder();
+
         vtpWorkbookStyle = null;
         executionResult = null;
     }
@@ -394,11 +403,15 @@ public class VtpUpdater extends AbstractExecutor<VtpUpdaterResult> {
         lTestCaseNameCell.setCellStyle(vtpWorkbookStyle.getNormalStyle());
 
         Cell lProcedureDescriptionCell = lHeaderRow.createCell(Constants.VTPUDATER_PROCEDURE_COL_IDX);
-        lProcedureDescriptionCell.setCellValue(pCoveringTestCaseData.getProcedureDescription());
+        cellTextSb.setLength(0);
+        pCoveringTestCaseData.appendProcedureDescription(cellTextSb);
+        lProcedureDescriptionCell.setCellValue(cellTextSb.toString());
         lProcedureDescriptionCell.setCellStyle(vtpWorkbookStyle.getNormalStyle());
 
         Cell lExpcetedResultCell = lHeaderRow.createCell(Constants.VTPUDATER_EXPECTED_RESULT_COL_IDX);
-        lExpcetedResultCell.setCellValue(pCoveringTestCaseData.getExpectedResults());
+        cellTextSb.setLength(0);
+        pCoveringTestCaseData.appendExpectedResults(cellTextSb);
+        lExpcetedResultCell.setCellValue(cellTextSb.toString());
         lExpcetedResultCell.setCellStyle(vtpWorkbookStyle.getNormalStyle());
 
         StringBuilder lCoveredReqsSb = new StringBuilder();
@@ -648,9 +661,10 @@ public class VtpUpdater extends AbstractExecutor<VtpUpdaterResult> {
                 for (CucumberTestData lCucumberTestData : lEntry.getValue()) {
                     lTestCaseIdentifier = lCucumberTestData.getScenarioPartName() + "_"
                             + lCucumberTestData.getScenarioPartIdentifier();
+                    // The descriptions are rendered only when the row is
+                    // written
                     TestCaseData lAddedTestCaseData = lCucumberCoveringTestSet.addTestData(lTestCaseIdentifier,
-                            lCucumberTestData.getScenarioPartName(), lCucumberTestData.getActionDescription(),
-                            lCucumberTestData.getExpectedResultDescription());
+                            lCucumberTestData.getScenarioPartName(), lCucumberTestData);
                     for (Requirement lRequirement : lCucumberTestData.getCoveredRequirements()) {
                         lAddedTestCaseData.addCoveredRequirement(lRequirement);
                     }
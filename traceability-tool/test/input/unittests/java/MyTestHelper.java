@@ -0,0 +1,32 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.manager.processor;
+
+import java.io.File;
+
+/**
+ * Helper for the tests, without any test method.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class MyTestHelper {
+
+	/**
+	 * Constructor.
+	 */
+	private MyTestHelper() {
+		// Nothing
+	}
+
+	/**
+	 * Get the directory of the given test input file.
+	 * 
+	 * @param pInputFile the test input file.
+	 * @return the directory.
+	 */
+	public static File getDirectoryOf(final File pInputFile) {
+		return pInputFile.getParentFile();
+	}
+}
@@ -6,12 +6,21 @@ package org.tools.doc.traceability;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
+import org.tools.doc.traceability.analyzer.almcoverage.AlmCoverageAnalyzerTest;
 import org.tools.doc.traceability.analyzer.cucumbertests.CucumberTestCoverageAnalyserTest;
 import org.tools.doc.traceability.analyzer.cucumbertests.helper.GherkinStepBreakdownManagerTest;
+import org.tools.doc.traceability.analyzer.justifircation.JustificationFileAnalyzerTest;
+import org.tools.doc.traceability.analyzer.unittests.csharp.helper.CSharpXmlDocReaderTest;
 import org.tools.doc.traceability.analyzer.unittests.java.JavaUnitTestCoverageAnalyserTest;
+import org.tools.doc.traceability.analyzer.unittests.java.helper.JavaTestMethodScannerTest;
 import org.tools.doc.traceability.common.filesearch.FileSearcherTest;
+import org.tools.doc.traceability.common.gerkhin.GherkinFeatureCacheTest;
 import org.tools.doc.traceability.common.gerkhin.GherkinInterpreterTest;
 import org.tools.doc.traceability.common.gerkhin.GherkinParserTest;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinStepTest;
+import org.tools.doc.traceability.common.prefix.RequirementPrefixMatcherTest;
+import org.tools.doc.traceability.covmatrixgen.CoverageMatrixGeneratorTest;
+import org.tools.doc.traceability.covmatrixgen.model.CompactRequirementCoverageTest;
 import org.tools.doc.traceability.gui.configuration.TraceabilityToolConfigurationFileLoadingTest;
 import org.tools.doc.traceability.manager.processor.TraceabilityManagerTester;
 import org.tools.doc.traceability.testcoverage.UnitTestCoverageAnalyzerTest;
@@ -26,7 +35,10 @@ import org.tools.doc.traceability.testcoverage.UnitTestCoverageAnalyzerTest;
 @SuiteClasses({ GherkinStepBreakdownManagerTest.class, CucumberTestCoverageAnalyserTest.class,
     JavaUnitTestCoverageAnalyserTest.class, FileSearcherTest.class, GherkinInterpreterTest.class,
     GherkinParserTest.class, TraceabilityToolConfigurationFileLoadingTest.class, TraceabilityManagerTester.class,
-    UnitTestCoverageAnalyzerTest.class })
+    UnitTestCoverageAnalyzerTest.class, AbstractGherkinStepTest.class, GherkinFeatureCacheTest.class,
+    AlmCoverageAnalyzerTest.class, JustificationFileAnalyzerTest.class, CompactRequirementCoverageTest.class,
+    CoverageMatrixGeneratorTest.class, RequirementPrefixMatcherTest.class, JavaTestMethodScannerTest.class,
+    CSharpXmlDocReaderTest.class })
 public class AllTests {
 
 }
@@ -0,0 +1,156 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.almcoverage;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tools.doc.traceability.analyzer.almcoverage.model.AlmStepTestData;
+import org.tools.doc.traceability.common.executor.ExecutionStatus;
+import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.test.AbstractTester;
+
+/**
+ * JUnit test for {@link AlmCoverageAnalyzer}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class AlmCoverageAnalyzerTest extends AbstractTester {
+
+    /**
+     * Test that the streaming reading of an ALM extract gives the same test
+     * steps as the reading loading the whole workbook.
+     */
+    @Test
+    public void testStreamingReadingMatchesWorkbookLoading() {
+        File lAlmExtractFile = new File(new File(new File(new File(getInputFileDirectory(), "git-base-dir"),
+                "full-app"), "ALM_Extract"), "VTP_FULL.xlsm");
+
+        List<AlmStepTestData> lStreamedSteps = analyzeAlmExtract(lAlmExtractFile, true).getAlmStepTestDataList();
+        List<AlmStepTestData> lLoadedSteps = analyzeAlmExtract(lAlmExtractFile, false).getAlmStepTestDataList();
+
+        Assert.assertFalse("Some test steps shall have been read", lLoadedSteps.isEmpty());
+        Assert.assertEquals("The number of test steps differ", lLoadedSteps.size(), lStreamedSteps.size());
+        for (int i = 0; i < lLoadedSteps.size(); i++) {
+            Assert.assertEquals("The test step " + i + " differ", describe(lLoadedSteps.get(i)),
+                    describe(lStreamedSteps.get(i)));
+        }
+    }
+
+    /**
+     * Test that a workbook whose sheets do not start with the ALM header gives
+     * no test step.
+     */
+    @Test
+    public void testStreamingReadingIgnoresOtherSheets() {
+        File lJustificationFile = new File(new File(new File(new File(getInputFileDirectory(), "git-base-dir"),
+                "general"), "justifications"), "justifications.xlsx");
+
+        Assert.assertTrue("No test step shall be read from a sheet without ALM header",
+                analyzeAlmExtract(lJustificationFile, true).getAlmStepTestDataList().isEmpty());
+    }
+
+    /**
+     * Test that the columns are found by their header, whatever their order
+     * and the other columns of the sheet, in both reading modes.
+     * 
+     * @throws IOException if the extract could not be written.
+     */
+    @Test
+    public void testColumnsResolvedFromHeader() throws IOException {
+        File lWorkDirectory = Files.createTempDirectory("alm-extract").toFile();
+        File lAlmExtractFile = new File(lWorkDirectory, "reordered.xlsx");
+        try {
+            XSSFWorkbook lWorkbook = new XSSFWorkbook();
+            Sheet lSheet = lWorkbook.createSheet("Test Plan");
+            String[] lHeaders = { "Comment", "Expected Result", "Step Name", "TC No", " test suite ", "Designer",
+                "Action", "Test Case Title" };
+            Row lRow = lSheet.createRow(0);
+            for (int i = 0; i < lHeaders.length; i++) {
+                lRow.createCell(i).setCellValue(lHeaders[i]);
+            }
+            lRow = lSheet.createRow(1);
+            lRow.createCell(0).setCellValue("Not read");
+            lRow.createCell(1).setCellValue("Displayed [SD-REQ-1]");
+            lRow.createCell(2).setCellValue(" Step 1 ");
+            lRow.createCell(3).setCellValue(12);
+            lRow.createCell(4).setCellValue("Suite");
+            lRow.createCell(5).setCellValue("Someone");
+            lRow.createCell(6).setCellValue("Open");
+            lRow.createCell(7).setCellValue("Title");
+            // Second step without step name nor designer cells
+            lRow = lSheet.createRow(2);
+            lRow.createCell(1).setCellValue("Closed");
+            lRow.createCell(3).setCellValue(12);
+            lRow.createCell(4).setCellValue("Suite");
+            lRow.createCell(6).setCellValue("Close");
+            lRow.createCell(7).setCellValue("Title");
+
+            FileOutputStream lFos = new FileOutputStream(lAlmExtractFile);
+            try {
+                lWorkbook.write(lFos);
+            } finally {
+                lFos.close();
+                lWorkbook.close();
+            }
+
+            for (boolean lStreamingReading : new boolean[] { true, false }) {
+                List<AlmStepTestData> lSteps = analyzeAlmExtract(lAlmExtractFile, lStreamingReading)
+                        .getAlmStepTestDataList();
+                Assert.assertEquals("Wrong number of test steps (streaming " + lStreamingReading + ")", 2,
+                        lSteps.size());
+                Assert.assertEquals("Wrong first test step (streaming " + lStreamingReading + ")",
+                        "Suite|12|Title|Step 1|Open|Displayed [SD-REQ-1]", describe(lSteps.get(0)));
+                Assert.assertEquals("Wrong second test step (streaming " + lStreamingReading + ")",
+                        "Suite|12|Title||Close|Closed", describe(lSteps.get(1)));
+            }
+        } finally {
+            lAlmExtractFile.delete();
+            lWorkDirectory.delete();
+        }
+    }
+
+    /**
+     * Analyze the given ALM extract.
+     * 
+     * @param pAlmExtractFile the ALM extract file.
+     * @param pStreamingReading whether the extract is read in a streaming
+     * way.
+     * @return the analysis result.
+     */
+    private AlmCoverageAnalyserResult analyzeAlmExtract(final File pAlmExtractFile,
+            final boolean pStreamingReading) {
+        ExecutorExecutionStatus<AlmCoverageAnalyserResult> lExecutionStatus = new ExecutorExecutionStatus<AlmCoverageAnalyserResult>();
+
+        AlmCoverageAnalyzer lSut = new AlmCoverageAnalyzer(pAlmExtractFile, lExecutionStatus);
+        lSut.setStreamingReading(pStreamingReading);
+        lSut.run();
+
+        Assert.assertEquals("The execution shall have ended in success", ExecutionStatus.ENDED_SUCCESS,
+                lExecutionStatus.getCurrentExecutionStatus());
+
+        return lExecutionStatus.getExecutionResult();
+    }
+
+    /**
+     * Describe all the fields of the given test step.
+     * 
+     * @param pAlmStepTestData the test step.
+     * @return the description.
+     */
+    private String describe(final AlmStepTestData pAlmStepTestData) {
+        return pAlmStepTestData.getTestSuite() + "|" + pAlmStepTestData.getTestCaseNumber() + "|"
+                + pAlmStepTestData.getTestCaseTitle() + "|" + pAlmStepTestData.getStepName() + "|"
+                + pAlmStepTestData.getAction() + "|" + pAlmStepTestData.getExpectedResult();
+    }
+}
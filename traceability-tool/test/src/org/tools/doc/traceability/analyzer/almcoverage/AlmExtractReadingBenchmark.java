@@ -0,0 +1,188 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.almcoverage;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.tools.doc.traceability.common.executor.ExecutionStatus;
+import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+
+/**
+ * Just an entry point to compare the time and the peak heap needed to read a
+ * large ALM extract in a streaming way and by loading the whole workbook.
+ * <p>
+ * The extract is a synthetic workbook written in a temporary directory, with
+ * the ALM header followed by the given number of step rows (100000 by
+ * default).
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class AlmExtractReadingBenchmark {
+
+    /**
+     * The default number of step rows of the extract.
+     */
+    private static final int DEFAULT_ROW_COUNT = 100000;
+
+    /**
+     * The number of steps per test case.
+     */
+    private static final int STEPS_PER_TEST_CASE = 8;
+
+    /**
+     * The number of bytes per mega-byte.
+     */
+    private static final double BYTES_PER_MB = 1024. * 1024.;
+
+    /**
+     * The number of nanoseconds per millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Constructor.
+     */
+    private AlmExtractReadingBenchmark() {
+    }
+
+    /**
+     * Write a synthetic ALM extract.
+     * 
+     * @param pExtractFile the file to write.
+     * @param pRowCount the number of step rows.
+     * @throws IOException if the file could not be written.
+     */
+    private static void writeExtract(final File pExtractFile, final int pRowCount) throws IOException {
+        SXSSFWorkbook lWorkbook = new SXSSFWorkbook();
+        try {
+            Sheet lSheet = lWorkbook.createSheet("Test Plan");
+            String[] lHeaders = { "Test Suite", "TC No", "Test Case Title", "Step Name", "Action",
+                "Expected Result" };
+            Row lHeaderRow = lSheet.createRow(0);
+            for (int i = 0; i < lHeaders.length; i++) {
+                lHeaderRow.createCell(i).setCellValue(lHeaders[i]);
+            }
+
+            for (int lRowIdx = 1; lRowIdx <= pRowCount; lRowIdx++) {
+                int lTestCaseNumber = lRowIdx / STEPS_PER_TEST_CASE;
+                Row lRow = lSheet.createRow(lRowIdx);
+                lRow.createCell(0).setCellValue("Suite " + (lTestCaseNumber % 50));
+                lRow.createCell(1).setCellValue(lTestCaseNumber);
+                lRow.createCell(2).setCellValue("Test case " + lTestCaseNumber);
+                lRow.createCell(3).setCellValue("Step " + (lRowIdx % STEPS_PER_TEST_CASE));
+                lRow.createCell(4).setCellValue("Open the panel " + lRowIdx + " and fill in the form");
+                lRow.createCell(5).setCellValue("The panel is displayed [SD-REQ-" + (lRowIdx % 1000) + "]");
+            }
+
+            FileOutputStream lFos = new FileOutputStream(pExtractFile);
+            try {
+                lWorkbook.write(lFos);
+            } finally {
+                lFos.close();
+            }
+        } finally {
+            lWorkbook.dispose();
+            lWorkbook.close();
+        }
+    }
+
+    /**
+     * Reset the peak usage of the heap memory pools.
+     */
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean lPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (lPool.getType() == MemoryType.HEAP) {
+                lPool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Get the sum of the peak usages of the heap memory pools.
+     * 
+     * @return the peak heap, in bytes.
+     */
+    private static long getPeakHeap() {
+        long lPeakHeap = 0;
+        for (MemoryPoolMXBean lPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (lPool.getType() == MemoryType.HEAP) {
+                lPeakHeap += lPool.getPeakUsage().getUsed();
+            }
+        }
+        return lPeakHeap;
+    }
+
+    /**
+     * Read the given extract and print the time taken and the peak heap.
+     * 
+     * @param pExtractFile the extract file.
+     * @param pStreamingReading whether the extract is read in a streaming
+     * way.
+     */
+    private static void read(final File pExtractFile, final boolean pStreamingReading) {
+        resetPeakHeap();
+        long lStart = System.nanoTime();
+
+        ExecutorExecutionStatus<AlmCoverageAnalyserResult> lExecutionStatus = new ExecutorExecutionStatus<AlmCoverageAnalyserResult>();
+        AlmCoverageAnalyzer lAnalyzer = new AlmCoverageAnalyzer(pExtractFile, lExecutionStatus);
+        lAnalyzer.setStreamingReading(pStreamingReading);
+        lAnalyzer.run();
+
+        long lNanos = System.nanoTime() - lStart;
+        if (lExecutionStatus.getCurrentExecutionStatus() != ExecutionStatus.ENDED_SUCCESS) {
+            throw new IllegalStateException("Reading failed : " + lExecutionStatus.getExecutionStatusDescription());
+        }
+
+        String lMode = "workbook loading";
+        if (pStreamingReading) {
+            lMode = "streaming";
+        }
+        System.out.println(String.format("%s\t%d\t%d\t%.1f", lMode,
+                lExecutionStatus.getExecutionResult().getAlmStepTestDataList().size(),
+                Math.round(lNanos / NANOS_PER_MILLI), getPeakHeap() / BYTES_PER_MB));
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments : optionally, the number of step rows.
+     * @throws IOException if the extract could not be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        int lRowCount = DEFAULT_ROW_COUNT;
+        if (args.length > 0) {
+            lRowCount = Integer.parseInt(args[0]);
+        }
+
+        File lWorkDirectory = Files.createTempDirectory("alm-extract-benchmark").toFile();
+        File lExtractFile = new File(lWorkDirectory, "extract.xlsx");
+        try {
+            writeExtract(lExtractFile, lRowCount);
+
+            System.out.println(lRowCount + " step rows, " + lExtractFile.length() + " bytes");
+            System.out.println("mode\tsteps\ttime (ms)\tpeak heap (MB)");
+            // Warm up
+            read(lExtractFile, true);
+            read(lExtractFile, false);
+
+            read(lExtractFile, true);
+            read(lExtractFile, false);
+        } finally {
+            lExtractFile.delete();
+            lWorkDirectory.delete();
+        }
+    }
+}
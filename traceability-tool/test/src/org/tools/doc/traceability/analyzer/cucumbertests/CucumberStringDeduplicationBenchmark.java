@@ -0,0 +1,233 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.cucumbertests;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.tools.doc.traceability.common.StringDeduplicator;
+import org.tools.doc.traceability.common.exceptions.AbstractTraceabilityException;
+import org.tools.doc.traceability.common.executor.ExecutionStatus;
+import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.filesearch.FileSearchFilterSet;
+import org.tools.doc.traceability.common.gerkhin.GherkinParser;
+import org.tools.doc.traceability.common.gerkhin.model.GherkinFeatureFileContents;
+import org.tools.doc.traceability.common.sregex.SimpleRegex;
+
+/**
+ * Just an entry point to report the heap retained by the parsed features and
+ * by the cucumber analysis result, with and without deduplication of their
+ * texts.
+ * <p>
+ * The corpus is a set of synthetic feature files written in a temporary
+ * directory : each one has a Background and scenarios made of steps picked in
+ * a limited vocabulary, like real feature files where the same steps are used
+ * again and again.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class CucumberStringDeduplicationBenchmark {
+
+    /**
+     * The number of feature files of the corpus.
+     */
+    private static final int FILE_COUNT = 400;
+
+    /**
+     * The number of scenarios per feature file.
+     */
+    private static final int SCENARIO_COUNT = 25;
+
+    /**
+     * The number of distinct step texts of each kind.
+     */
+    private static final int VOCABULARY_SIZE = 60;
+
+    /**
+     * The number of bytes per mega-byte.
+     */
+    private static final double BYTES_PER_MB = 1024. * 1024.;
+
+    /**
+     * Constructor.
+     */
+    private CucumberStringDeduplicationBenchmark() {
+    }
+
+    /**
+     * Write the synthetic corpus.
+     * 
+     * @param pDirectory the directory where to write the feature files.
+     * @return the feature files.
+     * @throws IOException if a feature file could not be written.
+     */
+    private static List<File> writeCorpus(final File pDirectory) throws IOException {
+        List<File> lFeatureFiles = new ArrayList<File>();
+
+        for (int lFileIdx = 0; lFileIdx < FILE_COUNT; lFileIdx++) {
+            File lFeatureFile = new File(pDirectory, "Synthetic" + lFileIdx + ".feature");
+            PrintWriter lWriter = new PrintWriter(new FileWriter(lFeatureFile));
+            try {
+                lWriter.println("Feature: Synthetic feature " + lFileIdx);
+                lWriter.println();
+                lWriter.println("  Background:");
+                lWriter.println("    Given the user is logged in");
+                lWriter.println("    And the application is started with the default configuration");
+                lWriter.println("    And the dataset " + (lFileIdx % VOCABULARY_SIZE) + " is loaded");
+
+                for (int lScenarioIdx = 0; lScenarioIdx < SCENARIO_COUNT; lScenarioIdx++) {
+                    int lSeed = lFileIdx * SCENARIO_COUNT + lScenarioIdx;
+                    lWriter.println();
+                    lWriter.println("  Scenario: Synthetic scenario " + lScenarioIdx);
+                    lWriter.println("    Given the document " + (lSeed % VOCABULARY_SIZE) + " is opened");
+                    lWriter.println("    When the user selects the menu entry " + ((lSeed * 7) % VOCABULARY_SIZE));
+                    lWriter.println("      | field | value |");
+                    lWriter.println("      | name  | v" + (lSeed % 3) + "    |");
+                    lWriter.println("    Then the panel " + ((lSeed * 3) % VOCABULARY_SIZE) + " is displayed");
+                    lWriter.println("    And the status bar shows the message " + (lSeed % VOCABULARY_SIZE));
+                    lWriter.println("    Then Reference SD : REQ_FEAT_" + (lSeed % VOCABULARY_SIZE));
+                }
+            } finally {
+                lWriter.close();
+            }
+            lFeatureFiles.add(lFeatureFile);
+        }
+
+        return lFeatureFiles;
+    }
+
+    /**
+     * Get the heap used after a garbage collection.
+     * 
+     * @return the used heap, in bytes.
+     */
+    private static long getUsedHeap() {
+        Runtime lRuntime = Runtime.getRuntime();
+        final int lGcCount = 3;
+        for (int i = 0; i < lGcCount; i++) {
+            System.gc();
+        }
+        return lRuntime.totalMemory() - lRuntime.freeMemory();
+    }
+
+    /**
+     * Parse all the feature files and measure the heap retained by the
+     * models.
+     * 
+     * @param pFeatureFiles the feature files.
+     * @param pStringDeduplication whether the texts are deduplicated.
+     * @return the retained heap, in bytes.
+     * @throws AbstractTraceabilityException if a feature file could not be
+     * parsed.
+     */
+    private static long measureParsedFeatures(final List<File> pFeatureFiles, final boolean pStringDeduplication)
+            throws AbstractTraceabilityException {
+        long lUsedHeapBefore = getUsedHeap();
+
+        GherkinParser lParser = new GherkinParser();
+        if (pStringDeduplication) {
+            lParser.setStringDeduplicator(new StringDeduplicator());
+        }
+        List<GherkinFeatureFileContents> lModels = new ArrayList<GherkinFeatureFileContents>();
+        for (File lFeatureFile : pFeatureFiles) {
+            lModels.add(lParser.parseFile(lFeatureFile));
+        }
+        // The table is not part of the retained heap
+        lParser.setStringDeduplicator(null);
+
+        long lRetainedHeap = getUsedHeap() - lUsedHeapBefore;
+        if (lModels.size() != pFeatureFiles.size()) {
+            throw new IllegalStateException("Missing models");
+        }
+        return lRetainedHeap;
+    }
+
+    /**
+     * Analyze all the feature files and measure the heap retained by the
+     * result.
+     * 
+     * @param pDirectory the directory containing the feature files.
+     * @param pStringDeduplication whether the texts are deduplicated.
+     * @return the retained heap, in bytes.
+     * @throws AbstractTraceabilityException if the analysis could not be
+     * performed.
+     */
+    private static long measureAnalysisResult(final File pDirectory, final boolean pStringDeduplication)
+            throws AbstractTraceabilityException {
+        long lUsedHeapBefore = getUsedHeap();
+
+        FileSearchFilterSet lFileSearchFilterSet = new FileSearchFilterSet();
+        lFileSearchFilterSet.addFilter(pDirectory, false, new SimpleRegex("*.feature"));
+        ExecutorExecutionStatus<CucumberTestCoverageAnalyzerResult> lExecutionStatus = new ExecutorExecutionStatus<CucumberTestCoverageAnalyzerResult>();
+        CucumberTestCoverageAnalyser lAnalyser = new CucumberTestCoverageAnalyser(lFileSearchFilterSet,
+                lExecutionStatus);
+        lAnalyser.setStringDeduplication(pStringDeduplication);
+        lAnalyser.run();
+
+        if (lExecutionStatus.getCurrentExecutionStatus() != ExecutionStatus.ENDED_SUCCESS) {
+            throw new IllegalStateException("Analysis failed : " + lExecutionStatus.getExecutionStatusDescription());
+        }
+        CucumberTestCoverageAnalyzerResult lResult = lExecutionStatus.getExecutionResult();
+        // Only keep the result
+        lAnalyser = null;
+
+        long lRetainedHeap = getUsedHeap() - lUsedHeapBefore;
+        if (lResult.getCucumberTestsFileDataList().size() != FILE_COUNT) {
+            throw new IllegalStateException("Missing feature file data");
+        }
+        return lRetainedHeap;
+    }
+
+    /**
+     * Delete the given directory and its contents.
+     * 
+     * @param pDirectory the directory.
+     */
+    private static void delete(final File pDirectory) {
+        File[] lFiles = pDirectory.listFiles();
+        if (lFiles != null) {
+            for (File lFile : lFiles) {
+                lFile.delete();
+            }
+        }
+        pDirectory.delete();
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments (not used).
+     * @throws IOException if the corpus could not be written.
+     * @throws AbstractTraceabilityException if the corpus could not be
+     * analyzed.
+     */
+    public static void main(final String[] args) throws IOException, AbstractTraceabilityException {
+        File lCorpusDirectory = Files.createTempDirectory("dedup-benchmark").toFile();
+        try {
+            List<File> lFeatureFiles = writeCorpus(lCorpusDirectory);
+
+            // Warm up
+            measureParsedFeatures(lFeatureFiles, true);
+            measureAnalysisResult(lCorpusDirectory, true);
+
+            System.out.println(FILE_COUNT + " feature files, " + SCENARIO_COUNT + " scenarios each");
+            System.out.println("retained heap (MB)\twithout deduplication\twith deduplication");
+            System.out.println(String.format("parsed features\t%.2f\t%.2f",
+                    measureParsedFeatures(lFeatureFiles, false) / BYTES_PER_MB,
+                    measureParsedFeatures(lFeatureFiles, true) / BYTES_PER_MB));
+            System.out.println(String.format("analysis result\t%.2f\t%.2f",
+                    measureAnalysisResult(lCorpusDirectory, false) / BYTES_PER_MB,
+                    measureAnalysisResult(lCorpusDirectory, true) / BYTES_PER_MB));
+        } finally {
+            delete(lCorpusDirectory);
+        }
+    }
+}
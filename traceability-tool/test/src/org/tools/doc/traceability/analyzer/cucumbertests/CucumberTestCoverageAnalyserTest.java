@@ -4,17 +4,24 @@
 package org.tools.doc.traceability.analyzer.cucumbertests;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import org.tools.doc.traceability.analyzer.cucumbertests.model.CucumberTestData;
 import org.tools.doc.traceability.analyzer.cucumbertests.model.CucumberTestsFileData;
 import org.tools.doc.traceability.common.exceptions.InvalidFileSearchFilterException;
 import org.tools.doc.traceability.common.exceptions.InvalidSimpleRegexpException;
 import org.tools.doc.traceability.common.executor.ExecutionStatus;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
 import org.tools.doc.traceability.common.filesearch.FileSearchFilterSet;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinStep;
 import org.tools.doc.traceability.common.sregex.SimpleRegex;
 import org.tools.doc.traceability.common.test.AbstractTester;
 
@@ -100,4 +107,168 @@ public class CucumberTestCoverageAnalyserTest extends AbstractTester {
         }
     }
 
+    /**
+     * Test that processing the feature files concurrently gives the same result
+     * as processing them one after the other.
+     */
+    @Test
+    public void testAnalysisInParallel() {
+        File lRootTestDirectory = new File(getInputFileDirectory(), "test-input-dir");
+
+        CucumberTestCoverageAnalyzerResult lSequentialResult = analyzeFeatureFiles(lRootTestDirectory, 1, null, true);
+        CucumberTestCoverageAnalyzerResult lParallelResult = analyzeFeatureFiles(lRootTestDirectory, 4, null, true);
+
+        List<CucumberTestsFileData> lSequentialDataList = lSequentialResult.getCucumberTestsFileDataList();
+        List<CucumberTestsFileData> lParallelDataList = lParallelResult.getCucumberTestsFileDataList();
+
+        Assert.assertFalse("Feature files were expected", lSequentialDataList.isEmpty());
+        Assert.assertEquals("The number of feature files is not as expected", lSequentialDataList.size(),
+                lParallelDataList.size());
+        for (int i = 0; i < lSequentialDataList.size(); i++) {
+            Assert.assertEquals("The feature files are not in the same order", lSequentialDataList.get(i)
+                    .getSourceFile(), lParallelDataList.get(i).getSourceFile());
+            Assert.assertEquals("The data of a feature file differ", lSequentialDataList.get(i).toString(),
+                    lParallelDataList.get(i).toString());
+        }
+    }
+
+    /**
+     * Test that invalid feature files are reported without preventing the
+     * processing of the valid ones.
+     */
+    @Test
+    public void testInvalidFeatureFilesReported() {
+        File lGherkinDirectory = new File(getInputFileDirectory(), "gherkin");
+
+        CucumberTestCoverageAnalyzerResult lResult = analyzeFeatureFiles(lGherkinDirectory, 4, null, true);
+
+        Map<File, String> lFailedFeatureFiles = lResult.getFailedFeatureFiles();
+        Assert.assertEquals("The number of failed feature files is not as expected", 2, lFailedFeatureFiles.size());
+        Assert.assertTrue("InvalidExample1.feature shall have failed",
+                lFailedFeatureFiles.containsKey(new File(lGherkinDirectory, "InvalidExample1.feature")));
+        Assert.assertTrue("InvalidExample2.feature shall have failed",
+                lFailedFeatureFiles.containsKey(new File(lGherkinDirectory, "InvalidExample2.feature")));
+
+        Assert.assertEquals("The number of processed feature files is not as expected", 3, lResult
+                .getCucumberTestsFileDataList().size());
+    }
+
+    /**
+     * Test that the parsed feature files are loaded from the cache when they
+     * did not change, and that the result is the same.
+     * 
+     * @throws IOException if the cache directory could not be created.
+     */
+    @Test
+    public void testFeatureCache() throws IOException {
+        File lGherkinDirectory = new File(getInputFileDirectory(), "gherkin");
+        File lCacheDirectory = Files.createTempDirectory("feature-cache").toFile();
+        try {
+            // First execution : nothing is cached yet
+            CucumberTestCoverageAnalyzerResult lFirstResult = analyzeFeatureFiles(lGherkinDirectory, 2,
+                    lCacheDirectory, true);
+            Assert.assertEquals("No file shall be loaded from an empty cache", 0, lFirstResult.getCacheHitCount());
+            Assert.assertEquals("All the feature files shall miss the cache", 5, lFirstResult.getCacheMissCount());
+
+            // Second execution : the valid feature files are loaded from the
+            // cache, the invalid ones are parsed again
+            CucumberTestCoverageAnalyzerResult lSecondResult = analyzeFeatureFiles(lGherkinDirectory, 2,
+                    lCacheDirectory, true);
+            Assert.assertEquals("The valid feature files shall be loaded from the cache", 3,
+                    lSecondResult.getCacheHitCount());
+            Assert.assertEquals("The invalid feature files shall miss the cache", 2,
+                    lSecondResult.getCacheMissCount());
+            Assert.assertEquals("The failed feature files shall be the same", lFirstResult.getFailedFeatureFiles(),
+                    lSecondResult.getFailedFeatureFiles());
+
+            List<CucumberTestsFileData> lFirstDataList = lFirstResult.getCucumberTestsFileDataList();
+            List<CucumberTestsFileData> lSecondDataList = lSecondResult.getCucumberTestsFileDataList();
+            Assert.assertEquals("The number of feature files is not as expected", lFirstDataList.size(),
+                    lSecondDataList.size());
+            for (int i = 0; i < lFirstDataList.size(); i++) {
+                Assert.assertEquals("The data of a feature file differ", lFirstDataList.get(i).toString(),
+                        lSecondDataList.get(i).toString());
+            }
+        } finally {
+            File[] lEntryFiles = lCacheDirectory.listFiles();
+            if (lEntryFiles != null) {
+                for (File lEntryFile : lEntryFiles) {
+                    lEntryFile.delete();
+                }
+            }
+            lCacheDirectory.delete();
+        }
+    }
+
+    /**
+     * Test that deduplicating the texts gives the same result, with equal step
+     * texts sharing the same instance.
+     */
+    @Test
+    public void testStringDeduplication() {
+        File lRootTestDirectory = new File(getInputFileDirectory(), "test-input-dir");
+
+        CucumberTestCoverageAnalyzerResult lPlainResult = analyzeFeatureFiles(lRootTestDirectory, 2, null, false);
+        CucumberTestCoverageAnalyzerResult lDeduplicatedResult = analyzeFeatureFiles(lRootTestDirectory, 2, null,
+                true);
+
+        List<CucumberTestsFileData> lPlainDataList = lPlainResult.getCucumberTestsFileDataList();
+        List<CucumberTestsFileData> lDeduplicatedDataList = lDeduplicatedResult.getCucumberTestsFileDataList();
+        Assert.assertEquals("The number of feature files is not as expected", lPlainDataList.size(),
+                lDeduplicatedDataList.size());
+
+        Map<String, String> lStepTexts = new HashMap<String, String>();
+        for (int i = 0; i < lPlainDataList.size(); i++) {
+            Assert.assertEquals("The data of a feature file differ", lPlainDataList.get(i).toString(),
+                    lDeduplicatedDataList.get(i).toString());
+
+            for (CucumberTestData lTestData : lDeduplicatedDataList.get(i).getCucumberTestDataList()) {
+                List<AbstractGherkinStep> lSteps = new ArrayList<AbstractGherkinStep>(lTestData.getActionSteps());
+                lSteps.addAll(lTestData.getExpectedResultSteps());
+                for (AbstractGherkinStep lStep : lSteps) {
+                    String lStepText = lStep.getStepText();
+                    String lKnownStepText = lStepTexts.get(lStepText);
+                    if (lKnownStepText == null) {
+                        lStepTexts.put(lStepText, lStepText);
+                    } else {
+                        Assert.assertSame("Equal step texts shall share the same instance", lKnownStepText,
+                                lStepText);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Analyze the feature files of the given directory.
+     * 
+     * @param pRootTestDirectory the directory containing the feature files.
+     * @param pWorkerCount the number of feature files processed at the same
+     * time.
+     * @param pCacheDirectory the cache directory (<tt>null</tt> for no cache).
+     * @param pStringDeduplication whether the texts are deduplicated.
+     * @return the analysis result.
+     */
+    private CucumberTestCoverageAnalyzerResult analyzeFeatureFiles(final File pRootTestDirectory,
+            final int pWorkerCount, final File pCacheDirectory, final boolean pStringDeduplication) {
+        ExecutorExecutionStatus<CucumberTestCoverageAnalyzerResult> lExecutorExecStatus = new ExecutorExecutionStatus<CucumberTestCoverageAnalyzerResult>();
+
+        FileSearchFilterSet lFileSearchFilterSet = new FileSearchFilterSet();
+        try {
+            lFileSearchFilterSet.addFilter(pRootTestDirectory, true, new SimpleRegex("*.feature"));
+        } catch (InvalidFileSearchFilterException | InvalidSimpleRegexpException e) {
+            Assert.fail("Error creating a file search filter set : " + e.getMessage());
+        }
+
+        CucumberTestCoverageAnalyser lSut = new CucumberTestCoverageAnalyser(lFileSearchFilterSet, lExecutorExecStatus);
+        lSut.setWorkerCount(pWorkerCount);
+        lSut.setCacheDirectory(pCacheDirectory);
+        lSut.setStringDeduplication(pStringDeduplication);
+        lSut.run();
+
+        Assert.assertEquals("The execution shall have ended in success", ExecutionStatus.ENDED_SUCCESS,
+                lExecutorExecStatus.getCurrentExecutionStatus());
+
+        return lExecutorExecStatus.getExecutionResult();
+    }
 }
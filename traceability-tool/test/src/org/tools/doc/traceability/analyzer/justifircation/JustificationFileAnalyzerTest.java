@@ -0,0 +1,232 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.justifircation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tools.doc.traceability.analyzer.justifircation.model.NotCoveredRequirementJustification;
+import org.tools.doc.traceability.common.executor.ExecutionStatus;
+import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.test.AbstractTester;
+
+/**
+ * JUnit test for {@link JustificationFileAnalyzer}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class JustificationFileAnalyzerTest extends AbstractTester {
+
+    /**
+     * Test that all the justifications of the justification file are indexed
+     * by their requirement.
+     */
+    @Test
+    public void testJustificationsIndexedByRequirement() {
+        File lJustificationFile = new File(new File(new File(new File(getInputFileDirectory(), "git-base-dir"),
+                "general"), "justifications"), "justifications.xlsx");
+
+        JustificationFileAnalyzerResult lResult = analyzeJustificationFile(lJustificationFile, true);
+
+        Assert.assertFalse("Some justifications shall have been read",
+                lResult.getNotCoveredRequirementJustificationList().isEmpty());
+        for (NotCoveredRequirementJustification lNcrJustification : lResult
+                .getNotCoveredRequirementJustificationList()) {
+            NotCoveredRequirementJustification lIndexedJustification = lResult
+                    .getJustificationFor(new Requirement(lNcrJustification.getRequirement().toString()));
+            Assert.assertNotNull("Requirement " + lNcrJustification.getRequirement() + " shall be indexed",
+                    lIndexedJustification);
+        }
+        Assert.assertEquals("Wrong number of indexed requirements",
+                lResult.getNotCoveredRequirementJustificationList().size()
+                        - countExtraJustifications(lResult), lResult.getJustificationByRequirement().size());
+    }
+
+    /**
+     * Test that a requirement justified more than once is reported as
+     * duplicated, and that its first justification is kept.
+     * 
+     * @throws IOException if the justification file could not be written.
+     */
+    @Test
+    public void testDuplicatedJustifications() throws IOException {
+        File lWorkDirectory = Files.createTempDirectory("justifications").toFile();
+        File lJustificationFile = new File(lWorkDirectory, "justifications.xlsx");
+        try {
+            XSSFWorkbook lWorkbook = new XSSFWorkbook();
+            addSheet(lWorkbook, "Justifications", new String[][] { { "Req", "Justification" },
+                { "SD-REQ-1", "First" }, { "SD-REQ-2", "Only" }, { "SD-REQ-1", "Second" }, { "SD-REQ-1", "Third" } });
+
+            FileOutputStream lFos = new FileOutputStream(lJustificationFile);
+            try {
+                lWorkbook.write(lFos);
+            } finally {
+                lFos.close();
+                lWorkbook.close();
+            }
+
+            JustificationFileAnalyzerResult lResult = analyzeJustificationFile(lJustificationFile, true);
+
+            Assert.assertEquals("All the justifications shall be listed", 4,
+                    lResult.getNotCoveredRequirementJustificationList().size());
+            Assert.assertEquals("Wrong number of indexed requirements", 2,
+                    lResult.getJustificationByRequirement().size());
+            Assert.assertEquals("The first justification shall be kept", "First",
+                    lResult.getJustificationFor(new Requirement("SD-REQ-1")).getJustification());
+            Assert.assertEquals("Wrong justification", "Only",
+                    lResult.getJustificationFor(new Requirement("SD-REQ-2")).getJustification());
+            Assert.assertNull("SD-REQ-3 is not justified", lResult.getJustificationFor(new Requirement("SD-REQ-3")));
+            Assert.assertEquals("Wrong number of duplicated requirements", 1,
+                    lResult.getDuplicatedJustifications().size());
+            Assert.assertEquals("Wrong number of justifications for SD-REQ-1", Integer.valueOf(3),
+                    lResult.getDuplicatedJustifications().get(new Requirement("SD-REQ-1")));
+        } finally {
+            lJustificationFile.delete();
+            lWorkDirectory.delete();
+        }
+    }
+
+    /**
+     * Test that the streaming reading of the justification file gives the same
+     * justifications as the reading loading the whole workbook.
+     */
+    @Test
+    public void testStreamingReadingMatchesWorkbookLoading() {
+        File lJustificationFile = new File(new File(new File(new File(getInputFileDirectory(), "git-base-dir"),
+                "general"), "justifications"), "justifications.xlsx");
+
+        assertSameJustifications(lJustificationFile);
+    }
+
+    /**
+     * Test that only the sheets starting with the justification header are
+     * read, in both reading modes.
+     * 
+     * @throws IOException if the justification file could not be written.
+     */
+    @Test
+    public void testOnlyJustificationSheetsRead() throws IOException {
+        File lWorkDirectory = Files.createTempDirectory("justifications").toFile();
+        File lJustificationFile = new File(lWorkDirectory, "justifications.xlsx");
+        try {
+            XSSFWorkbook lWorkbook = new XSSFWorkbook();
+            addSheet(lWorkbook, "Notes", new String[][] { { "Requirement", "Justification" },
+                { "SD-REQ-9", "Not read" } });
+            addSheet(lWorkbook, "Single column", new String[][] { { "Req" }, { "SD-REQ-8" } });
+            addSheet(lWorkbook, "First", new String[][] { { " R eq ", "JUSTIFICATION", "Comment" },
+                { "SD-REQ-1", " Out of scope ", "Not read" }, { "SD-REQ-2" }, { " SD-REQ-3 ", "Manual" } });
+            addSheet(lWorkbook, "Second", new String[][] { { "req", "justification" }, { "SD-REQ-4", "Obsolete" } });
+
+            FileOutputStream lFos = new FileOutputStream(lJustificationFile);
+            try {
+                lWorkbook.write(lFos);
+            } finally {
+                lFos.close();
+                lWorkbook.close();
+            }
+
+            for (boolean lStreamingReading : new boolean[] { true, false }) {
+                Assert.assertEquals("Wrong justifications (streaming " + lStreamingReading + ")",
+                        "[SD-REQ-1|Out of scope, SD-REQ-3|Manual, SD-REQ-4|Obsolete]",
+                        describe(analyzeJustificationFile(lJustificationFile, lStreamingReading)).toString());
+            }
+        } finally {
+            lJustificationFile.delete();
+            lWorkDirectory.delete();
+        }
+    }
+
+    /**
+     * Check that both reading modes give the same justifications for the given
+     * file.
+     * 
+     * @param pJustificationFile the justification file.
+     */
+    private void assertSameJustifications(final File pJustificationFile) {
+        List<String> lStreamedJustifications = describe(analyzeJustificationFile(pJustificationFile, true));
+        List<String> lLoadedJustifications = describe(analyzeJustificationFile(pJustificationFile, false));
+
+        Assert.assertFalse("Some justifications shall have been read", lLoadedJustifications.isEmpty());
+        Assert.assertEquals("The justifications differ", lLoadedJustifications, lStreamedJustifications);
+    }
+
+    /**
+     * Add a sheet with the given cell texts to the given workbook.
+     * 
+     * @param pWorkbook the workbook.
+     * @param pSheetName the name of the sheet.
+     * @param pRows the texts of the cells, row by row.
+     */
+    private void addSheet(final XSSFWorkbook pWorkbook, final String pSheetName, final String[][] pRows) {
+        Sheet lSheet = pWorkbook.createSheet(pSheetName);
+        for (int lRowIdx = 0; lRowIdx < pRows.length; lRowIdx++) {
+            Row lRow = lSheet.createRow(lRowIdx);
+            for (int lColIdx = 0; lColIdx < pRows[lRowIdx].length; lColIdx++) {
+                lRow.createCell(lColIdx).setCellValue(pRows[lRowIdx][lColIdx]);
+            }
+        }
+    }
+
+    /**
+     * Describe the justifications of the given result, in their order.
+     * 
+     * @param pResult the analysis result.
+     * @return the description of each justification.
+     */
+    private List<String> describe(final JustificationFileAnalyzerResult pResult) {
+        List<String> lDescriptions = new ArrayList<String>();
+        for (NotCoveredRequirementJustification lNcrJustification : pResult
+                .getNotCoveredRequirementJustificationList()) {
+            lDescriptions.add(lNcrJustification.getRequirement() + "|" + lNcrJustification.getJustification());
+        }
+        return lDescriptions;
+    }
+
+    /**
+     * Analyze the given justification file.
+     * 
+     * @param pJustificationFile the justification file.
+     * @param pStreamingReading whether the file is read in a streaming way.
+     * @return the analysis result.
+     */
+    private JustificationFileAnalyzerResult analyzeJustificationFile(final File pJustificationFile,
+            final boolean pStreamingReading) {
+        ExecutorExecutionStatus<JustificationFileAnalyzerResult> lExecutionStatus = new ExecutorExecutionStatus<JustificationFileAnalyzerResult>();
+
+        JustificationFileAnalyzer lSut = new JustificationFileAnalyzer(pJustificationFile, lExecutionStatus);
+        lSut.setStreamingReading(pStreamingReading);
+        lSut.run();
+
+        Assert.assertEquals("The execution shall have ended in success", ExecutionStatus.ENDED_SUCCESS,
+                lExecutionStatus.getCurrentExecutionStatus());
+
+        return lExecutionStatus.getExecutionResult();
+    }
+
+    /**
+     * Count the justifications that are not the first one of their
+     * requirement.
+     * 
+     * @param pResult the analysis result.
+     * @return the number of extra justifications.
+     */
+    private int countExtraJustifications(final JustificationFileAnalyzerResult pResult) {
+        int lCount = 0;
+        for (Integer lJustificationCount : pResult.getDuplicatedJustifications().values()) {
+            lCount += lJustificationCount.intValue() - 1;
+        }
+        return lCount;
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.justifircation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.tools.doc.traceability.common.executor.ExecutionStatus;
+import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+
+/**
+ * Just an entry point to compare the time and the peak heap needed to read a
+ * large justification file in a streaming way and by loading the whole
+ * workbook.
+ * <p>
+ * The file is a synthetic workbook written in a temporary directory, with a
+ * notes sheet that is not a justification sheet, followed by justification
+ * sheets holding the given number of justifications in total (100000 by
+ * default).
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class JustificationFileReadingBenchmark {
+
+    /**
+     * The default number of justifications of the file.
+     */
+    private static final int DEFAULT_JUSTIFICATION_COUNT = 100000;
+
+    /**
+     * The number of justification sheets.
+     */
+    private static final int JUSTIFICATION_SHEET_COUNT = 4;
+
+    /**
+     * The number of columns of the notes sheet.
+     */
+    private static final int NOTES_COLUMN_COUNT = 6;
+
+    /**
+     * The number of bytes per mega-byte.
+     */
+    private static final double BYTES_PER_MB = 1024. * 1024.;
+
+    /**
+     * The number of nanoseconds per millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Constructor.
+     */
+    private JustificationFileReadingBenchmark() {
+    }
+
+    /**
+     * Write a synthetic justification file.
+     * 
+     * @param pJustificationFile the file to write.
+     * @param pJustificationCount the number of justifications.
+     * @throws IOException if the file could not be written.
+     */
+    private static void writeJustificationFile(final File pJustificationFile, final int pJustificationCount)
+            throws IOException {
+        SXSSFWorkbook lWorkbook = new SXSSFWorkbook();
+        try {
+            // A sheet of the same size that is not a justification sheet
+            Sheet lNotesSheet = lWorkbook.createSheet("Notes");
+            for (int lRowIdx = 0; lRowIdx <= pJustificationCount; lRowIdx++) {
+                Row lRow = lNotesSheet.createRow(lRowIdx);
+                for (int lColIdx = 0; lColIdx < NOTES_COLUMN_COUNT; lColIdx++) {
+                    lRow.createCell(lColIdx).setCellValue("Note " + lRowIdx + "/" + lColIdx);
+                }
+            }
+
+            int lRowsPerSheet = pJustificationCount / JUSTIFICATION_SHEET_COUNT;
+            for (int lSheetIdx = 0; lSheetIdx < JUSTIFICATION_SHEET_COUNT; lSheetIdx++) {
+                Sheet lSheet = lWorkbook.createSheet("Justifications " + lSheetIdx);
+                Row lHeaderRow = lSheet.createRow(0);
+                lHeaderRow.createCell(0).setCellValue("Req");
+                lHeaderRow.createCell(1).setCellValue("Justification");
+                for (int lRowIdx = 1; lRowIdx <= lRowsPerSheet; lRowIdx++) {
+                    Row lRow = lSheet.createRow(lRowIdx);
+                    lRow.createCell(0).setCellValue("SD-REQ-" + (lSheetIdx * lRowsPerSheet + lRowIdx));
+                    lRow.createCell(1).setCellValue("Covered by the manual check list, item " + (lRowIdx % 500));
+                }
+            }
+
+            FileOutputStream lFos = new FileOutputStream(pJustificationFile);
+            try {
+                lWorkbook.write(lFos);
+            } finally {
+                lFos.close();
+            }
+        } finally {
+            lWorkbook.dispose();
+            lWorkbook.close();
+        }
+    }
+
+    /**
+     * Reset the peak usage of the heap memory pools.
+     */
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean lPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (lPool.getType() == MemoryType.HEAP) {
+                lPool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Get the sum of the peak usages of the heap memory pools.
+     * 
+     * @return the peak heap, in bytes.
+     */
+    private static long getPeakHeap() {
+        long lPeakHeap = 0;
+        for (MemoryPoolMXBean lPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (lPool.getType() == MemoryType.HEAP) {
+                lPeakHeap += lPool.getPeakUsage().getUsed();
+            }
+        }
+        return lPeakHeap;
+    }
+
+    /**
+     * Read the given justification file and print the time taken and the peak
+     * heap.
+     * 
+     * @param pJustificationFile the justification file.
+     * @param pStreamingReading whether the file is read in a streaming way.
+     */
+    private static void read(final File pJustificationFile, final boolean pStreamingReading) {
+        resetPeakHeap();
+        long lStart = System.nanoTime();
+
+        ExecutorExecutionStatus<JustificationFileAnalyzerResult> lExecutionStatus = new ExecutorExecutionStatus<JustificationFileAnalyzerResult>();
+        JustificationFileAnalyzer lAnalyzer = new JustificationFileAnalyzer(pJustificationFile, lExecutionStatus);
+        lAnalyzer.setStreamingReading(pStreamingReading);
+        lAnalyzer.run();
+
+        long lNanos = System.nanoTime() - lStart;
+        if (lExecutionStatus.getCurrentExecutionStatus() != ExecutionStatus.ENDED_SUCCESS) {
+            throw new IllegalStateException("Reading failed : " + lExecutionStatus.getExecutionStatusDescription());
+        }
+
+        String lMode = "workbook loading";
+        if (pStreamingReading) {
+            lMode = "streaming";
+        }
+        System.out.println(String.format("%s\t%d\t%d\t%.1f", lMode,
+                lExecutionStatus.getExecutionResult().getNotCoveredRequirementJustificationList().size(),
+                Math.round(lNanos / NANOS_PER_MILLI), getPeakHeap() / BYTES_PER_MB));
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments : optionally, the number of justifications.
+     * @throws IOException if the justification file could not be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        int lJustificationCount = DEFAULT_JUSTIFICATION_COUNT;
+        if (args.length > 0) {
+            lJustificationCount = Integer.parseInt(args[0]);
+        }
+
+        File lWorkDirectory = Files.createTempDirectory("justification-benchmark").toFile();
+        File lJustificationFile = new File(lWorkDirectory, "justifications.xlsx");
+        try {
+            writeJustificationFile(lJustificationFile, lJustificationCount);
+
+            System.out.println(lJustificationCount + " justifications, " + lJustificationFile.length() + " bytes");
+            System.out.println("mode\tjustifications\ttime (ms)\tpeak heap (MB)");
+            // Warm up
+            read(lJustificationFile, true);
+            read(lJustificationFile, false);
+
+            read(lJustificationFile, true);
+            read(lJustificationFile, false);
+        } finally {
+            lJustificationFile.delete();
+            lWorkDirectory.delete();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.unittests.csharp.helper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.tools.doc.traceability.analyzer.unittests.common.UnitTestCaseData;
+import org.tools.doc.traceability.analyzer.unittests.csharp.model.CSharpUnitTestFileData;
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+import org.tools.doc.traceability.common.exceptions.InvalidSimpleRegexpException;
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.sregex.SimpleRegex;
+import org.tools.doc.traceability.common.test.AbstractTester;
+
+/**
+ * JUnit for {@link CSharpXmlDocReader}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class CSharpXmlDocReaderTest extends AbstractTester {
+
+    /**
+     * Create a reader only considering the methods whose name starts with
+     * <tt>Test</tt>.
+     * 
+     * @return the reader.
+     */
+    private static CSharpXmlDocReader createReader() {
+        CSharpXmlDocReader lReader = null;
+
+        try {
+            lReader = new CSharpXmlDocReader(new SimpleRegex("Test*"));
+        } catch (InvalidSimpleRegexpException e) {
+            Assert.fail("Could not create the test name regexp : " + e.getMessage());
+        }
+
+        return lReader;
+    }
+
+    /**
+     * Get the input file with the given name.
+     * 
+     * @param pFileName the file name.
+     * @return the input file.
+     */
+    private File getCSharpInputFile(final String pFileName) {
+        return new File(new File(new File(getInputFileDirectory(), "unittests"), "csharp"), pFileName);
+    }
+
+    /**
+     * Get the names of the given requirements.
+     * 
+     * @param pRequirements the requirements.
+     * @return the requirement names.
+     */
+    private static List<String> getRequirementNames(final List<Requirement> pRequirements) {
+        List<String> lNames = new ArrayList<String>();
+
+        for (Requirement lRequirement : pRequirements) {
+            lNames.add(lRequirement.toString());
+        }
+
+        return lNames;
+    }
+
+    /**
+     * Test method for
+     * {@link org.tools.doc.traceability.analyzer.unittests.csharp.helper.CSharpXmlDocReader#read(java.io.File)}.
+     * 
+     * @throws FileReadingException if the file could not be read.
+     */
+    @Test
+    public void testRead() throws FileReadingException {
+        CSharpUnitTestFileData lFileData = createReader().read(getCSharpInputFile("DocReaderExample.xml"));
+
+        Assert.assertNotNull("The file data shall be read", lFileData);
+        Assert.assertEquals("Wrong assembly name", "My.Test.Assembly", lFileData.getAssemblyName());
+
+        // The type, the method not matching the test name regexp and the test
+        // without covered requirements are skipped
+        List<UnitTestCaseData> lUnitTestDataList = lFileData.getUnitTestDataList();
+        Assert.assertEquals("Wrong number of unit tests", 2, lUnitTestDataList.size());
+
+        // Texts and para elements are taken in the document order, CDATA
+        // sections are only taken inside para elements
+        UnitTestCaseData lUnitTestData = lUnitTestDataList.get(0);
+        Assert.assertEquals("Wrong test name", "TestOrdering", lUnitTestData.getTestCaseName());
+        Assert.assertEquals("Wrong test identifier", "TST-CS-001", lUnitTestData.getTestCaseIdentifier());
+        Assert.assertEquals("Wrong description",
+                "First description line\nSecond description line\nDescription : described in a para",
+                lUnitTestData.getActionDescription());
+        Assert.assertEquals("Wrong expected result",
+                "Expected result : a < b is true\nExpected result : second expected result",
+                lUnitTestData.getExpectedResult());
+        List<String> lExpectedRequirements = new ArrayList<String>();
+        lExpectedRequirements.add("REQ-CS-1");
+        lExpectedRequirements.add("REQ-CS-2");
+        Assert.assertEquals("Wrong covered requirements", lExpectedRequirements,
+                getRequirementNames(lUnitTestData.getCoveredRequirements()));
+
+        // A child element splits the text in two parts, and the parameters
+        // are removed from the member name
+        lUnitTestData = lUnitTestDataList.get(1);
+        Assert.assertEquals("Wrong test name", "TestSplitText", lUnitTestData.getTestCaseName());
+        Assert.assertEquals("Wrong test identifier", "TST-CS-002", lUnitTestData.getTestCaseIdentifier());
+        Assert.assertEquals("Wrong description", "Text before\ntext after", lUnitTestData.getActionDescription());
+        Assert.assertEquals("Wrong expected result", "", lUnitTestData.getExpectedResult());
+        lExpectedRequirements.clear();
+        lExpectedRequirements.add("REQ-CS-3");
+        Assert.assertEquals("Wrong covered requirements", lExpectedRequirements,
+                getRequirementNames(lUnitTestData.getCoveredRequirements()));
+    }
+
+    /**
+     * Test method for
+     * {@link org.tools.doc.traceability.analyzer.unittests.csharp.helper.CSharpXmlDocReader#read(java.io.File)}
+     * with a file that is not a documentation file.
+     * 
+     * @throws FileReadingException if the file could not be read.
+     */
+    @Test
+    public void testReadNotADocFile() throws FileReadingException {
+        Assert.assertNull("A file whose root is not doc shall be ignored",
+                createReader().read(getCSharpInputFile("DocReaderNotADoc.xml")));
+    }
+
+    /**
+     * Test method for
+     * {@link org.tools.doc.traceability.analyzer.unittests.csharp.helper.CSharpXmlDocReader#read(java.io.File)}
+     * with a malformed file.
+     */
+    @Test
+    public void testReadMalformedFile() {
+        try {
+            createReader().read(getCSharpInputFile("DocReaderMalformed.xml"));
+            Assert.fail("A malformed file shall not be read");
+        } catch (FileReadingException e) {
+            // Expected
+        }
+
+        try {
+            createReader().read(getCSharpInputFile("DoesNotExist.xml"));
+            Assert.fail("A missing file shall not be read");
+        } catch (FileReadingException e) {
+            // Expected
+        }
+    }
+}
@@ -4,6 +4,9 @@
 package org.tools.doc.traceability.analyzer.unittests.java;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -71,8 +74,107 @@ public class JavaUnitTestCoverageAnalyserTest extends AbstractTester {
 
         JavaUnitTestCoverageAnalyserResult lJavaTcaResult = lExecutionStatus.getExecutionResult();
         Assert.assertEquals("The number of test count is not as expected", 3, lJavaTcaResult.getFoundTestCount());
+        Assert.assertEquals("The number of analyzed files is not as expected", 1,
+                lJavaTcaResult.getAnalyzedFileCount());
+        Assert.assertEquals("The number of skipped files is not as expected", 1, lJavaTcaResult.getSkippedFileCount());
 
         System.out.println(lJavaTcaResult);
     }
 
+    /**
+     * Test that the result does not depend on the number of java files
+     * processed at the same time.
+     */
+    @Test
+    public void testPerformTaskInParallel() {
+        JavaUnitTestCoverageAnalyserResult lSequentialResult = analyzeInputJavaFiles(1, "*", null);
+        JavaUnitTestCoverageAnalyserResult lParallelResult = analyzeInputJavaFiles(4, "*", null);
+
+        Assert.assertEquals("The number of test count is not as expected", lSequentialResult.getFoundTestCount(),
+                lParallelResult.getFoundTestCount());
+        Assert.assertEquals("The file order is not as expected",
+                new ArrayList<File>(lSequentialResult.getFileUnitTestDataMap().keySet()),
+                new ArrayList<File>(lParallelResult.getFileUnitTestDataMap().keySet()));
+        Assert.assertEquals("The result is not as expected", lSequentialResult.toString(),
+                lParallelResult.toString());
+    }
+
+    /**
+     * Test that the analysis results are loaded from the cache when the files
+     * did not change, and that the cache is invalidated when the test method
+     * name regular expression changes.
+     * 
+     * @throws IOException if the cache directory could not be created.
+     */
+    @Test
+    public void testAnalysisCache() throws IOException {
+        File lCacheDirectory = Files.createTempDirectory("java-ut-cache").toFile();
+        try {
+            // First execution : nothing is cached yet
+            JavaUnitTestCoverageAnalyserResult lFirstResult = analyzeInputJavaFiles(2, "*", lCacheDirectory);
+            Assert.assertEquals("No file shall be loaded from an empty cache", 0, lFirstResult.getCacheHitCount());
+            Assert.assertEquals("All the analyzed files shall miss the cache", lFirstResult.getAnalyzedFileCount(),
+                    lFirstResult.getCacheMissCount());
+
+            // Second execution : all the analyzed files are loaded from the
+            // cache
+            JavaUnitTestCoverageAnalyserResult lSecondResult = analyzeInputJavaFiles(2, "*", lCacheDirectory);
+            Assert.assertEquals("All the analyzed files shall be loaded from the cache",
+                    lSecondResult.getAnalyzedFileCount(), lSecondResult.getCacheHitCount());
+            Assert.assertEquals("No file shall miss the cache", 0, lSecondResult.getCacheMissCount());
+            Assert.assertEquals("The result shall be the same", lFirstResult.toString(), lSecondResult.toString());
+
+            // Third execution with another method name regexp : the cache is
+            // invalidated
+            JavaUnitTestCoverageAnalyserResult lThirdResult = analyzeInputJavaFiles(2, "VTP_*", lCacheDirectory);
+            Assert.assertEquals("The cache shall be invalidated when the regexp changes", 0,
+                    lThirdResult.getCacheHitCount());
+        } finally {
+            File[] lEntryFiles = lCacheDirectory.listFiles();
+            if (lEntryFiles != null) {
+                for (File lEntryFile : lEntryFiles) {
+                    lEntryFile.delete();
+                }
+            }
+            lCacheDirectory.delete();
+        }
+    }
+
+    /**
+     * Analyze all the java files of the input directory.
+     * 
+     * @param pWorkerCount the maximum number of java files processed at the
+     * same time.
+     * @param pTestMethodNameRegexp the simple regular expression that test
+     * method names shall match.
+     * @param pCacheDirectory the cache directory (<tt>null</tt> for no cache).
+     * @return the analysis result.
+     */
+    private JavaUnitTestCoverageAnalyserResult analyzeInputJavaFiles(final int pWorkerCount,
+            final String pTestMethodNameRegexp, final File pCacheDirectory) {
+        FileSearchFilterSet lJavaFileSearchFilterSet = new FileSearchFilterSet();
+        SimpleRegex lTestMethodNameRegexpValue = null;
+        try {
+            lTestMethodNameRegexpValue = new SimpleRegex(pTestMethodNameRegexp);
+            lJavaFileSearchFilterSet.addFilter(new FileSearchFilter(getInputFileDirectory(), true, new SimpleRegex(
+                    "*.java")));
+        } catch (InvalidSimpleRegexpException e) {
+            Assert.fail("Failed creating SimpleRegex : " + e.getMessage());
+        } catch (InvalidFileSearchFilterException e) {
+            Assert.fail("Failed adding file filter : " + e.getMessage());
+        }
+
+        ExecutorExecutionStatus<JavaUnitTestCoverageAnalyserResult> lExecutionStatus = new ExecutorExecutionStatus<JavaUnitTestCoverageAnalyserResult>();
+        JavaUnitTestCoverageAnalyser lSut = new JavaUnitTestCoverageAnalyser(lJavaFileSearchFilterSet,
+                lTestMethodNameRegexpValue, lExecutionStatus);
+        lSut.setWorkerCount(pWorkerCount);
+        lSut.setCacheDirectory(pCacheDirectory);
+
+        lSut.run();
+
+        Assert.assertEquals("Execution went wrong : " + lExecutionStatus.getExecutionStatusDescription(),
+                ExecutionStatus.ENDED_SUCCESS, lExecutionStatus.getCurrentExecutionStatus());
+
+        return lExecutionStatus.getExecutionResult();
+    }
 }
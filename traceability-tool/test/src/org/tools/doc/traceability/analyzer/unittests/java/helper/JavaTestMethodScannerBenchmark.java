@@ -0,0 +1,119 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.unittests.java.helper;
+
+/**
+ * Just an entry point to measure the cost of scanning generated JUnit classes
+ * of increasing sizes with the {@link JavaTestMethodScanner}.
+ * <p>
+ * The scanning time per kilobyte shall not depend on the class size (linear
+ * scaling).
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class JavaTestMethodScannerBenchmark {
+
+    /**
+     * The numbers of test methods of the generated classes.
+     */
+    private static final int[] METHOD_COUNTS = { 100, 1000, 5000, 20000, 50000 };
+
+    /**
+     * The number of measured iterations for each class size.
+     */
+    private static final int ITERATION_COUNT = 5;
+
+    /**
+     * Constructor.
+     */
+    private JavaTestMethodScannerBenchmark() {
+        // Nothing
+    }
+
+    /**
+     * Build the contents of a JUnit class with the given number of documented
+     * test methods, mixed with comments, literals and nested blocks.
+     * 
+     * @param pMethodCount the number of test methods.
+     * @return the class contents.
+     */
+    private static String buildClassContents(final int pMethodCount) {
+        StringBuilder lSb = new StringBuilder();
+
+        for (int i = 0; i < pMethodCount; i++) {
+            lSb.append("    /**\n");
+            lSb.append("     * Check the behavior number ").append(i).append(" of the {@link Foo} class.\n");
+            lSb.append("     * @testId \"TST-").append(i).append("\"\n");
+            lSb.append("     * @expectedResult \"The result ").append(i).append(" is correct\"\n");
+            lSb.append("     * @coveredReqs \"SD-REQ-").append(i).append("\"\n");
+            lSb.append("     */\n");
+            lSb.append("    @Test\n");
+            lSb.append("    public void testBehavior").append(i).append("() throws Exception {\n");
+            lSb.append("        // Check the { brace in comment\n");
+            lSb.append("        String lText = \"a } brace in string\";\n");
+            lSb.append("        if (lText.charAt(0) == '{') {\n");
+            lSb.append("            Assert.fail(\"Unexpected \" + lText);\n");
+            lSb.append("        }\n");
+            lSb.append("    }\n\n");
+        }
+
+        return lSb.toString();
+    }
+
+    /**
+     * Run the benchmark for each class size and print the scanning cost.
+     */
+    private static void runBenchmark() {
+        System.out.println("methods\tsize (KB)\ttime (ms)\tns/KB");
+
+        JavaTestMethodScanner lScanner = new JavaTestMethodScanner();
+        final int[] lFoundMethodCount = new int[1];
+        IJavaTestMethodHandler lHandler = new IJavaTestMethodHandler() {
+
+            @Override
+            public void handleTestMethod(final String pJavadocContents, final String pMethodName) {
+                lFoundMethodCount[0]++;
+            }
+        };
+
+        // Let the JIT compile the scanner before measuring
+        String lWarmUpContents = buildClassContents(METHOD_COUNTS[METHOD_COUNTS.length - 1]);
+        for (int i = 0; i < ITERATION_COUNT; i++) {
+            lScanner.scan(lWarmUpContents, lHandler);
+        }
+
+        for (int lMethodCount : METHOD_COUNTS) {
+            String lClassContents = buildClassContents(lMethodCount);
+            long lSizeInKb = Math.max(1, lClassContents.length() / 1024);
+
+            // Check that all the methods are found
+            lFoundMethodCount[0] = 0;
+            lScanner.scan(lClassContents, lHandler);
+            if (lFoundMethodCount[0] != lMethodCount) {
+                System.err.println("Mismatch : " + lFoundMethodCount[0] + " methods found out of " + lMethodCount);
+            }
+
+            long lBestNanos = Long.MAX_VALUE;
+            for (int i = 0; i < ITERATION_COUNT; i++) {
+                long lStart = System.nanoTime();
+                lScanner.scan(lClassContents, lHandler);
+                lBestNanos = Math.min(lBestNanos, System.nanoTime() - lStart);
+            }
+
+            System.out.println(lMethodCount + "\t" + lSizeInKb + "\t" + (lBestNanos / 1000000) + "\t"
+                    + (lBestNanos / lSizeInKb));
+        }
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments.
+     */
+    public static void main(final String[] args) {
+        runBenchmark();
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.analyzer.unittests.java.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.tools.doc.traceability.common.test.AbstractTester;
+
+/**
+ * JUnit for {@link JavaTestMethodScanner}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class JavaTestMethodScannerTest extends AbstractTester {
+
+    /**
+     * Scan the given java source.
+     * 
+     * @param pSource the java source.
+     * @return the test methods found, in the order of the source, each one
+     * described by its name and javadoc contents separated by a <tt>|</tt>.
+     */
+    private List<String> scan(final String pSource) {
+        final List<String> lTestMethods = new ArrayList<String>();
+
+        new JavaTestMethodScanner().scan(pSource, new IJavaTestMethodHandler() {
+
+            @Override
+            public void handleTestMethod(final String pJavadocContents, final String pMethodName) {
+                lTestMethods.add(pMethodName + "|" + pJavadocContents);
+            }
+        });
+
+        return lTestMethods;
+    }
+
+    /**
+     * Test that curly braces located in literals and comments of the test
+     * method bodies do not change the depth used to skip them.
+     */
+    @Test
+    public void testBracesInLiteralsAndComments() {
+        StringBuilder lSb = new StringBuilder();
+        lSb.append("public class MyTest {\n");
+        lSb.append("    /** First */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testFirst() {\n");
+        lSb.append("        String lText = \"} \\\" }\";\n");
+        lSb.append("        char lChar = '}';\n");
+        lSb.append("        char lQuote = '\\'';\n");
+        lSb.append("        // } in a line comment\n");
+        lSb.append("        /* } in a block comment */\n");
+        lSb.append("        String lBlock = \"\"\"\n");
+        lSb.append("            } \\\"\"\" } \"\"\n");
+        lSb.append("            \"\"\";\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    /** Second */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testSecond() {\n");
+        lSb.append("        String lText = \"{ {\";\n");
+        lSb.append("        char lChar = '{';\n");
+        lSb.append("        // { in a line comment\n");
+        lSb.append("        /* { in a block comment */\n");
+        lSb.append("        String lBlock = \"\"\"\n");
+        lSb.append("            { {\n");
+        lSb.append("            \"\"\";\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    /** Third */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testThird() {\n");
+        lSb.append("    }\n");
+        lSb.append("}\n");
+
+        List<String> lTestMethods = scan(lSb.toString());
+
+        Assert.assertEquals("Wrong number of test methods", 3, lTestMethods.size());
+        Assert.assertEquals("Wrong first test method", "testFirst| First ", lTestMethods.get(0));
+        Assert.assertEquals("Wrong second test method", "testSecond| Second ", lTestMethods.get(1));
+        Assert.assertEquals("Wrong third test method", "testThird| Third ", lTestMethods.get(2));
+    }
+
+    /**
+     * Test that a javadoc and a test annotation located in a literal or a
+     * comment are ignored.
+     */
+    @Test
+    public void testJavadocInLiteral() {
+        StringBuilder lSb = new StringBuilder();
+        lSb.append("public class MyTest {\n");
+        lSb.append("    private static final String FAKE = \"/** @Test */ @Test public void testFake() {\";\n");
+        lSb.append("    private static final String FAKE_BLOCK = \"\"\"\n");
+        lSb.append("        /** Fake */\n");
+        lSb.append("        @Test\n");
+        lSb.append("        public void testFakeBlock() {\n");
+        lSb.append("        \"\"\";\n");
+        lSb.append("    // /** Fake */ @Test public void testFakeComment() {\n");
+        lSb.append("    /* /** Fake */ @Test public void testFakeBlockComment() { */\n");
+        lSb.append("\n");
+        lSb.append("    /** Real */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testReal() {\n");
+        lSb.append("        String lText = \"/** Fake */ @Test public void testInBody() {\";\n");
+        lSb.append("    }\n");
+        lSb.append("}\n");
+
+        List<String> lTestMethods = scan(lSb.toString());
+
+        Assert.assertEquals("Wrong number of test methods", 1, lTestMethods.size());
+        Assert.assertEquals("Wrong test method", "testReal| Real ", lTestMethods.get(0));
+    }
+
+    /**
+     * Test the optional parts of a test method declaration.
+     */
+    @Test
+    public void testDeclarationVariants() {
+        StringBuilder lSb = new StringBuilder();
+        lSb.append("public class MyTest {\n");
+        lSb.append("    /**\n");
+        lSb.append("     * @testId \"TST-1\"\n");
+        lSb.append("     */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    void testNotPublic() {\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    /** Throws */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testThrows() throws IOException, ParseException // Comment\n");
+        lSb.append("    {\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    /** With parameter */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testWithParameter(int pValue) {\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    /** Abstract */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testAbstract();\n");
+        lSb.append("\n");
+        lSb.append("    /** Not void */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public int testNotVoid() {\n");
+        lSb.append("    }\n");
+        lSb.append("}\n");
+
+        List<String> lTestMethods = scan(lSb.toString());
+
+        Assert.assertEquals("Wrong number of test methods", 2, lTestMethods.size());
+        Assert.assertEquals("Wrong first test method", "testNotPublic|\n     * @testId \"TST-1\"\n     ",
+                lTestMethods.get(0));
+        Assert.assertEquals("Wrong second test method", "testThrows| Throws ", lTestMethods.get(1));
+    }
+
+    /**
+     * Test that a test method without javadoc is ignored, without preventing
+     * the following ones from being found.
+     */
+    @Test
+    public void testTestWithoutJavadoc() {
+        StringBuilder lSb = new StringBuilder();
+        lSb.append("public class MyTest {\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testUndocumented() {\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    // Not a javadoc\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testLineComment() {\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    /* Not a javadoc */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testBlockComment() {\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    /** Documented */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testDocumented() {\n");
+        lSb.append("    }\n");
+        lSb.append("}\n");
+
+        List<String> lTestMethods = scan(lSb.toString());
+
+        Assert.assertEquals("Wrong number of test methods", 1, lTestMethods.size());
+        Assert.assertEquals("Wrong test method", "testDocumented| Documented ", lTestMethods.get(0));
+    }
+
+    /**
+     * Test that a javadoc does not span a method located between it and a test
+     * annotation.
+     * <p>
+     * The former regular expression associated the javadoc with the next test
+     * method whatever was in between : the test method is now ignored, as a
+     * test method without javadoc.
+     * </p>
+     */
+    @Test
+    public void testMethodBetweenJavadocAndTest() {
+        StringBuilder lSb = new StringBuilder();
+        lSb.append("public class MyTest {\n");
+        lSb.append("    /** Helper */\n");
+        lSb.append("    private void helper() {\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testAfterHelper() {\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    /** Field */\n");
+        lSb.append("    private int field;\n");
+        lSb.append("\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testAfterField() {\n");
+        lSb.append("    }\n");
+        lSb.append("\n");
+        lSb.append("    /** Documented */\n");
+        lSb.append("    @Test\n");
+        lSb.append("    public void testDocumented() {\n");
+        lSb.append("    }\n");
+        lSb.append("}\n");
+
+        List<String> lTestMethods = scan(lSb.toString());
+
+        Assert.assertEquals("Wrong number of test methods", 1, lTestMethods.size());
+        Assert.assertEquals("Wrong test method", "testDocumented| Documented ", lTestMethods.get(0));
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.gerkhin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+import org.tools.doc.traceability.common.exceptions.InvalidGherkinContentsException;
+
+/**
+ * Just an entry point to compare the time needed to parse feature files with
+ * the time needed to load their model from the {@link GherkinFeatureCache}.
+ * <p>
+ * The corpus is made of copies of the valid feature files found in the
+ * directory given as argument (the test input directory by default), written
+ * in a temporary directory along with the cache.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class GherkinFeatureCacheBenchmark {
+
+    /**
+     * The number of copies of each feature file.
+     */
+    private static final int COPY_COUNT = 300;
+
+    /**
+     * The number of measured iterations.
+     */
+    private static final int ITERATION_COUNT = 5;
+
+    /**
+     * Constructor.
+     */
+    private GherkinFeatureCacheBenchmark() {
+    }
+
+    /**
+     * Search the valid feature files located in the given directory and its
+     * sub-directories.
+     * 
+     * @param pDirectory the directory.
+     * @param pFeatureFiles the list where to add the valid feature files.
+     */
+    private static void searchValidFeatureFiles(final File pDirectory, final List<File> pFeatureFiles) {
+        File[] lFiles = pDirectory.listFiles();
+
+        if (lFiles != null) {
+            for (File lFile : lFiles) {
+                if (lFile.isDirectory()) {
+                    searchValidFeatureFiles(lFile, pFeatureFiles);
+                } else if (lFile.getName().endsWith(".feature")) {
+                    try {
+                        new GherkinParser().parseFile(lFile);
+                        pFeatureFiles.add(lFile);
+                    } catch (InvalidGherkinContentsException | FileReadingException e) {
+                        // Not part of the corpus
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse all the given feature files.
+     * 
+     * @param pParser the parser.
+     * @param pFeatureFiles the feature files.
+     * @return the time taken, in nanoseconds.
+     * @throws InvalidGherkinContentsException if a feature file is invalid.
+     * @throws FileReadingException if a feature file could not be read.
+     */
+    private static long parseAll(final GherkinParser pParser, final List<File> pFeatureFiles)
+            throws InvalidGherkinContentsException, FileReadingException {
+        long lStart = System.nanoTime();
+        for (File lFeatureFile : pFeatureFiles) {
+            pParser.parseFile(lFeatureFile);
+        }
+        return System.nanoTime() - lStart;
+    }
+
+    /**
+     * Delete the given directory and its contents.
+     * 
+     * @param pDirectory the directory.
+     */
+    private static void delete(final File pDirectory) {
+        File[] lFiles = pDirectory.listFiles();
+        if (lFiles != null) {
+            for (File lFile : lFiles) {
+                delete(lFile);
+            }
+        }
+        pDirectory.delete();
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments : optionally, the directory containing the
+     * feature files.
+     * @throws IOException if the corpus could not be written.
+     * @throws InvalidGherkinContentsException if a feature file is invalid.
+     * @throws FileReadingException if a feature file could not be read.
+     */
+    public static void main(final String[] args) throws IOException, InvalidGherkinContentsException,
+            FileReadingException {
+        File lCorpusDirectory = new File("test/input");
+        if (args.length > 0) {
+            lCorpusDirectory = new File(args[0]);
+        }
+
+        List<File> lSourceFiles = new ArrayList<File>();
+        searchValidFeatureFiles(lCorpusDirectory, lSourceFiles);
+
+        File lWorkDirectory = Files.createTempDirectory("feature-cache-benchmark").toFile();
+        try {
+            List<File> lFeatureFiles = new ArrayList<File>();
+            long lCorpusSize = 0;
+            for (int i = 0; i < COPY_COUNT; i++) {
+                for (File lSourceFile : lSourceFiles) {
+                    File lFeatureFile = new File(lWorkDirectory, i + "_" + lSourceFile.getName());
+                    Files.copy(lSourceFile.toPath(), lFeatureFile.toPath());
+                    lFeatureFiles.add(lFeatureFile);
+                    lCorpusSize += lFeatureFile.length();
+                }
+            }
+
+            File lCacheDirectory = new File(lWorkDirectory, "cache");
+            GherkinParser lParser = new GherkinParser();
+            GherkinParser lCachedParser = new GherkinParser();
+            lCachedParser.setFeatureCache(new GherkinFeatureCache(lCacheDirectory));
+
+            // Fill the cache (and warm up)
+            long lFillNanos = parseAll(lCachedParser, lFeatureFiles);
+            parseAll(lParser, lFeatureFiles);
+
+            long lParseNanos = Long.MAX_VALUE;
+            long lLoadNanos = Long.MAX_VALUE;
+            for (int i = 0; i < ITERATION_COUNT; i++) {
+                lParseNanos = Math.min(lParseNanos, parseAll(lParser, lFeatureFiles));
+                lLoadNanos = Math.min(lLoadNanos, parseAll(lCachedParser, lFeatureFiles));
+            }
+
+            long lCacheSize = 0;
+            File[] lEntryFiles = lCacheDirectory.listFiles();
+            if (lEntryFiles != null) {
+                for (File lEntryFile : lEntryFiles) {
+                    lCacheSize += lEntryFile.length();
+                }
+            }
+
+            final double lNanosPerMilli = 1e6;
+            System.out.println(lFeatureFiles.size() + " feature files, " + lCorpusSize + " bytes, cache entries "
+                    + lCacheSize + " bytes");
+            System.out.println("parse (ms)\tparse and store (ms)\tload from cache (ms)");
+            System.out.println(Math.round(lParseNanos / lNanosPerMilli) + "\t" + Math.round(lFillNanos / lNanosPerMilli)
+                    + "\t" + Math.round(lLoadNanos / lNanosPerMilli));
+        } finally {
+            delete(lWorkDirectory);
+        }
+    }
+}
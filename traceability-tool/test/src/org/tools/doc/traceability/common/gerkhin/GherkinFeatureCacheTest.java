@@ -0,0 +1,282 @@
+package org.tools.doc.traceability.common.gerkhin;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+import org.tools.doc.traceability.common.exceptions.InvalidGherkinContentsException;
+import org.tools.doc.traceability.common.gerkhin.model.GherkinFeatureFileContents;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinFeature;
+import org.tools.doc.traceability.common.gerkhin.model.container.GherkinRule;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinExampleOrScenarioElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinScenarioOutlineOrTemplateElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinStep;
+import org.tools.doc.traceability.common.gerkhin.model.general.GherkinComment;
+import org.tools.doc.traceability.common.io.FileFingerprint;
+import org.tools.doc.traceability.common.test.AbstractTester;
+
+/**
+ * JUnit for {@link GherkinFeatureCache} and
+ * {@link GherkinFeatureFileContentsSerializer}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class GherkinFeatureCacheTest extends AbstractTester {
+
+    /**
+     * The valid feature files of the input directory.
+     */
+    private static final String[] VALID_FEATURE_FILE_NAMES = { "ValidExample1.feature", "ValidExample2.feature",
+            "DocumentDatasetWorkflow.feature" };
+
+    /**
+     * Test that a parsed model read back from its serialized form is the same
+     * as the parsed one.
+     * 
+     * @throws IOException if the serialization fails.
+     */
+    @Test
+    public void testSerializationRoundTrip() throws IOException {
+        File lGherkinDirectory = new File(getInputFileDirectory(), "gherkin");
+
+        for (String lFileName : VALID_FEATURE_FILE_NAMES) {
+            File lFeatureFile = new File(lGherkinDirectory, lFileName);
+            GherkinFeatureFileContents lParsedContents = parse(new GherkinParser(), lFeatureFile);
+
+            ByteArrayOutputStream lBaos = new ByteArrayOutputStream();
+            DataOutputStream lDos = new DataOutputStream(lBaos);
+            GherkinFeatureFileContentsSerializer.write(lDos, lParsedContents);
+            lDos.close();
+
+            GherkinFeatureFileContents lReadContents = GherkinFeatureFileContentsSerializer.read(new DataInputStream(
+                    new ByteArrayInputStream(lBaos.toByteArray())), lFeatureFile);
+
+            assertSameContents(lFileName, lParsedContents, lReadContents);
+        }
+    }
+
+    /**
+     * Test that a corrupted contents length is rejected before anything is
+     * allocated for it.
+     * 
+     * @throws IOException if the serialization fails.
+     */
+    @Test
+    public void testCorruptedLength() throws IOException {
+        File lFeatureFile = new File(new File(getInputFileDirectory(), "gherkin"), VALID_FEATURE_FILE_NAMES[0]);
+        GherkinFeatureFileContents lParsedContents = parse(new GherkinParser(), lFeatureFile);
+
+        ByteArrayOutputStream lBaos = new ByteArrayOutputStream();
+        DataOutputStream lDos = new DataOutputStream(lBaos);
+        GherkinFeatureFileContentsSerializer.write(lDos, lParsedContents);
+        lDos.close();
+
+        // Replace the contents length by the largest one
+        byte[] lBytes = lBaos.toByteArray();
+        lBytes[0] = (byte) 0x7F;
+        lBytes[1] = (byte) 0xFF;
+        lBytes[2] = (byte) 0xFF;
+        lBytes[3] = (byte) 0xFF;
+
+        try {
+            GherkinFeatureFileContentsSerializer.read(new DataInputStream(new ByteArrayInputStream(lBytes)),
+                    lFeatureFile);
+            Assert.fail("A length larger than the serialized contents shall be rejected");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    /**
+     * Test that the parsed model is loaded from the cache when the file did
+     * not change, and that the cache entry is not used when the file contents
+     * or the parser version changes.
+     * 
+     * @throws IOException if the temporary files could not be created.
+     */
+    @Test
+    public void testFeatureCache() throws IOException {
+        File lWorkDirectory = Files.createTempDirectory("feature-cache").toFile();
+        File lCacheDirectory = new File(lWorkDirectory, "cache");
+        File lFeatureFile = new File(lWorkDirectory, "Copy.feature");
+        try {
+            Files.copy(new File(new File(getInputFileDirectory(), "gherkin"), "ValidExample1.feature").toPath(),
+                    lFeatureFile.toPath());
+
+            // First parse : nothing is cached yet
+            GherkinFeatureCache lCache = new GherkinFeatureCache(lCacheDirectory);
+            GherkinParser lSut = new GherkinParser();
+            lSut.setFeatureCache(lCache);
+            GherkinFeatureFileContents lParsedContents = parse(lSut, lFeatureFile);
+            Assert.assertEquals("No file shall be loaded from an empty cache", 0, lCache.getHitCount());
+            Assert.assertEquals("The file shall miss the cache", 1, lCache.getMissCount());
+            Assert.assertEquals("An entry shall be stored", 1, lCacheDirectory.listFiles().length);
+
+            // Second parse : the model is loaded from the cache
+            GherkinFeatureFileContents lCachedContents = parse(lSut, lFeatureFile);
+            Assert.assertEquals("The file shall be loaded from the cache", 1, lCache.getHitCount());
+            assertSameContents("cached", lParsedContents, lCachedContents);
+
+            // Change the file contents : the entry is not valid any more
+            Files.write(lFeatureFile.toPath(), "\n    # Added comment\n".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+            GherkinFeatureFileContents lChangedContents = parse(lSut, lFeatureFile);
+            Assert.assertEquals("The changed file shall miss the cache", 2, lCache.getMissCount());
+            Assert.assertNotEquals("The changed file shall be parsed again", lParsedContents.getFeature().toString(),
+                    lChangedContents.getFeature().toString());
+
+            // File changed after its fingerprint was taken : the stored entry
+            // does not match the new contents
+            FileFingerprint lFingerprint = FileFingerprint.take(lFeatureFile);
+            Files.write(lFeatureFile.toPath(), "\n    # Another comment\n".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+            lCache.store(lFingerprint, lChangedContents);
+            Assert.assertNull("An entry stored for former contents shall not be used", lCache.load(lFeatureFile));
+            parse(lSut, lFeatureFile);
+            Assert.assertEquals("The file changed during the parsing shall miss the cache", 4,
+                    lCache.getMissCount());
+
+            // Truncated entry : it is not used, and the file is parsed again
+            File lEntryFile = lCacheDirectory.listFiles()[0];
+            byte[] lEntryBytes = Files.readAllBytes(lEntryFile.toPath());
+            Files.write(lEntryFile.toPath(), Arrays.copyOf(lEntryBytes, lEntryBytes.length / 2));
+            parse(lSut, lFeatureFile);
+            Assert.assertEquals("The file with a truncated entry shall miss the cache", 5, lCache.getMissCount());
+
+            // Another version of the parser : the entry is dropped
+            GherkinFeatureCache lOtherVersionCache = new GherkinFeatureCache(lCacheDirectory,
+                    GherkinParser.PARSER_VERSION + 1);
+            Assert.assertNull("An entry of another parser version shall not be used",
+                    lOtherVersionCache.load(lFeatureFile));
+            Assert.assertEquals("An entry of another parser version shall be deleted", 0,
+                    lCacheDirectory.listFiles().length);
+        } finally {
+            File[] lEntryFiles = lCacheDirectory.listFiles();
+            if (lEntryFiles != null) {
+                for (File lEntryFile : lEntryFiles) {
+                    lEntryFile.delete();
+                }
+            }
+            lCacheDirectory.delete();
+            lFeatureFile.delete();
+            lWorkDirectory.delete();
+        }
+    }
+
+    /**
+     * Parse the given valid feature file.
+     * 
+     * @param pSut the parser.
+     * @param pFeatureFile the feature file.
+     * @return the parsed contents.
+     */
+    private GherkinFeatureFileContents parse(final GherkinParser pSut, final File pFeatureFile) {
+        GherkinFeatureFileContents lContents = null;
+
+        try {
+            lContents = pSut.parseFile(pFeatureFile);
+        } catch (InvalidGherkinContentsException | FileReadingException e) {
+            Assert.fail("Unexpected failure (" + e.getClass().getSimpleName() + ") :" + e.getMessage());
+        }
+
+        return lContents;
+    }
+
+    /**
+     * Check that two feature file contents are the same : same printed form
+     * and same line numbers.
+     * 
+     * @param pLabel the label of the checked contents (for error messages).
+     * @param pExpected the expected contents.
+     * @param pActual the actual contents.
+     */
+    private void assertSameContents(final String pLabel, final GherkinFeatureFileContents pExpected,
+            final GherkinFeatureFileContents pActual) {
+        Assert.assertEquals(pLabel + " : wrong source file", pExpected.getGherkinFeatureSourceFile(),
+                pActual.getGherkinFeatureSourceFile());
+        Assert.assertEquals(pLabel + " : wrong leading comments", describeComments(pExpected.getLeadingCommentLines()),
+                describeComments(pActual.getLeadingCommentLines()));
+        Assert.assertEquals(pLabel + " : wrong feature", pExpected.getFeature().toString(), pActual.getFeature()
+                .toString());
+        Assert.assertEquals(pLabel + " : wrong line numbers", describeLineNumbers(pExpected.getFeature()),
+                describeLineNumbers(pActual.getFeature()));
+    }
+
+    /**
+     * Describe the given comments with their line numbers.
+     * 
+     * @param pComments the comments.
+     * @return the description.
+     */
+    private String describeComments(final List<GherkinComment> pComments) {
+        StringBuilder lSb = new StringBuilder();
+        for (GherkinComment lComment : pComments) {
+            lSb.append(lComment.getSourceFileLineNumber()).append(':').append(lComment.getText()).append('\n');
+        }
+        return lSb.toString();
+    }
+
+    /**
+     * Describe the line numbers of the elements of the given feature.
+     * 
+     * @param pFeature the feature.
+     * @return the line numbers of the feature, scenarios and steps.
+     */
+    private List<Integer> describeLineNumbers(final GherkinFeature pFeature) {
+        List<Integer> lLineNumbers = new ArrayList<Integer>();
+        lLineNumbers.add(pFeature.getSourceFileLineNumber());
+
+        List<AbstractGherkinExampleOrScenarioElement> lExamplesOrScenarios = new ArrayList<AbstractGherkinExampleOrScenarioElement>();
+        for (GherkinRule lRule : pFeature.getRules()) {
+            lLineNumbers.add(lRule.getSourceFileLineNumber());
+            lExamplesOrScenarios.addAll(lRule.getExampleOrScenarioList());
+        }
+        lExamplesOrScenarios.addAll(pFeature.getExampleOrScenarioElements());
+
+        for (AbstractGherkinExampleOrScenarioElement lExampleOrScenario : lExamplesOrScenarios) {
+            lLineNumbers.add(lExampleOrScenario.getSourceFileLineNumber());
+            addStepLineNumbers(lExampleOrScenario.getSteps(), lLineNumbers);
+        }
+        for (AbstractGherkinScenarioOutlineOrTemplateElement lOutlineOrTemplate : pFeature
+                .getScenarioOutlineOrTemplateElements()) {
+            lLineNumbers.add(lOutlineOrTemplate.getSourceFileLineNumber());
+            addStepLineNumbers(lOutlineOrTemplate.getSteps(), lLineNumbers);
+            lLineNumbers.add(lOutlineOrTemplate.getExamplesOrScenariosElement().getDataTable()
+                    .getSourceFileLineNumber());
+        }
+
+        return lLineNumbers;
+    }
+
+    /**
+     * Add the line numbers of the given steps and of their potential data.
+     * 
+     * @param pSteps the steps.
+     * @param pLineNumbers the list where to add the line numbers.
+     */
+    private void addStepLineNumbers(final List<AbstractGherkinStep> pSteps, final List<Integer> pLineNumbers) {
+        for (AbstractGherkinStep lStep : pSteps) {
+            pLineNumbers.add(lStep.getSourceFileLineNumber());
+            if (lStep.hasAssociatedDocString()) {
+                pLineNumbers.add(lStep.getAssociatedDocString().getSourceFileLineNumber());
+            }
+            if (lStep.hasAssociatedDataTable()) {
+                pLineNumbers.add(lStep.getAssociatedDataTable().getSourceFileLineNumber());
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.gerkhin;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.tools.doc.traceability.common.exceptions.FileReadingException;
+import org.tools.doc.traceability.common.io.FileLinesReader;
+
+/**
+ * Just an entry point to measure the number of lines per second classified by
+ * the {@link GherkinInterpreter}, compared with the former cascade of regular
+ * expressions (one per line type, tried in turn on each line).
+ * <p>
+ * The corpus is made of the feature files found in the directory given as
+ * argument (the test input directory by default), repeated until enough lines
+ * are available, plus some corner case lines. Both classifications are
+ * checked to give the same Gherkin lines.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class GherkinInterpreterBenchmark {
+
+    /**
+     * The minimum number of lines to classify.
+     */
+    private static final int MIN_LINE_COUNT = 500000;
+
+    /**
+     * The number of measured iterations.
+     */
+    private static final int ITERATION_COUNT = 5;
+
+    /**
+     * Pattern for potential spaces, as used by the former classification.
+     */
+    private static final String SPACES = "\\s*";
+
+    /**
+     * Lines that are not in usual feature files but whose classification shall
+     * not change.
+     */
+    private static final String[] CORNER_CASE_LINES = { "Andrew is not a step", "And", "Given\tthe tab",
+            "Given the line\u2028separator", "Scenario  Outline: two spaces", "Scenarios : plural",
+            "Scenario Template:template", "Examples :x", "Example:", "Background", "**", "* star",
+            "#comment \u0085", "|a|\u2029", "```", "\"\"\" doc", "\"\" not doc", "Feature\u00a0: no-break space",
+            "Rule\t:\ttabs" };
+
+    /**
+     * The patterns of the former classification, in the order they were tried.
+     */
+    private final List<Pattern> referencePatterns;
+
+    /**
+     * The line types associated with {@link #referencePatterns}.
+     */
+    private final List<GherkinLineType> referenceTypes;
+
+    /**
+     * Constructor.
+     */
+    private GherkinInterpreterBenchmark() {
+        referencePatterns = new ArrayList<Pattern>();
+        referenceTypes = new ArrayList<GherkinLineType>();
+
+        addStepPattern(GherkinConstants.AND_KEYWORD, GherkinLineType.And);
+        addStepPattern(GherkinConstants.BUT_KEYWORD, GherkinLineType.But);
+        addStepPattern(GherkinConstants.GIVEN_KEYWORD, GherkinLineType.Given);
+        addStepPattern("\\" + GherkinConstants.STAR_KEYWORD, GherkinLineType.Star);
+        addStepPattern(GherkinConstants.THEN_KEYWORD, GherkinLineType.Then);
+        addStepPattern(GherkinConstants.WHEN_KEYWORD, GherkinLineType.When);
+        addContainerPattern(GherkinConstants.BACKGROUND_KEYWORD, GherkinLineType.Background);
+        addContainerPattern(GherkinConstants.FEATURE_KEYWORD, GherkinLineType.Feature);
+        addContainerPattern(GherkinConstants.EXAMPLE_KEYWORD, GherkinLineType.Example);
+        addContainerPattern(GherkinConstants.EXAMPLES_KEYWORD, GherkinLineType.Examples);
+        addContainerPattern(GherkinConstants.RULE_KEYWORD, GherkinLineType.Rule);
+        addContainerPattern(GherkinConstants.SCENARIO_KEYWORD, GherkinLineType.Scenario);
+        addContainerPattern(GherkinConstants.SCENARIOS_KEYWORD, GherkinLineType.Scenarios);
+        addContainerPattern(GherkinConstants.SCENARIO_OUTLINE_KEYWORD, GherkinLineType.ScenarioOutline);
+        addContainerPattern(GherkinConstants.SCENARIO_TEMPLATE_KEYWORD, GherkinLineType.ScenarioTemplate);
+        referencePatterns.add(Pattern.compile(GherkinConstants.COMMENT_KEYWORD + "(.*)" + SPACES));
+        referenceTypes.add(GherkinLineType.Comment);
+        referencePatterns.add(Pattern.compile("(\\" + GherkinConstants.DATA_TABLE_KEYWORD + ".*)"));
+        referenceTypes.add(GherkinLineType.DataTable);
+        referencePatterns.add(Pattern.compile("(\"\"\"|```)" + SPACES + "(.*)" + SPACES));
+        referenceTypes.add(GherkinLineType.DocString);
+    }
+
+    /**
+     * Add the former pattern of a step line.
+     * 
+     * @param pKeywordPattern the pattern of the step keyword.
+     * @param pType the line type.
+     */
+    private void addStepPattern(final String pKeywordPattern, final GherkinLineType pType) {
+        referencePatterns.add(Pattern.compile(pKeywordPattern + "\\s" + SPACES + "(.*)" + SPACES));
+        referenceTypes.add(pType);
+    }
+
+    /**
+     * Add the former pattern of a container line.
+     * 
+     * @param pKeyword the container keyword.
+     * @param pType the line type.
+     */
+    private void addContainerPattern(final String pKeyword, final GherkinLineType pType) {
+        referencePatterns.add(Pattern.compile(pKeyword + SPACES + GherkinConstants.CONTAINER_COLON_KEYWORD + SPACES
+                + "(.*)" + SPACES));
+        referenceTypes.add(pType);
+    }
+
+    /**
+     * Classify the raw lines with the former cascade of regular expressions.
+     * 
+     * @param pRawLines the raw lines.
+     * @return the Gherkin lines (without empty lines).
+     */
+    private List<GherkinLine> convertWithRegexps(final List<String> pRawLines) {
+        List<GherkinLine> lGherkinLines = new ArrayList<GherkinLine>();
+
+        int lSourceLineNumber = 0;
+        for (String lRawLine : pRawLines) {
+            lSourceLineNumber++;
+            String lTrimmedRawLine = lRawLine.trim();
+
+            if (lTrimmedRawLine.length() > 0) {
+                GherkinLine lGherkinLine = null;
+
+                for (int i = 0; (i < referencePatterns.size()) && (lGherkinLine == null); i++) {
+                    Matcher lMatcher = referencePatterns.get(i).matcher(lTrimmedRawLine);
+                    if (lMatcher.matches()) {
+                        GherkinLineType lType = referenceTypes.get(i);
+                        if (lType == GherkinLineType.DocString) {
+                            lGherkinLine = new GherkinLine(lType, lRawLine, lSourceLineNumber);
+                        } else {
+                            lGherkinLine = new GherkinLine(lType, lMatcher.group(1), lSourceLineNumber);
+                        }
+                    }
+                }
+
+                if (lGherkinLine == null) {
+                    lGherkinLine = new GherkinLine(GherkinLineType.Description, lRawLine, lSourceLineNumber);
+                }
+                lGherkinLines.add(lGherkinLine);
+            }
+        }
+
+        return lGherkinLines;
+    }
+
+    /**
+     * Read the lines of all the feature files located in the given directory
+     * and its sub-directories.
+     * 
+     * @param pDirectory the directory.
+     * @param pLines the list where to add the lines.
+     * @throws FileReadingException if a file could not be read.
+     */
+    private static void readFeatureFileLines(final File pDirectory, final List<String> pLines)
+            throws FileReadingException {
+        File[] lFiles = pDirectory.listFiles();
+
+        if (lFiles != null) {
+            for (File lFile : lFiles) {
+                if (lFile.isDirectory()) {
+                    readFeatureFileLines(lFile, pLines);
+                } else if (lFile.getName().endsWith(".feature")) {
+                    pLines.addAll(new FileLinesReader().readFileContents(lFile));
+                }
+            }
+        }
+    }
+
+    /**
+     * Check that both classifications give the same Gherkin lines.
+     * 
+     * @param pInterpreter the interpreter.
+     * @param pRawLines the raw lines.
+     * @return the number of lines classified differently.
+     */
+    private int countDifferences(final GherkinInterpreter pInterpreter, final List<String> pRawLines) {
+        List<GherkinLine> lReferenceLines = convertWithRegexps(pRawLines);
+        List<GherkinLine> lLines = pInterpreter.convertRawLines(pRawLines);
+
+        int lDifferenceCount = Math.abs(lReferenceLines.size() - lLines.size());
+        for (int i = 0; i < Math.min(lReferenceLines.size(), lLines.size()); i++) {
+            GherkinLine lReferenceLine = lReferenceLines.get(i);
+            GherkinLine lLine = lLines.get(i);
+            if ((lReferenceLine.getType() != lLine.getType())
+                    || !lReferenceLine.getLineContents().equals(lLine.getLineContents())
+                    || (lReferenceLine.getSourceFileLineNumber() != lLine.getSourceFileLineNumber())) {
+                System.err.println("Difference : " + lReferenceLine + " / " + lLine);
+                lDifferenceCount++;
+            }
+        }
+
+        return lDifferenceCount;
+    }
+
+    /**
+     * Run the benchmark on the feature files of the given directory.
+     * 
+     * @param pCorpusDirectory the directory containing the feature files.
+     * @throws FileReadingException if a feature file could not be read.
+     */
+    private void runBenchmark(final File pCorpusDirectory) throws FileReadingException {
+        List<String> lCorpusLines = new ArrayList<String>();
+        readFeatureFileLines(pCorpusDirectory, lCorpusLines);
+        for (String lCornerCaseLine : CORNER_CASE_LINES) {
+            lCorpusLines.add(lCornerCaseLine);
+        }
+
+        List<String> lRawLines = new ArrayList<String>();
+        while (lRawLines.size() < MIN_LINE_COUNT) {
+            lRawLines.addAll(lCorpusLines);
+        }
+
+        GherkinInterpreter lInterpreter = new GherkinInterpreter();
+
+        // Warm up and check that both classifications agree
+        System.out.println(lCorpusLines.size() + " distinct corpus lines, " + lRawLines.size() + " classified lines, "
+                + countDifferences(lInterpreter, lRawLines) + " difference(s)");
+
+        long lRegexpNanos = Long.MAX_VALUE;
+        long lInterpreterNanos = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATION_COUNT; i++) {
+            long lStart = System.nanoTime();
+            convertWithRegexps(lRawLines);
+            lRegexpNanos = Math.min(lRegexpNanos, System.nanoTime() - lStart);
+
+            lStart = System.nanoTime();
+            lInterpreter.convertRawLines(lRawLines);
+            lInterpreterNanos = Math.min(lInterpreterNanos, System.nanoTime() - lStart);
+        }
+
+        final double lNanosPerSecond = 1e9;
+        System.out.println("regexps (lines/s)\tinterpreter (lines/s)");
+        System.out.println(Math.round(lRawLines.size() * lNanosPerSecond / lRegexpNanos) + "\t"
+                + Math.round(lRawLines.size() * lNanosPerSecond / lInterpreterNanos));
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments : optionally, the directory containing the
+     * feature files.
+     * @throws FileReadingException if a feature file could not be read.
+     */
+    public static void main(final String[] args) throws FileReadingException {
+        File lCorpusDirectory = new File("test/input");
+        if (args.length > 0) {
+            lCorpusDirectory = new File(args[0]);
+        }
+
+        GherkinInterpreterBenchmark lBenchmark = new GherkinInterpreterBenchmark();
+        lBenchmark.runBenchmark(lCorpusDirectory);
+    }
+}
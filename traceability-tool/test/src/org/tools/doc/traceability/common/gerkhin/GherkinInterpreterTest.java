@@ -182,4 +182,58 @@ public class GherkinInterpreterTest extends AbstractTester {
 
     }
 
+    /**
+     * Test method for
+     * {@link org.tools.doc.traceability.common.gerkhin.GherkinInterpreter#convertRawLine(String, int)}
+     * with lines close to keywords.
+     */
+    @Test
+    public void testConvertRawLineCornerCases() {
+
+        GherkinInterpreter lSut = new GherkinInterpreter();
+
+        Assert.assertNull("An empty line shall be ignored", lSut.convertRawLine(" \t ", 1));
+
+        GherkinLine lGherkinLine = lSut.convertRawLine("  Scenarios: My scenarios", 2);
+        Assert.assertEquals("Scenarios line not detected", GherkinLineType.Scenarios, lGherkinLine.getType());
+        Assert.assertEquals("Scenarios line contents wrongly extracted", "My scenarios",
+                lGherkinLine.getLineContents());
+        Assert.assertEquals("Wrong source line number", 2, lGherkinLine.getSourceFileLineNumber());
+
+        lGherkinLine = lSut.convertRawLine("Scenario Template:My template", 3);
+        Assert.assertEquals("Scenario Template line not detected", GherkinLineType.ScenarioTemplate,
+                lGherkinLine.getType());
+        Assert.assertEquals("Scenario Template line contents wrongly extracted", "My template",
+                lGherkinLine.getLineContents());
+
+        lGherkinLine = lSut.convertRawLine("Example :", 4);
+        Assert.assertEquals("Example line not detected", GherkinLineType.Example, lGherkinLine.getType());
+        Assert.assertEquals("Example line contents wrongly extracted", "", lGherkinLine.getLineContents());
+
+        lGherkinLine = lSut.convertRawLine("Given\tMy given", 5);
+        Assert.assertEquals("Given line not detected", GherkinLineType.Given, lGherkinLine.getType());
+        Assert.assertEquals("Given line contents wrongly extracted", "My given", lGherkinLine.getLineContents());
+
+        // Keywords not followed by what is expected are descriptions
+        lGherkinLine = lSut.convertRawLine(" Andrew is not a step", 6);
+        Assert.assertEquals("Description line not detected", GherkinLineType.Description, lGherkinLine.getType());
+        Assert.assertEquals("Description line contents wrongly extracted", " Andrew is not a step",
+                lGherkinLine.getLineContents());
+
+        lGherkinLine = lSut.convertRawLine("Scenario  Outline: two spaces", 7);
+        Assert.assertEquals("Description line not detected", GherkinLineType.Description, lGherkinLine.getType());
+
+        lGherkinLine = lSut.convertRawLine("Background", 8);
+        Assert.assertEquals("Description line not detected", GherkinLineType.Description, lGherkinLine.getType());
+
+        // Line breaks are spaces directly after a doc string delimiter, but
+        // not in the rest of the line
+        lGherkinLine = lSut.convertRawLine("\"\"\"\r\nfoo", 9);
+        Assert.assertEquals("DocString line not detected", GherkinLineType.DocString, lGherkinLine.getType());
+        Assert.assertEquals("DocString line contents wrongly extracted", "\"\"\"\r\nfoo",
+                lGherkinLine.getLineContents());
+
+        lGherkinLine = lSut.convertRawLine("```foo\rbar", 10);
+        Assert.assertEquals("Description line not detected", GherkinLineType.Description, lGherkinLine.getType());
+    }
 }
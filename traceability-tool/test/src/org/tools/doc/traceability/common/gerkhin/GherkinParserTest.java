@@ -1,6 +1,8 @@
 package org.tools.doc.traceability.common.gerkhin;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.StringReader;
 import java.util.List;
 
 import org.junit.Assert;
@@ -13,6 +15,7 @@ import org.tools.doc.traceability.common.gerkhin.model.container.GherkinExample;
 import org.tools.doc.traceability.common.gerkhin.model.container.GherkinFeature;
 import org.tools.doc.traceability.common.gerkhin.model.container.GherkinRule;
 import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinExampleOrScenarioElement;
+import org.tools.doc.traceability.common.gerkhin.model.general.AbstractGherkinStep;
 import org.tools.doc.traceability.common.test.AbstractTester;
 
 /**
@@ -114,6 +117,47 @@ public class GherkinParserTest extends AbstractTester {
 
     }
 
+    /**
+     * Test {@link GherkinParser#parse(BufferedReader, File)} with contents
+     * ending with a data table and a doc string, to check the lines are
+     * consumed properly with the one-line lookahead.
+     */
+    @Test
+    public void testParseStreamedContents() {
+        String lContents = "\n# Leading comment\n\nFeature : Streamed\n  Description\n"
+                + "Scenario : First\n  Given a table\n    | a | b |\n\n    | 1 | 2 |\n"
+                + "Scenario : Second\n  When a doc string\n    \"\"\"\n    line 1\n\n    line 2\n    \"\"\"";
+        File lSourceFile = new File("Streamed.feature");
+
+        GherkinParser lSut = new GherkinParser();
+
+        try {
+            GherkinFeatureFileContents lFeatureFileContents = lSut.parse(new BufferedReader(new StringReader(
+                    lContents)), lSourceFile);
+
+            Assert.assertEquals(lSourceFile, lFeatureFileContents.getGherkinFeatureSourceFile());
+            Assert.assertEquals("The leading comment line number is not as expected", 2, lFeatureFileContents
+                    .getLeadingCommentLines().get(0).getSourceFileLineNumber());
+
+            GherkinFeature lFeature = lFeatureFileContents.getFeature();
+            Assert.assertEquals("The Feature line number is not as expected", 4, lFeature.getSourceFileLineNumber());
+
+            List<AbstractGherkinExampleOrScenarioElement> lScenarios = lFeature.getExampleOrScenarioElements();
+            Assert.assertEquals("The number of parsed Scenario: is incorrect", 2, lScenarios.size());
+
+            AbstractGherkinStep lGiven = lScenarios.get(0).getSteps().get(0);
+            Assert.assertEquals("The number of data table lines is not as expected", 2, lGiven
+                    .getAssociatedDataTable().getTextLines().size());
+
+            AbstractGherkinStep lWhen = lScenarios.get(1).getSteps().get(0);
+            Assert.assertEquals("The number of doc string lines is not as expected", 2, lWhen
+                    .getAssociatedDocString().getTextLines().size());
+            Assert.assertEquals("The When line number is not as expected", 12, lWhen.getSourceFileLineNumber());
+        } catch (InvalidGherkinContentsException | FileReadingException e) {
+            Assert.fail("Unexpected failure (" + e.getClass().getSimpleName() + ") :" + e.getMessage());
+        }
+    }
+
     /**
      * Test the parsing of a valid Gherking file.
      * 
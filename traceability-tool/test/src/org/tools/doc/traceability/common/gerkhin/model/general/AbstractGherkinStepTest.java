@@ -0,0 +1,129 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.gerkhin.model.general;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepGiven;
+import org.tools.doc.traceability.common.test.AbstractTester;
+
+/**
+ * JUnit for {@link AbstractGherkinStep}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class AbstractGherkinStepTest extends AbstractTester {
+
+    /**
+     * The regular expression formerly used to find the parameters, as
+     * reference.
+     */
+    private static final Pattern REFERENCE_PARAMETER_PATTERN = Pattern.compile("<\\s*([^>][^>]*)\\s*>");
+
+    /**
+     * Step texts, with corner cases for the parameters.
+     */
+    private static final String[] STEP_TEXTS = { "no parameter", "the <first> and <second> things",
+        "<start> of the text", "end of the <text>", "empty <> parameter", "nested <<a> parameter",
+        "unclosed <parameter", "closed> only", "<> and <x>", "< spaced name >", "<a><b><c>", "<<>", "<>>",
+        "multi <line\nparameter>", "<", ">", "" };
+
+    /**
+     * The number of threads creating steps at the same time in the stress
+     * test.
+     */
+    private static final int THREAD_COUNT = 8;
+
+    /**
+     * The number of steps created by each thread in the stress test.
+     */
+    private static final int STEP_COUNT_PER_THREAD = 20000;
+
+    /**
+     * Get the parameters found by the former regular expression.
+     * 
+     * @param pStepText the step text.
+     * @return the parameters.
+     */
+    private static List<String> getReferenceParameters(final String pStepText) {
+        List<String> lParameters = new ArrayList<String>();
+
+        Matcher lMatcher = REFERENCE_PARAMETER_PATTERN.matcher(pStepText);
+        while (lMatcher.find()) {
+            lParameters.add(lMatcher.group(0));
+        }
+
+        return lParameters;
+    }
+
+    /**
+     * Test {@link AbstractGherkinStep#getParameters()}.
+     */
+    @Test
+    public void testGetParameters() {
+        Assert.assertEquals(Arrays.asList("<first>", "<second>"),
+                new GherkinStepGiven(1, "the <first> and <second> things").getParameters());
+
+        // The parameters shall be the ones found by the former regular
+        // expression
+        for (String lStepText : STEP_TEXTS) {
+            Assert.assertEquals("Parameters of [" + lStepText + "]", getReferenceParameters(lStepText),
+                    new GherkinStepGiven(1, lStepText).getParameters());
+        }
+
+        Assert.assertTrue("A step without text has no parameter", new GherkinStepGiven(1, null).getParameters()
+                .isEmpty());
+    }
+
+    /**
+     * Test that steps created concurrently by several threads get the right
+     * parameters.
+     */
+    @Test
+    public void testConcurrentStepCreation() {
+        ExecutorService lExecutorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        try {
+            List<Future<Integer>> lFutures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                final int lThreadIdx = i;
+                lFutures.add(lExecutorService.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int lErrorCount = 0;
+                        for (int j = 0; j < STEP_COUNT_PER_THREAD; j++) {
+                            String lParameter = "<p" + lThreadIdx + "_" + j + ">";
+                            AbstractGherkinStep lStep = new GherkinStepGiven(j, "value " + lParameter + " and <x>");
+                            if (!Arrays.asList(lParameter, "<x>").equals(lStep.getParameters())) {
+                                lErrorCount++;
+                            }
+                        }
+                        return Integer.valueOf(lErrorCount);
+                    }
+                }));
+            }
+
+            for (Future<Integer> lFuture : lFutures) {
+                Assert.assertEquals("Steps with wrong parameters were created", 0, lFuture.get().intValue());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            Assert.fail("Unexpected failure (" + e.getClass().getSimpleName() + ") :" + e.getMessage());
+        } finally {
+            lExecutorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.gerkhin.model.general;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.tools.doc.traceability.common.gerkhin.model.step.GherkinStepGiven;
+
+/**
+ * Just an entry point to measure how the creation of Gherkin steps scales with
+ * the number of threads creating them at the same time, compared with the
+ * former parameter extraction (a shared pattern on which each step creation
+ * synchronized).
+ * <p>
+ * For each thread count, the number of steps created per second is given for
+ * both extractions, as well as the speedup compared with one thread.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class GherkinStepCreationBenchmark {
+
+    /**
+     * The thread counts to measure.
+     */
+    private static final int[] THREAD_COUNTS = { 1, 2, 4, 8 };
+
+    /**
+     * The number of steps created by each thread.
+     */
+    private static final int STEP_COUNT_PER_THREAD = 400000;
+
+    /**
+     * The number of measured iterations (the best one is kept).
+     */
+    private static final int ITERATION_COUNT = 3;
+
+    /**
+     * The pattern formerly used to find the parameters.
+     */
+    private static final Pattern FORMER_PARAMETER_PATTERN = Pattern.compile("<\\s*([^>][^>]*)\\s*>");
+
+    /**
+     * The step texts used (typical steps of a Scenario Outline).
+     */
+    private static final String[] STEP_TEXTS = { "the user <user> is logged in with the role <role>",
+        "the user opens the document <document>", "the document is displayed with <page count> pages",
+        "the user validates the document", "the status of the document is <status>" };
+
+    /**
+     * Constructor.
+     */
+    private GherkinStepCreationBenchmark() {
+        // Nothing
+    }
+
+    /**
+     * Extract the parameters like the former implementation did.
+     * 
+     * @param pStepText the step text.
+     * @return the parameters.
+     */
+    private static List<String> extractWithSharedPattern(final String pStepText) {
+        List<String> lParameters = new ArrayList<String>();
+
+        Matcher lMatcher;
+        synchronized (FORMER_PARAMETER_PATTERN) {
+            lMatcher = FORMER_PARAMETER_PATTERN.matcher(pStepText);
+        }
+        while (lMatcher.find()) {
+            lParameters.add(lMatcher.group(0));
+        }
+
+        return lParameters;
+    }
+
+    /**
+     * Create steps on the given number of threads and measure the throughput.
+     * 
+     * @param pThreadCount the number of threads.
+     * @param pFormerExtraction <tt>true</tt> to measure the former parameter
+     * extraction, <tt>false</tt> to measure the actual step creation.
+     * @return the number of steps created per second.
+     * @throws InterruptedException if interrupted while waiting for the
+     * threads.
+     * @throws ExecutionException if a thread failed.
+     */
+    private static long measure(final int pThreadCount, final boolean pFormerExtraction)
+            throws InterruptedException, ExecutionException {
+        ExecutorService lExecutorService = Executors.newFixedThreadPool(pThreadCount);
+        long lBestNanos = Long.MAX_VALUE;
+
+        try {
+            for (int lIteration = 0; lIteration < ITERATION_COUNT; lIteration++) {
+                List<Callable<Integer>> lTasks = new ArrayList<Callable<Integer>>();
+                for (int i = 0; i < pThreadCount; i++) {
+                    lTasks.add(new Callable<Integer>() {
+                        @Override
+                        public Integer call() {
+                            int lParameterCount = 0;
+                            for (int j = 0; j < STEP_COUNT_PER_THREAD; j++) {
+                                String lStepText = STEP_TEXTS[j % STEP_TEXTS.length];
+                                if (pFormerExtraction) {
+                                    lParameterCount += extractWithSharedPattern(lStepText).size();
+                                } else {
+                                    lParameterCount += new GherkinStepGiven(j, lStepText).getParameters().size();
+                                }
+                            }
+                            return Integer.valueOf(lParameterCount);
+                        }
+                    });
+                }
+
+                long lStart = System.nanoTime();
+                for (Future<Integer> lFuture : lExecutorService.invokeAll(lTasks)) {
+                    lFuture.get();
+                }
+                lBestNanos = Math.min(lBestNanos, System.nanoTime() - lStart);
+            }
+        } finally {
+            lExecutorService.shutdownNow();
+        }
+
+        final double lNanosPerSecond = 1e9;
+        return Math.round((double) pThreadCount * STEP_COUNT_PER_THREAD * lNanosPerSecond / lBestNanos);
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments (not used).
+     * @throws InterruptedException if interrupted while waiting for the
+     * threads.
+     * @throws ExecutionException if a thread failed.
+     */
+    public static void main(final String[] args) throws InterruptedException, ExecutionException {
+        System.out.println(Runtime.getRuntime().availableProcessors() + " available processor(s)");
+        System.out.println("threads\tshared pattern (steps/s)\tspeedup\tsteps (steps/s)\tspeedup");
+
+        long lFormerSingleThreadRate = 0;
+        long lSingleThreadRate = 0;
+        for (int lThreadCount : THREAD_COUNTS) {
+            long lFormerRate = measure(lThreadCount, true);
+            long lRate = measure(lThreadCount, false);
+            if (lThreadCount == 1) {
+                lFormerSingleThreadRate = lFormerRate;
+                lSingleThreadRate = lRate;
+            }
+
+            System.out.println(lThreadCount + "\t" + lFormerRate + "\t"
+                    + String.format("%.2f", (double) lFormerRate / lFormerSingleThreadRate) + "\t" + lRate + "\t"
+                    + String.format("%.2f", (double) lRate / lSingleThreadRate));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.prefix;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Just an entry point to measure the cost of matching table cell texts against
+ * requirement prefixes, comparing the {@link RequirementPrefixMatcher} with a
+ * loop on {@link String#startsWith(String)}.
+ * <p>
+ * With the matcher, the cost per cell shall not depend on the number of
+ * prefixes.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class RequirementPrefixMatcherBenchmark {
+
+    /**
+     * The number of cell texts to match.
+     */
+    private static final int CELL_COUNT = 300000;
+
+    /**
+     * The numbers of prefixes to benchmark.
+     */
+    private static final int[] PREFIX_COUNTS = { 1, 10, 50, 200, 1000 };
+
+    /**
+     * The number of measured iterations for each prefix count.
+     */
+    private static final int ITERATION_COUNT = 5;
+
+    /**
+     * The random generator (with a fixed seed so that runs are comparable).
+     */
+    private final Random random;
+
+    /**
+     * Constructor.
+     */
+    private RequirementPrefixMatcherBenchmark() {
+        random = new Random(42L);
+    }
+
+    /**
+     * Build the given number of subsystem requirement prefixes.
+     * 
+     * @param pPrefixCount the number of prefixes.
+     * @return the prefixes.
+     */
+    private List<String> buildPrefixes(final int pPrefixCount) {
+        List<String> lPrefixes = new ArrayList<String>();
+
+        for (int i = 0; i < pPrefixCount; i++) {
+            lPrefixes.add("SD-SUB" + i + "-");
+        }
+
+        return lPrefixes;
+    }
+
+    /**
+     * Build cell texts, about one out of four being a requirement of one of the
+     * given prefixes.
+     * 
+     * @param pPrefixes the prefixes.
+     * @return the cell texts.
+     */
+    private List<String> buildCellTexts(final List<String> pPrefixes) {
+        List<String> lCellTexts = new ArrayList<String>(CELL_COUNT);
+
+        for (int i = 0; i < CELL_COUNT; i++) {
+            int lKind = random.nextInt(4);
+            if (lKind == 0) {
+                lCellTexts.add(pPrefixes.get(random.nextInt(pPrefixes.size())) + i);
+            } else if (lKind == 1) {
+                lCellTexts.add("SD-OTHER-" + i);
+            } else {
+                lCellTexts.add("The system shall process the request number " + i);
+            }
+        }
+
+        return lCellTexts;
+    }
+
+    /**
+     * Count the cell texts matching a prefix by looping on the prefixes.
+     * 
+     * @param pPrefixes the prefixes.
+     * @param pCellTexts the cell texts.
+     * @return the number of matching cell texts.
+     */
+    private static int countWithLoop(final List<String> pPrefixes, final List<String> pCellTexts) {
+        int lMatchCount = 0;
+
+        for (String lCellText : pCellTexts) {
+            boolean lMatches = false;
+            for (int i = 0; (i < pPrefixes.size()) && !lMatches; i++) {
+                lMatches = lCellText.startsWith(pPrefixes.get(i));
+            }
+            if (lMatches) {
+                lMatchCount++;
+            }
+        }
+
+        return lMatchCount;
+    }
+
+    /**
+     * Count the cell texts matching a prefix with the matcher.
+     * 
+     * @param pMatcher the matcher.
+     * @param pCellTexts the cell texts.
+     * @return the number of matching cell texts.
+     */
+    private static int countWithMatcher(final RequirementPrefixMatcher pMatcher, final List<String> pCellTexts) {
+        int lMatchCount = 0;
+
+        for (String lCellText : pCellTexts) {
+            if (pMatcher.matches(lCellText)) {
+                lMatchCount++;
+            }
+        }
+
+        return lMatchCount;
+    }
+
+    /**
+     * Run the benchmark for each prefix count and print the cost per cell.
+     */
+    private void runBenchmark() {
+        System.out.println("prefixes\tloop (ns/cell)\tmatcher (ns/cell)");
+
+        for (int lPrefixCount : PREFIX_COUNTS) {
+            List<String> lPrefixes = buildPrefixes(lPrefixCount);
+            List<String> lCellTexts = buildCellTexts(lPrefixes);
+            RequirementPrefixMatcher lMatcher = new RequirementPrefixMatcher(lPrefixes);
+
+            // Warm up and check that both approaches agree
+            int lLoopCount = countWithLoop(lPrefixes, lCellTexts);
+            int lMatcherCount = countWithMatcher(lMatcher, lCellTexts);
+            if (lLoopCount != lMatcherCount) {
+                System.err.println("Mismatch with " + lPrefixCount + " prefixes : " + lLoopCount + " / "
+                        + lMatcherCount);
+            }
+
+            long lLoopNanos = Long.MAX_VALUE;
+            long lMatcherNanos = Long.MAX_VALUE;
+            for (int i = 0; i < ITERATION_COUNT; i++) {
+                long lStart = System.nanoTime();
+                countWithLoop(lPrefixes, lCellTexts);
+                lLoopNanos = Math.min(lLoopNanos, System.nanoTime() - lStart);
+
+                lStart = System.nanoTime();
+                countWithMatcher(lMatcher, lCellTexts);
+                lMatcherNanos = Math.min(lMatcherNanos, System.nanoTime() - lStart);
+            }
+
+            System.out.println(lPrefixCount + "\t" + (lLoopNanos / CELL_COUNT) + "\t" + (lMatcherNanos / CELL_COUNT));
+        }
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments.
+     */
+    public static void main(final String[] args) {
+        RequirementPrefixMatcherBenchmark lBenchmark = new RequirementPrefixMatcherBenchmark();
+        lBenchmark.runBenchmark();
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.common.prefix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.tools.doc.traceability.common.test.AbstractTester;
+
+/**
+ * JUnit for {@link RequirementPrefixMatcher}.
+ * <p>
+ * The matcher replaced a loop checking the text with {@link String#startsWith}
+ * for each prefix : each case checks it gives the same result as this loop.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class RequirementPrefixMatcherTest extends AbstractTester {
+
+    /**
+     * Check the matcher built from the given prefixes gives the same result
+     * as the former <tt>startsWith</tt> loop for each given text.
+     * 
+     * @param pPrefixes the prefixes.
+     * @param pTexts the texts to check.
+     */
+    private void checkSameAsStartsWithLoop(final List<String> pPrefixes, final String... pTexts) {
+        RequirementPrefixMatcher lSut = new RequirementPrefixMatcher(pPrefixes);
+
+        for (String lText : pTexts) {
+            boolean lExpectedMatch = false;
+            for (String lPrefix : pPrefixes) {
+                if (lText.startsWith(lPrefix)) {
+                    lExpectedMatch = true;
+                    break;
+                }
+            }
+
+            Assert.assertEquals("Unexpected match of \"" + lText + "\" with " + pPrefixes, lExpectedMatch,
+                    lSut.matches(lText));
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link org.tools.doc.traceability.common.prefix.RequirementPrefixMatcher#getMatchingPrefix(java.lang.CharSequence)}
+     * with overlapping prefixes.
+     */
+    @Test
+    public void testOverlappingPrefixes() {
+        List<String> lPrefixes = Arrays.asList("REQ-A-", "REQ-");
+
+        checkSameAsStartsWithLoop(lPrefixes, "REQ-1", "REQ-A-1", "REQ-A", "REQ-B-2", "REQ", "RE", "REQ_1", "SD-1",
+                "req-1", "");
+
+        // The shortest prefix is the one reported, whatever the list order
+        RequirementPrefixMatcher lSut = new RequirementPrefixMatcher(lPrefixes);
+        Assert.assertEquals("Wrong matching prefix", "REQ-", lSut.getMatchingPrefix("REQ-A-1"));
+        Assert.assertEquals("Wrong matching prefix", "REQ-", lSut.getMatchingPrefix("REQ-1"));
+        Assert.assertNull("No prefix shall match", lSut.getMatchingPrefix("REQ"));
+    }
+
+    /**
+     * Test method for
+     * {@link org.tools.doc.traceability.common.prefix.RequirementPrefixMatcher#matches(java.lang.CharSequence)}
+     * with a prefix equal to the whole text.
+     */
+    @Test
+    public void testPrefixEqualToText() {
+        List<String> lPrefixes = Arrays.asList("SD-ALB", "REQ-FIRST-001");
+
+        checkSameAsStartsWithLoop(lPrefixes, "SD-ALB", "REQ-FIRST-001", "REQ-FIRST-00", "SD-AL", "SD-ALB-12");
+
+        RequirementPrefixMatcher lSut = new RequirementPrefixMatcher(lPrefixes);
+        Assert.assertEquals("Wrong matching prefix", "REQ-FIRST-001", lSut.getMatchingPrefix("REQ-FIRST-001"));
+    }
+
+    /**
+     * Test method for
+     * {@link org.tools.doc.traceability.common.prefix.RequirementPrefixMatcher#matches(java.lang.CharSequence)}
+     * with an empty prefix list, and with an empty prefix.
+     */
+    @Test
+    public void testEmptyPrefixes() {
+        checkSameAsStartsWithLoop(new ArrayList<String>(), "REQ-1", " ", "");
+
+        RequirementPrefixMatcher lSut = new RequirementPrefixMatcher(null);
+        Assert.assertFalse("No text shall match a null prefix list", lSut.matches("REQ-1"));
+        Assert.assertTrue("The prefix list shall be empty", lSut.getPrefixes().isEmpty());
+
+        // The empty prefix matches any text, as with startsWith
+        checkSameAsStartsWithLoop(Arrays.asList("REQ-", ""), "REQ-1", "SD-1", " ", "");
+    }
+
+    /**
+     * Test method for
+     * {@link org.tools.doc.traceability.common.prefix.RequirementPrefixMatcher#matches(java.lang.CharSequence)}
+     * with non ASCII characters.
+     */
+    @Test
+    public void testNonAsciiCharacters() {
+        // Accents, a character out of the basic multilingual plane (surrogate
+        // pair) and prefixes only differing by their last character
+        List<String> lPrefixes = Arrays.asList("EXIGENCE-\u00C9", "EXIGENCE-\u00C8", "\u8981\u6C42-",
+                "REQ-\uD83D\uDE00-", "REQ-\u00FF");
+
+        checkSameAsStartsWithLoop(lPrefixes, "EXIGENCE-\u00C91", "EXIGENCE-\u00C81", "EXIGENCE-E1",
+                "EXIGENCE-\u00CA1", "\u8981\u6C42-12", "\u8981-12", "REQ-\uD83D\uDE00-1",
+                "REQ-\uD83D\uDE01-1", "REQ-\uD83D", "REQ-\u00FF1", "REQ-\u0100");
+    }
+
+    /**
+     * Test method for
+     * {@link org.tools.doc.traceability.common.prefix.RequirementPrefixMatcher#matches(java.lang.CharSequence)}
+     * with leading and trailing whitespaces.
+     */
+    @Test
+    public void testWhitespaces() {
+        // The texts are not trimmed by the matcher (the extractor trims the
+        // cell texts before checking them)
+        checkSameAsStartsWithLoop(Arrays.asList("REQ-", "SD-"), " REQ-1", "REQ-1 ", "\tSD-1", "SD-1\n", "REQ -1",
+                " ", "\u00A0REQ-1");
+
+        // Prefixes with whitespaces are matched as they are
+        checkSameAsStartsWithLoop(Arrays.asList(" REQ-", "SD- "), " REQ-1", "REQ-1", "SD- 1", "SD-1", "  REQ-1");
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.covmatrixgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tools.doc.traceability.analyzer.justifircation.model.NotCoveredRequirementJustification;
+import org.tools.doc.traceability.common.executor.ExecutionStatus;
+import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.model.TestCaseData;
+import org.tools.doc.traceability.common.model.TestSet;
+import org.tools.doc.traceability.common.model.TestSetType;
+import org.tools.doc.traceability.common.test.AbstractTester;
+import org.tools.doc.traceability.covmatrixgen.model.IRequirementCoveringData;
+import org.tools.doc.traceability.covmatrixgen.model.RequirementTestCovering;
+
+/**
+ * JUnit test for {@link CoverageMatrixGenerator}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class CoverageMatrixGeneratorTest extends AbstractTester {
+
+    /**
+     * The number of distinct requirements referenced by the tests.
+     */
+    private static final int REQUIREMENT_COUNT = 300;
+
+    /**
+     * The number of requirements from SD (the other referenced requirements
+     * are unknown).
+     */
+    private static final int SD_REQUIREMENT_COUNT = 250;
+
+    /**
+     * Test that the requirement covering and the not covered requirements are
+     * the ones found by checking each SD requirement against the covered
+     * requirements of each test case.
+     * 
+     * @throws IOException if the temporary directory could not be created.
+     */
+    @Test
+    public void testRequirementCoveringMatchesTestCaseScan() throws IOException {
+        List<Requirement> lSdRequirementList = createSdRequirements();
+        List<List<TestSet>> lTestSetLists = createTestSetLists();
+
+        File lWorkDirectory = Files.createTempDirectory("coverage-matrix").toFile();
+        File lCoverageMatrixFile = new File(lWorkDirectory, "matrix.xlsx");
+        try {
+            CoverageMatrixGeneratorResultObject lResult = generate(lSdRequirementList, lTestSetLists, null,
+                    lCoverageMatrixFile, true);
+
+            RequirementTestCovering lRequirementTestCovering = lResult.getRequirementTestCovering();
+            List<Requirement> lExpectedNotCoveredRequirements = new ArrayList<Requirement>();
+            for (Requirement lRequirement : lSdRequirementList) {
+                List<String> lExpectedCovering = new ArrayList<String>();
+                for (List<TestSet> lTestSetList : lTestSetLists) {
+                    for (TestSet lTestSet : lTestSetList) {
+                        for (TestCaseData lTestCaseData : lTestSet.getTestDataList()) {
+                            if (lTestCaseData.getCoveredRequirementList().contains(lRequirement)) {
+                                lExpectedCovering.add(lTestSet.getTestSetType() + "|"
+                                        + lTestCaseData.getTestCaseIdentifier() + "|"
+                                        + lTestCaseData.getTestCaseName() + "|" + lTestSet.getTestSetName());
+                            }
+                        }
+                    }
+                }
+                if (lExpectedCovering.isEmpty()) {
+                    lExpectedNotCoveredRequirements.add(lRequirement);
+                } else {
+                    Assert.assertEquals("Wrong covering of " + lRequirement, lExpectedCovering,
+                            describe(lRequirementTestCovering.getRequirementCoveringDataListFor(lRequirement)));
+                }
+            }
+
+            Assert.assertFalse("Some requirements shall not be covered", lExpectedNotCoveredRequirements.isEmpty());
+            Collections.sort(lExpectedNotCoveredRequirements);
+            Assert.assertEquals("Wrong not covered requirements", lExpectedNotCoveredRequirements,
+                    lResult.getNotCoveredRequirementList());
+        } finally {
+            lCoverageMatrixFile.delete();
+            lWorkDirectory.delete();
+        }
+    }
+
+    /**
+     * Test that the coverage matrix written in a streaming way has the same
+     * contents, styles and merged cells as the one built in memory.
+     * 
+     * @throws IOException if a coverage matrix could not be read.
+     */
+    @Test
+    public void testStreamingWritingMatchesInMemoryWriting() throws IOException {
+        List<Requirement> lSdRequirementList = createSdRequirements();
+        List<List<TestSet>> lTestSetLists = createTestSetLists();
+
+        // Justify some requirements (covered or not)
+        Map<Requirement, NotCoveredRequirementJustification> lJustificationMap = new HashMap<Requirement, NotCoveredRequirementJustification>();
+        for (int i = 0; i < SD_REQUIREMENT_COUNT; i += 3) {
+            Requirement lRequirement = new Requirement("SD-REQ-" + i);
+            lJustificationMap.put(lRequirement, new NotCoveredRequirementJustification(lRequirement, "Reason " + i));
+        }
+
+        File lWorkDirectory = Files.createTempDirectory("coverage-matrix").toFile();
+        File lStreamedFile = new File(lWorkDirectory, "streamed.xlsx");
+        File lInMemoryFile = new File(lWorkDirectory, "in-memory.xlsx");
+        try {
+            generate(lSdRequirementList, lTestSetLists, lJustificationMap, lStreamedFile, true);
+            generate(lSdRequirementList, lTestSetLists, lJustificationMap, lInMemoryFile, false);
+
+            XSSFWorkbook lStreamedWorkbook = new XSSFWorkbook(lStreamedFile);
+            XSSFWorkbook lInMemoryWorkbook = new XSSFWorkbook(lInMemoryFile);
+            try {
+                Assert.assertEquals("Wrong number of sheets", TestSetType.values().length + 1,
+                        lInMemoryWorkbook.getNumberOfSheets());
+                Assert.assertEquals("The number of sheets differ", lInMemoryWorkbook.getNumberOfSheets(),
+                        lStreamedWorkbook.getNumberOfSheets());
+                for (int lSheetIdx = 0; lSheetIdx < lInMemoryWorkbook.getNumberOfSheets(); lSheetIdx++) {
+                    Assert.assertEquals("The contents of sheet " + lSheetIdx + " differ",
+                            describe(lInMemoryWorkbook.getSheetAt(lSheetIdx)),
+                            describe(lStreamedWorkbook.getSheetAt(lSheetIdx)));
+                }
+                Assert.assertFalse("Some requirement cells shall be merged",
+                        lStreamedWorkbook.getSheetAt(0).getMergedRegions().isEmpty());
+            } finally {
+                lStreamedWorkbook.close();
+                lInMemoryWorkbook.close();
+            }
+        } catch (InvalidFormatException e) {
+            Assert.fail("Could not open a coverage matrix : " + e.getMessage());
+        } finally {
+            lStreamedFile.delete();
+            lInMemoryFile.delete();
+            lWorkDirectory.delete();
+        }
+    }
+
+    /**
+     * Create the SD requirements.
+     * 
+     * @return the SD requirements.
+     */
+    private List<Requirement> createSdRequirements() {
+        List<Requirement> lSdRequirementList = new ArrayList<Requirement>();
+        for (int i = 0; i < SD_REQUIREMENT_COUNT; i++) {
+            lSdRequirementList.add(new Requirement("SD-REQ-" + i));
+        }
+        return lSdRequirementList;
+    }
+
+    /**
+     * Create the test sets of each test type, always the same way.
+     * 
+     * @return the list of test sets of each test type (in the order of
+     * {@link TestSetType}).
+     */
+    private List<List<TestSet>> createTestSetLists() {
+        Random lRandom = new Random(42);
+
+        List<List<TestSet>> lTestSetLists = new ArrayList<List<TestSet>>();
+        for (TestSetType lTestSetType : TestSetType.values()) {
+            lTestSetLists.add(createTestSets(lTestSetType, lRandom));
+        }
+        return lTestSetLists;
+    }
+
+    /**
+     * Generate the coverage matrix.
+     * 
+     * @param pSdRequirementList the SD requirements.
+     * @param pTestSetLists the list of test sets of each test type.
+     * @param pJustificationMap the justifications (can be <tt>null</tt>).
+     * @param pCoverageMatrixFile the coverage matrix file to write.
+     * @param pStreamingWriting whether the coverage matrix is written in a
+     * streaming way.
+     * @return the generation result.
+     */
+    private CoverageMatrixGeneratorResultObject generate(final List<Requirement> pSdRequirementList,
+            final List<List<TestSet>> pTestSetLists,
+            final Map<Requirement, NotCoveredRequirementJustification> pJustificationMap,
+            final File pCoverageMatrixFile, final boolean pStreamingWriting) {
+        ExecutorExecutionStatus<CoverageMatrixGeneratorResultObject> lExecutionStatus = new ExecutorExecutionStatus<CoverageMatrixGeneratorResultObject>();
+        CoverageMatrixGenerator lSut = new CoverageMatrixGenerator(pSdRequirementList, pTestSetLists.get(0),
+                pTestSetLists.get(1), pTestSetLists.get(2), pTestSetLists.get(3), pJustificationMap,
+                pCoverageMatrixFile, lExecutionStatus);
+        lSut.setStreamingWriting(pStreamingWriting);
+        lSut.run();
+
+        Assert.assertEquals("The execution shall have ended in success", ExecutionStatus.ENDED_SUCCESS,
+                lExecutionStatus.getCurrentExecutionStatus());
+
+        return lExecutionStatus.getExecutionResult();
+    }
+
+    /**
+     * Describe the name, column widths, merged regions and cells (value and
+     * style) of the given sheet.
+     * 
+     * @param pSheet the sheet.
+     * @return the description.
+     */
+    private String describe(final Sheet pSheet) {
+        StringBuilder lSb = new StringBuilder(pSheet.getSheetName());
+        for (int lColIdx = 0; lColIdx < 4; lColIdx++) {
+            lSb.append("|").append(pSheet.getColumnWidth(lColIdx));
+        }
+        lSb.append("\n").append(pSheet.getMergedRegions());
+        for (Row lRow : pSheet) {
+            lSb.append("\n").append(lRow.getRowNum());
+            for (Cell lCell : lRow) {
+                lSb.append("|").append(lCell.getAddress()).append("=").append(lCell.getStringCellValue());
+                lSb.append("/").append(lCell.getCellStyle().getIndex());
+            }
+        }
+        return lSb.toString();
+    }
+
+    /**
+     * Create test sets of the given type with test cases covering random
+     * requirements.
+     * 
+     * @param pTestSetType the type of the test sets.
+     * @param pRandom the random generator.
+     * @return the test sets.
+     */
+    private List<TestSet> createTestSets(final TestSetType pTestSetType, final Random pRandom) {
+        List<TestSet> lTestSetList = new ArrayList<TestSet>();
+        for (int lSetIdx = 0; lSetIdx < 3; lSetIdx++) {
+            TestSet lTestSet = new TestSet(pTestSetType, pTestSetType + " set " + lSetIdx);
+            for (int lTestIdx = 0; lTestIdx < 40; lTestIdx++) {
+                TestCaseData lTestCaseData = lTestSet.addTestData(lSetIdx + "-" + lTestIdx, "Test " + lTestIdx, "",
+                        "");
+                int lCoveredCount = pRandom.nextInt(4);
+                for (int i = 0; i < lCoveredCount; i++) {
+                    Requirement lRequirement = new Requirement("SD-REQ-" + pRandom.nextInt(REQUIREMENT_COUNT));
+                    lTestCaseData.addCoveredRequirement(lRequirement);
+                    // Sometimes reference the same requirement twice
+                    if (pRandom.nextInt(10) == 0) {
+                        lTestCaseData.addCoveredRequirement(lRequirement);
+                    }
+                }
+            }
+            lTestSetList.add(lTestSet);
+        }
+        return lTestSetList;
+    }
+
+    /**
+     * Describe the given requirement covering data.
+     * 
+     * @param pReqCovDataList the requirement covering data.
+     * @return the description of each covering data.
+     */
+    private List<String> describe(final List<IRequirementCoveringData> pReqCovDataList) {
+        List<String> lDescriptions = new ArrayList<String>();
+        for (IRequirementCoveringData lReqCovData : pReqCovDataList) {
+            lDescriptions.add(lReqCovData.getType() + "|" + lReqCovData.getTestCaseIdentifier() + "|"
+                    + lReqCovData.getTestCaseName() + "|" + lReqCovData.getOriginDetails());
+        }
+        return lDescriptions;
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.covmatrixgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.tools.doc.traceability.common.executor.ExecutionStatus;
+import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.model.TestCaseData;
+import org.tools.doc.traceability.common.model.TestSet;
+import org.tools.doc.traceability.common.model.TestSetType;
+
+/**
+ * Just an entry point to compare the time and the peak heap needed to generate
+ * a large coverage matrix in a streaming way and by building the whole
+ * workbook in memory.
+ * <p>
+ * The matrix is generated from synthetic SD requirements and ALM test steps,
+ * each requirement being covered by five test steps (so its cell is merged over
+ * five rows), for the given number of rows of the ALM sheet (500000 by
+ * default). It is written in a temporary directory.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class CoverageMatrixWritingBenchmark {
+
+    /**
+     * The default number of rows of the ALM sheet.
+     */
+    private static final int DEFAULT_ROW_COUNT = 500000;
+
+    /**
+     * The number of test steps covering each requirement.
+     */
+    private static final int STEPS_PER_REQUIREMENT = 5;
+
+    /**
+     * The number of test steps per test set.
+     */
+    private static final int STEPS_PER_TEST_SET = 50;
+
+    /**
+     * The number of bytes per mega-byte.
+     */
+    private static final double BYTES_PER_MB = 1024. * 1024.;
+
+    /**
+     * The number of nanoseconds per millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Constructor.
+     */
+    private CoverageMatrixWritingBenchmark() {
+    }
+
+    /**
+     * Create ALM test sets covering the given requirements.
+     * 
+     * @param pRequirementList the requirements.
+     * @return the test sets.
+     */
+    private static List<TestSet> createTestSets(final List<Requirement> pRequirementList) {
+        List<TestSet> lTestSetList = new ArrayList<TestSet>();
+
+        TestSet lTestSet = null;
+        int lStepCount = pRequirementList.size() * STEPS_PER_REQUIREMENT;
+        for (int lStepIdx = 0; lStepIdx < lStepCount; lStepIdx++) {
+            if ((lStepIdx % STEPS_PER_TEST_SET) == 0) {
+                lTestSet = new TestSet(TestSetType.AlmTest, "Test set " + lTestSetList.size());
+                lTestSetList.add(lTestSet);
+            }
+            TestCaseData lTestCaseData = lTestSet.addTestData(Integer.toString(lStepIdx), "Step " + lStepIdx,
+                    "Procedure", "Expected results");
+            lTestCaseData.addCoveredRequirement(pRequirementList.get(lStepIdx / STEPS_PER_REQUIREMENT));
+        }
+
+        return lTestSetList;
+    }
+
+    /**
+     * Reset the peak usage of the heap memory pools.
+     */
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean lPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (lPool.getType() == MemoryType.HEAP) {
+                lPool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Get the sum of the peak usages of the heap memory pools.
+     * 
+     * @return the peak heap, in bytes.
+     */
+    private static long getPeakHeap() {
+        long lPeakHeap = 0;
+        for (MemoryPoolMXBean lPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (lPool.getType() == MemoryType.HEAP) {
+                lPeakHeap += lPool.getPeakUsage().getUsed();
+            }
+        }
+        return lPeakHeap;
+    }
+
+    /**
+     * Generate the coverage matrix and print the time taken and the peak heap.
+     * 
+     * @param pSdRequirementList the SD requirements.
+     * @param pAlmTestSetList the ALM test sets.
+     * @param pCoverageMatrixFile the coverage matrix file to write.
+     * @param pStreamingWriting whether the matrix is written in a streaming
+     * way.
+     */
+    private static void generate(final List<Requirement> pSdRequirementList, final List<TestSet> pAlmTestSetList,
+            final File pCoverageMatrixFile, final boolean pStreamingWriting) {
+        resetPeakHeap();
+        long lStart = System.nanoTime();
+
+        ExecutorExecutionStatus<CoverageMatrixGeneratorResultObject> lExecutionStatus = new ExecutorExecutionStatus<CoverageMatrixGeneratorResultObject>();
+        CoverageMatrixGenerator lGenerator = new CoverageMatrixGenerator(pSdRequirementList, pAlmTestSetList, null,
+                null, null, null, pCoverageMatrixFile, lExecutionStatus);
+        lGenerator.setStreamingWriting(pStreamingWriting);
+        lGenerator.run();
+
+        long lNanos = System.nanoTime() - lStart;
+        if (lExecutionStatus.getCurrentExecutionStatus() != ExecutionStatus.ENDED_SUCCESS) {
+            throw new IllegalStateException("Generation failed : " + lExecutionStatus.getExecutionStatusDescription());
+        }
+
+        String lMode = "in memory";
+        if (pStreamingWriting) {
+            lMode = "streaming";
+        }
+        System.out.println(String.format("%s\t%d\t%d\t%.1f", lMode, pCoverageMatrixFile.length(),
+                Math.round(lNanos / NANOS_PER_MILLI), getPeakHeap() / BYTES_PER_MB));
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments : optionally, the number of rows of the ALM
+     * sheet.
+     * @throws IOException if the temporary directory could not be created.
+     */
+    public static void main(final String[] args) throws IOException {
+        int lRowCount = DEFAULT_ROW_COUNT;
+        if (args.length > 0) {
+            lRowCount = Integer.parseInt(args[0]);
+        }
+
+        List<Requirement> lSdRequirementList = new ArrayList<Requirement>();
+        for (int i = 0; i < lRowCount / STEPS_PER_REQUIREMENT; i++) {
+            lSdRequirementList.add(new Requirement("SD-REQ-" + i));
+        }
+        List<TestSet> lAlmTestSetList = createTestSets(lSdRequirementList);
+
+        File lWorkDirectory = Files.createTempDirectory("coverage-matrix-benchmark").toFile();
+        File lCoverageMatrixFile = new File(lWorkDirectory, "matrix.xlsx");
+        try {
+            System.out.println(lRowCount + " rows");
+            System.out.println("mode\tfile size (bytes)\ttime (ms)\tpeak heap (MB)");
+            // Warm up
+            generate(lSdRequirementList, lAlmTestSetList, lCoverageMatrixFile, true);
+            generate(lSdRequirementList, lAlmTestSetList, lCoverageMatrixFile, false);
+
+            generate(lSdRequirementList, lAlmTestSetList, lCoverageMatrixFile, true);
+            generate(lSdRequirementList, lAlmTestSetList, lCoverageMatrixFile, false);
+        } finally {
+            lCoverageMatrixFile.delete();
+            lWorkDirectory.delete();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.covmatrixgen.model;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.model.TestSetType;
+
+/**
+ * Just an entry point to compare the time needed to answer coverage questions
+ * on a large {@link RequirementTestCovering} and on its
+ * {@link CompactRequirementCoverage}.
+ * <p>
+ * The covering is synthetic : the given number of requirements (100000 by
+ * default), each covered by five test steps of one type, the test cases having
+ * four steps. The questions are the total number of test cases, the number of
+ * test cases covering each requirement and the number of requirements covered
+ * by a test of each type.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class CompactRequirementCoverageBenchmark {
+
+    /**
+     * The default number of requirements.
+     */
+    private static final int DEFAULT_REQUIREMENT_COUNT = 100000;
+
+    /**
+     * The number of test steps per requirement.
+     */
+    private static final int STEPS_PER_REQUIREMENT = 5;
+
+    /**
+     * The number of steps per test case.
+     */
+    private static final int STEPS_PER_TEST_CASE = 4;
+
+    /**
+     * The number of nanoseconds per millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Constructor.
+     */
+    private CompactRequirementCoverageBenchmark() {
+    }
+
+    /**
+     * Create the synthetic requirement test covering.
+     * 
+     * @param pRequirementCount the number of requirements.
+     * @return the requirement test covering.
+     */
+    private static RequirementTestCovering createRequirementTestCovering(final int pRequirementCount) {
+        RequirementTestCovering lRequirementTestCovering = new RequirementTestCovering();
+        TestSetType[] lTestSetTypes = TestSetType.values();
+
+        int lStepCount = pRequirementCount * STEPS_PER_REQUIREMENT;
+        for (int lStepIdx = 0; lStepIdx < lStepCount; lStepIdx++) {
+            int lTestCaseIdx = lStepIdx / STEPS_PER_TEST_CASE;
+            TestSetType lTestSetType = lTestSetTypes[lTestCaseIdx % lTestSetTypes.length];
+            RequirementCoveringData lRcd = new RequirementCoveringData(lTestSetType, "TC-" + lTestCaseIdx,
+                    "Step " + lStepIdx, "");
+            Requirement lRequirement = new Requirement("SD-REQ-" + ((lStepIdx * 7) % pRequirementCount));
+            lRequirementTestCovering.addRequirementCovering(lRequirement, lRcd);
+        }
+
+        return lRequirementTestCovering;
+    }
+
+    /**
+     * Answer the questions by walking the requirement test covering.
+     * 
+     * @param pRequirementTestCovering the requirement test covering.
+     * @return a checksum of the answers.
+     */
+    private static long answerOnObjects(final RequirementTestCovering pRequirementTestCovering) {
+        long lChecksum = pRequirementTestCovering.computeTotalTestCaseNumber();
+
+        List<Requirement> lRequirementList = pRequirementTestCovering.getSortedListOfCoveredRequirements();
+        for (Requirement lRequirement : lRequirementList) {
+            Set<String> lTestCaseIdentifierSet = new HashSet<String>();
+            for (IRequirementCoveringData lRcd : pRequirementTestCovering
+                    .getRequirementCoveringDataListFor(lRequirement)) {
+                lTestCaseIdentifierSet.add(lRcd.getTestCaseIdentifier());
+            }
+            lChecksum += lTestCaseIdentifierSet.size();
+        }
+
+        for (TestSetType lTestSetType : TestSetType.values()) {
+            for (Requirement lRequirement : lRequirementList) {
+                boolean lCovered = false;
+                for (IRequirementCoveringData lRcd : pRequirementTestCovering
+                        .getRequirementCoveringDataListFor(lRequirement)) {
+                    lCovered |= lRcd.getType() == lTestSetType;
+                }
+                if (lCovered) {
+                    lChecksum++;
+                }
+            }
+        }
+
+        return lChecksum;
+    }
+
+    /**
+     * Answer the questions with the compact coverage.
+     * 
+     * @param pCompactCoverage the compact coverage.
+     * @return a checksum of the answers.
+     */
+    private static long answerOnCompactCoverage(final CompactRequirementCoverage pCompactCoverage) {
+        long lChecksum = pCompactCoverage.getTestCaseCount();
+
+        for (int lReqId = 0; lReqId < pCompactCoverage.getRequirementCount(); lReqId++) {
+            lChecksum += pCompactCoverage.getCoveringTestCaseCount(lReqId);
+        }
+
+        for (TestSetType lTestSetType : TestSetType.values()) {
+            lChecksum += pCompactCoverage.getCoveredRequirementCount(lTestSetType);
+        }
+
+        return lChecksum;
+    }
+
+    /**
+     * Build the compact coverage, answer the questions both ways and print the
+     * times taken.
+     * 
+     * @param pRequirementTestCovering the requirement test covering.
+     */
+    private static void measure(final RequirementTestCovering pRequirementTestCovering) {
+        long lStart = System.nanoTime();
+        long lObjectsChecksum = answerOnObjects(pRequirementTestCovering);
+        long lObjectsNanos = System.nanoTime() - lStart;
+
+        lStart = System.nanoTime();
+        CompactRequirementCoverage lCompactCoverage = new CompactRequirementCoverage(pRequirementTestCovering);
+        long lBuildNanos = System.nanoTime() - lStart;
+
+        lStart = System.nanoTime();
+        long lCompactChecksum = answerOnCompactCoverage(lCompactCoverage);
+        long lCompactNanos = System.nanoTime() - lStart;
+
+        if (lObjectsChecksum != lCompactChecksum) {
+            throw new IllegalStateException("Different answers : " + lObjectsChecksum + " / " + lCompactChecksum);
+        }
+
+        System.out.println(String.format("%d\t%.1f\t%.1f\t%.1f", lCompactCoverage.getCoveringCount(),
+                lObjectsNanos / NANOS_PER_MILLI, lBuildNanos / NANOS_PER_MILLI, lCompactNanos / NANOS_PER_MILLI));
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments : optionally, the number of requirements.
+     */
+    public static void main(final String[] args) {
+        int lRequirementCount = DEFAULT_REQUIREMENT_COUNT;
+        if (args.length > 0) {
+            lRequirementCount = Integer.parseInt(args[0]);
+        }
+
+        RequirementTestCovering lRequirementTestCovering = createRequirementTestCovering(lRequirementCount);
+
+        System.out.println(lRequirementCount + " requirements, "
+                + lRequirementTestCovering.computeTotalTestCaseNumber() + " test cases");
+        System.out.println("coverings\tobjects (ms)\tcompact build (ms)\tcompact queries (ms)");
+        // Warm up
+        measure(lRequirementTestCovering);
+
+        measure(lRequirementTestCovering);
+        measure(lRequirementTestCovering);
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.covmatrixgen.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.model.TestSetType;
+import org.tools.doc.traceability.common.test.AbstractTester;
+
+/**
+ * JUnit test for {@link CompactRequirementCoverage}.
+ * 
+ * @author Yann Leglise
+ *
+ */
+public class CompactRequirementCoverageTest extends AbstractTester {
+
+    /**
+     * The number of distinct requirements that can be covered.
+     */
+    private static final int REQUIREMENT_COUNT = 200;
+
+    /**
+     * The number of test cases of each type.
+     */
+    private static final int TEST_CASE_COUNT = 60;
+
+    /**
+     * Create a requirement test covering with random test steps of all the
+     * types. Several steps share the same test case, and some test cases
+     * cover the same requirement more than once.
+     * 
+     * @return the requirement test covering.
+     */
+    private static RequirementTestCovering createRequirementTestCovering() {
+        RequirementTestCovering lRequirementTestCovering = new RequirementTestCovering();
+        Random lRandom = new Random(42);
+
+        for (TestSetType lTestSetType : TestSetType.values()) {
+            for (int lTestCaseIdx = 0; lTestCaseIdx < TEST_CASE_COUNT; lTestCaseIdx++) {
+                String lTestCaseIdentifier = lTestSetType.name() + "-" + lTestCaseIdx;
+                int lStepCount = 1 + lRandom.nextInt(4);
+                for (int lStepIdx = 0; lStepIdx < lStepCount; lStepIdx++) {
+                    RequirementCoveringData lRcd = new RequirementCoveringData(lTestSetType, lTestCaseIdentifier,
+                            "Step " + lStepIdx, "");
+                    int lReqCount = lRandom.nextInt(3);
+                    for (int i = 0; i < lReqCount; i++) {
+                        // Each type covers its own part of the requirements,
+                        // overlapping the ones of the other types
+                        int lReqIdx = (lTestSetType.ordinal() * REQUIREMENT_COUNT / 8
+                                + lRandom.nextInt(REQUIREMENT_COUNT / 2)) % REQUIREMENT_COUNT;
+                        lRequirementTestCovering.addRequirementCovering(new Requirement("SD-REQ-" + lReqIdx),
+                                lRcd);
+                    }
+                }
+            }
+        }
+
+        return lRequirementTestCovering;
+    }
+
+    /**
+     * Test that the compact coverage gives, for each requirement and each test
+     * case, the same covering as the requirement test covering.
+     */
+    @Test
+    public void testCoveringMatchesRequirementTestCovering() {
+        RequirementTestCovering lRequirementTestCovering = createRequirementTestCovering();
+        CompactRequirementCoverage lCompactCoverage = new CompactRequirementCoverage(lRequirementTestCovering);
+
+        List<Requirement> lRequirementList = lRequirementTestCovering.getSortedListOfCoveredRequirements();
+        Assert.assertEquals(lRequirementList.size(), lCompactCoverage.getRequirementCount());
+        Assert.assertEquals(lRequirementTestCovering.computeTotalTestCaseNumber(),
+                lCompactCoverage.getTestCaseCount());
+
+        int lCoveringCount = 0;
+        for (int lReqId = 0; lReqId < lRequirementList.size(); lReqId++) {
+            Requirement lRequirement = lRequirementList.get(lReqId);
+            Assert.assertEquals(lRequirement, lCompactCoverage.getRequirement(lReqId));
+            Assert.assertEquals(lReqId, lCompactCoverage.getRequirementId(lRequirement));
+
+            Set<String> lExpectedTestCases = new TreeSet<String>();
+            for (IRequirementCoveringData lRcd : lRequirementTestCovering
+                    .getRequirementCoveringDataListFor(lRequirement)) {
+                lExpectedTestCases.add(lRcd.getTestCaseIdentifier());
+                Assert.assertTrue(lCompactCoverage.isCoveredBy(lReqId, lRcd.getType()));
+                Assert.assertTrue(lCompactCoverage.isCoveredBy(lReqId,
+                        lCompactCoverage.getTestCaseId(lRcd.getTestCaseIdentifier())));
+            }
+
+            Set<String> lActualTestCases = new TreeSet<String>();
+            int[] lTestCaseIds = lCompactCoverage.getCoveringTestCaseIds(lReqId);
+            for (int i = 0; i < lTestCaseIds.length; i++) {
+                if (i > 0) {
+                    Assert.assertTrue(lTestCaseIds[i - 1] < lTestCaseIds[i]);
+                }
+                lActualTestCases.add(lCompactCoverage.getTestCaseIdentifier(lTestCaseIds[i]));
+                int[] lReqIds = lCompactCoverage.getCoveredRequirementIds(lTestCaseIds[i]);
+                Assert.assertEquals(lReqIds.length, lCompactCoverage.getCoveredRequirementCount(lTestCaseIds[i]));
+                Assert.assertTrue(Arrays.binarySearch(lReqIds, lReqId) >= 0);
+            }
+            Assert.assertEquals(lExpectedTestCases, lActualTestCases);
+            Assert.assertEquals(lExpectedTestCases.size(), lCompactCoverage.getCoveringTestCaseCount(lReqId));
+            lCoveringCount += lExpectedTestCases.size();
+        }
+        Assert.assertEquals(lCoveringCount, lCompactCoverage.getCoveringCount());
+
+        int lTransposedCoveringCount = 0;
+        for (int lTestCaseId = 0; lTestCaseId < lCompactCoverage.getTestCaseCount(); lTestCaseId++) {
+            lTransposedCoveringCount += lCompactCoverage.getCoveredRequirementCount(lTestCaseId);
+        }
+        Assert.assertEquals(lCoveringCount, lTransposedCoveringCount);
+
+        Assert.assertEquals(-1, lCompactCoverage.getRequirementId(new Requirement("SD-REQ-UNKNOWN")));
+        Assert.assertEquals(-1, lCompactCoverage.getTestCaseId("UNKNOWN"));
+    }
+
+    /**
+     * Test the set operations on the requirements covered by each type of
+     * test.
+     */
+    @Test
+    public void testSetOperationsAcrossTestTypes() {
+        RequirementTestCovering lRequirementTestCovering = createRequirementTestCovering();
+        CompactRequirementCoverage lCompactCoverage = new CompactRequirementCoverage(lRequirementTestCovering);
+
+        Set<TestSetType> lAutomatedTypes = EnumSet.noneOf(TestSetType.class);
+        for (TestSetType lTestSetType : TestSetType.values()) {
+            if (!lTestSetType.isManual()) {
+                lAutomatedTypes.add(lTestSetType);
+            }
+        }
+
+        BitSet lAny = lCompactCoverage.getRequirementsCoveredByAnyOf(lAutomatedTypes);
+        BitSet lAll = lCompactCoverage.getRequirementsCoveredByAllOf(lAutomatedTypes);
+        BitSet lOnlyAlm = lCompactCoverage.getRequirementsCoveredOnlyBy(TestSetType.AlmTest, lAutomatedTypes);
+        int lAllTypesCount = 0;
+
+        for (int lReqId = 0; lReqId < lCompactCoverage.getRequirementCount(); lReqId++) {
+            Set<TestSetType> lTypes = EnumSet.noneOf(TestSetType.class);
+            for (IRequirementCoveringData lRcd : lRequirementTestCovering
+                    .getRequirementCoveringDataListFor(lCompactCoverage.getRequirement(lReqId))) {
+                lTypes.add(lRcd.getType());
+            }
+
+            Set<TestSetType> lAutomatedCoveringTypes = EnumSet.copyOf(lAutomatedTypes);
+            lAutomatedCoveringTypes.retainAll(lTypes);
+            Assert.assertEquals(!lAutomatedCoveringTypes.isEmpty(), lAny.get(lReqId));
+            Assert.assertEquals(lTypes.containsAll(lAutomatedTypes), lAll.get(lReqId));
+            Assert.assertEquals(lTypes.contains(TestSetType.AlmTest) && lAutomatedCoveringTypes.isEmpty(),
+                    lOnlyAlm.get(lReqId));
+            if (lTypes.size() == TestSetType.values().length) {
+                lAllTypesCount++;
+            }
+        }
+
+        // The data covers every combination that the checks above rely on
+        Assert.assertTrue(lAllTypesCount > 0);
+        Assert.assertTrue(lOnlyAlm.cardinality() > 0);
+        Assert.assertEquals(lAllTypesCount,
+                lCompactCoverage.getRequirementsCoveredByAllOf(EnumSet.allOf(TestSetType.class)).cardinality());
+        Assert.assertEquals(lCompactCoverage.getRequirementCount(),
+                lCompactCoverage.getRequirementsCoveredByAnyOf(EnumSet.allOf(TestSetType.class)).cardinality());
+
+        for (TestSetType lTestSetType : TestSetType.values()) {
+            // Only the test cases covering at least one requirement are kept
+            int lTestCaseCount = lCompactCoverage.getTestCaseCount(lTestSetType);
+            Assert.assertTrue((lTestCaseCount > 0) && (lTestCaseCount <= TEST_CASE_COUNT));
+            Assert.assertEquals(lCompactCoverage.getRequirementsCoveredBy(lTestSetType).cardinality(),
+                    lCompactCoverage.getCoveredRequirementCount(lTestSetType));
+        }
+
+        // The returned sets are copies
+        lCompactCoverage.getRequirementsCoveredBy(TestSetType.AlmTest).clear();
+        Assert.assertTrue(lCompactCoverage.getCoveredRequirementCount(TestSetType.AlmTest) > 0);
+
+        List<Requirement> lOnlyAlmRequirements = lCompactCoverage.getRequirements(lOnlyAlm);
+        Assert.assertEquals(lOnlyAlm.cardinality(), lOnlyAlmRequirements.size());
+        for (int i = 1; i < lOnlyAlmRequirements.size(); i++) {
+            Assert.assertTrue(lOnlyAlmRequirements.get(i - 1).compareTo(lOnlyAlmRequirements.get(i)) < 0);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * 
+ */
+package org.tools.doc.traceability.covmatrixgen.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.tools.doc.traceability.common.model.Requirement;
+import org.tools.doc.traceability.common.model.TestSetType;
+
+/**
+ * Just an entry point to measure how the time needed to find the test steps
+ * covering each SD requirement scales with the number of requirements and of
+ * test steps, when scanning the covered requirements of all the test steps and
+ * when using a {@link RequirementCoveringIndex}.
+ * <p>
+ * For each scale, synthetic SD requirements and ALM and cucumber test steps are
+ * created, with five test steps per requirement (each covering two
+ * requirements, one requirement out of ten being not covered). The largest
+ * scale is given by the argument (20000 requirements by default), and is halved
+ * down to an eighth of it. Both ways are checked to give the same requirement
+ * test covering.
+ * </p>
+ * 
+ * @author Yann Leglise
+ *
+ */
+public final class RequirementCoveringIndexBenchmark {
+
+    /**
+     * The default number of requirements of the largest scale.
+     */
+    private static final int DEFAULT_REQUIREMENT_COUNT = 20000;
+
+    /**
+     * The number of test steps per requirement.
+     */
+    private static final int STEPS_PER_REQUIREMENT = 5;
+
+    /**
+     * One requirement out of this number is not covered.
+     */
+    private static final int NOT_COVERED_REQUIREMENT_PERIOD = 10;
+
+    /**
+     * The number of scales to measure.
+     */
+    private static final int SCALE_COUNT = 4;
+
+    /**
+     * The number of nanoseconds per millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Constructor.
+     */
+    private RequirementCoveringIndexBenchmark() {
+    }
+
+    /**
+     * Create test steps of the given type covering the given requirements.
+     * 
+     * @param pTestSetType the type of the test steps.
+     * @param pRequirementList the requirements.
+     * @param pStepCount the number of test steps to create.
+     * @return the covering data of the test steps.
+     */
+    private static List<IRequirementCoveringData> createCoveringData(final TestSetType pTestSetType,
+            final List<Requirement> pRequirementList, final int pStepCount) {
+        List<IRequirementCoveringData> lReqCovDataList = new ArrayList<IRequirementCoveringData>();
+
+        for (int lStepIdx = 0; lStepIdx < pStepCount; lStepIdx++) {
+            RequirementCoveringData lRcd = new RequirementCoveringData(pTestSetType, pTestSetType + "-" + lStepIdx,
+                    "Step " + lStepIdx, "Set " + (lStepIdx / 50));
+            List<Requirement> lCoveredRequirements = new ArrayList<Requirement>();
+            for (int i = 0; i < 2; i++) {
+                int lReqIdx = (lStepIdx * 7 + i * 13) % pRequirementList.size();
+                if ((lReqIdx % NOT_COVERED_REQUIREMENT_PERIOD) == 0) {
+                    lReqIdx = (lReqIdx + 1) % pRequirementList.size();
+                }
+                lCoveredRequirements.add(new Requirement(pRequirementList.get(lReqIdx).toString()));
+            }
+            lRcd.addCoveredRequirements(lCoveredRequirements);
+            lReqCovDataList.add(lRcd);
+        }
+
+        return lReqCovDataList;
+    }
+
+    /**
+     * Find the covering of the requirements by scanning the covered
+     * requirements of all the test steps.
+     * 
+     * @param pRequirementList the requirements.
+     * @param pReqCovDataLists the covering data of each test type.
+     * @return the requirement test covering.
+     */
+    private static RequirementTestCovering scan(final List<Requirement> pRequirementList,
+            final List<List<IRequirementCoveringData>> pReqCovDataLists) {
+        RequirementTestCovering lRequirementTestCovering = new RequirementTestCovering();
+        for (Requirement lRequirement : pRequirementList) {
+            for (List<IRequirementCoveringData> lReqCovDataList : pReqCovDataLists) {
+                for (IRequirementCoveringData lRcd : lReqCovDataList) {
+                    if (lRcd.getCoveredRequirementList().contains(lRequirement)) {
+                        lRequirementTestCovering.addRequirementCovering(lRequirement, lRcd);
+                    }
+                }
+            }
+        }
+        return lRequirementTestCovering;
+    }
+
+    /**
+     * Find the covering of the requirements by indexing the test steps of each
+     * type.
+     * 
+     * @param pRequirementList the requirements.
+     * @param pReqCovDataLists the covering data of each test type.
+     * @return the requirement test covering.
+     */
+    private static RequirementTestCovering index(final List<Requirement> pRequirementList,
+            final List<List<IRequirementCoveringData>> pReqCovDataLists) {
+        List<RequirementCoveringIndex> lIndexes = new ArrayList<RequirementCoveringIndex>();
+        for (List<IRequirementCoveringData> lReqCovDataList : pReqCovDataLists) {
+            RequirementCoveringIndex lIndex = new RequirementCoveringIndex();
+            for (IRequirementCoveringData lRcd : lReqCovDataList) {
+                lIndex.addRequirementCoveringData(lRcd);
+            }
+            lIndexes.add(lIndex);
+        }
+
+        RequirementTestCovering lRequirementTestCovering = new RequirementTestCovering();
+        for (Requirement lRequirement : pRequirementList) {
+            for (RequirementCoveringIndex lIndex : lIndexes) {
+                for (IRequirementCoveringData lRcd : lIndex.getRequirementCoveringDataListFor(lRequirement)) {
+                    lRequirementTestCovering.addRequirementCovering(lRequirement, lRcd);
+                }
+            }
+        }
+        return lRequirementTestCovering;
+    }
+
+    /**
+     * Measure both ways for the given number of requirements and print the
+     * time taken.
+     * 
+     * @param pRequirementCount the number of requirements.
+     */
+    private static void measure(final int pRequirementCount) {
+        List<Requirement> lSdRequirementList = new ArrayList<Requirement>();
+        for (int i = 0; i < pRequirementCount; i++) {
+            lSdRequirementList.add(new Requirement("SD-REQ-" + i));
+        }
+        int lStepCount = pRequirementCount * STEPS_PER_REQUIREMENT;
+        List<List<IRequirementCoveringData>> lReqCovDataLists = new ArrayList<List<IRequirementCoveringData>>();
+        lReqCovDataLists.add(createCoveringData(TestSetType.AlmTest, lSdRequirementList, lStepCount / 2));
+        lReqCovDataLists.add(createCoveringData(TestSetType.CucumberTest, lSdRequirementList, lStepCount / 2));
+
+        long lStart = System.nanoTime();
+        RequirementTestCovering lScanned = scan(lSdRequirementList, lReqCovDataLists);
+        long lScanNanos = System.nanoTime() - lStart;
+
+        lStart = System.nanoTime();
+        RequirementTestCovering lIndexed = index(lSdRequirementList, lReqCovDataLists);
+        long lIndexNanos = System.nanoTime() - lStart;
+
+        for (Requirement lRequirement : lSdRequirementList) {
+            if (!lScanned.getRequirementCoveringDataListFor(lRequirement).equals(
+                    lIndexed.getRequirementCoveringDataListFor(lRequirement))) {
+                throw new IllegalStateException("The covering of " + lRequirement + " differ");
+            }
+        }
+
+        System.out.println(String.format("%d\t%d\t%d\t%d\t%d", pRequirementCount, lStepCount,
+                lScanned.getSortedListOfCoveredRequirements().size(), Math.round(lScanNanos / NANOS_PER_MILLI),
+                Math.round(lIndexNanos / NANOS_PER_MILLI)));
+    }
+
+    /**
+     * Main entry point.
+     * 
+     * @param args the arguments : optionally, the number of requirements of the
+     * largest scale.
+     */
+    public static void main(final String[] args) {
+        int lRequirementCount = DEFAULT_REQUIREMENT_COUNT;
+        if (args.length > 0) {
+            lRequirementCount = Integer.parseInt(args[0]);
+        }
+
+        System.out.println("requirements\ttest steps\tcovered\tscan (ms)\tindex (ms)");
+        // Warm up
+        measure(lRequirementCount >> (SCALE_COUNT - 1));
+
+        for (int lShift = SCALE_COUNT - 1; lShift >= 0; lShift--) {
+            measure(lRequirementCount >> lShift);
+        }
+    }
+}
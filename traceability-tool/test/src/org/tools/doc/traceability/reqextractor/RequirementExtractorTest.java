@@ -3,7 +3,11 @@
  */
 package org.tools.doc.traceability.reqextractor;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,9 +16,12 @@ import org.junit.Test;
 
 import org.tools.doc.traceability.common.executor.ExecutionStatus;
 import org.tools.doc.traceability.common.executor.ExecutorExecutionStatus;
+import org.tools.doc.traceability.common.model.Requirement;
 import org.tools.doc.traceability.common.test.AbstractTester;
+import org.tools.doc.traceability.reqextraction.FileRequirementExtractorResult;
 import org.tools.doc.traceability.reqextraction.RequirementExtractorResult;
 import org.tools.doc.traceability.reqextraction.RequirementExtractor;
+import org.tools.doc.traceability.reqextraction.helper.RequirementDuplicationItem;
 
 /**
  * JUnit test for {@link RequirementExtractorTest}.
@@ -214,4 +221,277 @@ public class RequirementExtractorTest extends AbstractTester {
             Assert.fail("No exception was expected in valid case : " + e.getMessage());
         }
     }
+
+    /**
+     * Test that the streaming extraction gives the same result as the
+     * extraction loading the whole documents.
+     */
+    @Test
+    public void testStreamingExtractionMatchesDocumentLoading() {
+        File lSdPs = new File(getInputFileDirectory(), "SD_PS.docx");
+        File lSdTst = new File(getInputFileDirectory(), "SD_TST.docx");
+
+        List<File> lInputFileList = new ArrayList<File>();
+        lInputFileList.add(lSdPs);
+        lInputFileList.add(lSdTst);
+
+        List<String> lReqPrefixList = new ArrayList<String>();
+        lReqPrefixList.add("SD-ALB");
+        lReqPrefixList.add("REQ-FIRST");
+        lReqPrefixList.add("REQ-SECOND");
+        lReqPrefixList.add("REQ-THIRD");
+
+        ExecutorExecutionStatus<RequirementExtractorResult> lStreamingExecStatus = new ExecutorExecutionStatus<RequirementExtractorResult>();
+        RequirementExtractor lStreamingSut = new RequirementExtractor(lInputFileList, null, false, lReqPrefixList,
+                lStreamingExecStatus);
+        lStreamingSut.setStreamingExtraction(true);
+        lStreamingSut.run();
+
+        ExecutorExecutionStatus<RequirementExtractorResult> lLoadingExecStatus = new ExecutorExecutionStatus<RequirementExtractorResult>();
+        RequirementExtractor lLoadingSut = new RequirementExtractor(lInputFileList, null, false, lReqPrefixList,
+                lLoadingExecStatus);
+        lLoadingSut.setStreamingExtraction(false);
+        lLoadingSut.run();
+
+        Assert.assertEquals("The streaming execution shall have ended with success", ExecutionStatus.ENDED_SUCCESS,
+                lStreamingExecStatus.getCurrentExecutionStatus());
+        Assert.assertEquals("The loading execution shall have ended with success", ExecutionStatus.ENDED_SUCCESS,
+                lLoadingExecStatus.getCurrentExecutionStatus());
+
+        assertSameResults(lInputFileList, lLoadingExecStatus.getExecutionResult(),
+                lStreamingExecStatus.getExecutionResult());
+    }
+
+    /**
+     * Test that processing the SD files concurrently gives the same result as
+     * processing them one after the other.
+     */
+    @Test
+    public void testParallelExtractionMatchesSequentialExtraction() {
+        File lSdPs = new File(getInputFileDirectory(), "SD_PS.docx");
+        File lSdTst = new File(getInputFileDirectory(), "SD_TST.docx");
+        File lSdFull = new File(getInputFileDirectory(), "git-base-dir/full-app/Documentation/SD/SD-FULL.docx");
+
+        List<File> lInputFileList = new ArrayList<File>();
+        lInputFileList.add(lSdPs);
+        lInputFileList.add(lSdTst);
+        lInputFileList.add(lSdFull);
+        lInputFileList.add(lSdPs);
+
+        List<String> lReqPrefixList = new ArrayList<String>();
+        lReqPrefixList.add("SD-ALB");
+        lReqPrefixList.add("REQ-");
+
+        ExecutorExecutionStatus<RequirementExtractorResult> lSequentialExecStatus = new ExecutorExecutionStatus<RequirementExtractorResult>();
+        RequirementExtractor lSequentialSut = new RequirementExtractor(lInputFileList, null, false, lReqPrefixList,
+                lSequentialExecStatus);
+        lSequentialSut.setWorkerCount(1);
+        lSequentialSut.run();
+
+        ExecutorExecutionStatus<RequirementExtractorResult> lParallelExecStatus = new ExecutorExecutionStatus<RequirementExtractorResult>();
+        RequirementExtractor lParallelSut = new RequirementExtractor(lInputFileList, null, false, lReqPrefixList,
+                lParallelExecStatus);
+        lParallelSut.setWorkerCount(4);
+        lParallelSut.run();
+
+        Assert.assertEquals("The sequential execution shall have ended with success", ExecutionStatus.ENDED_SUCCESS,
+                lSequentialExecStatus.getCurrentExecutionStatus());
+        Assert.assertEquals("The parallel execution shall have ended with success", ExecutionStatus.ENDED_SUCCESS,
+                lParallelExecStatus.getCurrentExecutionStatus());
+
+        assertSameResults(lInputFileList, lSequentialExecStatus.getExecutionResult(),
+                lParallelExecStatus.getExecutionResult());
+    }
+
+    /**
+     * Test that the requirements defined in several SD files are detected as
+     * duplicated, in the order they were first found.
+     */
+    @Test
+    public void testDuplicatedRequirementsAcrossFiles() {
+        File lSdPs = new File(getInputFileDirectory(), "SD_PS.docx");
+        File lSdTst = new File(getInputFileDirectory(), "SD_TST.docx");
+
+        List<File> lInputFileList = new ArrayList<File>();
+        lInputFileList.add(lSdPs);
+        lInputFileList.add(lSdTst);
+        lInputFileList.add(lSdPs);
+
+        List<String> lReqPrefixList = new ArrayList<String>();
+        lReqPrefixList.add("SD-ALB");
+        ExecutorExecutionStatus<RequirementExtractorResult> lExecutorExecStatus = new ExecutorExecutionStatus<RequirementExtractorResult>();
+
+        RequirementExtractor lSut = new RequirementExtractor(lInputFileList, null, false, lReqPrefixList,
+                lExecutorExecStatus);
+        lSut.run();
+
+        Assert.assertEquals("The execution shall have ended with success", ExecutionStatus.ENDED_SUCCESS,
+                lExecutorExecStatus.getCurrentExecutionStatus());
+
+        // Each requirement of SD_PS is defined once per reference of the file
+        List<Requirement> lSdPsRequirements = lExecutorExecStatus.getExecutionResult()
+                .getFileRequirementExtractionResultFor(lSdPs).getRequirements();
+        List<RequirementDuplicationItem> lDuplicatedRequirements = lExecutorExecStatus.getExecutionResult()
+                .getDuplicatedRequirements();
+
+        Assert.assertEquals("The number of duplicated requirements is incorrect", lSdPsRequirements.size(),
+                lDuplicatedRequirements.size());
+        for (int i = 0; i < lSdPsRequirements.size(); i++) {
+            Assert.assertEquals("The duplicated requirements shall be in the order they were found",
+                    lSdPsRequirements.get(i), lDuplicatedRequirements.get(i).getRequirement());
+            Assert.assertEquals("The duplication description is incorrect", "2 times in SD_PS.docx",
+                    lDuplicatedRequirements.get(i).getDuplicationDescription());
+        }
+    }
+
+    /**
+     * Test that the extraction cache skips the unchanged SD files, and is
+     * invalidated when the requirement prefixes change.
+     *
+     * @throws IOException if the temporary cache directory could not be
+     * created.
+     */
+    @Test
+    public void testExtractionCache() throws IOException {
+        File lSdPs = new File(getInputFileDirectory(), "SD_PS.docx");
+        File lSdTst = new File(getInputFileDirectory(), "SD_TST.docx");
+
+        List<File> lInputFileList = new ArrayList<File>();
+        lInputFileList.add(lSdPs);
+        lInputFileList.add(lSdTst);
+
+        List<String> lReqPrefixList = new ArrayList<String>();
+        lReqPrefixList.add("SD-ALB");
+        lReqPrefixList.add("REQ-FIRST");
+
+        File lCacheDirectory = Files.createTempDirectory("reqextractor-cache").toFile();
+        try {
+            // First execution : nothing is cached yet
+            RequirementExtractorResult lFirstResult = runWithCache(lInputFileList, lReqPrefixList, lCacheDirectory);
+            Assert.assertEquals("No file shall be loaded from an empty cache", 0, lFirstResult.getCacheHitCount());
+            Assert.assertEquals("All the files shall be extracted with an empty cache", 2,
+                    lFirstResult.getCacheMissCount());
+
+            // Second execution : all the files are loaded from the cache
+            RequirementExtractorResult lSecondResult = runWithCache(lInputFileList, lReqPrefixList, lCacheDirectory);
+            Assert.assertEquals("All the files shall be loaded from the cache", 2, lSecondResult.getCacheHitCount());
+            Assert.assertEquals("No file shall be extracted", 0, lSecondResult.getCacheMissCount());
+            Assert.assertTrue("The result shall be flagged as loaded from cache", lSecondResult
+                    .getFileRequirementExtractionResultFor(lSdPs).isLoadedFromCache());
+            assertSameResults(lInputFileList, lFirstResult, lSecondResult);
+
+            // Corrupt the occurrence counts : the entries are not used, and
+            // the files are extracted again (which rewrites the entries)
+            for (File lEntryFile : lCacheDirectory.listFiles()) {
+                clearFirstOccurrenceCount(lEntryFile);
+            }
+            RequirementExtractorResult lCorruptedResult = runWithCache(lInputFileList, lReqPrefixList,
+                    lCacheDirectory);
+            Assert.assertEquals("No corrupted entry shall be used", 0, lCorruptedResult.getCacheHitCount());
+            Assert.assertEquals("The files with a corrupted entry shall be extracted", 2,
+                    lCorruptedResult.getCacheMissCount());
+            assertSameResults(lInputFileList, lFirstResult, lCorruptedResult);
+
+            // Third execution with other prefixes : the cache is invalidated
+            lReqPrefixList.add("REQ-SECOND");
+            RequirementExtractorResult lThirdResult = runWithCache(lInputFileList, lReqPrefixList, lCacheDirectory);
+            Assert.assertEquals("The cache shall be invalidated when the prefixes change", 0,
+                    lThirdResult.getCacheHitCount());
+            Assert.assertEquals("All the files shall be extracted again when the prefixes change", 2,
+                    lThirdResult.getCacheMissCount());
+        } finally {
+            File[] lEntryFiles = lCacheDirectory.listFiles();
+            if (lEntryFiles != null) {
+                for (File lEntryFile : lEntryFiles) {
+                    lEntryFile.delete();
+                }
+            }
+            lCacheDirectory.delete();
+        }
+    }
+
+    /**
+     * Set to 0 the occurrence count of the first requirement stored in the
+     * given extraction cache entry.
+     * 
+     * @param pEntryFile the cache entry file.
+     * @throws IOException if the entry could not be read or written.
+     */
+    private void clearFirstOccurrenceCount(final File pEntryFile) throws IOException {
+        byte[] lBytes = Files.readAllBytes(pEntryFile.toPath());
+
+        // Skip the header (format version, signature, path, size, modification
+        // time and content hash), the requirement count and first requirement
+        DataInputStream lDis = new DataInputStream(new ByteArrayInputStream(lBytes));
+        lDis.readInt();
+        lDis.readUTF();
+        lDis.readUTF();
+        lDis.readLong();
+        lDis.readLong();
+        lDis.readUTF();
+        Assert.assertTrue("The entry shall contain requirements", lDis.readInt() > 0);
+        lDis.readUTF();
+
+        int lCountPosition = lBytes.length - lDis.available();
+        for (int i = 0; i < 4; i++) {
+            lBytes[lCountPosition + i] = 0;
+        }
+        Files.write(pEntryFile.toPath(), lBytes);
+    }
+
+    /**
+     * Run the requirement extraction with the given cache directory.
+     *
+     * @param pInputFileList the list of input files.
+     * @param pReqPrefixList the list of requirement prefixes.
+     * @param pCacheDirectory the cache directory.
+     * @return the execution result.
+     */
+    private RequirementExtractorResult runWithCache(final List<File> pInputFileList,
+            final List<String> pReqPrefixList, final File pCacheDirectory) {
+        ExecutorExecutionStatus<RequirementExtractorResult> lExecutorExecStatus = new ExecutorExecutionStatus<RequirementExtractorResult>();
+
+        RequirementExtractor lSut = new RequirementExtractor(pInputFileList, null, false, pReqPrefixList,
+                lExecutorExecStatus);
+        lSut.setCacheDirectory(pCacheDirectory);
+        lSut.run();
+
+        Assert.assertEquals("The execution shall have ended with success", ExecutionStatus.ENDED_SUCCESS,
+                lExecutorExecStatus.getCurrentExecutionStatus());
+
+        return lExecutorExecStatus.getExecutionResult();
+    }
+
+    /**
+     * Check that the two given requirement extraction results are identical.
+     * 
+     * @param pInputFileList the list of input files.
+     * @param pExpectedResult the expected result.
+     * @param pActualResult the result to check.
+     */
+    private void assertSameResults(final List<File> pInputFileList, final RequirementExtractorResult pExpectedResult,
+            final RequirementExtractorResult pActualResult) {
+        for (File lInputFile : pInputFileList) {
+            FileRequirementExtractorResult lExpectedFileResult = pExpectedResult
+                    .getFileRequirementExtractionResultFor(lInputFile);
+            FileRequirementExtractorResult lActualFileResult = pActualResult
+                    .getFileRequirementExtractionResultFor(lInputFile);
+
+            Assert.assertEquals("The requirements extracted from " + lInputFile.getName() + " differ",
+                    lExpectedFileResult.getRequirements(), lActualFileResult.getRequirements());
+            Assert.assertEquals("The duplicated requirements of " + lInputFile.getName() + " differ",
+                    lExpectedFileResult.getDuplicatedRequirements(), lActualFileResult.getDuplicatedRequirements());
+        }
+
+        Assert.assertEquals("The number of duplicated requirements differ",
+                pExpectedResult.getDuplicatedRequirements().size(), pActualResult.getDuplicatedRequirements().size());
+        for (int i = 0; i < pExpectedResult.getDuplicatedRequirements().size(); i++) {
+            RequirementDuplicationItem lExpectedItem = pExpectedResult.getDuplicatedRequirements().get(i);
+            RequirementDuplicationItem lActualItem = pActualResult.getDuplicatedRequirements().get(i);
+            Assert.assertEquals("The duplicated requirement differ", lExpectedItem.getRequirement(),
+                    lActualItem.getRequirement());
+            Assert.assertEquals("The duplication description differ", lExpectedItem.getDuplicationDescription(),
+                    lActualItem.getDuplicationDescription());
+        }
+    }
 }
@@ -1,6 +1,10 @@
 package org.tools.doc.traceability.testcoverage;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Map;
 
 import org.junit.Assert;
@@ -255,4 +259,104 @@ public class UnitTestCoverageAnalyzerTest extends AbstractTester {
             Assert.fail("No exception was expected but this one occurred : " + e.getMessage());
         }
     }
+
+    /**
+     * Test that processing the XML files in parallel gives the same result as
+     * processing them one after the other.
+     */
+    @Test
+    public void testAnalysisInParallel() {
+        CSharpUnitTestCoverageAnalyserResult lSequentialResult = analyzeInputXmlFiles(1);
+        CSharpUnitTestCoverageAnalyserResult lParallelResult = analyzeInputXmlFiles(4);
+
+        Assert.assertEquals("Unexpected number of files with tests", 3, lSequentialResult.getFileUnitTestDataMap()
+                .size());
+        Assert.assertEquals("The parallel analysis shall find the same files in the same order", new ArrayList<File>(
+                lSequentialResult.getFileUnitTestDataMap().keySet()), new ArrayList<File>(lParallelResult
+                .getFileUnitTestDataMap().keySet()));
+        Assert.assertEquals("The parallel analysis shall find the same tests", lSequentialResult
+                .getFileUnitTestDataMap().toString(), lParallelResult.getFileUnitTestDataMap().toString());
+    }
+
+    /**
+     * Test that an XML file that could not be parsed is not stored in the
+     * analysis cache, so that it is read (and its error reported) again on
+     * the next analysis.
+     * 
+     * @throws IOException if the temporary files could not be created.
+     */
+    @Test
+    public void testUnreadableFileNotCached() throws IOException {
+        File lWorkDirectory = Files.createTempDirectory("csharp-ut-cache").toFile();
+        File lXmlDirectory = new File(lWorkDirectory, "xml");
+        File lCacheDirectory = new File(lWorkDirectory, "cache");
+        File lXmlFile = new File(lXmlDirectory, "Malformed.xml");
+        try {
+            Files.createDirectory(lXmlDirectory.toPath());
+            Files.write(lXmlFile.toPath(), "<doc><assembly><name>Broken".getBytes(StandardCharsets.UTF_8));
+
+            for (int i = 0; i < 2; i++) {
+                ExecutorExecutionStatus<CSharpUnitTestCoverageAnalyserResult> lExecutorExecStatus = new ExecutorExecutionStatus<CSharpUnitTestCoverageAnalyserResult>();
+                CSharpUnitTestCoverageAnalyzer lSut = new CSharpUnitTestCoverageAnalyzer(lXmlDirectory,
+                        new SimpleRegex("*.xml"), new SimpleRegex("*"), lExecutorExecStatus);
+                lSut.setCacheDirectory(lCacheDirectory);
+                lSut.run();
+
+                CSharpUnitTestCoverageAnalyserResult lResult = lExecutorExecStatus.getExecutionResult();
+                Assert.assertEquals("The malformed file shall not be loaded from the cache", 0,
+                        lResult.getCacheHitCount());
+                Assert.assertEquals("The malformed file shall miss the cache", 1, lResult.getCacheMissCount());
+            }
+
+            File[] lEntryFiles = lCacheDirectory.listFiles();
+            Assert.assertTrue("No entry shall be stored for the malformed file", (lEntryFiles == null)
+                    || (lEntryFiles.length == 0));
+        } catch (InvalidSimpleRegexpException e) {
+            Assert.fail("Error creating Simple regexp " + e.getMessage());
+        } finally {
+            File[] lEntryFiles = lCacheDirectory.listFiles();
+            if (lEntryFiles != null) {
+                for (File lEntryFile : lEntryFiles) {
+                    lEntryFile.delete();
+                }
+            }
+            lCacheDirectory.delete();
+            lXmlFile.delete();
+            lXmlDirectory.delete();
+            lWorkDirectory.delete();
+        }
+    }
+
+    /**
+     * Analyze the XML files of the test input directory with the given number
+     * of workers.
+     * 
+     * @param pWorkerCount the number of XML files processed at the same time.
+     * @return the analysis result.
+     */
+    private CSharpUnitTestCoverageAnalyserResult analyzeInputXmlFiles(final int pWorkerCount) {
+        File lRootTestDirectory = new File(getInputFileDirectory(), "test-input-dir");
+
+        SimpleRegex lXmlFilenameRegexp = null;
+        SimpleRegex lTestNameRegexp = null;
+
+        try {
+            lXmlFilenameRegexp = new SimpleRegex("*.xml");
+            lTestNameRegexp = new SimpleRegex("*");
+        } catch (InvalidSimpleRegexpException e) {
+            Assert.fail("Error creating Simple regexp " + e.getMessage());
+        }
+
+        ExecutorExecutionStatus<CSharpUnitTestCoverageAnalyserResult> lExecutorExecStatus = new ExecutorExecutionStatus<CSharpUnitTestCoverageAnalyserResult>();
+
+        CSharpUnitTestCoverageAnalyzer lSut = new CSharpUnitTestCoverageAnalyzer(lRootTestDirectory,
+                lXmlFilenameRegexp, lTestNameRegexp, lExecutorExecStatus);
+        lSut.setWorkerCount(pWorkerCount);
+        lSut.run();
+
+        Assert.assertEquals("The execution shall have ended with success", ExecutionStatus.ENDED_SUCCESS,
+                lExecutorExecStatus.getCurrentExecutionStatus());
+
+        return lExecutorExecStatus.getExecutionResult();
+    }
 }